@@ -428,6 +428,7 @@ public interface RaftServer {
     protected EntryValidator entryValidator = new NoopEntryValidator();
     protected int maxAppendsPerFollower = 2;
     protected int maxAppendBatchSize = 32 * 1024;
+    protected boolean pipelinedReplication = false;
 
     protected Builder(final MemberId localMemberId) {
       this.localMemberId = checkNotNull(localMemberId, "localMemberId cannot be null");
@@ -556,6 +557,19 @@ public interface RaftServer {
       return this;
     }
 
+    /**
+     * Sets whether the appends to a follower are pipelined. If enabled, up to max appends per
+     * follower are sent without waiting for the previous responses, and the batch size of the
+     * appends adapts to the observed round trip times. Default is false.
+     *
+     * @param pipelinedReplication whether appends to a follower are pipelined
+     * @return The server builder.
+     */
+    public Builder withPipelinedReplication(final boolean pipelinedReplication) {
+      this.pipelinedReplication = pipelinedReplication;
+      return this;
+    }
+
     /**
      * Sets the maximum batch size, which is sent per append request. Default size is 32 KB.
      *
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.cluster.impl;
+
+/**
+ * Adapts the batch size of the appends to a follower to the round trip times of the appends.
+ *
+ * <p>The lowest round trip time which was recently observed is taken as the time the link and the
+ * follower need without queuing. If an append takes considerably longer, the requests queue up on
+ * the way or at the follower, and the batch size is halved. If an append of a full batch is
+ * acknowledged without queuing, the follower is behind and the link has spare capacity, and the
+ * batch size is increased by a quarter, up to the max batch size.
+ *
+ * <p>The lowest round trip time is renewed after each window of samples, such that a link which
+ * became slower is not seen as congested forever.
+ */
+final class AdaptiveAppendBatchSize {
+
+  private static final int MIN_BATCH_SIZE_DIVISOR = 16;
+  private static final int RTT_SAMPLE_WINDOW = 128;
+  private static final long QUEUING_RTT_FACTOR = 2;
+  private static final long QUEUING_RTT_SLACK_MS = 5;
+
+  private final int minBatchSize;
+  private final int maxBatchSize;
+
+  private int batchSize;
+  private long minRtt = Long.MAX_VALUE;
+  private long windowMinRtt = Long.MAX_VALUE;
+  private int windowSamples;
+
+  AdaptiveAppendBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+    minBatchSize = Math.max(1, maxBatchSize / MIN_BATCH_SIZE_DIVISOR);
+    batchSize = maxBatchSize;
+  }
+
+  int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * @param rttMillis the time between sending the append and receiving its response
+   * @param batchBytes the size of the entries of the append
+   */
+  void onAppendCompleted(final long rttMillis, final int batchBytes) {
+    updateMinRtt(rttMillis);
+
+    if (rttMillis > minRtt * QUEUING_RTT_FACTOR + QUEUING_RTT_SLACK_MS) {
+      batchSize = Math.max(minBatchSize, batchSize / 2);
+    } else if (batchBytes >= batchSize) {
+      batchSize = (int) Math.min(maxBatchSize, batchSize + Math.max(1L, batchSize / 4));
+    }
+  }
+
+  private void updateMinRtt(final long rttMillis) {
+    minRtt = Math.min(minRtt, rttMillis);
+    windowMinRtt = Math.min(windowMinRtt, rttMillis);
+
+    if (++windowSamples >= RTT_SAMPLE_WINDOW) {
+      minRtt = windowMinRtt;
+      windowMinRtt = Long.MAX_VALUE;
+      windowSamples = 0;
+    }
+  }
+}
@@ -33,6 +33,7 @@ public final class RaftMemberContext {
 
   private static final int APPEND_WINDOW_SIZE = 8;
   private final DefaultRaftMember member;
+  private final RaftClusterContext cluster;
   private final DescriptiveStatistics timeStats = new DescriptiveStatistics(APPEND_WINDOW_SIZE);
   private final int maxAppendsPerMember;
   private long term;
@@ -52,12 +53,15 @@ public final class RaftMemberContext {
   private long failureTime;
   private volatile RaftLogReader reader;
   private SnapshotChunkReader snapshotChunkReader;
+  private boolean pipelined;
+  private AdaptiveAppendBatchSize appendBatchSize;
 
   RaftMemberContext(
       final DefaultRaftMember member,
       final RaftClusterContext cluster,
       final int maxAppendsPerMember) {
     this.member = checkNotNull(member, "member cannot be null").setCluster(cluster);
+    this.cluster = cluster;
     this.maxAppendsPerMember = maxAppendsPerMember;
   }
 
@@ -76,6 +80,8 @@ public final class RaftMemberContext {
     appendSucceeded = false;
     failures = 0;
     failureTime = 0;
+    pipelined = cluster.getContext().isPipelinedReplication();
+    appendBatchSize = new AdaptiveAppendBatchSize(cluster.getContext().getMaxAppendBatchSize());
 
     switch (member.getType()) {
       case PASSIVE:
@@ -95,14 +101,24 @@ public final class RaftMemberContext {
   /**
    * Returns a boolean indicating whether an append request can be sent to the member.
    *
+   * <p>If the replication is pipelined, the appends are sent as long as the window of max appends
+   * per member is not full. Otherwise further appends are spread over the mean time of an append.
+   * In both cases, only one append is sent until an append succeeded, e.g. after the member
+   * rejected an append.
+   *
    * @return Indicates whether an append request can be sent to the member.
    */
   public boolean canAppend() {
-    return inFlightAppendCount == 0
-        || (appendSucceeded
-            && inFlightAppendCount < maxAppendsPerMember
-            && System.currentTimeMillis() - (timeStats.getMean() / maxAppendsPerMember)
-                >= appendTime);
+    if (inFlightAppendCount == 0) {
+      return true;
+    }
+
+    if (!appendSucceeded || inFlightAppendCount >= maxAppendsPerMember) {
+      return false;
+    }
+
+    return pipelined
+        || System.currentTimeMillis() - (timeStats.getMean() / maxAppendsPerMember) >= appendTime;
   }
 
   /**
@@ -154,6 +170,41 @@ public final class RaftMemberContext {
     timeStats.addValue(time);
   }
 
+  /**
+   * Completes an append request with entries to the member.
+   *
+   * @param time The time in milliseconds for the append.
+   * @param batchBytes The size of the entries of the append.
+   */
+  public void completeAppend(final long time, final int batchBytes) {
+    completeAppend(time);
+    if (pipelined) {
+      appendBatchSize.onAppendCompleted(time, batchBytes);
+    }
+  }
+
+  /**
+   * Returns the count of append requests which are sent to the member, but not completed yet.
+   *
+   * @return The count of in-flight append requests.
+   */
+  public int getInFlightAppendCount() {
+    return inFlightAppendCount;
+  }
+
+  /**
+   * Returns the size up to which entries are batched in one append request to the member. If the
+   * replication is pipelined, it is adapted to the round trip times of the appends, otherwise it is
+   * the max append batch size.
+   *
+   * @return The append batch size in bytes.
+   */
+  public int getAppendBatchSize() {
+    return pipelined
+        ? appendBatchSize.getBatchSize()
+        : cluster.getContext().getMaxAppendBatchSize();
+  }
+
   /**
    * Returns a boolean indicating whether a configure request can be sent to the member.
    *
@@ -224,6 +275,7 @@ public final class RaftMemberContext {
         .add("nextIndex", reader != null ? reader.getNextIndex() : matchIndex + 1)
         .add("heartbeatTime", heartbeatTime)
         .add("appending", inFlightAppendCount)
+        .add("pipelined", pipelined)
         .add("appendSucceeded", appendSucceeded)
         .add("appendTime", appendTime)
         .add("configuring", configuring)
@@ -111,6 +111,7 @@ public class RaftContext implements AutoCloseable {
   private EntryValidator entryValidator;
   private final int maxAppendBatchSize;
   private final int maxAppendsPerFollower;
+  private boolean pipelinedReplication;
   // Used for randomizing election timeout
   private final Random random;
 
@@ -239,6 +240,18 @@ public class RaftContext implements AutoCloseable {
     return maxAppendsPerFollower;
   }
 
+  public boolean isPipelinedReplication() {
+    return pipelinedReplication;
+  }
+
+  /**
+   * Sets whether the appends to a follower are pipelined. This takes effect when the members are
+   * reset, i.e. when this server becomes leader.
+   */
+  public void setPipelinedReplication(final boolean pipelinedReplication) {
+    this.pipelinedReplication = pipelinedReplication;
+  }
+
   /**
    * Adds a role change listener.
    *
@@ -16,6 +16,8 @@
  */
 package io.atomix.raft.metrics;
 
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 
 public class LeaderMetrics extends RaftMetrics {
@@ -28,6 +30,38 @@ public class LeaderMetrics extends RaftMetrics {
           .labelNames("follower", "partitionGroupName", "partition")
           .register();
 
+  private static final Counter REPLICATED_BYTES =
+      Counter.build()
+          .namespace("atomix")
+          .name("replicated_bytes")
+          .help("Number of bytes of entries which were acknowledged by a follower")
+          .labelNames("follower", "partitionGroupName", "partition")
+          .register();
+
+  private static final Counter REPLICATED_ENTRIES =
+      Counter.build()
+          .namespace("atomix")
+          .name("replicated_entries")
+          .help("Number of entries which were acknowledged by a follower")
+          .labelNames("follower", "partitionGroupName", "partition")
+          .register();
+
+  private static final Gauge APPENDS_IN_FLIGHT =
+      Gauge.build()
+          .namespace("atomix")
+          .name("append_entries_in_flight")
+          .help("Number of append requests to a follower which are not yet completed")
+          .labelNames("follower", "partitionGroupName", "partition")
+          .register();
+
+  private static final Gauge APPEND_BATCH_SIZE =
+      Gauge.build()
+          .namespace("atomix")
+          .name("append_batch_size_bytes")
+          .help("Size up to which entries are batched in an append request to a follower")
+          .labelNames("follower", "partitionGroupName", "partition")
+          .register();
+
   public LeaderMetrics(final String partitionName) {
     super(partitionName);
   }
@@ -35,4 +69,26 @@ public class LeaderMetrics extends RaftMetrics {
   public void appendComplete(final long latencyms, final String memberId) {
     APPEND_LATENCY.labels(memberId, partitionGroupName, partition).observe(latencyms / 1000f);
   }
+
+  public void appendsInFlight(final int count, final String memberId) {
+    APPENDS_IN_FLIGHT.labels(memberId, partitionGroupName, partition).set(count);
+  }
+
+  public void appendBatchSize(final int bytes, final String memberId) {
+    APPEND_BATCH_SIZE.labels(memberId, partitionGroupName, partition).set(bytes);
+  }
+
+  public void entriesReplicated(final int entries, final int bytes, final String memberId) {
+    REPLICATED_ENTRIES.labels(memberId, partitionGroupName, partition).inc(entries);
+    REPLICATED_BYTES.labels(memberId, partitionGroupName, partition).inc(bytes);
+  }
+
+  /** Removes the metrics of the given follower, e.g. when the leader steps down. */
+  public void removeFollower(final String memberId) {
+    APPEND_LATENCY.remove(memberId, partitionGroupName, partition);
+    REPLICATED_BYTES.remove(memberId, partitionGroupName, partition);
+    REPLICATED_ENTRIES.remove(memberId, partitionGroupName, partition);
+    APPENDS_IN_FLIGHT.remove(memberId, partitionGroupName, partition);
+    APPEND_BATCH_SIZE.remove(memberId, partitionGroupName, partition);
+  }
 }
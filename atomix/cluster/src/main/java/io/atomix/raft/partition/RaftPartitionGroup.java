@@ -389,6 +389,19 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
       return this;
     }
 
+    /**
+     * Sets whether the appends to a follower are pipelined. If enabled, up to max appends per
+     * follower are sent without waiting for the previous responses, and the batch size of the
+     * appends adapts to the observed round trip times. Default is false.
+     *
+     * @param pipelinedReplication whether appends to a follower are pipelined
+     * @return the Raft partition group builder
+     */
+    public Builder withPipelinedReplication(final boolean pipelinedReplication) {
+      config.setPipelinedReplication(pipelinedReplication);
+      return this;
+    }
+
     /**
      * Sets the storage level.
      *
@@ -39,6 +39,7 @@ public class RaftPartitionGroupConfig extends PartitionGroupConfig<RaftPartition
   private RaftStorageConfig storageConfig = new RaftStorageConfig();
   private int maxAppendsPerFollower = 2;
   private int maxAppendBatchSize = 32 * 1024;
+  private boolean pipelinedReplication = false;
 
   @Optional("EntryValidator")
   private EntryValidator entryValidator = new NoopEntryValidator();
@@ -184,6 +185,14 @@ public class RaftPartitionGroupConfig extends PartitionGroupConfig<RaftPartition
     this.maxAppendBatchSize = maxAppendBatchSize;
   }
 
+  public boolean isPipelinedReplication() {
+    return pipelinedReplication;
+  }
+
+  public void setPipelinedReplication(final boolean pipelinedReplication) {
+    this.pipelinedReplication = pipelinedReplication;
+  }
+
   @Override
   public PartitionGroup.Type getType() {
     return RaftPartitionGroup.TYPE;
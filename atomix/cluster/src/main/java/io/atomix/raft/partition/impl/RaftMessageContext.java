@@ -33,6 +33,9 @@ class RaftMessageContext {
   final String pollSubject;
   final String voteSubject;
   final String appendSubject;
+  final String sbePollSubject;
+  final String sbeVoteSubject;
+  final String sbeAppendSubject;
   final String leaderHeartbeatSubject;
   private final String prefix;
 
@@ -52,6 +55,9 @@ class RaftMessageContext {
     pollSubject = getSubject(prefix, "poll");
     voteSubject = getSubject(prefix, "vote");
     appendSubject = getSubject(prefix, "append");
+    sbePollSubject = getSubject(prefix, "poll-sbe");
+    sbeVoteSubject = getSubject(prefix, "vote-sbe");
+    sbeAppendSubject = getSubject(prefix, "append-sbe");
     leaderHeartbeatSubject = getSubject(prefix, "leaderHeartbeat");
   }
 
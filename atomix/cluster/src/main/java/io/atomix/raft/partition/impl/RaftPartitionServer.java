@@ -174,6 +174,7 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
         .withElectionTimeout(config.getElectionTimeout())
         .withMaxAppendBatchSize(config.getMaxAppendBatchSize())
         .withMaxAppendsPerFollower(config.getMaxAppendsPerFollower())
+        .withPipelinedReplication(config.isPipelinedReplication())
         .withStorage(createRaftStorage())
         .withJournalIndexFactory(journalIndexFactory)
         .withEntryValidator(config.getEntryValidator())
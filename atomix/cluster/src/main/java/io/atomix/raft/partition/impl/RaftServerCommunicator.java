@@ -19,6 +19,7 @@ package io.atomix.raft.partition.impl;
 import com.google.common.base.Preconditions;
 import io.atomix.cluster.MemberId;
 import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.cluster.messaging.MessagingException.NoRemoteHandler;
 import io.atomix.raft.metrics.RaftRequestMetrics;
 import io.atomix.raft.protocol.AppendRequest;
 import io.atomix.raft.protocol.AppendResponse;
@@ -37,14 +38,29 @@ import io.atomix.raft.protocol.TransferResponse;
 import io.atomix.raft.protocol.VoteRequest;
 import io.atomix.raft.protocol.VoteResponse;
 import io.atomix.utils.serializer.Serializer;
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
-/** Raft server protocol that uses a {@link ClusterCommunicationService}. */
+/**
+ * Raft server protocol that uses a {@link ClusterCommunicationService}.
+ *
+ * <p>The append, poll and vote messages are sent SBE encoded on their own subjects. Members which
+ * don't handle these subjects yet, e.g. during a rolling update, are sent the messages with the
+ * given serializer on the previous subjects, until they are probed again after a while.
+ */
 public class RaftServerCommunicator implements RaftServerProtocol {
 
+  private static final Duration SBE_PROBE_INTERVAL = Duration.ofMinutes(1);
+
   private final RaftMessageContext context;
   private final Serializer serializer;
+  private final Serializer sbeSerializer;
+  // the members which don't handle the SBE subjects, with the time until which they are not probed
+  private final Map<String, Long> membersWithoutSbe = new ConcurrentHashMap<>();
   private final ClusterCommunicationService clusterCommunicator;
   private final String partitionName;
   private final RaftRequestMetrics metrics;
@@ -56,6 +72,7 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     context = new RaftMessageContext(prefix);
     partitionName = prefix;
     this.serializer = Preconditions.checkNotNull(serializer, "serializer cannot be null");
+    sbeSerializer = new SbeRaftMessageSerializer(serializer);
     this.clusterCommunicator =
         Preconditions.checkNotNull(clusterCommunicator, "clusterCommunicator cannot be null");
     metrics = new RaftRequestMetrics(partitionName);
@@ -87,18 +104,18 @@ public class RaftServerCommunicator implements RaftServerProtocol {
 
   @Override
   public CompletableFuture<PollResponse> poll(final MemberId memberId, final PollRequest request) {
-    return sendAndReceive(context.pollSubject, request, memberId);
+    return sendAndReceive(context.sbePollSubject, context.pollSubject, request, memberId);
   }
 
   @Override
   public CompletableFuture<VoteResponse> vote(final MemberId memberId, final VoteRequest request) {
-    return sendAndReceive(context.voteSubject, request, memberId);
+    return sendAndReceive(context.sbeVoteSubject, context.voteSubject, request, memberId);
   }
 
   @Override
   public CompletableFuture<AppendResponse> append(
       final MemberId memberId, final AppendRequest request) {
-    return sendAndReceive(context.appendSubject, request, memberId);
+    return sendAndReceive(context.sbeAppendSubject, context.appendSubject, request, memberId);
   }
 
   @Override
@@ -164,6 +181,13 @@ public class RaftServerCommunicator implements RaftServerProtocol {
   @Override
   public void registerPollHandler(
       final Function<PollRequest, CompletableFuture<PollResponse>> handler) {
+    // the SBE subject is subscribed first, such that a member which handles the previous subject
+    // handles the SBE subject as well
+    clusterCommunicator.subscribe(
+        context.sbePollSubject,
+        sbeSerializer::decode,
+        handler.<PollRequest>compose(this::recordReceivedMetrics),
+        sbeSerializer::encode);
     clusterCommunicator.subscribe(
         context.pollSubject,
         serializer::decode,
@@ -173,12 +197,18 @@ public class RaftServerCommunicator implements RaftServerProtocol {
 
   @Override
   public void unregisterPollHandler() {
+    clusterCommunicator.unsubscribe(context.sbePollSubject);
     clusterCommunicator.unsubscribe(context.pollSubject);
   }
 
   @Override
   public void registerVoteHandler(
       final Function<VoteRequest, CompletableFuture<VoteResponse>> handler) {
+    clusterCommunicator.subscribe(
+        context.sbeVoteSubject,
+        sbeSerializer::decode,
+        handler.<VoteRequest>compose(this::recordReceivedMetrics),
+        sbeSerializer::encode);
     clusterCommunicator.subscribe(
         context.voteSubject,
         serializer::decode,
@@ -188,12 +218,18 @@ public class RaftServerCommunicator implements RaftServerProtocol {
 
   @Override
   public void unregisterVoteHandler() {
+    clusterCommunicator.unsubscribe(context.sbeVoteSubject);
     clusterCommunicator.unsubscribe(context.voteSubject);
   }
 
   @Override
   public void registerAppendHandler(
       final Function<AppendRequest, CompletableFuture<AppendResponse>> handler) {
+    clusterCommunicator.subscribe(
+        context.sbeAppendSubject,
+        sbeSerializer::decode,
+        handler.<AppendRequest>compose(this::recordReceivedMetrics),
+        sbeSerializer::encode);
     clusterCommunicator.subscribe(
         context.appendSubject,
         serializer::decode,
@@ -203,16 +239,69 @@ public class RaftServerCommunicator implements RaftServerProtocol {
 
   @Override
   public void unregisterAppendHandler() {
+    clusterCommunicator.unsubscribe(context.sbeAppendSubject);
     clusterCommunicator.unsubscribe(context.appendSubject);
   }
 
   private <T, U> CompletableFuture<U> sendAndReceive(
       final String subject, final T request, final MemberId memberId) {
     metrics.sendMessage(memberId.id(), request.getClass().getSimpleName());
+    return send(subject, request, serializer, memberId);
+  }
+
+  private <T, U> CompletableFuture<U> sendAndReceive(
+      final String sbeSubject, final String subject, final T request, final MemberId memberId) {
+    final Long probeTime = membersWithoutSbe.get(memberId.id());
+    if (probeTime != null && System.currentTimeMillis() < probeTime) {
+      return sendAndReceive(subject, request, memberId);
+    }
+
+    metrics.sendMessage(memberId.id(), request.getClass().getSimpleName());
+    final CompletableFuture<U> responseFuture = new CompletableFuture<>();
+    this.<T, U>send(sbeSubject, request, sbeSerializer, memberId)
+        .whenComplete(
+            (response, error) -> {
+              if (error == null) {
+                responseFuture.complete(response);
+              } else if (isNoRemoteHandler(error)) {
+                // the member is either not ready yet, or it doesn't handle the SBE subject
+                retryWithoutSbe(subject, request, memberId, responseFuture);
+              } else {
+                responseFuture.completeExceptionally(error);
+              }
+            });
+    return responseFuture;
+  }
+
+  private <T, U> void retryWithoutSbe(
+      final String subject,
+      final T request,
+      final MemberId memberId,
+      final CompletableFuture<U> responseFuture) {
+    this.<T, U>send(subject, request, serializer, memberId)
+        .whenComplete(
+            (response, error) -> {
+              if (error == null) {
+                membersWithoutSbe.put(
+                    memberId.id(), System.currentTimeMillis() + SBE_PROBE_INTERVAL.toMillis());
+                responseFuture.complete(response);
+              } else {
+                responseFuture.completeExceptionally(error);
+              }
+            });
+  }
+
+  private <T, U> CompletableFuture<U> send(
+      final String subject, final T request, final Serializer serializer, final MemberId memberId) {
     return clusterCommunicator.send(
         subject, request, serializer::encode, serializer::decode, MemberId.from(memberId.id()));
   }
 
+  private static boolean isNoRemoteHandler(final Throwable error) {
+    final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    return cause instanceof NoRemoteHandler;
+  }
+
   private <T extends RaftMessage> T recordReceivedMetrics(final T m) {
     metrics.receivedMessage(m.getClass().getSimpleName());
     return m;
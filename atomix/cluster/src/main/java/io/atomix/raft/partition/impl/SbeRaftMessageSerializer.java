@@ -0,0 +1,523 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.atomix.raft.RaftError;
+import io.atomix.raft.protocol.AppendRequest;
+import io.atomix.raft.protocol.AppendResponse;
+import io.atomix.raft.protocol.PollRequest;
+import io.atomix.raft.protocol.PollResponse;
+import io.atomix.raft.protocol.RaftResponse.Status;
+import io.atomix.raft.protocol.VoteRequest;
+import io.atomix.raft.protocol.VoteResponse;
+import io.atomix.raft.protocol.sbe.AppendRequestDecoder;
+import io.atomix.raft.protocol.sbe.AppendRequestEncoder;
+import io.atomix.raft.protocol.sbe.AppendRequestEncoder.ChecksumsEncoder;
+import io.atomix.raft.protocol.sbe.AppendRequestEncoder.EntriesEncoder;
+import io.atomix.raft.protocol.sbe.AppendResponseDecoder;
+import io.atomix.raft.protocol.sbe.AppendResponseEncoder;
+import io.atomix.raft.protocol.sbe.BooleanType;
+import io.atomix.raft.protocol.sbe.EntryType;
+import io.atomix.raft.protocol.sbe.MessageHeaderDecoder;
+import io.atomix.raft.protocol.sbe.MessageHeaderEncoder;
+import io.atomix.raft.protocol.sbe.PollRequestDecoder;
+import io.atomix.raft.protocol.sbe.PollRequestEncoder;
+import io.atomix.raft.protocol.sbe.PollResponseDecoder;
+import io.atomix.raft.protocol.sbe.PollResponseEncoder;
+import io.atomix.raft.protocol.sbe.ResponseStatus;
+import io.atomix.raft.protocol.sbe.VoteRequestDecoder;
+import io.atomix.raft.protocol.sbe.VoteRequestEncoder;
+import io.atomix.raft.protocol.sbe.VoteResponseDecoder;
+import io.atomix.raft.protocol.sbe.VoteResponseEncoder;
+import io.atomix.raft.storage.log.entry.ConfigurationEntry;
+import io.atomix.raft.storage.log.entry.InitializeEntry;
+import io.atomix.raft.storage.log.entry.RaftLogEntry;
+import io.atomix.raft.storage.log.entry.TimestampedEntry;
+import io.atomix.raft.zeebe.ZeebeEntry;
+import io.atomix.utils.serializer.Serializer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Serializes the frequent raft messages, which are the append, poll and vote requests and their
+ * responses, with SBE. The messages are encoded directly into the resulting byte array, and the
+ * data of the decoded zeebe entries is a view on the received bytes instead of a copy.
+ *
+ * <p>Configuration entries are rare, their data is serialized with the given fallback serializer.
+ * Other messages are not supported by this serializer.
+ *
+ * <p>The encoders and decoders are kept per thread, such that the serializer can be shared.
+ */
+public final class SbeRaftMessageSerializer implements Serializer {
+
+  private static final byte[] EMPTY = new byte[0];
+  private static final RaftError.Type[] ERROR_TYPES = RaftError.Type.values();
+
+  private final ThreadLocal<Codecs> codecs = ThreadLocal.withInitial(Codecs::new);
+  private final Serializer fallbackSerializer;
+
+  public SbeRaftMessageSerializer(final Serializer fallbackSerializer) {
+    this.fallbackSerializer = fallbackSerializer;
+  }
+
+  @Override
+  public <T> byte[] encode(final T object) {
+    final Codecs codecs = this.codecs.get();
+    if (object instanceof AppendRequest) {
+      return codecs.encodeAppendRequest((AppendRequest) object);
+    } else if (object instanceof AppendResponse) {
+      return codecs.encodeAppendResponse((AppendResponse) object);
+    } else if (object instanceof VoteRequest) {
+      return codecs.encodeVoteRequest((VoteRequest) object);
+    } else if (object instanceof VoteResponse) {
+      return codecs.encodeVoteResponse((VoteResponse) object);
+    } else if (object instanceof PollRequest) {
+      return codecs.encodePollRequest((PollRequest) object);
+    } else if (object instanceof PollResponse) {
+      return codecs.encodePollResponse((PollResponse) object);
+    }
+
+    throw new IllegalArgumentException(
+        String.format(
+            "Expected to encode a raft append, poll or vote message, but got %s", object));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T decode(final byte[] bytes) {
+    final Codecs codecs = this.codecs.get();
+    codecs.buffer.wrap(bytes);
+    codecs.headerDecoder.wrap(codecs.buffer, 0);
+
+    if (bytes.length < MessageHeaderDecoder.ENCODED_LENGTH
+        || codecs.headerDecoder.schemaId() != MessageHeaderDecoder.SCHEMA_ID) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected to decode a message of schema %d, but got %d bytes of another schema",
+              MessageHeaderDecoder.SCHEMA_ID, bytes.length));
+    }
+
+    switch (codecs.headerDecoder.templateId()) {
+      case AppendRequestDecoder.TEMPLATE_ID:
+        return (T) codecs.decodeAppendRequest(bytes);
+      case AppendResponseDecoder.TEMPLATE_ID:
+        return (T) codecs.decodeAppendResponse();
+      case VoteRequestDecoder.TEMPLATE_ID:
+        return (T) codecs.decodeVoteRequest();
+      case VoteResponseDecoder.TEMPLATE_ID:
+        return (T) codecs.decodeVoteResponse();
+      case PollRequestDecoder.TEMPLATE_ID:
+        return (T) codecs.decodePollRequest();
+      case PollResponseDecoder.TEMPLATE_ID:
+        return (T) codecs.decodePollResponse();
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected to decode a raft append, poll or vote message, but got template %d",
+                codecs.headerDecoder.templateId()));
+    }
+  }
+
+  private static ResponseStatus encodeStatus(final Status status) {
+    return status == Status.OK ? ResponseStatus.OK : ResponseStatus.ERROR;
+  }
+
+  private static Status decodeStatus(final ResponseStatus status) {
+    return status == ResponseStatus.OK ? Status.OK : Status.ERROR;
+  }
+
+  private static short encodeErrorType(final RaftError error, final short nullValue) {
+    return error == null ? nullValue : (short) error.type().ordinal();
+  }
+
+  private static byte[] encodeErrorMessage(final RaftError error) {
+    return error == null || error.message() == null ? EMPTY : error.message().getBytes(UTF_8);
+  }
+
+  private static RaftError decodeError(
+      final short errorType, final short nullValue, final String message) {
+    if (errorType == nullValue) {
+      return null;
+    }
+    return new RaftError(ERROR_TYPES[errorType], message.isEmpty() ? null : message);
+  }
+
+  private final class Codecs {
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+    private final UnsafeBuffer dataBuffer = new UnsafeBuffer(0, 0);
+    private final List<byte[]> configurationEntries = new ArrayList<>();
+
+    private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+    private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final AppendRequestEncoder appendRequestEncoder = new AppendRequestEncoder();
+    private final AppendRequestDecoder appendRequestDecoder = new AppendRequestDecoder();
+    private final AppendResponseEncoder appendResponseEncoder = new AppendResponseEncoder();
+    private final AppendResponseDecoder appendResponseDecoder = new AppendResponseDecoder();
+    private final VoteRequestEncoder voteRequestEncoder = new VoteRequestEncoder();
+    private final VoteRequestDecoder voteRequestDecoder = new VoteRequestDecoder();
+    private final VoteResponseEncoder voteResponseEncoder = new VoteResponseEncoder();
+    private final VoteResponseDecoder voteResponseDecoder = new VoteResponseDecoder();
+    private final PollRequestEncoder pollRequestEncoder = new PollRequestEncoder();
+    private final PollRequestDecoder pollRequestDecoder = new PollRequestDecoder();
+    private final PollResponseEncoder pollResponseEncoder = new PollResponseEncoder();
+    private final PollResponseDecoder pollResponseDecoder = new PollResponseDecoder();
+
+    private byte[] encodeAppendRequest(final AppendRequest request) {
+      final List<RaftLogEntry> entries = request.entries();
+      final List<Long> checksums = request.checksums();
+      final byte[] leader = request.leader().id().getBytes(UTF_8);
+
+      // the length is calculated upfront, such that the message is encoded into its final array
+      int length =
+          MessageHeaderEncoder.ENCODED_LENGTH
+              + AppendRequestEncoder.BLOCK_LENGTH
+              + EntriesEncoder.sbeHeaderSize()
+              + ChecksumsEncoder.sbeHeaderSize()
+              + AppendRequestEncoder.leaderHeaderLength()
+              + leader.length;
+      configurationEntries.clear();
+      for (final RaftLogEntry entry : entries) {
+        length += EntriesEncoder.sbeBlockLength() + EntriesEncoder.dataHeaderLength();
+        if (entry instanceof ZeebeEntry) {
+          length += ((ZeebeEntry) entry).data().remaining();
+        } else if (entry instanceof ConfigurationEntry) {
+          final byte[] data = fallbackSerializer.encode(entry);
+          configurationEntries.add(data);
+          length += data.length;
+        }
+      }
+      if (checksums != null) {
+        length += checksums.size() * ChecksumsEncoder.sbeBlockLength();
+      }
+
+      final byte[] bytes = new byte[length];
+      buffer.wrap(bytes);
+      appendRequestEncoder
+          .wrapAndApplyHeader(buffer, 0, headerEncoder)
+          .term(request.term())
+          .prevLogIndex(request.prevLogIndex())
+          .prevLogTerm(request.prevLogTerm())
+          .commitIndex(request.commitIndex())
+          .hasChecksums(checksums != null ? BooleanType.TRUE : BooleanType.FALSE);
+
+      final EntriesEncoder entriesEncoder = appendRequestEncoder.entriesCount(entries.size());
+      int configurationEntryIndex = 0;
+      for (final RaftLogEntry entry : entries) {
+        entriesEncoder.next().term(entry.term());
+
+        if (entry instanceof TimestampedEntry) {
+          entriesEncoder.timestamp(((TimestampedEntry) entry).timestamp());
+        } else {
+          entriesEncoder.timestamp(0);
+        }
+
+        if (entry instanceof ZeebeEntry) {
+          final ZeebeEntry zeebeEntry = (ZeebeEntry) entry;
+          final ByteBuffer data = zeebeEntry.data();
+          dataBuffer.wrap(data, data.position(), data.remaining());
+          entriesEncoder
+              .entryType(EntryType.ZEEBE)
+              .lowestPosition(zeebeEntry.lowestPosition())
+              .highestPosition(zeebeEntry.highestPosition())
+              .putData(dataBuffer, 0, dataBuffer.capacity());
+        } else if (entry instanceof ConfigurationEntry) {
+          final byte[] data = configurationEntries.get(configurationEntryIndex++);
+          entriesEncoder
+              .entryType(EntryType.CONFIGURATION)
+              .lowestPosition(0)
+              .highestPosition(0)
+              .putData(data, 0, data.length);
+        } else if (entry instanceof InitializeEntry) {
+          entriesEncoder
+              .entryType(EntryType.INITIALIZE)
+              .lowestPosition(0)
+              .highestPosition(0)
+              .putData(EMPTY, 0, 0);
+        } else {
+          throw new IllegalArgumentException(
+              String.format("Expected to encode a known raft log entry, but got %s", entry));
+        }
+      }
+      configurationEntries.clear();
+
+      final int checksumCount = checksums != null ? checksums.size() : 0;
+      final ChecksumsEncoder checksumsEncoder = appendRequestEncoder.checksumsCount(checksumCount);
+      for (int i = 0; i < checksumCount; i++) {
+        checksumsEncoder.next().checksum(checksums.get(i));
+      }
+
+      appendRequestEncoder.putLeader(leader, 0, leader.length);
+      return bytes;
+    }
+
+    private AppendRequest decodeAppendRequest(final byte[] bytes) {
+      appendRequestDecoder.wrap(
+          buffer,
+          MessageHeaderDecoder.ENCODED_LENGTH,
+          headerDecoder.blockLength(),
+          headerDecoder.version());
+
+      final long term = appendRequestDecoder.term();
+      final long prevLogIndex = appendRequestDecoder.prevLogIndex();
+      final long prevLogTerm = appendRequestDecoder.prevLogTerm();
+      final long commitIndex = appendRequestDecoder.commitIndex();
+      final boolean hasChecksums = appendRequestDecoder.hasChecksums() == BooleanType.TRUE;
+
+      final AppendRequestDecoder.EntriesDecoder entriesDecoder = appendRequestDecoder.entries();
+      final List<RaftLogEntry> entries = new ArrayList<>(entriesDecoder.count());
+      for (final AppendRequestDecoder.EntriesDecoder entry : entriesDecoder) {
+        final EntryType entryType = entry.entryType();
+        final long entryTerm = entry.term();
+        final long timestamp = entry.timestamp();
+        final long lowestPosition = entry.lowestPosition();
+        final long highestPosition = entry.highestPosition();
+        entry.wrapData(dataBuffer);
+
+        switch (entryType) {
+          case ZEEBE:
+            // the entry keeps a view on the received bytes, they are not reused
+            final ByteBuffer data =
+                ByteBuffer.wrap(bytes, dataBuffer.wrapAdjustment(), dataBuffer.capacity()).slice();
+            entries.add(
+                new ZeebeEntry(entryTerm, timestamp, lowestPosition, highestPosition, data));
+            break;
+          case INITIALIZE:
+            entries.add(new InitializeEntry(entryTerm, timestamp));
+            break;
+          case CONFIGURATION:
+            entries.add(fallbackSerializer.decode(copyOf(dataBuffer)));
+            break;
+          default:
+            throw new IllegalStateException(
+                String.format("Expected to decode a known raft log entry, but got %s", entryType));
+        }
+      }
+
+      final AppendRequestDecoder.ChecksumsDecoder checksumsDecoder =
+          appendRequestDecoder.checksums();
+      final List<Long> checksums = hasChecksums ? new ArrayList<>(checksumsDecoder.count()) : null;
+      for (final AppendRequestDecoder.ChecksumsDecoder checksum : checksumsDecoder) {
+        if (checksums != null) {
+          checksums.add(checksum.checksum());
+        }
+      }
+
+      final String leader = appendRequestDecoder.leader();
+      return new AppendRequest(
+          term, leader, prevLogIndex, prevLogTerm, entries, checksums, commitIndex);
+    }
+
+    private byte[] encodeAppendResponse(final AppendResponse response) {
+      final byte[] errorMessage = encodeErrorMessage(response.error());
+      final byte[] bytes =
+          new byte
+              [MessageHeaderEncoder.ENCODED_LENGTH
+                  + AppendResponseEncoder.BLOCK_LENGTH
+                  + AppendResponseEncoder.errorMessageHeaderLength()
+                  + errorMessage.length];
+
+      buffer.wrap(bytes);
+      appendResponseEncoder
+          .wrapAndApplyHeader(buffer, 0, headerEncoder)
+          .status(encodeStatus(response.status()))
+          .errorType(encodeErrorType(response.error(), AppendResponseEncoder.errorTypeNullValue()))
+          .term(response.term())
+          .succeeded(response.succeeded() ? BooleanType.TRUE : BooleanType.FALSE)
+          .lastLogIndex(response.lastLogIndex())
+          .lastSnapshotIndex(response.lastSnapshotIndex())
+          .putErrorMessage(errorMessage, 0, errorMessage.length);
+      return bytes;
+    }
+
+    private AppendResponse decodeAppendResponse() {
+      appendResponseDecoder.wrap(
+          buffer,
+          MessageHeaderDecoder.ENCODED_LENGTH,
+          headerDecoder.blockLength(),
+          headerDecoder.version());
+
+      final Status status = decodeStatus(appendResponseDecoder.status());
+      final short errorType = appendResponseDecoder.errorType();
+      final long term = appendResponseDecoder.term();
+      final boolean succeeded = appendResponseDecoder.succeeded() == BooleanType.TRUE;
+      final long lastLogIndex = appendResponseDecoder.lastLogIndex();
+      final long lastSnapshotIndex = appendResponseDecoder.lastSnapshotIndex();
+      final RaftError error =
+          decodeError(
+              errorType,
+              AppendResponseDecoder.errorTypeNullValue(),
+              appendResponseDecoder.errorMessage());
+
+      return new AppendResponse(status, error, term, succeeded, lastLogIndex, lastSnapshotIndex);
+    }
+
+    private byte[] encodeVoteRequest(final VoteRequest request) {
+      final byte[] candidate = request.candidate().id().getBytes(UTF_8);
+      final byte[] bytes =
+          new byte
+              [MessageHeaderEncoder.ENCODED_LENGTH
+                  + VoteRequestEncoder.BLOCK_LENGTH
+                  + VoteRequestEncoder.candidateHeaderLength()
+                  + candidate.length];
+
+      buffer.wrap(bytes);
+      voteRequestEncoder
+          .wrapAndApplyHeader(buffer, 0, headerEncoder)
+          .term(request.term())
+          .lastLogIndex(request.lastLogIndex())
+          .lastLogTerm(request.lastLogTerm())
+          .putCandidate(candidate, 0, candidate.length);
+      return bytes;
+    }
+
+    private VoteRequest decodeVoteRequest() {
+      voteRequestDecoder.wrap(
+          buffer,
+          MessageHeaderDecoder.ENCODED_LENGTH,
+          headerDecoder.blockLength(),
+          headerDecoder.version());
+
+      final long term = voteRequestDecoder.term();
+      final long lastLogIndex = voteRequestDecoder.lastLogIndex();
+      final long lastLogTerm = voteRequestDecoder.lastLogTerm();
+      return new VoteRequest(term, voteRequestDecoder.candidate(), lastLogIndex, lastLogTerm);
+    }
+
+    private byte[] encodeVoteResponse(final VoteResponse response) {
+      final byte[] errorMessage = encodeErrorMessage(response.error());
+      final byte[] bytes =
+          new byte
+              [MessageHeaderEncoder.ENCODED_LENGTH
+                  + VoteResponseEncoder.BLOCK_LENGTH
+                  + VoteResponseEncoder.errorMessageHeaderLength()
+                  + errorMessage.length];
+
+      buffer.wrap(bytes);
+      voteResponseEncoder
+          .wrapAndApplyHeader(buffer, 0, headerEncoder)
+          .status(encodeStatus(response.status()))
+          .errorType(encodeErrorType(response.error(), VoteResponseEncoder.errorTypeNullValue()))
+          .term(response.term())
+          .voted(response.voted() ? BooleanType.TRUE : BooleanType.FALSE)
+          .putErrorMessage(errorMessage, 0, errorMessage.length);
+      return bytes;
+    }
+
+    private VoteResponse decodeVoteResponse() {
+      voteResponseDecoder.wrap(
+          buffer,
+          MessageHeaderDecoder.ENCODED_LENGTH,
+          headerDecoder.blockLength(),
+          headerDecoder.version());
+
+      final Status status = decodeStatus(voteResponseDecoder.status());
+      final short errorType = voteResponseDecoder.errorType();
+      final long term = voteResponseDecoder.term();
+      final boolean voted = voteResponseDecoder.voted() == BooleanType.TRUE;
+      final RaftError error =
+          decodeError(
+              errorType,
+              VoteResponseDecoder.errorTypeNullValue(),
+              voteResponseDecoder.errorMessage());
+
+      return new VoteResponse(status, error, term, voted);
+    }
+
+    private byte[] encodePollRequest(final PollRequest request) {
+      final byte[] candidate = request.candidate().id().getBytes(UTF_8);
+      final byte[] bytes =
+          new byte
+              [MessageHeaderEncoder.ENCODED_LENGTH
+                  + PollRequestEncoder.BLOCK_LENGTH
+                  + PollRequestEncoder.candidateHeaderLength()
+                  + candidate.length];
+
+      buffer.wrap(bytes);
+      pollRequestEncoder
+          .wrapAndApplyHeader(buffer, 0, headerEncoder)
+          .term(request.term())
+          .lastLogIndex(request.lastLogIndex())
+          .lastLogTerm(request.lastLogTerm())
+          .putCandidate(candidate, 0, candidate.length);
+      return bytes;
+    }
+
+    private PollRequest decodePollRequest() {
+      pollRequestDecoder.wrap(
+          buffer,
+          MessageHeaderDecoder.ENCODED_LENGTH,
+          headerDecoder.blockLength(),
+          headerDecoder.version());
+
+      final long term = pollRequestDecoder.term();
+      final long lastLogIndex = pollRequestDecoder.lastLogIndex();
+      final long lastLogTerm = pollRequestDecoder.lastLogTerm();
+      return new PollRequest(term, pollRequestDecoder.candidate(), lastLogIndex, lastLogTerm);
+    }
+
+    private byte[] encodePollResponse(final PollResponse response) {
+      final byte[] errorMessage = encodeErrorMessage(response.error());
+      final byte[] bytes =
+          new byte
+              [MessageHeaderEncoder.ENCODED_LENGTH
+                  + PollResponseEncoder.BLOCK_LENGTH
+                  + PollResponseEncoder.errorMessageHeaderLength()
+                  + errorMessage.length];
+
+      buffer.wrap(bytes);
+      pollResponseEncoder
+          .wrapAndApplyHeader(buffer, 0, headerEncoder)
+          .status(encodeStatus(response.status()))
+          .errorType(encodeErrorType(response.error(), PollResponseEncoder.errorTypeNullValue()))
+          .term(response.term())
+          .accepted(response.accepted() ? BooleanType.TRUE : BooleanType.FALSE)
+          .putErrorMessage(errorMessage, 0, errorMessage.length);
+      return bytes;
+    }
+
+    private PollResponse decodePollResponse() {
+      pollResponseDecoder.wrap(
+          buffer,
+          MessageHeaderDecoder.ENCODED_LENGTH,
+          headerDecoder.blockLength(),
+          headerDecoder.version());
+
+      final Status status = decodeStatus(pollResponseDecoder.status());
+      final short errorType = pollResponseDecoder.errorType();
+      final long term = pollResponseDecoder.term();
+      final boolean accepted = pollResponseDecoder.accepted() == BooleanType.TRUE;
+      final RaftError error =
+          decodeError(
+              errorType,
+              PollResponseDecoder.errorTypeNullValue(),
+              pollResponseDecoder.errorMessage());
+
+      return new PollResponse(status, error, term, accepted);
+    }
+
+    private byte[] copyOf(final DirectBuffer buffer) {
+      final byte[] bytes = new byte[buffer.capacity()];
+      buffer.getBytes(0, bytes);
+      return bytes;
+    }
+  }
+}
@@ -51,7 +51,6 @@ import org.slf4j.Logger;
 /** Abstract appender. */
 abstract class AbstractAppender implements AutoCloseable {
 
-  protected final int maxBatchSizePerAppend;
   protected final Logger log;
   protected final RaftContext raft;
   protected boolean open = true;
@@ -64,16 +63,15 @@ abstract class AbstractAppender implements AutoCloseable {
         ContextualLoggerFactory.getLogger(
             getClass(), LoggerContext.builder(RaftServer.class).addValue(raft.getName()).build());
     metrics = new LeaderMetrics(raft.getName());
-    maxBatchSizePerAppend = raft.getMaxAppendBatchSize();
   }
 
   /**
    * Builds an append request.
    *
    * @param member The member to which to send the request.
-   * @return The append request.
+   * @return The append request together with the size of its entries.
    */
-  protected AppendRequest buildAppendRequest(final RaftMemberContext member, final long lastIndex) {
+  protected AppendBatch buildAppendRequest(final RaftMemberContext member, final long lastIndex) {
     final RaftLogReader reader = member.getLogReader();
 
     // If the log is empty then send an empty commit.
@@ -82,9 +80,9 @@ abstract class AbstractAppender implements AutoCloseable {
     // If the member failed to respond to recent communication send an empty commit. This
     // helps avoid doing expensive work until we can ascertain the member is back up.
     if (!reader.hasNext()) {
-      return buildAppendEmptyRequest(member);
+      return new AppendBatch(buildAppendEmptyRequest(member), 0);
     } else if (member.getFailureCount() > 0) {
-      return buildAppendEmptyRequest(member);
+      return new AppendBatch(buildAppendEmptyRequest(member), 0);
     } else {
       return buildAppendEntriesRequest(member, lastIndex);
     }
@@ -132,7 +130,7 @@ abstract class AbstractAppender implements AutoCloseable {
 
   /** Builds a populated AppendEntries request. */
   @SuppressWarnings("unchecked")
-  protected AppendRequest buildAppendEntriesRequest(
+  protected AppendBatch buildAppendEntriesRequest(
       final RaftMemberContext member, final long lastIndex) {
     final RaftLogReader reader = member.getLogReader();
 
@@ -155,6 +153,7 @@ abstract class AbstractAppender implements AutoCloseable {
     // counted towards the size of the batch.
     // If there exists an entry in the log with size >= MAX_BATCH_SIZE the logic ensures that
     // entry will be sent in a batch of size one
+    final int batchSize = member.getAppendBatchSize();
     int size = 0;
 
     // Iterate through the log until the last index or the end of the log is reached.
@@ -164,17 +163,27 @@ abstract class AbstractAppender implements AutoCloseable {
       entries.add(entry.entry());
       checksums.add(entry.checksum());
       size += entry.size();
-      if (entry.index() == lastIndex || size >= maxBatchSizePerAppend) {
+      if (entry.index() == lastIndex || size >= batchSize) {
         break;
       }
     }
 
     // Add the entries to the request builder and build the request.
-    return builder.withEntries(entries).withChecksums(checksums).build();
+    return new AppendBatch(builder.withEntries(entries).withChecksums(checksums).build(), size);
   }
 
-  /** Connects to the member and sends a commit message. */
+  /** Connects to the member and sends the append request of the given batch. */
+  protected void sendAppendRequest(final RaftMemberContext member, final AppendBatch batch) {
+    sendAppendRequest(member, batch.request(), batch.bytes());
+  }
+
+  /** Connects to the member and sends an append request without entries. */
   protected void sendAppendRequest(final RaftMemberContext member, final AppendRequest request) {
+    sendAppendRequest(member, request, 0);
+  }
+
+  private void sendAppendRequest(
+      final RaftMemberContext member, final AppendRequest request, final int batchBytes) {
     // If this is a heartbeat message and a heartbeat is already in progress, skip the request.
     if (request.entries().isEmpty() && !member.canHeartbeat()) {
       return;
@@ -182,6 +191,8 @@ abstract class AbstractAppender implements AutoCloseable {
 
     // Start the append to the member.
     member.startAppend();
+    final String memberId = member.getMember().memberId().id();
+    metrics.appendsInFlight(member.getInFlightAppendCount(), memberId);
 
     final long timestamp = System.currentTimeMillis();
 
@@ -192,14 +203,25 @@ abstract class AbstractAppender implements AutoCloseable {
             (response, error) -> {
               // Complete the append to the member.
               final long appendLatency = System.currentTimeMillis() - timestamp;
-              metrics.appendComplete(appendLatency, member.getMember().memberId().id());
               if (!request.entries().isEmpty()) {
-                member.completeAppend(appendLatency);
+                member.completeAppend(appendLatency, batchBytes);
               } else {
                 member.completeAppend();
               }
 
+              // the metrics of the followers are removed when the appender is closed
               if (open) {
+                metrics.appendComplete(appendLatency, memberId);
+                metrics.appendsInFlight(member.getInFlightAppendCount(), memberId);
+                if (!request.entries().isEmpty()) {
+                  metrics.appendBatchSize(member.getAppendBatchSize(), memberId);
+                  if (error == null
+                      && response.status() == RaftResponse.Status.OK
+                      && response.succeeded()) {
+                    metrics.entriesReplicated(request.entries().size(), batchBytes, memberId);
+                  }
+                }
+
                 if (error == null) {
                   log.trace("Received {} from {}", response, member.getMember().memberId());
                   handleAppendResponse(member, request, response, timestamp);
@@ -480,6 +502,7 @@ abstract class AbstractAppender implements AutoCloseable {
     }
 
     try {
+      final ByteBuffer chunkId = reader.nextId();
       final SnapshotChunk chunk = reader.next();
 
       // Create the install request, indicating whether this is the last chunk of data based on
@@ -495,7 +518,7 @@ abstract class AbstractAppender implements AutoCloseable {
               .withTimestamp(persistedSnapshot.getTimestamp().unixTimestamp())
               .withVersion(persistedSnapshot.version())
               .withData(new SnapshotChunkImpl(chunk).toByteBuffer())
-              .withChunkId(ByteBuffer.wrap(chunk.getChunkName().getBytes()))
+              .withChunkId(chunkId)
               .withInitial(member.getNextSnapshotChunk() == null)
               .withComplete(!reader.hasNext())
               .withNextChunkId(reader.nextId())
@@ -583,6 +606,12 @@ abstract class AbstractAppender implements AutoCloseable {
       member.setSnapshotIndex(request.index());
       resetNextIndex(member, request.index() + 1);
     }
+    // If the member skips chunks, e.g. because it could reuse files of its previous snapshot,
+    // continue with the chunk it expects next.
+    else if (response.nextChunkId() != null) {
+      member.getSnapshotChunkReader().seek(response.nextChunkId());
+      member.setNextSnapshotChunk(response.nextChunkId());
+    }
     // If more install requests remain, increment the member's snapshot offset.
     else {
       member.setNextSnapshotChunk(request.nextChunkId());
@@ -611,5 +640,27 @@ abstract class AbstractAppender implements AutoCloseable {
   @Override
   public void close() {
     open = false;
+    for (final RaftMemberContext member : raft.getCluster().getRemoteMemberStates()) {
+      metrics.removeFollower(member.getMember().memberId().id());
+    }
+  }
+
+  /** An append request together with the size of its entries in bytes. */
+  static final class AppendBatch {
+    private final AppendRequest request;
+    private final int bytes;
+
+    private AppendBatch(final AppendRequest request, final int bytes) {
+      this.request = request;
+      this.bytes = bytes;
+    }
+
+    AppendRequest request() {
+      return request;
+    }
+
+    int bytes() {
+      return bytes;
+    }
   }
 }
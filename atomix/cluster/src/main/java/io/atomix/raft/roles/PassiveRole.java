@@ -42,6 +42,7 @@ import io.zeebe.snapshots.raft.PersistedSnapshot;
 import io.zeebe.snapshots.raft.PersistedSnapshotListener;
 import io.zeebe.snapshots.raft.ReceivedSnapshot;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -258,6 +259,7 @@ public class PassiveRole extends InactiveRole {
 
     // If the snapshot is complete, store the snapshot and reset state, otherwise update the next
     // snapshot offset.
+    ByteBuffer skipToChunkId = null;
     if (request.complete()) {
       final long elapsed = System.currentTimeMillis() - pendingSnapshotStartTimestamp;
       log.debug("Committing snapshot {}", pendingSnapshot);
@@ -281,11 +283,19 @@ public class PassiveRole extends InactiveRole {
       snapshotReplicationMetrics.decrementCount();
       snapshotReplicationMetrics.observeDuration(elapsed);
     } else {
-      pendingSnapshot.setNextExpected(request.nextChunkId());
+      // the snapshot may skip chunks, e.g. if it reused a file of the previous snapshot, in which
+      // case the leader is asked to continue with the next chunk which is expected
+      skipToChunkId = pendingSnapshot.getSkipToChunk();
+      pendingSnapshot.setNextExpected(
+          skipToChunkId != null ? skipToChunkId : request.nextChunkId());
     }
 
     return CompletableFuture.completedFuture(
-        logResponse(InstallResponse.builder().withStatus(RaftResponse.Status.OK).build()));
+        logResponse(
+            InstallResponse.builder()
+                .withStatus(RaftResponse.Status.OK)
+                .withNextChunkId(skipToChunkId)
+                .build()));
   }
 
   @Override
@@ -35,6 +35,9 @@ public final class SnapshotChunkImpl
   private String chunkName;
   private long checksum;
   private long snapshotChecksum;
+  private long fileBlockPosition;
+  private long totalFileSize;
+  private long fileChecksum;
 
   public SnapshotChunkImpl() {}
 
@@ -44,6 +47,9 @@ public final class SnapshotChunkImpl
     chunkName = chunk.getChunkName();
     checksum = chunk.getChecksum();
     snapshotChecksum = chunk.getSnapshotChecksum();
+    fileBlockPosition = chunk.getFileBlockPosition();
+    totalFileSize = chunk.getTotalFileSize();
+    fileChecksum = chunk.getFileChecksum();
     content.wrap(chunk.getContent());
   }
 
@@ -64,6 +70,9 @@ public final class SnapshotChunkImpl
     totalCount = SnapshotChunkDecoder.totalCountNullValue();
     checksum = SnapshotChunkDecoder.checksumNullValue();
     snapshotChecksum = SnapshotChunkDecoder.snapshotChecksumNullValue();
+    fileBlockPosition = 0L;
+    totalFileSize = 0L;
+    fileChecksum = SnapshotChunkDecoder.fileChecksumNullValue();
 
     snapshotId = "";
     chunkName = "";
@@ -91,6 +100,9 @@ public final class SnapshotChunkImpl
         .chunkName(chunkName)
         .checksum(checksum)
         .snapshotChecksum(snapshotChecksum)
+        .fileBlockPosition(fileBlockPosition)
+        .totalFileSize(totalFileSize)
+        .fileChecksum(fileChecksum)
         .putContent(content, 0, content.capacity());
   }
 
@@ -103,10 +115,26 @@ public final class SnapshotChunkImpl
     chunkName = decoder.chunkName();
     checksum = decoder.checksum();
     snapshotChecksum = decoder.snapshotChecksum();
+    fileBlockPosition = decoder.fileBlockPosition();
+    totalFileSize = decoder.totalFileSize();
+    fileChecksum = decoder.fileChecksum();
 
     if (decoder.contentLength() > 0) {
       decoder.wrapContent(content);
     }
+
+    // chunks of older versions always contain the whole file
+    if (fileBlockPosition == SnapshotChunkDecoder.fileBlockPositionNullValue()) {
+      fileBlockPosition = 0L;
+    }
+    if (totalFileSize == SnapshotChunkDecoder.totalFileSizeNullValue()) {
+      totalFileSize = content.capacity();
+    }
+    if (fileChecksum == SnapshotChunkDecoder.fileChecksumNullValue()
+        && fileBlockPosition == 0
+        && totalFileSize == content.capacity()) {
+      fileChecksum = checksum;
+    }
   }
 
   @Override
@@ -139,6 +167,21 @@ public final class SnapshotChunkImpl
     return snapshotChecksum;
   }
 
+  @Override
+  public long getFileBlockPosition() {
+    return fileBlockPosition;
+  }
+
+  @Override
+  public long getTotalFileSize() {
+    return totalFileSize;
+  }
+
+  @Override
+  public long getFileChecksum() {
+    return fileChecksum;
+  }
+
   @Override
   public String toString() {
     return "SnapshotChunkImpl{"
@@ -153,6 +196,12 @@ public final class SnapshotChunkImpl
         + checksum
         + ", snapshotChecksum="
         + snapshotChecksum
+        + ", fileBlockPosition="
+        + fileBlockPosition
+        + ", totalFileSize="
+        + totalFileSize
+        + ", fileChecksum="
+        + fileChecksum
         + "} "
         + super.toString();
   }
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.cluster.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public final class AdaptiveAppendBatchSizeTest {
+
+  private static final int MAX_BATCH_SIZE = 32 * 1024;
+
+  @Test
+  public void shouldStartWithMaxBatchSize() {
+    // when
+    final var batchSize = new AdaptiveAppendBatchSize(MAX_BATCH_SIZE);
+
+    // then
+    assertThat(batchSize.getBatchSize()).isEqualTo(MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldHalveBatchSizeIfAppendsQueueUp() {
+    // given
+    final var batchSize = new AdaptiveAppendBatchSize(MAX_BATCH_SIZE);
+    batchSize.onAppendCompleted(10, MAX_BATCH_SIZE);
+
+    // when
+    batchSize.onAppendCompleted(100, MAX_BATCH_SIZE);
+
+    // then
+    assertThat(batchSize.getBatchSize()).isEqualTo(MAX_BATCH_SIZE / 2);
+  }
+
+  @Test
+  public void shouldNotShrinkBelowMinBatchSize() {
+    // given
+    final var batchSize = new AdaptiveAppendBatchSize(MAX_BATCH_SIZE);
+    batchSize.onAppendCompleted(10, MAX_BATCH_SIZE);
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      batchSize.onAppendCompleted(100, MAX_BATCH_SIZE);
+    }
+
+    // then
+    assertThat(batchSize.getBatchSize()).isEqualTo(MAX_BATCH_SIZE / 16);
+  }
+
+  @Test
+  public void shouldGrowBatchSizeIfFullBatchIsAppendedWithoutQueuing() {
+    // given
+    final var batchSize = new AdaptiveAppendBatchSize(MAX_BATCH_SIZE);
+    batchSize.onAppendCompleted(10, MAX_BATCH_SIZE);
+    batchSize.onAppendCompleted(100, MAX_BATCH_SIZE);
+    final int shrunk = batchSize.getBatchSize();
+
+    // when
+    batchSize.onAppendCompleted(10, shrunk);
+
+    // then
+    assertThat(batchSize.getBatchSize()).isEqualTo(shrunk + shrunk / 4);
+  }
+
+  @Test
+  public void shouldNotGrowBatchSizeIfBatchIsNotFull() {
+    // given
+    final var batchSize = new AdaptiveAppendBatchSize(MAX_BATCH_SIZE);
+    batchSize.onAppendCompleted(10, MAX_BATCH_SIZE);
+    batchSize.onAppendCompleted(100, MAX_BATCH_SIZE);
+    final int shrunk = batchSize.getBatchSize();
+
+    // when
+    batchSize.onAppendCompleted(10, shrunk / 2);
+
+    // then
+    assertThat(batchSize.getBatchSize()).isEqualTo(shrunk);
+  }
+
+  @Test
+  public void shouldNotGrowAboveMaxBatchSize() {
+    // given
+    final var batchSize = new AdaptiveAppendBatchSize(MAX_BATCH_SIZE);
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      batchSize.onAppendCompleted(10, MAX_BATCH_SIZE);
+    }
+
+    // then
+    assertThat(batchSize.getBatchSize()).isEqualTo(MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldRenewMinRoundTripTimeAfterSampleWindow() {
+    // given
+    final var batchSize = new AdaptiveAppendBatchSize(MAX_BATCH_SIZE);
+    batchSize.onAppendCompleted(1, MAX_BATCH_SIZE);
+
+    // when - the link became slower, but is not congested
+    for (int i = 0; i < 512; i++) {
+      batchSize.onAppendCompleted(50, batchSize.getBatchSize());
+    }
+
+    // then
+    assertThat(batchSize.getBatchSize()).isEqualTo(MAX_BATCH_SIZE);
+  }
+}
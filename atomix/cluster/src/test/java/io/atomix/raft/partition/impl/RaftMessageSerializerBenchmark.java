@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import io.atomix.raft.protocol.AppendRequest;
+import io.atomix.raft.protocol.VoteRequest;
+import io.atomix.raft.storage.log.entry.RaftLogEntry;
+import io.atomix.raft.zeebe.ZeebeEntry;
+import io.atomix.utils.serializer.Serializer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the Kryo serialization of the raft messages with the SBE encoding. The append request
+ * contains zeebe entries of the given size, as they are replicated to the followers. The encoded
+ * length of the messages is printed when the benchmark is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RaftMessageSerializerBenchmark {
+
+  private static final int ENTRY_COUNT = 16;
+
+  @Param({"kryo", "sbe"})
+  private String serializerType;
+
+  @Param({"128", "4096"})
+  private int entrySize;
+
+  private Serializer serializer;
+  private AppendRequest appendRequest;
+  private VoteRequest voteRequest;
+  private byte[] encodedAppendRequest;
+  private byte[] encodedVoteRequest;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(RaftMessageSerializerBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final Serializer kryoSerializer = Serializer.using(RaftNamespaces.RAFT_PROTOCOL);
+    serializer =
+        "sbe".equals(serializerType)
+            ? new SbeRaftMessageSerializer(kryoSerializer)
+            : kryoSerializer;
+
+    final List<RaftLogEntry> entries = new ArrayList<>(ENTRY_COUNT);
+    final List<Long> checksums = new ArrayList<>(ENTRY_COUNT);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      final byte[] data = new byte[entrySize];
+      data[i % entrySize] = (byte) i;
+      entries.add(new ZeebeEntry(3, 1_000L + i, i * 10L, i * 10L + 9, ByteBuffer.wrap(data)));
+      checksums.add(0xCAFEL + i);
+    }
+    appendRequest = new AppendRequest(3, "1", 100, 3, entries, checksums, 98);
+    voteRequest = new VoteRequest(3, "1", 100, 3);
+
+    encodedAppendRequest = serializer.encode(appendRequest);
+    encodedVoteRequest = serializer.encode(voteRequest);
+    System.out.printf(
+        "%n%s: append request %d bytes, vote request %d bytes%n",
+        serializerType, encodedAppendRequest.length, encodedVoteRequest.length);
+  }
+
+  @Benchmark
+  public byte[] encodeAppendRequest() {
+    return serializer.encode(appendRequest);
+  }
+
+  @Benchmark
+  public AppendRequest decodeAppendRequest() {
+    return serializer.decode(encodedAppendRequest);
+  }
+
+  @Benchmark
+  public byte[] encodeVoteRequest() {
+    return serializer.encode(voteRequest);
+  }
+
+  @Benchmark
+  public VoteRequest decodeVoteRequest() {
+    return serializer.decode(encodedVoteRequest);
+  }
+}
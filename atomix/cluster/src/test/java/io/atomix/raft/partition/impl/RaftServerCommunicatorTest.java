@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.cluster.messaging.MessagingException.NoRemoteHandler;
+import io.atomix.raft.protocol.AppendRequest;
+import io.atomix.raft.protocol.AppendResponse;
+import io.atomix.raft.protocol.RaftResponse.Status;
+import io.atomix.utils.serializer.Serializer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class RaftServerCommunicatorTest {
+
+  private static final String SBE_APPEND_SUBJECT = "raft-partition-1-append-sbe";
+  private static final String APPEND_SUBJECT = "raft-partition-1-append";
+  private static final MemberId MEMBER = MemberId.from("1");
+
+  private final AppendRequest request = new AppendRequest(1, "0", 0, 0, List.of(), List.of(), 0);
+  private final AppendResponse response = new AppendResponse(Status.OK, null, 1, true, 0, 0);
+
+  private ClusterCommunicationService clusterCommunicator;
+  private RaftServerCommunicator communicator;
+
+  @Before
+  public void setUp() {
+    clusterCommunicator = mock(ClusterCommunicationService.class);
+    communicator =
+        new RaftServerCommunicator(
+            "raft-partition-1",
+            Serializer.using(RaftNamespaces.RAFT_PROTOCOL),
+            clusterCommunicator);
+  }
+
+  @Test
+  public void shouldSendSbeEncodedRequest() {
+    // given
+    when(clusterCommunicator.send(eq(SBE_APPEND_SUBJECT), any(), any(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    // when
+    final AppendResponse received = communicator.append(MEMBER, request).join();
+
+    // then
+    assertThat(received).isEqualTo(response);
+    verify(clusterCommunicator, never()).send(eq(APPEND_SUBJECT), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldFallBackToPreviousSubjectIfMemberHasNoSbeHandler() {
+    // given
+    when(clusterCommunicator.send(eq(SBE_APPEND_SUBJECT), any(), any(), any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new CompletionException(new NoRemoteHandler())));
+    when(clusterCommunicator.send(eq(APPEND_SUBJECT), any(), any(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    // when
+    final AppendResponse first = communicator.append(MEMBER, request).join();
+    final AppendResponse second = communicator.append(MEMBER, request).join();
+
+    // then
+    assertThat(first).isEqualTo(response);
+    assertThat(second).isEqualTo(response);
+    verify(clusterCommunicator, times(1)).send(eq(SBE_APPEND_SUBJECT), any(), any(), any(), any());
+    verify(clusterCommunicator, times(2)).send(eq(APPEND_SUBJECT), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotFallBackOnOtherErrors() {
+    // given
+    when(clusterCommunicator.send(eq(SBE_APPEND_SUBJECT), any(), any(), any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+    // when
+    final CompletableFuture<AppendResponse> responseFuture = communicator.append(MEMBER, request);
+
+    // then
+    assertThat(responseFuture).isCompletedExceptionally();
+    verify(clusterCommunicator, never()).send(eq(APPEND_SUBJECT), any(), any(), any(), any());
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2020 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.raft.partition.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.raft.RaftError;
+import io.atomix.raft.cluster.RaftMember;
+import io.atomix.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.raft.protocol.AppendRequest;
+import io.atomix.raft.protocol.AppendResponse;
+import io.atomix.raft.protocol.ConfigureRequest;
+import io.atomix.raft.protocol.PollRequest;
+import io.atomix.raft.protocol.PollResponse;
+import io.atomix.raft.protocol.RaftResponse.Status;
+import io.atomix.raft.protocol.VoteRequest;
+import io.atomix.raft.protocol.VoteResponse;
+import io.atomix.raft.storage.log.entry.ConfigurationEntry;
+import io.atomix.raft.storage.log.entry.InitializeEntry;
+import io.atomix.raft.storage.log.entry.RaftLogEntry;
+import io.atomix.raft.zeebe.ZeebeEntry;
+import io.atomix.utils.serializer.Serializer;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public final class SbeRaftMessageSerializerTest {
+
+  private final Serializer serializer =
+      new SbeRaftMessageSerializer(Serializer.using(RaftNamespaces.RAFT_PROTOCOL));
+
+  @Test
+  public void shouldEncodeAndDecodeAppendRequest() {
+    // given
+    final List<RaftLogEntry> entries =
+        List.of(
+            new InitializeEntry(1, 100),
+            new ConfigurationEntry(
+                1,
+                101,
+                new ArrayList<>(
+                    List.of(
+                        new DefaultRaftMember(
+                            MemberId.from("1"), RaftMember.Type.ACTIVE, Instant.ofEpochMilli(5))))),
+            new ZeebeEntry(2, 102, 10, 12, ByteBuffer.wrap("foo".getBytes())),
+            new ZeebeEntry(2, 103, 13, 13, ByteBuffer.wrap("bar".getBytes())));
+    final AppendRequest request =
+        new AppendRequest(2, "0", 5, 1, entries, List.of(1L, 2L, 3L, 4L), 4);
+
+    // when
+    final AppendRequest decoded = serializer.decode(serializer.encode(request));
+
+    // then
+    assertThat(decoded).isEqualTo(request);
+    assertThat(decoded.leader()).isEqualTo(MemberId.from("0"));
+    assertThat(decoded.entries()).extracting(RaftLogEntry::term).containsExactly(1L, 1L, 2L, 2L);
+    assertThat(((ConfigurationEntry) decoded.entries().get(1)).members())
+        .extracting(RaftMember::memberId)
+        .containsExactly(MemberId.from("1"));
+  }
+
+  @Test
+  public void shouldEncodeAndDecodeAppendRequestWithoutChecksums() {
+    // given
+    final AppendRequest request = new AppendRequest(2, "0", 5, 1, List.of(), null, 4);
+
+    // when
+    final AppendRequest decoded = serializer.decode(serializer.encode(request));
+
+    // then
+    assertThat(decoded.entries()).isEmpty();
+    assertThat(decoded.checksums()).isNull();
+    assertThat(decoded.commitIndex()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldDecodeEntryDataWithoutCopy() {
+    // given
+    final ByteBuffer data = ByteBuffer.allocate(16);
+    data.position(4).limit(12);
+    final AppendRequest request =
+        new AppendRequest(
+            2, "0", 5, 1, List.of(new ZeebeEntry(2, 102, 10, 12, data)), List.of(1L), 4);
+    final byte[] bytes = serializer.encode(request);
+
+    // when
+    final AppendRequest decoded = serializer.decode(bytes);
+
+    // then
+    final ByteBuffer decodedData = ((ZeebeEntry) decoded.entries().get(0)).data();
+    assertThat(decodedData.remaining()).isEqualTo(8);
+    assertThat(decodedData.array()).isSameAs(bytes);
+  }
+
+  @Test
+  public void shouldEncodeAndDecodeAppendResponse() {
+    // given
+    final AppendResponse response = new AppendResponse(Status.OK, null, 3, true, 10, 5);
+
+    // when
+    final AppendResponse decoded = serializer.decode(serializer.encode(response));
+
+    // then
+    assertThat(decoded).isEqualTo(response);
+    assertThat(decoded.error()).isNull();
+  }
+
+  @Test
+  public void shouldEncodeAndDecodeErrorResponse() {
+    // given
+    final RaftError error = new RaftError(RaftError.Type.ILLEGAL_MEMBER_STATE, "not a follower");
+    final VoteResponse response = new VoteResponse(Status.ERROR, error, 3, false);
+
+    // when
+    final VoteResponse decoded = serializer.decode(serializer.encode(response));
+
+    // then
+    assertThat(decoded.status()).isEqualTo(Status.ERROR);
+    assertThat(decoded.error().type()).isEqualTo(RaftError.Type.ILLEGAL_MEMBER_STATE);
+    assertThat(decoded.error().message()).isEqualTo("not a follower");
+    assertThat(decoded.term()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldEncodeAndDecodeVoteAndPollMessages() {
+    // given
+    final VoteRequest voteRequest = new VoteRequest(3, "2", 10, 2);
+    final VoteResponse voteResponse = new VoteResponse(Status.OK, null, 3, true);
+    final PollRequest pollRequest = new PollRequest(3, "2", 10, 2);
+    final PollResponse pollResponse = new PollResponse(Status.OK, null, 3, true);
+
+    // when
+    final Object decodedVoteRequest = serializer.decode(serializer.encode(voteRequest));
+    final Object decodedVoteResponse = serializer.decode(serializer.encode(voteResponse));
+    final Object decodedPollRequest = serializer.decode(serializer.encode(pollRequest));
+    final Object decodedPollResponse = serializer.decode(serializer.encode(pollResponse));
+
+    // then
+    assertThat(decodedVoteRequest).usingRecursiveComparison().isEqualTo(voteRequest);
+    assertThat(decodedVoteResponse).isEqualTo(voteResponse);
+    assertThat(decodedPollRequest).usingRecursiveComparison().isEqualTo(pollRequest);
+    assertThat(decodedPollResponse).isEqualTo(pollResponse);
+  }
+
+  @Test
+  public void shouldNotEncodeOtherMessages() {
+    // given
+    final ConfigureRequest request =
+        ConfigureRequest.builder()
+            .withTerm(1)
+            .withLeader(MemberId.from("0"))
+            .withIndex(1)
+            .withTime(1)
+            .withMembers(List.of())
+            .build();
+
+    // then
+    assertThatThrownBy(() -> serializer.encode(request))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldNotDecodeMessageOfOtherSchema() {
+    // given
+    final byte[] bytes =
+        Serializer.using(RaftNamespaces.RAFT_PROTOCOL).encode(new VoteRequest(3, "2", 10, 2));
+
+    // then
+    assertThatThrownBy(() -> serializer.decode(bytes)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
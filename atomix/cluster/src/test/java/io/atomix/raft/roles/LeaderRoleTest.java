@@ -21,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.when;
 import io.atomix.cluster.ClusterMembershipService;
 import io.atomix.raft.RaftException.NoLeader;
 import io.atomix.raft.RaftServer.Role;
+import io.atomix.raft.cluster.impl.RaftClusterContext;
 import io.atomix.raft.impl.RaftContext;
 import io.atomix.raft.metrics.RaftReplicationMetrics;
 import io.atomix.raft.storage.RaftStorage;
@@ -69,6 +71,7 @@ public class LeaderRoleTest {
     when(context.getElectionTimeout()).thenReturn(Duration.ofMillis(100));
     when(context.getHeartbeatInterval()).thenReturn(Duration.ofMillis(100));
     when(context.getReplicationMetrics()).thenReturn(mock(RaftReplicationMetrics.class));
+    when(context.getCluster()).thenReturn(mock(RaftClusterContext.class));
 
     final SingleThreadContext threadContext = new SingleThreadContext("leader");
     when(context.getThreadContext()).thenReturn(threadContext);
@@ -482,4 +485,46 @@ public class LeaderRoleTest {
     assertTrue(latch.await(5, TimeUnit.SECONDS));
     verify(leaderRole.raft, timeout(2000).atLeast(1)).transition(Role.FOLLOWER);
   }
+
+  @Test
+  public void shouldNotAppendEntryWhenValidationFailed() throws InterruptedException {
+    // given
+    when(context.getEntryValidator()).thenReturn((a, b) -> ValidationResult.failure("expected"));
+    leaderRole = new LeaderRole(context);
+
+    final ByteBuffer data = ByteBuffer.allocate(Integer.BYTES).putInt(0, 1);
+    final List<Throwable> writeErrors = new CopyOnWriteArrayList<>();
+    final List<Indexed<ZeebeEntry>> writtenEntries = new CopyOnWriteArrayList<>();
+    final AppendListener listener =
+        new AppendListener() {
+          @Override
+          public void onWrite(final Indexed<ZeebeEntry> indexed) {
+            writtenEntries.add(indexed);
+          }
+
+          @Override
+          public void onWriteError(final Throwable error) {
+            writeErrors.add(error);
+          }
+
+          @Override
+          public void onCommit(final Indexed<ZeebeEntry> indexed) {}
+
+          @Override
+          public void onCommitError(final Indexed<ZeebeEntry> indexed, final Throwable error) {}
+        };
+
+    // when
+    leaderRole.appendEntry(0, 1, data, listener);
+
+    // then
+    final CountDownLatch appendProcessed = new CountDownLatch(1);
+    context.getThreadContext().execute(appendProcessed::countDown);
+    assertTrue(appendProcessed.await(10, TimeUnit.SECONDS));
+
+    verify(context, timeout(1000)).transition(Role.FOLLOWER);
+    verify(writer, never()).append(any(RaftLogEntry.class));
+    assertThat(writeErrors).hasSize(1).allMatch(IllegalStateException.class::isInstance);
+    assertThat(writtenEntries).isEmpty();
+  }
 }
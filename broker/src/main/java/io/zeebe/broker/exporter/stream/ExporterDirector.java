@@ -8,6 +8,7 @@
 package io.zeebe.broker.exporter.stream;
 
 import io.zeebe.broker.Loggers;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processing.streamprocessor.EventFilter;
 import io.zeebe.engine.processing.streamprocessor.RecordValues;
@@ -27,10 +28,13 @@ import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -40,6 +44,16 @@ import java.util.stream.Collectors;
 import org.agrona.LangUtil;
 import org.slf4j.Logger;
 
+/**
+ * Reads the records of the log stream and passes them to the configured exporters.
+ *
+ * <p>By default, all exporters are driven by a single reader on the actor of the director, such
+ * that every record is passed to all exporters before the next record is read. If parallel
+ * exporting is enabled, the director starts a separate director for each exporter instead, which
+ * has its own actor and reader. A slow exporter then doesn't delay the other exporters. The
+ * positions of all exporters are still stored in the same {@link ExportersState}, and the lowest of
+ * them still determines up to which position the log can be compacted.
+ */
 public final class ExporterDirector extends Actor {
 
   private static final String ERROR_MESSAGE_EXPORTING_ABORTED =
@@ -50,6 +64,10 @@ public final class ExporterDirector extends Actor {
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
   private final List<ExporterContainer> containers;
+  private final List<String> exporterIds;
+  // the directors of the single exporters if exporting in parallel, otherwise empty
+  private final List<ExporterDirector> exporterDirectors;
+  private final boolean isExporterDirector;
   private final LogStream logStream;
   private final RecordExporter recordExporter;
   private final ZeebeDb zeebeDb;
@@ -65,11 +83,38 @@ public final class ExporterDirector extends Actor {
   private boolean inExportingPhase;
   private boolean isPaused;
   private ExporterPhase exporterPhase;
+  private ActorScheduler actorScheduler;
 
   public ExporterDirector(final ExporterDirectorContext context, final boolean shouldPauseOnStart) {
+    this(context, shouldPauseOnStart, false);
+  }
+
+  private ExporterDirector(
+      final ExporterDirectorContext context,
+      final boolean shouldPauseOnStart,
+      final boolean isExporterDirector) {
     name = context.getName();
-    containers =
-        context.getDescriptors().stream().map(ExporterContainer::new).collect(Collectors.toList());
+    this.isExporterDirector = isExporterDirector;
+    exporterIds =
+        context.getDescriptors().stream()
+            .map(ExporterDescriptor::getId)
+            .collect(Collectors.toList());
+
+    if (context.isParallelExporting() && context.getDescriptors().size() > 1) {
+      containers = List.of();
+      exporterDirectors = new ArrayList<>();
+      for (final ExporterDescriptor descriptor : context.getDescriptors()) {
+        exporterDirectors.add(
+            new ExporterDirector(
+                newExporterDirectorContext(context, descriptor), shouldPauseOnStart, true));
+      }
+    } else {
+      containers =
+          context.getDescriptors().stream()
+              .map(ExporterContainer::new)
+              .collect(Collectors.toList());
+      exporterDirectors = List.of();
+    }
 
     logStream = Objects.requireNonNull(context.getLogStream());
     final int partitionId = logStream.getPartitionId();
@@ -81,7 +126,18 @@ public final class ExporterDirector extends Actor {
     isPaused = shouldPauseOnStart;
   }
 
+  private static ExporterDirectorContext newExporterDirectorContext(
+      final ExporterDirectorContext context, final ExporterDescriptor descriptor) {
+    return new ExporterDirectorContext()
+        .id(context.getId())
+        .name(context.getName() + "-" + descriptor.getId())
+        .logStream(context.getLogStream())
+        .zeebeDb(context.getZeebeDb())
+        .descriptors(List.of(descriptor));
+  }
+
   public ActorFuture<Void> startAsync(final ActorScheduler actorScheduler) {
+    this.actorScheduler = actorScheduler;
     return actorScheduler.submitActor(this, SchedulingHints.ioBound());
   }
 
@@ -90,6 +146,15 @@ public final class ExporterDirector extends Actor {
   }
 
   public ActorFuture<Void> pauseExporting() {
+    if (!exporterDirectors.isEmpty()) {
+      return forEachExporterDirector(
+          ExporterDirector::pauseExporting,
+          () -> {
+            isPaused = true;
+            exporterPhase = ExporterPhase.PAUSED;
+          });
+    }
+
     return actor.call(
         () -> {
           isPaused = true;
@@ -99,6 +164,15 @@ public final class ExporterDirector extends Actor {
   }
 
   public ActorFuture<Void> resumeExporting() {
+    if (!exporterDirectors.isEmpty()) {
+      return forEachExporterDirector(
+          ExporterDirector::resumeExporting,
+          () -> {
+            isPaused = false;
+            exporterPhase = ExporterPhase.EXPORTING;
+          });
+    }
+
     return actor.call(
         () -> {
           isPaused = false;
@@ -108,6 +182,31 @@ public final class ExporterDirector extends Actor {
         });
   }
 
+  /**
+   * Applies the given action to the directors of the single exporters. The returned future is
+   * completed when the action is completed by all of them. A director which was closed because its
+   * exporter failed is ignored.
+   */
+  private ActorFuture<Void> forEachExporterDirector(
+      final Function<ExporterDirector, ActorFuture<Void>> action, final Runnable onCompletion) {
+    final CompletableActorFuture<Void> future = new CompletableActorFuture<>();
+    actor.run(
+        () -> {
+          final Collection<ActorFuture<Void>> futures = new ArrayList<>();
+          exporterDirectors.forEach(director -> futures.add(action.apply(director)));
+          actor.runOnCompletion(
+              futures,
+              error -> {
+                if (error != null) {
+                  LOG.debug("Failed to apply action to all exporter directors of {}", name, error);
+                }
+                onCompletion.run();
+                future.complete(null);
+              });
+        });
+    return future;
+  }
+
   public ActorFuture<ExporterPhase> getPhase() {
     if (actor.isClosed()) {
       return CompletableActorFuture.completed(ExporterPhase.CLOSED);
@@ -122,6 +221,11 @@ public final class ExporterDirector extends Actor {
 
   @Override
   protected void onActorStarting() {
+    if (!exporterDirectors.isEmpty()) {
+      // the directors of the single exporters have their own readers
+      return;
+    }
+
     final ActorFuture<LogStreamReader> newReaderFuture = logStream.newLogStreamReader();
     actor.runOnCompletionBlockingCurrentPhase(
         newReaderFuture,
@@ -143,6 +247,11 @@ public final class ExporterDirector extends Actor {
 
   @Override
   protected void onActorStarted() {
+    if (!exporterDirectors.isEmpty()) {
+      startExporterDirectors();
+      return;
+    }
+
     try {
       LOG.debug("Recovering exporter from snapshot");
       recoverFromSnapshot();
@@ -166,7 +275,19 @@ public final class ExporterDirector extends Actor {
 
   @Override
   protected void onActorClosing() {
-    logStreamReader.close();
+    for (final ExporterDirector director : exporterDirectors) {
+      actor.runOnCompletionBlockingCurrentPhase(
+          director.stopAsync(),
+          (nothing, error) -> {
+            if (error != null) {
+              LOG.warn("Failed to close exporter director '{}'", director.getName(), error);
+            }
+          });
+    }
+
+    if (logStreamReader != null) {
+      logStreamReader.close();
+    }
     if (onCommitPositionUpdatedCondition != null) {
       logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
       onCommitPositionUpdatedCondition = null;
@@ -185,10 +306,30 @@ public final class ExporterDirector extends Actor {
     containers.forEach(ExporterContainer::close);
   }
 
+  private void startExporterDirectors() {
+    state = new ExportersState(zeebeDb, zeebeDb.createContext());
+    clearExporterState();
+
+    for (final ExporterDirector director : exporterDirectors) {
+      actor.runOnCompletionBlockingCurrentPhase(
+          director.startAsync(actorScheduler),
+          (nothing, error) -> {
+            if (error != null) {
+              LOG.error("Failed to start exporter director '{}'", director.getName(), error);
+            }
+          });
+    }
+
+    isOpened.set(true);
+    exporterPhase = isPaused ? ExporterPhase.PAUSED : ExporterPhase.EXPORTING;
+  }
+
   private void recoverFromSnapshot() {
     state = new ExportersState(zeebeDb, zeebeDb.createContext());
 
-    final long snapshotPosition = state.getLowestPosition();
+    // the director of a single exporter continues at the position of its exporter
+    final long snapshotPosition =
+        isExporterDirector ? state.getPosition(exporterIds.get(0)) : state.getLowestPosition();
     final boolean failedToRecoverReader = !logStreamReader.seekToNextEvent(snapshotPosition);
     if (failedToRecoverReader) {
       throw new IllegalStateException(
@@ -240,7 +381,9 @@ public final class ExporterDirector extends Actor {
       container.openExporter();
     }
 
-    clearExporterState();
+    if (!isExporterDirector) {
+      clearExporterState();
+    }
 
     if (state.hasExporters()) {
       if (!isPaused) {
@@ -324,9 +467,6 @@ public final class ExporterDirector extends Actor {
   }
 
   private void clearExporterState() {
-    final List<String> exporterIds =
-        containers.stream().map(ExporterContainer::getId).collect(Collectors.toList());
-
     state.visitPositions(
         (exporterId, position) -> {
           if (!exporterIds.contains(exporterId)) {
@@ -390,6 +530,8 @@ public final class ExporterDirector extends Actor {
         if (container.exportRecord(rawMetadata, typedEvent)) {
           exporterIndex++;
           exporterMetrics.setLastExportedPosition(container.getId(), typedEvent.getPosition());
+          exporterMetrics.exportLag(
+              container.getId(), typedEvent.getTimestamp(), ActorClock.currentTimeMillis());
         } else {
           return false;
         }
@@ -19,6 +19,7 @@ public final class ExporterDirectorContext {
   private LogStream logStream;
   private Collection<ExporterDescriptor> descriptors;
   private ZeebeDb zeebeDb;
+  private boolean parallelExporting;
 
   public int getId() {
     return id;
@@ -40,6 +41,10 @@ public final class ExporterDirectorContext {
     return zeebeDb;
   }
 
+  public boolean isParallelExporting() {
+    return parallelExporting;
+  }
+
   public ExporterDirectorContext id(final int id) {
     this.id = id;
     return this;
@@ -64,4 +69,9 @@ public final class ExporterDirectorContext {
     this.zeebeDb = zeebeDb;
     return this;
   }
+
+  public ExporterDirectorContext parallelExporting(final boolean parallelExporting) {
+    this.parallelExporting = parallelExporting;
+    return this;
+  }
 }
@@ -9,6 +9,7 @@ package io.zeebe.broker.exporter.stream;
 
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
 import io.zeebe.protocol.record.ValueType;
 
 public final class ExporterMetrics {
@@ -37,6 +38,14 @@ public final class ExporterMetrics {
           .labelNames("exporter", "partition")
           .register();
 
+  private static final Histogram EXPORTER_LAG =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("exporter_lag")
+          .help("Time between a record is written and passed to the exporter (in seconds)")
+          .labelNames("exporter", "partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public ExporterMetrics(final int partitionId) {
@@ -62,4 +71,8 @@ public final class ExporterMetrics {
   public void setLastExportedPosition(final String exporter, final long position) {
     LAST_EXPORTED_POSITION.labels(exporter, partitionIdLabel).set(position);
   }
+
+  public void exportLag(final String exporter, final long written, final long exported) {
+    EXPORTER_LAG.labels(exporter, partitionIdLabel).observe((exported - written) / 1000f);
+  }
 }
@@ -20,12 +20,22 @@ public class ExperimentalCfg implements ConfigurationEntry {
   public static final int DEFAULT_MAX_APPENDS_PER_FOLLOWER = 2;
   public static final DataSize DEFAULT_MAX_APPEND_BATCH_SIZE = DataSize.ofKilobytes(32);
   public static final boolean DEFAULT_DISABLE_EXPLICIT_RAFT_FLUSH = false;
+  public static final boolean DEFAULT_PIPELINED_REPLICATION = false;
   private static final boolean DEFAULT_DETECT_REPROCESSING_INCONSISTENCY = false;
+  private static final int DEFAULT_PROCESSING_PIPELINE_DEPTH = 0;
+  private static final int DEFAULT_PROCESSING_BATCH_SIZE = 1;
+  private static final boolean DEFAULT_PARALLEL_EXPORTING = false;
+  private static final boolean DEFAULT_REPLICATE_SNAPSHOT_FILE_BLOCKS = false;
 
   private int maxAppendsPerFollower = DEFAULT_MAX_APPENDS_PER_FOLLOWER;
   private DataSize maxAppendBatchSize = DEFAULT_MAX_APPEND_BATCH_SIZE;
   private boolean disableExplicitRaftFlush = DEFAULT_DISABLE_EXPLICIT_RAFT_FLUSH;
+  private boolean pipelinedReplication = DEFAULT_PIPELINED_REPLICATION;
   private boolean detectReprocessingInconsistency = DEFAULT_DETECT_REPROCESSING_INCONSISTENCY;
+  private int processingPipelineDepth = DEFAULT_PROCESSING_PIPELINE_DEPTH;
+  private int processingBatchSize = DEFAULT_PROCESSING_BATCH_SIZE;
+  private boolean parallelExporting = DEFAULT_PARALLEL_EXPORTING;
+  private boolean replicateSnapshotFileBlocks = DEFAULT_REPLICATE_SNAPSHOT_FILE_BLOCKS;
   private RocksdbCfg rocksdb = new RocksdbCfg();
 
   @Override
@@ -61,6 +71,14 @@ public class ExperimentalCfg implements ConfigurationEntry {
     this.disableExplicitRaftFlush = disableExplicitRaftFlush;
   }
 
+  public boolean isPipelinedReplication() {
+    return pipelinedReplication;
+  }
+
+  public void setPipelinedReplication(final boolean pipelinedReplication) {
+    this.pipelinedReplication = pipelinedReplication;
+  }
+
   public boolean isDetectReprocessingInconsistency() {
     return detectReprocessingInconsistency;
   }
@@ -69,6 +87,38 @@ public class ExperimentalCfg implements ConfigurationEntry {
     this.detectReprocessingInconsistency = detectReprocessingInconsistency;
   }
 
+  public int getProcessingPipelineDepth() {
+    return processingPipelineDepth;
+  }
+
+  public void setProcessingPipelineDepth(final int processingPipelineDepth) {
+    this.processingPipelineDepth = processingPipelineDepth;
+  }
+
+  public int getProcessingBatchSize() {
+    return processingBatchSize;
+  }
+
+  public void setProcessingBatchSize(final int processingBatchSize) {
+    this.processingBatchSize = processingBatchSize;
+  }
+
+  public boolean isParallelExporting() {
+    return parallelExporting;
+  }
+
+  public void setParallelExporting(final boolean parallelExporting) {
+    this.parallelExporting = parallelExporting;
+  }
+
+  public boolean isReplicateSnapshotFileBlocks() {
+    return replicateSnapshotFileBlocks;
+  }
+
+  public void setReplicateSnapshotFileBlocks(final boolean replicateSnapshotFileBlocks) {
+    this.replicateSnapshotFileBlocks = replicateSnapshotFileBlocks;
+  }
+
   public RocksdbCfg getRocksdb() {
     return rocksdb;
   }
@@ -86,8 +136,18 @@ public class ExperimentalCfg implements ConfigurationEntry {
         + maxAppendBatchSize
         + ", disableExplicitRaftFlush="
         + disableExplicitRaftFlush
+        + ", pipelinedReplication="
+        + pipelinedReplication
         + ", detectReprocessingInconsistency="
         + detectReprocessingInconsistency
+        + ", processingPipelineDepth="
+        + processingPipelineDepth
+        + ", processingBatchSize="
+        + processingBatchSize
+        + ", parallelExporting="
+        + parallelExporting
+        + ", replicateSnapshotFileBlocks="
+        + replicateSnapshotFileBlocks
         + ", rocksdb="
         + rocksdb
         + '}';
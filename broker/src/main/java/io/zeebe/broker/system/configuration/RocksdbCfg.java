@@ -7,7 +7,11 @@
  */
 package io.zeebe.broker.system.configuration;
 
+import io.zeebe.db.impl.rocksdb.ColumnFamilyProfile;
 import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
@@ -20,6 +24,11 @@ public final class RocksdbCfg implements ConfigurationEntry {
   private boolean statisticsEnabled;
   private DataSize memoryLimit = DataSize.ofBytes(RocksDbConfiguration.DEFAULT_MEMORY_LIMIT);
   private int maxOpenFiles = RocksDbConfiguration.DEFAULT_UNLIMITED_MAX_OPEN_FILES;
+  private Map<String, ColumnFamilyProfile> columnFamilyProfiles = new HashMap<>();
+  private boolean separateColumnFamilies;
+  // the sizes are kept as strings, since Spring only binds dotted keys of environment variables,
+  // e.g. `job.states`, to a single map entry if the values are of a java.lang type
+  private Map<String, String> columnFamilyCacheSizes = new HashMap<>();
 
   @Override
   public void init(final BrokerCfg globalConfig, final String brokerBase) {
@@ -31,6 +40,22 @@ public final class RocksdbCfg implements ConfigurationEntry {
       // we must do some transformations on the entries of this properties object.
       columnFamilyOptions = initColumnFamilyOptions(columnFamilyOptions);
     }
+
+    columnFamilyProfiles = initColumnFamilyNames(columnFamilyProfiles);
+    columnFamilyCacheSizes = initColumnFamilyNames(columnFamilyCacheSizes);
+  }
+
+  private static <T> Map<String, T> initColumnFamilyNames(final Map<String, T> original) {
+    // keys provided as environment variables are lower case and contain dots instead of
+    // underscores, e.g. `timer.due.dates` should be `TIMER_DUE_DATES`
+    final var result = new HashMap<String, T>();
+    original.forEach(
+        (name, value) ->
+            result.put(
+                RocksDBColumnFamilyOption.replaceAllDotCharsWithUnderscore(name)
+                    .toUpperCase(Locale.ROOT),
+                value));
+    return result;
   }
 
   private static Properties initColumnFamilyOptions(final Properties original) {
@@ -73,9 +98,43 @@ public final class RocksdbCfg implements ConfigurationEntry {
     this.maxOpenFiles = maxOpenFiles;
   }
 
+  public Map<String, ColumnFamilyProfile> getColumnFamilyProfiles() {
+    return columnFamilyProfiles;
+  }
+
+  public void setColumnFamilyProfiles(final Map<String, ColumnFamilyProfile> columnFamilyProfiles) {
+    this.columnFamilyProfiles = columnFamilyProfiles;
+  }
+
+  public boolean isSeparateColumnFamilies() {
+    return separateColumnFamilies;
+  }
+
+  public void setSeparateColumnFamilies(final boolean separateColumnFamilies) {
+    this.separateColumnFamilies = separateColumnFamilies;
+  }
+
+  public Map<String, String> getColumnFamilyCacheSizes() {
+    return columnFamilyCacheSizes;
+  }
+
+  public void setColumnFamilyCacheSizes(final Map<String, String> columnFamilyCacheSizes) {
+    this.columnFamilyCacheSizes = columnFamilyCacheSizes;
+  }
+
   public RocksDbConfiguration createRocksDbConfiguration() {
+    final var cacheSizes = new HashMap<String, Long>();
+    columnFamilyCacheSizes.forEach(
+        (name, size) -> cacheSizes.put(name, DataSize.parse(size).toBytes()));
+
     return RocksDbConfiguration.of(
-        columnFamilyOptions, statisticsEnabled, memoryLimit.toBytes(), maxOpenFiles);
+        columnFamilyOptions,
+        statisticsEnabled,
+        memoryLimit.toBytes(),
+        maxOpenFiles,
+        columnFamilyProfiles,
+        separateColumnFamilies,
+        cacheSizes);
   }
 
   @Override
@@ -89,6 +148,12 @@ public final class RocksdbCfg implements ConfigurationEntry {
         + memoryLimit
         + ", maxOpenFiles="
         + maxOpenFiles
+        + ", columnFamilyProfiles="
+        + columnFamilyProfiles
+        + ", separateColumnFamilies="
+        + separateColumnFamilies
+        + ", columnFamilyCacheSizes="
+        + columnFamilyCacheSizes
         + '}';
   }
 
@@ -30,7 +30,8 @@ public class ExporterDirectorPartitionStep implements PartitionStep {
                     context.getNodeId(), String.format(EXPORTER_NAME, context.getPartitionId())))
             .logStream(context.getLogStream())
             .zeebeDb(context.getZeebeDb())
-            .descriptors(exporterDescriptors);
+            .descriptors(exporterDescriptors)
+            .parallelExporting(context.getBrokerCfg().getExperimental().isParallelExporting());
 
     final ExporterDirector director = new ExporterDirector(exporterCtx, !context.shouldExport());
     context.setExporterDirector(director);
@@ -73,6 +73,9 @@ public class StreamProcessorPartitionStep implements PartitionStep {
         .commandResponseWriter(state.getCommandApiService().newCommandResponseWriter())
         .detectReprocessingInconsistency(
             state.getBrokerCfg().getExperimental().isDetectReprocessingInconsistency())
+        .processingPipelineDepth(
+            state.getBrokerCfg().getExperimental().getProcessingPipelineDepth())
+        .processingBatchSize(state.getBrokerCfg().getExperimental().getProcessingBatchSize())
         .onProcessedListener(
             state.getCommandApiService().getOnProcessedListener(state.getPartitionId()))
         .streamProcessorFactory(
@@ -584,6 +584,84 @@ public final class ExporterDirectorTest {
     assertThat(exporters.get(1).getExportedRecords()).isEmpty();
   }
 
+  @Test
+  public void shouldNotDelayOtherExportersIfExportingInParallel() {
+    // given
+    exporters
+        .get(0)
+        .onExport(
+            record -> {
+              throw new IllegalStateException("expected");
+            });
+    startExporterDirector(exporterDescriptors, true);
+
+    // when
+    final long firstPosition = writeEvent();
+    final long secondPosition = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(firstPosition, secondPosition);
+    assertThat(exporters.get(0).getExportedRecords()).isEmpty();
+  }
+
+  @Test
+  public void shouldStorePositionsOfAllExportersIfExportingInParallel() {
+    // given
+    exporters.forEach(exporter -> exporter.shouldAutoUpdatePosition(true));
+    startExporterDirector(exporterDescriptors, true);
+    final ExportersState state = rule.getExportersState();
+
+    // when
+    final long position = writeEvent();
+
+    // then
+    waitUntil(
+        () ->
+            state.getPosition(EXPORTER_ID_1) == position
+                && state.getPosition(EXPORTER_ID_2) == position);
+    assertThat(state.getLowestPosition()).isEqualTo(position);
+  }
+
+  @Test
+  public void shouldRecoverEachExporterFromItsPositionIfExportingInParallel() throws Exception {
+    // given
+    startExporterDirector(exporterDescriptors, true);
+    final long eventPosition = writeEvent();
+
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 1);
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 1);
+
+    exporters.get(1).getController().updateLastExportedRecordPosition(eventPosition);
+    waitUntil(() -> rule.getExportersState().getPosition(EXPORTER_ID_2) == eventPosition);
+
+    // when
+    rule.closeExporterDirector();
+    verify(exporters.get(0), TIMEOUT).close();
+    verify(exporters.get(1), TIMEOUT).close();
+    exporters.get(0).getExportedRecords().clear();
+    exporters.get(1).getExportedRecords().clear();
+    startExporterDirector(exporterDescriptors, true);
+    final long nextEventPosition = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 1);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition, nextEventPosition);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(nextEventPosition);
+  }
+
+  private void startExporterDirector(
+      final List<ExporterDescriptor> exporterDescriptors, final boolean parallelExporting) {
+    rule.startExporterDirector(exporterDescriptors, parallelExporting);
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
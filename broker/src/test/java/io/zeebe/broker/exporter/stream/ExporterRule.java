@@ -65,8 +65,13 @@ public final class ExporterRule implements TestRule {
     return chain.apply(base, description);
   }
 
-  @SuppressWarnings("unchecked")
   public void startExporterDirector(final List<ExporterDescriptor> exporterDescriptors) {
+    startExporterDirector(exporterDescriptors, false);
+  }
+
+  @SuppressWarnings("unchecked")
+  public void startExporterDirector(
+      final List<ExporterDescriptor> exporterDescriptors, final boolean parallelExporting) {
     final var stream = streams.getLogStream(STREAM_NAME);
     final var runtimeFolder = streams.createRuntimeFolder(stream);
     capturedZeebeDb = spy(zeebeDbFactory.createDb(runtimeFolder.toFile()));
@@ -77,7 +82,8 @@ public final class ExporterRule implements TestRule {
             .name(PROCESSOR_NAME)
             .logStream(stream.getAsyncLogStream())
             .zeebeDb(capturedZeebeDb)
-            .descriptors(exporterDescriptors);
+            .descriptors(exporterDescriptors)
+            .parallelExporting(parallelExporting);
 
     director = new ExporterDirector(context, false);
     director.startAsync(actorSchedulerRule.get()).join();
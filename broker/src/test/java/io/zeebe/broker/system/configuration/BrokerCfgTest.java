@@ -60,6 +60,10 @@ public final class BrokerCfgTest {
       "zeebe.broker.cluster.clusterName";
   private static final String ZEEBE_BROKER_EXPERIMENTAL_MAX_APPENDS_PER_FOLLOWER =
       "zeebe.broker.experimental.maxAppendsPerFollower";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_PIPELINED_REPLICATION =
+      "zeebe.broker.experimental.pipelinedReplication";
+  private static final String ZEEBE_BROKER_EXPERIMENTAL_REPLICATE_SNAPSHOT_FILE_BLOCKS =
+      "zeebe.broker.experimental.replicateSnapshotFileBlocks";
   private static final String ZEEBE_BROKER_EXPERIMENTAL_MAX_APPEND_BATCH_SIZE =
       "zeebe.broker.experimental.maxAppendBatchSize";
   private static final String ZEEBE_BROKER_EXPERIMENTAL_DETECT_REPROCESSING_INCONSISTENCY =
@@ -481,6 +485,42 @@ public final class BrokerCfgTest {
     assertThat(experimentalCfg.getMaxAppendsPerFollower()).isEqualTo(8);
   }
 
+  @Test
+  public void shouldOverridePipelinedReplicationViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_PIPELINED_REPLICATION, "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isPipelinedReplication()).isTrue();
+  }
+
+  @Test
+  public void shouldNotReplicateSnapshotFileBlocksByDefault() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isReplicateSnapshotFileBlocks()).isFalse();
+  }
+
+  @Test
+  public void shouldOverrideReplicateSnapshotFileBlocksViaEnvironment() {
+    // given
+    environment.put(ZEEBE_BROKER_EXPERIMENTAL_REPLICATE_SNAPSHOT_FILE_BLOCKS, "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("cluster-cfg", environment);
+    final ExperimentalCfg experimentalCfg = cfg.getExperimental();
+
+    // then
+    assertThat(experimentalCfg.isReplicateSnapshotFileBlocks()).isTrue();
+  }
+
   @Test
   public void shouldOverrideMaxAppendBatchSizeViaEnvironment() {
     // given
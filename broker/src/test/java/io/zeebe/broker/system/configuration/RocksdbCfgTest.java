@@ -9,6 +9,7 @@ package io.zeebe.broker.system.configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.impl.rocksdb.ColumnFamilyProfile;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Test;
@@ -91,6 +92,11 @@ public final class RocksdbCfgTest {
     assertThat(rocksDbConfiguration.isStatisticsEnabled()).isTrue();
     assertThat(rocksDbConfiguration.getMemoryLimit()).isEqualTo(DataSize.ofMegabytes(32).toBytes());
     assertThat(rocksDbConfiguration.getMaxOpenFiles()).isEqualTo(3);
+    assertThat(rocksDbConfiguration.getColumnFamilyProfile("VARIABLES"))
+        .isEqualTo(ColumnFamilyProfile.POINT_LOOKUP);
+    assertThat(rocksDbConfiguration.isSeparateColumnFamilies()).isTrue();
+    assertThat(rocksDbConfiguration.getColumnFamilyCacheSizes())
+        .containsEntry("JOBS", DataSize.ofMegabytes(8).toBytes());
   }
 
   @Test
@@ -188,4 +194,100 @@ public final class RocksdbCfgTest {
     // then
     assertThat(rocksdb.getMaxOpenFiles()).isEqualTo(5);
   }
+
+  @Test
+  public void shouldHaveNoColumnFamilyProfilesPerDefault() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getColumnFamilyProfiles()).isEmpty();
+  }
+
+  @Test
+  public void shouldSetColumnFamilyProfilesViaConfig() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getColumnFamilyProfiles())
+        .containsEntry("VARIABLES", ColumnFamilyProfile.POINT_LOOKUP)
+        .containsEntry("TIMER_DUE_DATES", ColumnFamilyProfile.TIME_ORDERED_QUEUE);
+  }
+
+  @Test
+  public void shouldSetColumnFamilyProfilesViaEnvironmentVariables() {
+    // given
+    environment.put(
+        "zeebe.broker.experimental.rocksdb.columnFamilyProfiles.job.deadlines",
+        "TIME_ORDERED_QUEUE");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then column family names should be upper case and contain underscores
+    assertThat(rocksdb.getColumnFamilyProfiles())
+        .containsEntry("JOB_DEADLINES", ColumnFamilyProfile.TIME_ORDERED_QUEUE);
+  }
+
+  @Test
+  public void shouldShareColumnFamilyPerDefault() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isSeparateColumnFamilies()).isFalse();
+  }
+
+  @Test
+  public void shouldSeparateColumnFamiliesViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.separateColumnFamilies", "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isSeparateColumnFamilies()).isTrue();
+  }
+
+  @Test
+  public void shouldHaveNoColumnFamilyCacheSizesPerDefault() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getColumnFamilyCacheSizes()).isEmpty();
+  }
+
+  @Test
+  public void shouldSetColumnFamilyCacheSizesViaConfig() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getColumnFamilyCacheSizes())
+        .containsEntry("JOBS", "8MB")
+        .containsEntry("ELEMENT_INSTANCE_KEY", "0");
+  }
+
+  @Test
+  public void shouldSetColumnFamilyCacheSizesViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.columnFamilyCacheSizes.job.states", "2MB");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then column family names should be upper case and contain underscores
+    assertThat(rocksdb.getColumnFamilyCacheSizes()).containsEntry("JOB_STATES", "2MB");
+  }
 }
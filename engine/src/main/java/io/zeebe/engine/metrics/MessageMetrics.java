@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+
+public final class MessageMetrics {
+
+  private static final String NAMESPACE = "zeebe";
+
+  private static final Counter EXPIRED_MESSAGES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("message_expired_total")
+          .help("Number of messages whose delete command is appended after their deadline")
+          .labelNames("partition")
+          .register();
+
+  private static final Histogram EXPIRY_LAG =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("message_expiry_lag")
+          .help("Time between the deadline of a message and its delete command (in seconds)")
+          .labelNames("partition")
+          .buckets(.1, 1, 5, 10, 30, 60, 120, 300, 600, 1800)
+          .register();
+
+  private static final Histogram EXPIRY_BATCH_SIZE =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("message_expiry_batch_size")
+          .help("Number of message delete commands which are appended together")
+          .labelNames("partition")
+          .buckets(1, 2, 5, 10, 25, 50, 100)
+          .register();
+
+  private static final Gauge EXPIRY_BACKLOG =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("message_expiry_backlog")
+          .help(
+              "Time since the deadline of the oldest expired message whose delete command is not"
+                  + " appended yet (in seconds), or zero if no expired message is left")
+          .labelNames("partition")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public MessageMetrics(final int partitionId) {
+    partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void messageExpired(final long deadline, final long deleted) {
+    EXPIRED_MESSAGES.labels(partitionIdLabel).inc();
+    EXPIRY_LAG.labels(partitionIdLabel).observe(Math.max(0, deleted - deadline) / 1000f);
+  }
+
+  public void expiryBatchAppended(final int batchSize) {
+    EXPIRY_BATCH_SIZE.labels(partitionIdLabel).observe(batchSize);
+  }
+
+  public void setExpiryBacklog(final long oldestDeadline, final long now) {
+    EXPIRY_BACKLOG.labels(partitionIdLabel).set(Math.max(0, now - oldestDeadline) / 1000f);
+  }
+
+  public void clearExpiryBacklog() {
+    EXPIRY_BACKLOG.labels(partitionIdLabel).set(0);
+  }
+}
@@ -55,6 +55,15 @@ public final class StreamProcessorMetrics {
           .labelNames("partition")
           .register();
 
+  private static final Gauge PIPELINE_DEPTH =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("stream_processor_pipeline_depth")
+          .help(
+              "Number of processed records whose responses and side effects wait for the commit of their follow-up records")
+          .labelNames("partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public StreamProcessorMetrics(final int partitionId) {
@@ -98,4 +107,8 @@ public final class StreamProcessorMetrics {
   public void setLastProcessedPosition(final long position) {
     LAST_PROCESSED_POSITION.labels(partitionIdLabel).set(position);
   }
+
+  public void setPipelineDepth(final int depth) {
+    PIPELINE_DEPTH.labels(partitionIdLabel).set(depth);
+  }
 }
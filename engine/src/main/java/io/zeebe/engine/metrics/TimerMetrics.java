@@ -0,0 +1,60 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.metrics;
+
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+
+public final class TimerMetrics {
+
+  private static final String NAMESPACE = "zeebe";
+
+  private static final Histogram TRIGGER_LAG =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("timer_trigger_lag")
+          .help("Time between the due date of a timer and its trigger command (in seconds)")
+          .labelNames("partition")
+          .buckets(.01, .05, .1, .25, .5, 1, 2.5, 5, 10, 30, 60)
+          .register();
+
+  private static final Histogram TRIGGER_BATCH_SIZE =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("timer_trigger_batch_size")
+          .help("Number of timer trigger commands which are appended together")
+          .labelNames("partition")
+          .buckets(1, 2, 5, 10, 25, 50, 100)
+          .register();
+
+  private static final Gauge SCHEDULED_TIMERS =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("timer_wheel_scheduled_timers")
+          .help("Number of timers which are held in the timing wheel")
+          .labelNames("partition")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public TimerMetrics(final int partitionId) {
+    partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void timerTriggered(final long dueDate, final long triggered) {
+    TRIGGER_LAG.labels(partitionIdLabel).observe(Math.max(0, triggered - dueDate) / 1000f);
+  }
+
+  public void triggerBatchAppended(final int batchSize) {
+    TRIGGER_BATCH_SIZE.labels(partitionIdLabel).observe(batchSize);
+  }
+
+  public void setScheduledTimers(final int scheduledTimers) {
+    SCHEDULED_TIMERS.labels(partitionIdLabel).set(scheduledTimers);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+
+public final class WorkflowCacheMetrics {
+
+  private static final Counter CACHE_HITS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("workflow_cache_hits_total")
+          .help("Number of workflow lookups which were served from the workflow cache")
+          .labelNames("partition")
+          .register();
+
+  private static final Counter CACHE_MISSES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("workflow_cache_misses_total")
+          .help("Number of workflow lookups which were not served from the workflow cache")
+          .labelNames("partition")
+          .register();
+
+  private static final Counter CACHE_EVICTIONS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("workflow_cache_evictions_total")
+          .help("Number of workflows which were evicted from the workflow cache")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge CACHED_WORKFLOWS =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("workflow_cache_entries")
+          .help("Number of workflows in the workflow cache")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge CACHE_WEIGHT =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("workflow_cache_weight_bytes")
+          .help("Summed size of the resources of the workflows in the workflow cache")
+          .labelNames("partition")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public WorkflowCacheMetrics(final int partitionId) {
+    partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void cacheHit() {
+    CACHE_HITS.labels(partitionIdLabel).inc();
+  }
+
+  public void cacheMiss() {
+    CACHE_MISSES.labels(partitionIdLabel).inc();
+  }
+
+  public void cacheEviction() {
+    CACHE_EVICTIONS.labels(partitionIdLabel).inc();
+  }
+
+  public void cacheSize(final int entries, final long weight) {
+    CACHED_WORKFLOWS.labels(partitionIdLabel).set(entries);
+    CACHE_WEIGHT.labels(partitionIdLabel).set(weight);
+  }
+}
@@ -58,7 +58,9 @@ public final class EngineProcessors {
     final var variablesState = zeebeState.getVariableState();
     final var expressionProcessor =
         new ExpressionProcessor(
-            ExpressionLanguageFactory.createExpressionLanguage(), variablesState::getVariable);
+            ExpressionLanguageFactory.createExpressionLanguage(),
+            variablesState::getVariable,
+            variablesState::getVariablesAsDocument);
 
     final CatchEventBehavior catchEventBehavior =
         new CatchEventBehavior(
@@ -46,8 +46,11 @@ public final class WorkflowEventProcessors {
   private static final List<WorkflowInstanceIntent> WORKFLOW_INSTANCE_COMMANDS =
       Arrays.asList(WorkflowInstanceIntent.CANCEL);
 
+  private static final List<WorkflowInstanceIntent> BPMN_COMMANDS =
+      Arrays.asList(WorkflowInstanceIntent.ACTIVATE_CHILDREN);
+
   private static boolean isWorkflowInstanceEvent(final WorkflowInstanceIntent intent) {
-    return !WORKFLOW_INSTANCE_COMMANDS.contains(intent);
+    return !WORKFLOW_INSTANCE_COMMANDS.contains(intent) && !BPMN_COMMANDS.contains(intent);
   }
 
   public static TypedRecordProcessor<WorkflowInstanceRecord> addWorkflowProcessors(
@@ -101,6 +104,11 @@ public final class WorkflowEventProcessors {
             intent ->
                 typedRecordProcessors.onEvent(
                     ValueType.WORKFLOW_INSTANCE, intent, bpmnStepProcessor));
+
+    BPMN_COMMANDS.forEach(
+        intent ->
+            typedRecordProcessors.onCommand(
+                ValueType.WORKFLOW_INSTANCE, intent, bpmnStepProcessor));
   }
 
   private static void addMessageStreamProcessors(
@@ -45,4 +45,14 @@ public interface BpmnElementContainerProcessor<T extends ExecutableFlowElement>
    */
   void onChildTerminated(
       T element, BpmnElementContext flowScopeContext, BpmnElementContext childContext);
+
+  /**
+   * The activation of the child elements is continued. An element container that has many child
+   * elements to activate can activate them in multiple steps, so that the processing of other
+   * workflow instances is not blocked in the meantime.
+   *
+   * @param element the instance of the BPMN element container
+   * @param context workflow instance-related data of the element container
+   */
+  void onActivateChildren(T element, BpmnElementContext context);
 }
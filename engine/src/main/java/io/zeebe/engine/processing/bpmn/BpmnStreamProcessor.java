@@ -151,6 +151,9 @@ public final class BpmnStreamProcessor implements TypedRecordProcessor<WorkflowI
         // process `activating`
         processor.onActivating(element, context);
         break;
+      case ACTIVATE_CHILDREN:
+        getContainerProcessor(context.getBpmnElementType()).onActivateChildren(element, context);
+        break;
       default:
         throw new BpmnProcessingException(
             context,
@@ -74,6 +74,11 @@ public final class WorkflowInstanceStateTransitionGuard {
       case SEQUENCE_FLOW_TAKEN:
         return hasActiveFlowScopeInstance(context);
 
+      case ACTIVATE_CHILDREN:
+        // the activation is not continued if the element is left in the meantime
+        return hasElementInstanceWithState(context, WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+            .flatMap(ok -> hasActiveFlowScopeInstance(context));
+
       default:
         return Either.left(
             String.format(
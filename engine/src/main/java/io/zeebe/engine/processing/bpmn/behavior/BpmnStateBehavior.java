@@ -174,6 +174,20 @@ public final class BpmnStateBehavior {
     return Optional.ofNullable(elementInstanceState.getInstance(calledChildInstanceKey));
   }
 
+  public DirectBuffer getMultiInstanceInputCollection(final BpmnElementContext context) {
+    return elementInstanceState.getMultiInstanceInputCollection(context.getElementInstanceKey());
+  }
+
+  public void setMultiInstanceInputCollection(
+      final BpmnElementContext context, final DirectBuffer inputCollection) {
+    elementInstanceState.setMultiInstanceInputCollection(
+        context.getElementInstanceKey(), inputCollection);
+  }
+
+  public void removeMultiInstanceInputCollection(final BpmnElementContext context) {
+    elementInstanceState.removeMultiInstanceInputCollection(context.getElementInstanceKey());
+  }
+
   public DirectBuffer getLocalVariable(
       final BpmnElementContext context, final DirectBuffer variableName) {
     return variablesState.getVariableLocal(context.getElementInstanceKey(), variableName);
@@ -154,6 +154,22 @@ public final class BpmnStateTransitionBehavior {
     return stateBehavior.createChildElementInstance(context, childInstanceKey, childInstanceRecord);
   }
 
+  /**
+   * Continues the activation of child instances with a follow-up command. The pending command holds
+   * a token of the element instance, so the element can't be completed before it is processed. The
+   * token must be consumed when the command is processed.
+   */
+  public void continueChildInstanceActivation(final BpmnElementContext context) {
+    final var elementInstance = stateBehavior.getElementInstance(context);
+    elementInstance.spawnToken();
+    stateBehavior.updateElementInstance(elementInstance);
+
+    streamWriter.appendFollowUpCommand(
+        context.getElementInstanceKey(),
+        WorkflowInstanceIntent.ACTIVATE_CHILDREN,
+        elementInstance.getValue());
+  }
+
   public void activateElementInstanceInFlowScope(
       final BpmnElementContext context, final ExecutableFlowElement element) {
 
@@ -200,4 +200,12 @@ public final class CallActivityProcessor
     }
     return Either.right(workflow);
   }
+
+  @Override
+  public void onActivateChildren(
+      final ExecutableCallActivity element, final BpmnElementContext context) {
+    throw new BpmnProcessingException(
+        context,
+        "Expected to continue the activation of the child elements of a call activity, but a call activity activates its child elements in one step.");
+  }
 }
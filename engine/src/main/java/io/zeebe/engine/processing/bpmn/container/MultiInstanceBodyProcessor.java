@@ -10,6 +10,7 @@ package io.zeebe.engine.processing.bpmn.container;
 import io.zeebe.el.Expression;
 import io.zeebe.engine.processing.bpmn.BpmnElementContainerProcessor;
 import io.zeebe.engine.processing.bpmn.BpmnElementContext;
+import io.zeebe.engine.processing.bpmn.BpmnProcessingException;
 import io.zeebe.engine.processing.bpmn.behavior.BpmnBehaviors;
 import io.zeebe.engine.processing.bpmn.behavior.BpmnEventSubscriptionBehavior;
 import io.zeebe.engine.processing.bpmn.behavior.BpmnIncidentBehavior;
@@ -24,6 +25,7 @@ import io.zeebe.msgpack.spec.MsgPackWriter;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import io.zeebe.util.Either;
 import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
 import java.util.List;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
@@ -36,6 +38,13 @@ public final class MultiInstanceBodyProcessor
   private static final DirectBuffer NIL_VALUE = new UnsafeBuffer(MsgPackHelper.NIL);
   private static final DirectBuffer LOOP_COUNTER_VARIABLE = BufferUtil.wrapString("loopCounter");
 
+  /**
+   * The max number of inner instances that a parallel multi-instance body activates at once. The
+   * remaining inner instances are activated by follow-up commands, so that a large input collection
+   * doesn't produce one huge batch of records.
+   */
+  static final int MAX_INNER_INSTANCES_PER_ACTIVATION = 100;
+
   private final MutableDirectBuffer loopCounterVariableBuffer =
       new UnsafeBuffer(new byte[Long.BYTES + 1]);
   private final DirectBuffer loopCounterVariableView = new UnsafeBuffer(0, 0);
@@ -106,7 +115,13 @@ public final class MultiInstanceBodyProcessor
       createInnerInstance(element, context, firstItem);
 
     } else {
-      inputCollection.forEach(item -> createInnerInstance(element, context, item));
+      if (inputCollection.size() > MAX_INNER_INSTANCES_PER_ACTIVATION) {
+        // the remaining inner instances are activated for the items of this evaluation, even if the
+        // input collection variable is changed in the meantime
+        stateBehavior.setMultiInstanceInputCollection(
+            context, writeInputCollection(inputCollection));
+      }
+      activateInnerInstances(element, context, inputCollection);
     }
   }
 
@@ -204,6 +219,19 @@ public final class MultiInstanceBodyProcessor
     }
   }
 
+  @Override
+  public void onActivateChildren(
+      final ExecutableMultiInstanceBody element, final BpmnElementContext context) {
+
+    // consume the token of the processed continuation
+    final var bodyInstance = stateBehavior.getElementInstance(context);
+    bodyInstance.consumeToken();
+    stateBehavior.updateElementInstance(bodyInstance);
+
+    final var inputCollection = readStoredInputCollection(context);
+    activateInnerInstances(element, context, inputCollection);
+  }
+
   @Override
   public void onChildTerminated(
       final ExecutableMultiInstanceBody element,
@@ -226,6 +254,62 @@ public final class MultiInstanceBodyProcessor
         inputCollection, context.getElementInstanceKey());
   }
 
+  private void activateInnerInstances(
+      final ExecutableMultiInstanceBody element,
+      final BpmnElementContext context,
+      final List<DirectBuffer> inputCollection) {
+
+    // the loop counter of the body is the number of inner instances that are activated already
+    final var activatedInstances =
+        stateBehavior.getElementInstance(context).getMultiInstanceLoopCounter();
+    final var lastIndex =
+        Math.min(inputCollection.size(), activatedInstances + MAX_INNER_INSTANCES_PER_ACTIVATION);
+    for (var index = activatedInstances; index < lastIndex; index++) {
+      createInnerInstance(element, context, inputCollection.get(index));
+    }
+
+    if (lastIndex < inputCollection.size()) {
+      stateTransitionBehavior.continueChildInstanceActivation(context);
+
+    } else if (activatedInstances > 0) {
+      // the last inner instances are activated, the stored input collection is not needed anymore
+      stateBehavior.removeMultiInstanceInputCollection(context);
+    }
+  }
+
+  private DirectBuffer writeInputCollection(final List<DirectBuffer> inputCollection) {
+    variableWriter.wrap(variableBuffer, 0);
+
+    variableWriter.writeArrayHeader(inputCollection.size());
+    inputCollection.forEach(variableWriter::writeRaw);
+
+    final var length = variableWriter.getOffset();
+    resultBuffer.wrap(variableBuffer, 0, length);
+    return resultBuffer;
+  }
+
+  private List<DirectBuffer> readStoredInputCollection(final BpmnElementContext context) {
+    final var storedCollection = stateBehavior.getMultiInstanceInputCollection(context);
+    if (storedCollection == null) {
+      throw new BpmnProcessingException(
+          context,
+          "Expected to continue the activation of the inner instances for the stored input collection, but no input collection was stored.");
+    }
+
+    // the stored collection is copied because the buffer is reused by the next read of the state
+    final var inputCollection = BufferUtil.cloneBuffer(storedCollection);
+    variableReader.wrap(inputCollection, 0, inputCollection.capacity());
+
+    final var size = variableReader.readArrayHeader();
+    final List<DirectBuffer> items = new ArrayList<>(size);
+    for (var i = 0; i < size; i++) {
+      final var offset = variableReader.getOffset();
+      variableReader.skipValue();
+      items.add(new UnsafeBuffer(inputCollection, offset, variableReader.getOffset() - offset));
+    }
+    return items;
+  }
+
   private void createInnerInstance(
       final ExecutableMultiInstanceBody multiInstanceBody,
       final BpmnElementContext context,
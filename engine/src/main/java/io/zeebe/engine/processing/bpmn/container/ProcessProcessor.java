@@ -171,4 +171,12 @@ public final class ProcessProcessor
       eventSubscriptionBehavior.publishTriggeredEventSubProcess(flowScopeContext);
     }
   }
+
+  @Override
+  public void onActivateChildren(
+      final ExecutableFlowElementContainer element, final BpmnElementContext context) {
+    throw new BpmnProcessingException(
+        context,
+        "Expected to continue the activation of the child elements of a process, but a process activates its child elements in one step.");
+  }
 }
@@ -9,6 +9,7 @@ package io.zeebe.engine.processing.bpmn.container;
 
 import io.zeebe.engine.processing.bpmn.BpmnElementContainerProcessor;
 import io.zeebe.engine.processing.bpmn.BpmnElementContext;
+import io.zeebe.engine.processing.bpmn.BpmnProcessingException;
 import io.zeebe.engine.processing.bpmn.behavior.BpmnBehaviors;
 import io.zeebe.engine.processing.bpmn.behavior.BpmnEventSubscriptionBehavior;
 import io.zeebe.engine.processing.bpmn.behavior.BpmnIncidentBehavior;
@@ -154,4 +155,12 @@ public final class SubProcessProcessor
       eventSubscriptionBehavior.publishTriggeredEventSubProcess(flowScopeContext);
     }
   }
+
+  @Override
+  public void onActivateChildren(
+      final ExecutableFlowElementContainer element, final BpmnElementContext context) {
+    throw new BpmnProcessingException(
+        context,
+        "Expected to continue the activation of the child elements of a sub-process, but a sub-process activates its child elements in one step.");
+  }
 }
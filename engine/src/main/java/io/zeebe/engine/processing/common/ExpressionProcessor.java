@@ -20,6 +20,8 @@ import io.zeebe.protocol.record.value.ErrorType;
 import io.zeebe.util.Either;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
 import org.agrona.DirectBuffer;
@@ -36,9 +38,22 @@ public final class ExpressionProcessor {
 
   public ExpressionProcessor(
       final ExpressionLanguage expressionLanguage, final VariablesLookup lookup) {
+    this(expressionLanguage, lookup, null);
+  }
+
+  /**
+   * @param expressionLanguage the expression language to evaluate the expressions with
+   * @param lookup the lookup of a single variable
+   * @param documentLookup the lookup of the variables which are referenced by an expression, or
+   *     {@code null} to look up the variables one by one
+   */
+  public ExpressionProcessor(
+      final ExpressionLanguage expressionLanguage,
+      final VariablesLookup lookup,
+      final VariablesDocumentLookup documentLookup) {
     this.expressionLanguage = expressionLanguage;
 
-    evaluationContext = new VariableStateEvaluationContext(lookup);
+    evaluationContext = new VariableStateEvaluationContext(lookup, documentLookup);
   }
 
   /**
@@ -338,11 +353,14 @@ public final class ExpressionProcessor {
     private final DirectBuffer variableNameBuffer = new UnsafeBuffer();
 
     private final VariablesLookup lookup;
+    private final VariablesDocumentLookup documentLookup;
 
     private long variableScopeKey;
 
-    public VariableStateEvaluationContext(final VariablesLookup lookup) {
+    public VariableStateEvaluationContext(
+        final VariablesLookup lookup, final VariablesDocumentLookup documentLookup) {
       this.lookup = lookup;
+      this.documentLookup = documentLookup;
     }
 
     @Override
@@ -353,6 +371,22 @@ public final class ExpressionProcessor {
 
       return lookup.getVariable(variableScopeKey, variableNameBuffer);
     }
+
+    @Override
+    public DirectBuffer getVariables(final Collection<String> variableNames) {
+      if (documentLookup == null) {
+        return EvaluationContext.super.getVariables(variableNames);
+      }
+
+      ensureGreaterThan("variable scope key", variableScopeKey, 0);
+
+      final var names = new ArrayList<DirectBuffer>(variableNames.size());
+      for (final String variableName : variableNames) {
+        names.add(new UnsafeBuffer(variableName.getBytes()));
+      }
+
+      return documentLookup.getVariablesAsDocument(variableScopeKey, names);
+    }
   }
 
   @FunctionalInterface
@@ -360,4 +394,14 @@ public final class ExpressionProcessor {
 
     DirectBuffer getVariable(final long scopeKey, final DirectBuffer name);
   }
+
+  /**
+   * Looks up several variables at once, visiting each scope of the hierarchy only once. The
+   * variables are returned as a MessagePack encoded document.
+   */
+  @FunctionalInterface
+  public interface VariablesDocumentLookup {
+
+    DirectBuffer getVariablesAsDocument(final long scopeKey, final Collection<DirectBuffer> names);
+  }
 }
@@ -16,14 +16,23 @@ import io.zeebe.engine.processing.deployment.transform.BpmnValidator;
 public final class BpmnFactory {
 
   public static BpmnTransformer createTransformer() {
-    return new BpmnTransformer(createExpressionLanguage());
+    return createTransformer(createExpressionLanguage());
+  }
+
+  public static BpmnTransformer createTransformer(final ExpressionLanguage expressionLanguage) {
+    return new BpmnTransformer(expressionLanguage);
   }
 
   public static BpmnValidator createValidator(final ExpressionProcessor expressionProcessor) {
-    return new BpmnValidator(createExpressionLanguage(), expressionProcessor);
+    return createValidator(createExpressionLanguage(), expressionProcessor);
+  }
+
+  public static BpmnValidator createValidator(
+      final ExpressionLanguage expressionLanguage, final ExpressionProcessor expressionProcessor) {
+    return new BpmnValidator(expressionLanguage, expressionProcessor);
   }
 
-  private static ExpressionLanguage createExpressionLanguage() {
+  public static ExpressionLanguage createExpressionLanguage() {
     return ExpressionLanguageFactory.createExpressionLanguage();
   }
 }
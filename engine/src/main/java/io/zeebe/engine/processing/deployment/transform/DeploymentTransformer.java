@@ -12,6 +12,7 @@ import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import io.zeebe.engine.Loggers;
 import io.zeebe.engine.processing.common.ExpressionProcessor;
 import io.zeebe.engine.processing.deployment.model.BpmnFactory;
+import io.zeebe.engine.processing.deployment.model.transformation.BpmnTransformer;
 import io.zeebe.engine.state.KeyGenerator;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.deployment.DeployedWorkflow;
@@ -39,6 +40,7 @@ public final class DeploymentTransformer {
   private static final Logger LOG = Loggers.WORKFLOW_PROCESSOR_LOGGER;
 
   private final BpmnValidator validator;
+  private final BpmnTransformer transformer;
   private final MutableWorkflowState workflowState;
   private final KeyGenerator keyGenerator;
   private final MessageDigest digestGenerator;
@@ -52,7 +54,11 @@ public final class DeploymentTransformer {
       final ZeebeState zeebeState, final ExpressionProcessor expressionProcessor) {
     workflowState = zeebeState.getWorkflowState();
     keyGenerator = zeebeState.getKeyGenerator();
-    validator = BpmnFactory.createValidator(expressionProcessor);
+    // the validator and the transformer share the expression language to parse each expression
+    // only once
+    final var expressionLanguage = BpmnFactory.createExpressionLanguage();
+    validator = BpmnFactory.createValidator(expressionLanguage, expressionProcessor);
+    transformer = BpmnFactory.createTransformer(expressionLanguage);
 
     try {
       // We get an alert by LGTM, since MD5 is a weak cryptographic hash function,
@@ -107,7 +113,7 @@ public final class DeploymentTransformer {
 
       if (validationError == null) {
         // transform the model to avoid unexpected failures that are not covered by the validator
-        BpmnFactory.createTransformer().transformDefinitions(definition);
+        transformer.transformDefinitions(definition);
 
         final String bpmnIdDuplicateError = checkForDuplicateBpmnId(definition, resourceName);
 
@@ -7,6 +7,7 @@
  */
 package io.zeebe.engine.processing.message;
 
+import io.zeebe.engine.metrics.MessageMetrics;
 import io.zeebe.engine.processing.message.command.SubscriptionCommandSender;
 import io.zeebe.engine.processing.streamprocessor.ReadonlyProcessingContext;
 import io.zeebe.engine.processing.streamprocessor.StreamProcessorLifecycleAware;
@@ -39,9 +40,16 @@ public final class MessageObserver implements StreamProcessorLifecycleAware {
   public void onRecovered(final ReadonlyProcessingContext context) {
     final ActorControl actor = context.getActor();
     // it is safe to reuse the write because we running in the same actor/thread
+    // the delete commands are usually of similar size as the messages, the rest of the fragment is
+    // left for the metadata
     final MessageTimeToLiveChecker timeToLiveChecker =
-        new MessageTimeToLiveChecker(context.getLogStreamWriter(), messageState);
-    context.getActor().runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
+        new MessageTimeToLiveChecker(
+            actor,
+            context.getLogStreamWriter(),
+            messageState,
+            new MessageMetrics(context.getLogStream().getPartitionId()),
+            context.getMaxFragmentSize() / 2);
+    actor.runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
 
     final PendingMessageSubscriptionChecker pendingSubscriptionChecker =
         new PendingMessageSubscriptionChecker(
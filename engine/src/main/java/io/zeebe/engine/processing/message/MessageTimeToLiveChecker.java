@@ -7,33 +7,140 @@
  */
 package io.zeebe.engine.processing.message;
 
+import io.zeebe.engine.metrics.MessageMetrics;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedCommandWriter;
 import io.zeebe.engine.state.immutable.MessageState;
 import io.zeebe.engine.state.message.Message;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.clock.ActorClock;
+import java.time.Duration;
+import org.agrona.collections.LongArrayList;
 
+/**
+ * Deletes the messages whose time to live is expired. The delete commands are appended in batches.
+ *
+ * <p>The expired messages are visited in slices with a time budget, such that many messages which
+ * expire together don't block the processing. A slice continues at a cursor, which is the deadline
+ * and key of the last message whose delete command is appended, until no expired message is left.
+ * If a batch can't be appended, e.g. because the log storage is full, the sweep is stopped and
+ * started again on the next check.
+ */
 public final class MessageTimeToLiveChecker implements Runnable {
 
+  private static final int MAX_DELETE_BATCH_SIZE = 100;
+  private static final long SLICE_TIME_BUDGET = Duration.ofMillis(50).toNanos();
+
+  private final MessageRecord deleteMessageCommand = new MessageRecord();
+  // the deadlines of the messages whose delete commands are in the current batch
+  private final LongArrayList batchDeadlines = new LongArrayList();
+
+  private final ActorControl actor;
   private final TypedCommandWriter writer;
   private final MessageState messageState;
+  private final MessageMetrics metrics;
+  private final int maxBatchLength;
 
-  private final MessageRecord deleteMessageCommand = new MessageRecord();
+  // true if the current sweep is continued in a later slice
+  private boolean sweeping;
+  private long cursorDeadline;
+  private long cursorMessageKey;
+
+  // the state of the current slice
+  private long now;
+  private long sliceEnd;
+  private int batchLength;
+  private long batchLastMessageKey;
+  private boolean appendFailed;
+  private long nextDeadline;
 
   public MessageTimeToLiveChecker(
-      final TypedCommandWriter writer, final MessageState messageState) {
+      final ActorControl actor,
+      final TypedCommandWriter writer,
+      final MessageState messageState,
+      final MessageMetrics metrics,
+      final int maxBatchLength) {
+    this.actor = actor;
     this.writer = writer;
     this.messageState = messageState;
+    this.metrics = metrics;
+    this.maxBatchLength = maxBatchLength;
   }
 
   @Override
   public void run() {
+    // a sweep which is in progress continues in its own slices
+    if (!sweeping) {
+      cursorDeadline = 0;
+      cursorMessageKey = 0;
+      sweep();
+    }
+  }
+
+  private void sweep() {
+    now = ActorClock.currentTimeMillis();
+    sliceEnd = System.nanoTime() + SLICE_TIME_BUDGET;
+    appendFailed = false;
+    nextDeadline = -1L;
+    resetBatch();
+
     messageState.visitMessagesWithDeadlineBefore(
-        ActorClock.currentTimeMillis(), this::writeDeleteMessageCommand);
+        now, cursorDeadline, cursorMessageKey, this::visitExpiredMessage);
+
+    if (!appendFailed && !batchDeadlines.isEmpty()) {
+      appendFailed = !appendBatch();
+    }
+
+    if (appendFailed) {
+      sweeping = false;
+      metrics.setExpiryBacklog(batchDeadlines.getLong(0), now);
+
+    } else if (nextDeadline >= 0) {
+      sweeping = true;
+      metrics.setExpiryBacklog(nextDeadline, now);
+      actor.submit(this::sweep);
+
+    } else {
+      sweeping = false;
+      metrics.clearExpiryBacklog();
+    }
   }
 
-  private boolean writeDeleteMessageCommand(final Message message) {
+  private boolean visitExpiredMessage(final Message message) {
+    final long deadline = message.getDeadline();
+    final long messageKey = message.getKey();
+    if (deadline == cursorDeadline && messageKey == cursorMessageKey) {
+      // the delete command of the message at the cursor is appended already
+      return true;
+    }
+
+    setDeleteMessageCommand(message);
+    final int length = deleteMessageCommand.getLength();
+
+    final boolean isBatchFull =
+        batchDeadlines.size() >= MAX_DELETE_BATCH_SIZE || batchLength + length > maxBatchLength;
+    if (!batchDeadlines.isEmpty() && isBatchFull) {
+      if (!appendBatch()) {
+        appendFailed = true;
+        return false;
+      }
+      resetBatch();
+
+      if (System.nanoTime() >= sliceEnd) {
+        nextDeadline = deadline;
+        return false;
+      }
+    }
+
+    writer.appendFollowUpCommand(messageKey, MessageIntent.DELETE, deleteMessageCommand);
+    batchDeadlines.addLong(deadline);
+    batchLength += length;
+    batchLastMessageKey = messageKey;
+    return true;
+  }
+
+  private void setDeleteMessageCommand(final Message message) {
     deleteMessageCommand.reset();
     deleteMessageCommand
         .setName(message.getName())
@@ -44,11 +151,32 @@ public final class MessageTimeToLiveChecker implements Runnable {
     if (message.getId() != null) {
       deleteMessageCommand.setMessageId(message.getId());
     }
+  }
 
-    writer.reset();
-    writer.appendFollowUpCommand(message.getKey(), MessageIntent.DELETE, deleteMessageCommand);
+  /**
+   * Appends the delete commands of the current batch and moves the cursor to its last message.
+   *
+   * @return true if the batch was appended
+   */
+  private boolean appendBatch() {
+    if (writer.flush() < 0) {
+      return false;
+    }
+
+    final int batchSize = batchDeadlines.size();
+    for (int i = 0; i < batchSize; i++) {
+      metrics.messageExpired(batchDeadlines.getLong(i), now);
+    }
+    metrics.expiryBatchAppended(batchSize);
+
+    cursorDeadline = batchDeadlines.getLong(batchSize - 1);
+    cursorMessageKey = batchLastMessageKey;
+    return true;
+  }
 
-    final long position = writer.flush();
-    return position > 0;
+  private void resetBatch() {
+    writer.reset();
+    batchDeadlines.clear();
+    batchLength = 0;
   }
 }
@@ -37,6 +37,8 @@ public final class ProcessingContext implements ReadonlyProcessingContext {
   private Consumer<TypedRecord> onProcessedListener = record -> {};
   private int maxFragmentSize;
   private boolean detectReprocessingInconsistency;
+  private int processingPipelineDepth;
+  private int processingBatchSize = 1;
 
   public ProcessingContext actor(final ActorControl actor) {
     this.actor = actor;
@@ -105,6 +107,16 @@ public final class ProcessingContext implements ReadonlyProcessingContext {
     return this;
   }
 
+  public ProcessingContext processingPipelineDepth(final int processingPipelineDepth) {
+    this.processingPipelineDepth = processingPipelineDepth;
+    return this;
+  }
+
+  public ProcessingContext processingBatchSize(final int processingBatchSize) {
+    this.processingBatchSize = processingBatchSize;
+    return this;
+  }
+
   public ProcessingContext eventApplier(final EventApplier eventApplier) {
     this.eventApplier = eventApplier;
     return this;
@@ -173,6 +185,14 @@ public final class ProcessingContext implements ReadonlyProcessingContext {
     return detectReprocessingInconsistency;
   }
 
+  public int getProcessingPipelineDepth() {
+    return processingPipelineDepth;
+  }
+
+  public int getProcessingBatchSize() {
+    return processingBatchSize;
+  }
+
   @Override
   public EventApplier getEventApplier() {
     return eventApplier;
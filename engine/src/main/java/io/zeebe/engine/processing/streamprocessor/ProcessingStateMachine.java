@@ -11,10 +11,13 @@ import io.zeebe.db.TransactionContext;
 import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.metrics.StreamProcessorMetrics;
 import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectProducer;
+import io.zeebe.engine.processing.streamprocessor.writers.CommandResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.DeferredResponse;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriterImpl;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.logstreams.impl.log.LoggedEventImpl;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
@@ -32,8 +35,12 @@ import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.slf4j.Logger;
 
 /**
@@ -74,6 +81,27 @@ import org.slf4j.Logger;
  *                                       +-----+
  *
  * </pre>
+ *
+ * <p>If a processing pipeline depth greater than zero is configured, the state machine doesn't wait
+ * for the side effects of a record before it continues with the next one. Instead, the response of
+ * the record is copied and queued together with the position of its follow-up records. Queued
+ * responses are sent in order once the commit position reaches their position, so a response is
+ * never sent before the records it refers to are committed. The processed listener, which releases
+ * the backpressure slot of a command, is notified at the same time. If the queue is full, no
+ * further record is read until the oldest response is released. Records with a custom {@link
+ * SideEffectProducer} drain the pipeline: their side effects are executed after their own records
+ * are committed, and only then the next record is processed.
+ *
+ * <p>If a processing batch size greater than one is configured, the state machine processes up to
+ * this number of directly available records in one transaction and writes their follow-up records
+ * with one write. A batch is closed early if no further record is available, the commands exceed
+ * the byte budget, the batch took longer than {@link #MAX_BATCH_DURATION}, or a record sets a
+ * custom {@link SideEffectProducer}. The last processed position is only marked once per batch.
+ * Every follow-up record still refers to its own source record, so reprocessing is unaffected. If a
+ * record of a batch can't be processed or the follow-up records can't be written, the whole batch
+ * is rolled back and its records are processed again one by one, such that only the failing record
+ * is rejected. The records of a batch are copied, such that they can be reported to the processed
+ * listener after the batch is committed.
  */
 public final class ProcessingStateMachine {
 
@@ -102,7 +130,11 @@ public final class ProcessingStateMachine {
   private static final String LOG_ERROR_EVENT_WRITTEN =
       "Error record was written at {}, we will continue with processing if event was committed. Current commit position is {}.";
 
+  private static final String LOG_BATCH_FALL_BACK =
+      "Expected to process batch of {} records starting at position {}, but caught an exception. Process the records one by one until position {}.";
+
   private static final Duration PROCESSING_RETRY_DELAY = Duration.ofMillis(250);
+  private static final Duration MAX_BATCH_DURATION = Duration.ofMillis(10);
 
   private static final MetadataFilter PROCESSING_FILTER =
       recordMetadata ->
@@ -131,6 +163,13 @@ public final class ProcessingStateMachine {
   private final TypedEventImpl typedEvent;
   private final StreamProcessorMetrics metrics;
   private final Consumer<TypedRecord> onProcessed;
+  private final CommandResponseWriter commandResponseWriter;
+  private final int maxPipelineDepth;
+  private final Deque<PendingSideEffects> pendingSideEffects = new ArrayDeque<>();
+  private final Deque<PendingSideEffects> releasedSideEffects = new ArrayDeque<>();
+  private final Deque<PendingSideEffects> batchSideEffects = new ArrayDeque<>();
+  private final int maxBatchSize;
+  private final int maxBatchCommandLength;
 
   // current iteration
   private SideEffectProducer sideEffectProducer;
@@ -146,6 +185,19 @@ public final class ProcessingStateMachine {
   private int onErrorRetries;
   // Used for processing duration metrics
   private long processingStartTime;
+  // pipelined processing
+  private boolean isCommitPositionRequested;
+  private boolean isCommitPositionOutdated;
+  private boolean isDrainingPipeline;
+  // batched processing
+  private int batchRecordCount;
+  private boolean isBatchExtended;
+  private boolean isCurrentRecordStashed;
+  private int batchCommandLength;
+  private long batchStartTime;
+  private long batchStartPosition = StreamProcessor.UNSET_POSITION;
+  private long batchLastProcessedPosition = StreamProcessor.UNSET_POSITION;
+  private long singleRecordProcessingUntil = StreamProcessor.UNSET_POSITION;
 
   public ProcessingStateMachine(
       final ProcessingContext context, final BooleanSupplier shouldProcessNext) {
@@ -168,6 +220,11 @@ public final class ProcessingStateMachine {
     final int partitionId = logStream.getPartitionId();
     typedEvent = new TypedEventImpl(partitionId);
     responseWriter = new TypedResponseWriterImpl(context.getCommandResponseWriter(), partitionId);
+    commandResponseWriter = context.getCommandResponseWriter();
+    maxPipelineDepth = context.getProcessingPipelineDepth();
+    maxBatchSize = context.getProcessingBatchSize();
+    // follow-up records are usually of similar size as their commands, the rest is left for them
+    maxBatchCommandLength = context.getMaxFragmentSize() / 2;
 
     metrics = new StreamProcessorMetrics(partitionId);
     onProcessed = context.getOnProcessedListener();
@@ -179,6 +236,10 @@ public final class ProcessingStateMachine {
   }
 
   void readNextEvent() {
+    if (isDrainingPipeline || !pendingSideEffects.isEmpty()) {
+      releaseCommittedSideEffects();
+    }
+
     if (onErrorRetries > 0) {
       onErrorHandlingLoop = false;
       onErrorRetries = 0;
@@ -205,25 +266,27 @@ public final class ProcessingStateMachine {
   }
 
   private void tryToReadNextEvent() {
-    if (shouldProcessNext.getAsBoolean() && logStreamReader.hasNext() && currentProcessor == null) {
+    if (canReadNextEvent() && currentProcessor == null && batchRecordCount == 0) {
       currentEvent = logStreamReader.next();
 
-      if (eventFilter.applies(currentEvent)) {
-        processEvent(currentEvent);
-      } else {
+      if (!eventFilter.applies(currentEvent) || !processEvent(currentEvent)) {
         skipRecord();
       }
     }
   }
 
-  private void processEvent(final LoggedEvent event) {
+  private boolean canReadNextEvent() {
+    return shouldProcessNext.getAsBoolean() && logStreamReader.hasNext() && !isPipelineFull();
+  }
+
+  /** @return false if the event was skipped, because no processor is interested in it */
+  private boolean processEvent(final LoggedEvent event) {
     metadata.reset();
     event.readMetadata(metadata);
 
     currentProcessor = chooseNextProcessor(event);
     if (currentProcessor == null) {
-      skipRecord();
-      return;
+      return false;
     }
 
     processingStartTime = ActorClock.currentTimeMillis();
@@ -237,8 +300,7 @@ public final class ProcessingStateMachine {
           && typedEvent.getRecordType() != RecordType.COMMAND) {
 
         currentProcessor = null;
-        skipRecord();
-        return;
+        return false;
       }
 
       metrics.processingLatency(
@@ -247,16 +309,154 @@ public final class ProcessingStateMachine {
       processInTransaction(typedEvent);
 
       metrics.eventProcessed();
+    } catch (final RecoverableException recoverableException) {
+      if (batchRecordCount > 0) {
+        fallBackToSingleRecordProcessing(recoverableException);
+      } else {
+        // recoverable
+        LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_RETRY_PROCESSING, event, recoverableException);
+        actor.runDelayed(PROCESSING_RETRY_DELAY, () -> processEvent(currentEvent));
+      }
+      return true;
+    } catch (final Exception e) {
+      if (batchRecordCount > 0) {
+        fallBackToSingleRecordProcessing(e);
+      } else {
+        LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_SKIP_EVENT, event, e);
+        onError(e, this::writeEvent);
+      }
+      return true;
+    }
+
+    onEventProcessed(event);
+    return true;
+  }
 
+  private void onEventProcessed(final LoggedEvent event) {
+    if (!isBatchingEnabled()) {
       writeEvent();
-    } catch (final RecoverableException recoverableException) {
-      // recoverable
-      LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_RETRY_PROCESSING, event, recoverableException);
-      actor.runDelayed(PROCESSING_RETRY_DELAY, () -> processEvent(currentEvent));
+      return;
+    }
+
+    if (batchRecordCount == 0) {
+      batchStartPosition = event.getPosition();
+      batchStartTime = processingStartTime;
+    }
+    batchRecordCount += 1;
+    batchCommandLength += event.getMetadataLength() + event.getValueLength();
+    batchLastProcessedPosition = event.getPosition();
+
+    // the next record of the batch overwrites the current record and its response
+    if (sideEffectProducer == responseWriter) {
+      stashResponse(true);
+      isCurrentRecordStashed = true;
+      metrics.processingDuration(
+          metadata.getRecordType(), processingStartTime, ActorClock.currentTimeMillis());
+    }
+
+    if (shouldExtendBatch()) {
+      isBatchExtended = true;
+      continueBatch();
+    } else {
+      completeBatch();
+    }
+  }
+
+  private boolean isBatchingEnabled() {
+    return maxBatchSize > 1;
+  }
+
+  private boolean shouldExtendBatch() {
+    return batchRecordCount < maxBatchSize
+        && batchCommandLength < maxBatchCommandLength
+        && ActorClock.currentTimeMillis() - batchStartTime < MAX_BATCH_DURATION.toMillis()
+        && batchLastProcessedPosition > singleRecordProcessingUntil
+        && sideEffectProducer == responseWriter
+        && !onErrorHandling;
+  }
+
+  private void continueBatch() {
+    // the records are read in place, such that no other actor job joins the open transaction
+    while (canReadNextEvent()) {
+      currentEvent = logStreamReader.next();
+
+      if (eventFilter.applies(currentEvent) && processEvent(currentEvent)) {
+        return;
+      }
+      metrics.eventSkipped();
+    }
+
+    completeBatch();
+  }
+
+  private void completeBatch() {
+    try {
+      zeebeDbTransaction.run(
+          () ->
+              zeebeState
+                  .getLastProcessedPositionState()
+                  .markAsProcessed(batchLastProcessedPosition));
     } catch (final Exception e) {
-      LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_SKIP_EVENT, event, e);
-      onError(e, this::writeEvent);
+      if (isBatchExtended) {
+        fallBackToSingleRecordProcessing(e);
+      } else {
+        LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_SKIP_EVENT, currentEvent, e);
+        onError(e, this::writeEvent);
+      }
+      return;
+    }
+
+    writeEvent();
+  }
+
+  private void fallBackToSingleRecordProcessing(final Throwable cause) {
+    singleRecordProcessingUntil = currentEvent.getPosition();
+    LOG.debug(
+        LOG_BATCH_FALL_BACK,
+        batchRecordCount,
+        batchStartPosition,
+        singleRecordProcessingUntil,
+        cause);
+
+    final ActorFuture<Boolean> retryFuture =
+        updateStateRetryStrategy.runWithRetry(
+            () -> {
+              zeebeDbTransaction.rollback();
+              return true;
+            },
+            abortCondition);
+
+    actor.runOnCompletion(
+        retryFuture,
+        (bool, throwable) -> {
+          if (throwable != null) {
+            LOG.error(ERROR_MESSAGE_ROLLBACK_ABORTED, currentEvent, throwable);
+          }
+
+          logStreamWriter.reset();
+          responseWriter.reset();
+          discardBatch();
+
+          logStreamReader.seek(batchStartPosition);
+          currentProcessor = null;
+          actor.submit(this::readNextEvent);
+        });
+  }
+
+  private void discardBatch() {
+    while (!batchSideEffects.isEmpty()) {
+      final PendingSideEffects discarded = batchSideEffects.poll();
+      discarded.reset();
+      releasedSideEffects.add(discarded);
     }
+    resetBatch();
+  }
+
+  private void resetBatch() {
+    isCurrentRecordStashed = false;
+    batchRecordCount = 0;
+    isBatchExtended = false;
+    batchCommandLength = 0;
   }
 
   private TypedRecordProcessor<?> chooseNextProcessor(final LoggedEvent event) {
@@ -293,13 +493,17 @@ public final class ProcessingStateMachine {
                 this::setSideEffectProducer);
           }
 
-          zeebeState.getLastProcessedPositionState().markAsProcessed(position);
+          if (!isBatchingEnabled()) {
+            zeebeState.getLastProcessedPositionState().markAsProcessed(position);
+          }
         });
   }
 
   private void resetOutput(final long sourceRecordPosition) {
     responseWriter.reset();
-    logStreamWriter.reset();
+    if (batchRecordCount == 0) {
+      logStreamWriter.reset();
+    }
     logStreamWriter.configureSourceContext(sourceRecordPosition);
   }
 
@@ -326,6 +530,8 @@ public final class ProcessingStateMachine {
           if (throwable != null) {
             LOG.error(ERROR_MESSAGE_ROLLBACK_ABORTED, currentEvent, throwable);
           }
+          // the responses of the rolled back records must not be sent
+          discardBatch();
           try {
             errorHandlingInTransaction(processingException);
 
@@ -386,7 +592,9 @@ public final class ProcessingStateMachine {
     actor.runOnCompletion(
         retryFuture,
         (bool, t) -> {
-          if (t != null) {
+          if (t != null && isBatchExtended) {
+            fallBackToSingleRecordProcessing(t);
+          } else if (t != null) {
             LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
             onError(t, this::writeEvent);
           } else {
@@ -428,6 +636,8 @@ public final class ProcessingStateMachine {
           if (throwable != null) {
             LOG.error(ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, throwable);
             onError(throwable, this::updateState);
+          } else if (isPipelined()) {
+            enqueueSideEffects();
           } else {
             executeSideEffects();
           }
@@ -443,6 +653,8 @@ public final class ProcessingStateMachine {
   }
 
   private void executeSideEffects() {
+    flushBatchResponses();
+
     final ActorFuture<Boolean> retryFuture =
         sideEffectsRetryStrategy.runWithRetry(sideEffectProducer::flush, abortCondition);
 
@@ -453,16 +665,131 @@ public final class ProcessingStateMachine {
             LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
           }
 
-          notifyListener();
+          if (!isCurrentRecordStashed) {
+            notifyListener();
 
-          metrics.processingDuration(
-              metadata.getRecordType(), processingStartTime, ActorClock.currentTimeMillis());
+            metrics.processingDuration(
+                metadata.getRecordType(), processingStartTime, ActorClock.currentTimeMillis());
+          }
           // continue with next event
+          resetBatch();
           currentProcessor = null;
           actor.submit(this::readNextEvent);
         });
   }
 
+  private boolean isPipelined() {
+    return maxPipelineDepth > 0;
+  }
+
+  private boolean isPipelineFull() {
+    return isPipelined() && pendingSideEffects.size() >= maxPipelineDepth;
+  }
+
+  private void enqueueSideEffects() {
+    if (sideEffectProducer != responseWriter) {
+      // custom side effects refer to state of the processor, which is reused for the next record
+      isDrainingPipeline = true;
+      releaseCommittedSideEffects();
+      return;
+    }
+
+    if (!isCurrentRecordStashed) {
+      // the record is copied, because the processed listener is notified after the commit
+      stashResponse(true);
+      metrics.processingDuration(
+          metadata.getRecordType(), processingStartTime, ActorClock.currentTimeMillis());
+    }
+
+    while (!batchSideEffects.isEmpty()) {
+      final PendingSideEffects pending = batchSideEffects.poll();
+      // the responses and the processed listener wait until the follow-up records are committed
+      pending.position = writtenEventPosition;
+      pendingSideEffects.add(pending);
+    }
+    metrics.setPipelineDepth(pendingSideEffects.size());
+
+    // continue with next event, the responses are sent after the follow-up events are committed
+    resetBatch();
+    currentProcessor = null;
+    releaseCommittedSideEffects();
+    actor.submit(this::readNextEvent);
+  }
+
+  private void stashResponse(final boolean copyRecord) {
+    PendingSideEffects stashed = releasedSideEffects.poll();
+    if (stashed == null) {
+      stashed =
+          new PendingSideEffects(
+              new DeferredResponse(commandResponseWriter, logStream.getPartitionId()),
+              logStream.getPartitionId());
+    }
+    responseWriter.copyTo(stashed.response);
+    responseWriter.reset();
+    if (copyRecord) {
+      stashed.copyRecord(currentEvent);
+    }
+    batchSideEffects.add(stashed);
+  }
+
+  private void flushBatchResponses() {
+    while (!batchSideEffects.isEmpty()) {
+      final PendingSideEffects stashed = batchSideEffects.poll();
+      stashed.response.flush();
+      stashed.notifyListener(onProcessed);
+      stashed.reset();
+      releasedSideEffects.add(stashed);
+    }
+  }
+
+  private void releaseCommittedSideEffects() {
+    if (isCommitPositionRequested) {
+      // the commit position may have been updated after the pending request was answered
+      isCommitPositionOutdated = true;
+      return;
+    }
+
+    isCommitPositionRequested = true;
+    logStream
+        .getCommitPositionAsync()
+        .onComplete(
+            (commitPosition, error) -> {
+              isCommitPositionRequested = false;
+              if (error == null) {
+                onCommitPosition(commitPosition);
+              } else {
+                LOG.error("Error on retrieving commit position", error);
+              }
+
+              if (isCommitPositionOutdated) {
+                isCommitPositionOutdated = false;
+                releaseCommittedSideEffects();
+              }
+            });
+  }
+
+  private void onCommitPosition(final long commitPosition) {
+    final boolean wasPipelineFull = isPipelineFull();
+
+    while (!pendingSideEffects.isEmpty() && pendingSideEffects.peek().position <= commitPosition) {
+      final PendingSideEffects released = pendingSideEffects.poll();
+      released.response.flush();
+      released.notifyListener(onProcessed);
+      released.reset();
+      releasedSideEffects.add(released);
+    }
+    metrics.setPipelineDepth(pendingSideEffects.size());
+
+    if (isDrainingPipeline
+        && pendingSideEffects.isEmpty()
+        && writtenEventPosition <= commitPosition) {
+      isDrainingPipeline = false;
+      executeSideEffects();
+    } else if (wasPipelineFull && !isPipelineFull()) {
+      actor.submit(this::readNextEvent);
+    }
+  }
+
   public long getLastSuccessfulProcessedEventPosition() {
     return lastSuccessfulProcessedEventPosition;
   }
@@ -481,4 +808,56 @@ public final class ProcessingStateMachine {
     }
     actor.submit(this::readNextEvent);
   }
+
+  /**
+   * The response of a processed record, which is sent after the follow-up records are committed.
+   * For a record of a batch, it also holds a copy of the record, which is passed to the processed
+   * listener after the batch is committed.
+   */
+  private static final class PendingSideEffects {
+    private final DeferredResponse response;
+    private final MutableDirectBuffer recordBuffer = new ExpandableArrayBuffer();
+    private final LoggedEventImpl recordEvent = new LoggedEventImpl();
+    private final RecordMetadata recordMetadata = new RecordMetadata();
+    private final TypedEventImpl record;
+    private RecordValues recordValues;
+    private boolean hasRecord;
+    private long position;
+
+    private PendingSideEffects(final DeferredResponse response, final int partitionId) {
+      this.response = response;
+      record = new TypedEventImpl(partitionId);
+    }
+
+    private void copyRecord(final LoggedEvent event) {
+      if (recordValues == null) {
+        recordValues = new RecordValues();
+      }
+
+      event.write(recordBuffer, 0);
+      recordEvent.wrap(recordBuffer, 0);
+      recordMetadata.reset();
+      recordEvent.readMetadata(recordMetadata);
+      record.wrap(
+          recordEvent,
+          recordMetadata,
+          recordValues.readRecordValue(recordEvent, recordMetadata.getValueType()));
+      hasRecord = true;
+    }
+
+    private void notifyListener(final Consumer<TypedRecord> onProcessed) {
+      if (hasRecord) {
+        try {
+          onProcessed.accept(record);
+        } catch (final Exception e) {
+          LOG.error(NOTIFY_LISTENER_ERROR_MESSAGE, recordEvent, e);
+        }
+      }
+    }
+
+    private void reset() {
+      response.reset();
+      hasRecord = false;
+    }
+  }
 }
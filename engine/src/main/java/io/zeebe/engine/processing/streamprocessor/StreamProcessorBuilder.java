@@ -76,6 +76,16 @@ public final class StreamProcessorBuilder {
     return this;
   }
 
+  public StreamProcessorBuilder processingPipelineDepth(final int processingPipelineDepth) {
+    processingContext.processingPipelineDepth(processingPipelineDepth);
+    return this;
+  }
+
+  public StreamProcessorBuilder processingBatchSize(final int processingBatchSize) {
+    processingContext.processingBatchSize(processingBatchSize);
+    return this;
+  }
+
   public StreamProcessorBuilder eventApplierFactory(
       final Function<ZeebeState, EventApplier> eventApplierFactory) {
     this.eventApplierFactory = eventApplierFactory;
@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor.writers;
+
+import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectProducer;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A copy of a staged command response. The {@link TypedResponseWriterImpl} references the record
+ * value of the current record, which is reused for the next record. This copy owns its value and
+ * rejection reason, such that the response can be sent after further records were processed.
+ */
+public final class DeferredResponse implements SideEffectProducer {
+
+  private final MutableDirectBuffer valueBuffer = new ExpandableArrayBuffer();
+  private final MutableDirectBuffer rejectionReasonBuffer = new ExpandableArrayBuffer();
+  private final DirectBufferWriter valueWriter = new DirectBufferWriter();
+  private final UnsafeBuffer rejectionReasonView = new UnsafeBuffer(0, 0);
+  private final CommandResponseWriter writer;
+  private final int partitionId;
+
+  private boolean isResponseStaged;
+  private RecordType recordType;
+  private Intent intent;
+  private long key;
+  private RejectionType rejectionType;
+  private ValueType valueType;
+  private long requestId;
+  private int requestStreamId;
+  private int valueLength;
+  private int rejectionReasonLength;
+
+  public DeferredResponse(final CommandResponseWriter writer, final int partitionId) {
+    this.writer = writer;
+    this.partitionId = partitionId;
+  }
+
+  void stage(
+      final RecordType recordType,
+      final Intent intent,
+      final long key,
+      final RejectionType rejectionType,
+      final DirectBuffer rejectionReason,
+      final ValueType valueType,
+      final long requestId,
+      final int requestStreamId,
+      final BufferWriter value) {
+    this.recordType = recordType;
+    this.intent = intent;
+    this.key = key;
+    this.rejectionType = rejectionType;
+    this.valueType = valueType;
+    this.requestId = requestId;
+    this.requestStreamId = requestStreamId;
+
+    rejectionReasonLength = rejectionReason.capacity();
+    rejectionReasonBuffer.putBytes(0, rejectionReason, 0, rejectionReasonLength);
+
+    valueLength = value.getLength();
+    value.write(valueBuffer, 0);
+
+    isResponseStaged = true;
+  }
+
+  @Override
+  public boolean flush() {
+    if (isResponseStaged) {
+      rejectionReasonView.wrap(rejectionReasonBuffer, 0, rejectionReasonLength);
+      writer
+          .partitionId(partitionId)
+          .key(key)
+          .intent(intent)
+          .recordType(recordType)
+          .valueType(valueType)
+          .rejectionType(rejectionType)
+          .rejectionReason(rejectionReasonView)
+          .valueWriter(valueWriter.wrap(valueBuffer, 0, valueLength));
+
+      writer.tryWriteResponse(requestStreamId, requestId);
+    }
+    return true;
+  }
+
+  public void reset() {
+    isResponseStaged = false;
+  }
+}
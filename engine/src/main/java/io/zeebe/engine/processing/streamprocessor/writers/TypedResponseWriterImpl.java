@@ -26,6 +26,13 @@ public final class TypedResponseWriterImpl implements TypedResponseWriter, SideE
   private long requestId;
   private int requestStreamId;
   private boolean isResponseStaged;
+  private RecordType recordType;
+  private Intent intent;
+  private long key;
+  private RejectionType rejectionType;
+  private DirectBuffer rejectionReason;
+  private ValueType valueType;
+  private UnpackedObject value;
 
   public TypedResponseWriterImpl(final CommandResponseWriter writer, final int partitionId) {
     this.writer = writer;
@@ -136,11 +143,38 @@ public final class TypedResponseWriterImpl implements TypedResponseWriter, SideE
         .rejectionReason(rejectionReason)
         .valueWriter(value);
 
+    recordType = type;
+    this.intent = intent;
+    this.key = key;
+    this.rejectionType = rejectionType;
+    this.rejectionReason = rejectionReason;
+    this.valueType = valueType;
+    this.value = value;
     this.requestId = requestId;
     this.requestStreamId = requestStreamId;
     isResponseStaged = true;
   }
 
+  /**
+   * Copies the staged response, if any, into the given deferred response, such that it can be sent
+   * after this writer was reset for the next record.
+   */
+  public void copyTo(final DeferredResponse deferredResponse) {
+    deferredResponse.reset();
+    if (isResponseStaged) {
+      deferredResponse.stage(
+          recordType,
+          intent,
+          key,
+          rejectionType,
+          rejectionReason,
+          valueType,
+          requestId,
+          requestStreamId,
+          value);
+    }
+  }
+
   public void reset() {
     isResponseStaged = false;
   }
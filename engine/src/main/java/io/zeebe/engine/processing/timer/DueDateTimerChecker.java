@@ -7,6 +7,7 @@
  */
 package io.zeebe.engine.processing.timer;
 
+import io.zeebe.engine.metrics.TimerMetrics;
 import io.zeebe.engine.processing.streamprocessor.ReadonlyProcessingContext;
 import io.zeebe.engine.processing.streamprocessor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
@@ -18,65 +19,152 @@ import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
-
+import org.agrona.collections.LongArrayList;
+
+/**
+ * Triggers the timers when they are due. The timers which are due within the horizon of a {@link
+ * DueDateTimerWheel} are held in memory, such that finding the due timers doesn't require to scan
+ * the state. The timers which are due later are only kept in the state. They are loaded into the
+ * wheel window by window while the wheel advances, and initially when the stream processor is
+ * recovered.
+ *
+ * <p>The trigger commands of the due timers are appended in batches.
+ */
 public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
 
   private static final long TIMER_RESOLUTION = Duration.ofMillis(100).toMillis();
+  private static final int TICKS_PER_WHEEL = 1024;
+  private static final int MAX_TRIGGER_BATCH_SIZE = 100;
+
+  private static final int ENTRY_LENGTH = 3;
+  private static final long CANCELED = -1L;
 
   private final TimerRecord timerRecord = new TimerRecord();
+  // the due timers whose trigger commands are not appended yet, as due date, element instance key
+  // and timer key
+  private final LongArrayList dueTimers = new LongArrayList();
 
   private final TimerInstanceState timerInstanceState;
   private ActorControl actor;
   private TypedStreamWriter streamWriter;
+  private TimerMetrics metrics;
+
+  private DueDateTimerWheel wheel;
+  // the timers which are due before this date are loaded into the wheel
+  private long loadedUntil;
 
   private ScheduledTimer scheduledTimer;
-  private long nextDueDate = -1L;
+  private long nextCheck = -1L;
 
   public DueDateTimerChecker(final TimerInstanceState timerInstanceState) {
     this.timerInstanceState = timerInstanceState;
   }
 
   public void scheduleTimer(final TimerInstance timer) {
+    final long dueDate = timer.getDueDate();
+
+    // timers which are due after the loaded window are added when the window is extended
+    if (dueDate < loadedUntil) {
+      wheel.add(dueDate, timer.getElementInstanceKey(), timer.getKey());
+      metrics.setScheduledTimers(wheel.size());
+
+      // We schedule only one runnable for all timers. It is only re-scheduled if the new timer
+      // should be triggered before the runnable is executed. Otherwise, it picks up the timer when
+      // it is executed.
+      if (nextCheck < 0 || nextCheck - dueDate > TIMER_RESOLUTION) {
+        scheduleCheck(dueDate);
+      }
+    }
+  }
 
-    // We schedule only one runnable for all timers.
-    // - The runnable is scheduled when the first timer is scheduled.
-    // - If a new timer is scheduled which should be triggered before the current runnable is
-    // executed then the runnable is canceled and re-scheduled with the new duration.
-    // - Otherwise, we don't need to cancel the runnable. It will be rescheduled when it is
-    // executed.
-
-    final Duration duration =
-        Duration.ofMillis(timer.getDueDate() - ActorClock.currentTimeMillis());
-
-    if (scheduledTimer == null) {
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
-      nextDueDate = timer.getDueDate();
+  private void triggerTimers() {
+    scheduledTimer = null;
+    nextCheck = -1L;
+
+    final long now = ActorClock.currentTimeMillis();
+    wheel.expire(now, this::addDueTimer);
+    if (loadedUntil - now < getWindowSize() / 2) {
+      loadTimers(loadedUntil);
+      // the window may contain due timers if the clock jumped ahead
+      wheel.expire(now, this::addDueTimer);
+    }
 
-    } else if (nextDueDate - timer.getDueDate() > TIMER_RESOLUTION) {
-      scheduledTimer.cancel();
+    final boolean allAppended = appendTriggerCommands(now);
+    metrics.setScheduledTimers(wheel.size());
 
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
-      nextDueDate = timer.getDueDate();
+    // check again when the next timer is due, or before the loaded window is exhausted
+    long next = Math.max(loadedUntil - getWindowSize() / 2, now + TIMER_RESOLUTION);
+    final long nextDueDate = wheel.nextDueDate();
+    if (nextDueDate >= 0) {
+      next = Math.min(next, nextDueDate);
     }
+    if (!allAppended) {
+      // retry the remaining trigger commands, e.g. if the log storage was full
+      next = Math.min(next, now + TIMER_RESOLUTION);
+    }
+    scheduleCheck(next);
   }
 
-  private void triggerTimers() {
-    nextDueDate =
-        timerInstanceState.findTimersWithDueDateBefore(
-            ActorClock.currentTimeMillis(), this::triggerTimer);
-
-    // reschedule the runnable if there are timers left
+  private void addDueTimer(final long dueDate, final long elementInstanceKey, final long timerKey) {
+    dueTimers.addLong(dueDate);
+    dueTimers.addLong(elementInstanceKey);
+    dueTimers.addLong(timerKey);
+  }
 
-    if (nextDueDate > 0) {
-      final Duration duration = Duration.ofMillis(nextDueDate - ActorClock.currentTimeMillis());
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
+  /** Loads the timers into the wheel which are due from the given date until its horizon. */
+  private void loadTimers(final long from) {
+    final long until = wheel.getHorizon();
+    timerInstanceState.forEachDueDateBetween(from, until, wheel::add);
+    loadedUntil = until;
+  }
 
-    } else {
-      scheduledTimer = null;
+  /**
+   * Appends the trigger commands of the due timers in batches. The timers of a batch which can't be
+   * appended are kept, to be retried on the next check.
+   *
+   * @return true if all trigger commands were appended
+   */
+  private boolean appendTriggerCommands(final long now) {
+    int offset = 0;
+    while (offset < dueTimers.size()) {
+      final int batchEnd =
+          Math.min(dueTimers.size(), offset + MAX_TRIGGER_BATCH_SIZE * ENTRY_LENGTH);
+
+      streamWriter.reset();
+      int batchSize = 0;
+      for (int i = offset; i < batchEnd; i += ENTRY_LENGTH) {
+        final TimerInstance timer =
+            timerInstanceState.get(dueTimers.getLong(i + 1), dueTimers.getLong(i + 2));
+        if (timer != null) {
+          appendTriggerCommand(timer);
+          batchSize++;
+        } else {
+          // the timer was canceled in the meantime
+          dueTimers.setLong(i, CANCELED);
+        }
+      }
+
+      if (batchSize > 0 && streamWriter.flush() < 0) {
+        break;
+      }
+
+      if (batchSize > 0) {
+        metrics.triggerBatchAppended(batchSize);
+      }
+      for (int i = offset; i < batchEnd; i += ENTRY_LENGTH) {
+        final long dueDate = dueTimers.getLong(i);
+        if (dueDate != CANCELED) {
+          metrics.timerTriggered(dueDate, now);
+        }
+      }
+      offset = batchEnd;
     }
+
+    removeHead(dueTimers, offset);
+    return dueTimers.isEmpty();
   }
 
-  private boolean triggerTimer(final TimerInstance timer) {
+  private void appendTriggerCommand(final TimerInstance timer) {
     timerRecord.reset();
     timerRecord
         .setElementInstanceKey(timer.getElementInstanceKey())
@@ -86,17 +174,44 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
         .setRepetitions(timer.getRepetitions())
         .setWorkflowKey(timer.getWorkflowKey());
 
-    streamWriter.reset();
     streamWriter.appendFollowUpCommand(timer.getKey(), TimerIntent.TRIGGER, timerRecord);
+  }
+
+  private void scheduleCheck(final long dueDate) {
+    if (scheduledTimer != null) {
+      scheduledTimer.cancel();
+    }
 
-    return streamWriter.flush() > 0;
+    final Duration delay = Duration.ofMillis(Math.max(0, dueDate - ActorClock.currentTimeMillis()));
+    scheduledTimer = actor.runDelayed(delay, this::triggerTimers);
+    nextCheck = dueDate;
+  }
+
+  private static long getWindowSize() {
+    return TICKS_PER_WHEEL * TIMER_RESOLUTION;
+  }
+
+  private static void removeHead(final LongArrayList list, final int length) {
+    final int remaining = list.size() - length;
+    for (int i = 0; i < remaining; i++) {
+      list.setLong(i, list.getLong(length + i));
+    }
+    while (list.size() > remaining) {
+      list.fastUnorderedRemove(list.size() - 1);
+    }
   }
 
   @Override
   public void onRecovered(final ReadonlyProcessingContext processingContext) {
     actor = processingContext.getActor();
     streamWriter = processingContext.getLogStreamWriter();
-    // check if timers are due after restart
+    metrics = new TimerMetrics(processingContext.getLogStream().getPartitionId());
+
+    // load the timers which are due soon, including the ones which are due already after restart
+    wheel =
+        new DueDateTimerWheel(TICKS_PER_WHEEL, TIMER_RESOLUTION, ActorClock.currentTimeMillis());
+    dueTimers.clear();
+    loadTimers(0);
     triggerTimers();
   }
 
@@ -105,6 +220,7 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
     if (scheduledTimer != null) {
       scheduledTimer.cancel();
       scheduledTimer = null;
+      nextCheck = -1L;
     }
   }
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.timer;
+
+import org.agrona.BitUtil;
+import org.agrona.collections.LongArrayList;
+
+/**
+ * A timing wheel which holds the timers that are due within its horizon, i.e. within the next
+ * {@code ticksPerWheel} ticks. Each tick has a bucket of the timers which are due in it, such that
+ * adding a timer and finding the due timers does not depend on the number of timers.
+ *
+ * <p>Timers which are due after the horizon are not added; they are kept in the state only and have
+ * to be added once the wheel has advanced far enough. Each timer is stored as its due date, element
+ * instance key and timer key.
+ */
+final class DueDateTimerWheel {
+
+  private static final int ENTRY_LENGTH = 3;
+
+  private final LongArrayList[] buckets;
+  private final int mask;
+  private final long tickDuration;
+
+  // the tick of the bucket which is expired next
+  private long currentTick;
+  private int size;
+
+  DueDateTimerWheel(final int ticksPerWheel, final long tickDuration, final long startTime) {
+    if (!BitUtil.isPowerOfTwo(ticksPerWheel)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected ticks per wheel to be a power of two, but was %d", ticksPerWheel));
+    }
+
+    buckets = new LongArrayList[ticksPerWheel];
+    for (int i = 0; i < ticksPerWheel; i++) {
+      buckets[i] = new LongArrayList();
+    }
+    mask = ticksPerWheel - 1;
+    this.tickDuration = tickDuration;
+    currentTick = startTime / tickDuration;
+  }
+
+  /** @return the exclusive upper bound of the due dates which can be added to the wheel */
+  long getHorizon() {
+    return (currentTick + buckets.length) * tickDuration;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds the timer to the bucket of its due date. Timers which are already due are added to the
+   * current bucket.
+   *
+   * @return false if the timer is due after the horizon of the wheel and was not added
+   */
+  boolean add(final long dueDate, final long elementInstanceKey, final long timerKey) {
+    final long tick = Math.max(dueDate / tickDuration, currentTick);
+    if (tick >= currentTick + buckets.length) {
+      return false;
+    }
+
+    final LongArrayList bucket = buckets[(int) (tick & mask)];
+    bucket.addLong(dueDate);
+    bucket.addLong(elementInstanceKey);
+    bucket.addLong(timerKey);
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes all timers which are due at the given time from the wheel and advances the wheel to the
+   * tick of the given time.
+   *
+   * @param now the current time
+   * @param consumer receives the due timers
+   * @return the number of due timers
+   */
+  int expire(final long now, final DueTimerConsumer consumer) {
+    final long nowTick = now / tickDuration;
+    int expired = 0;
+
+    // if the time jumped over the whole wheel, every bucket has to be expired only once
+    final long lastExpiredTick = Math.min(nowTick, currentTick + buckets.length);
+    for (long tick = currentTick; tick < lastExpiredTick; tick++) {
+      final LongArrayList bucket = buckets[(int) (tick & mask)];
+      for (int i = 0; i < bucket.size(); i += ENTRY_LENGTH) {
+        consumer.accept(bucket.getLong(i), bucket.getLong(i + 1), bucket.getLong(i + 2));
+      }
+      expired += bucket.size() / ENTRY_LENGTH;
+      bucket.clear();
+    }
+    currentTick = Math.max(currentTick, nowTick);
+
+    // the timers of the current tick are only partially due
+    final LongArrayList bucket = buckets[(int) (currentTick & mask)];
+    int remaining = 0;
+    for (int i = 0; i < bucket.size(); i += ENTRY_LENGTH) {
+      final long dueDate = bucket.getLong(i);
+      if (dueDate <= now) {
+        consumer.accept(dueDate, bucket.getLong(i + 1), bucket.getLong(i + 2));
+        expired++;
+      } else {
+        bucket.setLong(remaining++, dueDate);
+        bucket.setLong(remaining++, bucket.getLong(i + 1));
+        bucket.setLong(remaining++, bucket.getLong(i + 2));
+      }
+    }
+    truncate(bucket, remaining);
+
+    size -= expired;
+    return expired;
+  }
+
+  /** @return the earliest due date of the timers in the wheel, or -1 if the wheel is empty */
+  long nextDueDate() {
+    if (size == 0) {
+      return -1L;
+    }
+
+    for (long tick = currentTick; tick < currentTick + buckets.length; tick++) {
+      final LongArrayList bucket = buckets[(int) (tick & mask)];
+      if (!bucket.isEmpty()) {
+        long nextDueDate = Long.MAX_VALUE;
+        for (int i = 0; i < bucket.size(); i += ENTRY_LENGTH) {
+          nextDueDate = Math.min(nextDueDate, bucket.getLong(i));
+        }
+        return nextDueDate;
+      }
+    }
+    return -1L;
+  }
+
+  private static void truncate(final LongArrayList list, final int length) {
+    while (list.size() > length) {
+      list.fastUnorderedRemove(list.size() - 1);
+    }
+  }
+
+  @FunctionalInterface
+  interface DueTimerConsumer {
+    void accept(long dueDate, long elementInstanceKey, long timerKey);
+  }
+}
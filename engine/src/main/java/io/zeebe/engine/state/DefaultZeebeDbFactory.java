@@ -9,9 +9,11 @@ package io.zeebe.engine.state;
 
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyProfile;
 import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDBMetricExporter;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.util.Map;
 import java.util.Properties;
 import java.util.function.BiFunction;
 
@@ -20,6 +22,55 @@ public final class DefaultZeebeDbFactory {
   public static final BiFunction<String, ZeebeDb<ZbColumnFamilies>, ZeebeRocksDBMetricExporter>
       DEFAULT_DB_METRIC_EXPORTER_FACTORY = ZeebeRocksDBMetricExporter::new;
 
+  /**
+   * The profiles of the engine's column families, derived from how the engine accesses them. Column
+   * families which are not listed here use the default prefix scan profile. The profiles can be
+   * overwritten per column family via the {@link RocksDbConfiguration}.
+   */
+  public static final Map<String, ColumnFamilyProfile> DEFAULT_COLUMN_FAMILY_PROFILES =
+      Map.ofEntries(
+          // point reads by key
+          Map.entry(ZbColumnFamilies.KEY.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(ZbColumnFamilies.WORKFLOW_CACHE.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(ZbColumnFamilies.ELEMENT_INSTANCE_KEY.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(ZbColumnFamilies.VARIABLES.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(ZbColumnFamilies.JOBS.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(ZbColumnFamilies.JOB_STATES.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(ZbColumnFamilies.MESSAGE_KEY.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(ZbColumnFamilies.INCIDENTS.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          Map.entry(
+              ZbColumnFamilies.JOB_ACTIVATION_CURSOR.name(), ColumnFamilyProfile.POINT_LOOKUP),
+          // range scanned by time
+          Map.entry(
+              ZbColumnFamilies.TIMER_DUE_DATES.name(), ColumnFamilyProfile.TIME_ORDERED_QUEUE),
+          Map.entry(ZbColumnFamilies.JOB_DEADLINES.name(), ColumnFamilyProfile.TIME_ORDERED_QUEUE),
+          Map.entry(
+              ZbColumnFamilies.MESSAGE_DEADLINES.name(), ColumnFamilyProfile.TIME_ORDERED_QUEUE),
+          Map.entry(
+              ZbColumnFamilies.MESSAGE_SUBSCRIPTION_BY_SENT_TIME.name(),
+              ColumnFamilyProfile.TIME_ORDERED_QUEUE),
+          Map.entry(
+              ZbColumnFamilies.WORKFLOW_SUBSCRIPTION_BY_SENT_TIME.name(),
+              ColumnFamilyProfile.TIME_ORDERED_QUEUE),
+          // written once, rarely read
+          Map.entry(ZbColumnFamilies.STORED_INSTANCE_EVENTS.name(), ColumnFamilyProfile.WRITE_ONCE),
+          Map.entry(ZbColumnFamilies.BLACKLIST.name(), ColumnFamilyProfile.WRITE_ONCE));
+
+  private static final long DEFAULT_CACHE_SIZE = 4 * 1024 * 1024L;
+
+  /**
+   * The cache sizes in bytes of the engine's column families, which are read by their long key
+   * while processing nearly every command of an instance. Only the stream processor accesses these
+   * column families, which the caches rely on. The sizes can be overwritten per column family via
+   * the {@link RocksDbConfiguration}, where a size of zero disables the cache.
+   */
+  public static final Map<String, Long> DEFAULT_COLUMN_FAMILY_CACHE_SIZES =
+      Map.of(
+          ZbColumnFamilies.ELEMENT_INSTANCE_KEY.name(), DEFAULT_CACHE_SIZE,
+          ZbColumnFamilies.ELEMENT_INSTANCE_CHILD_PARENT.name(), DEFAULT_CACHE_SIZE,
+          ZbColumnFamilies.JOBS.name(), DEFAULT_CACHE_SIZE,
+          ZbColumnFamilies.JOB_STATES.name(), DEFAULT_CACHE_SIZE);
+
   /**
    * Returns the default zeebe database factory, which is used in most of the places except for the
    * exporters.
@@ -53,6 +104,9 @@ public final class DefaultZeebeDbFactory {
       ZeebeDbFactory<ColumnFamilyNames> defaultFactory(
           final RocksDbConfiguration rocksDbConfiguration) {
     // one place to replace the zeebe database implementation
-    return ZeebeRocksDbFactory.newFactory(rocksDbConfiguration);
+    return ZeebeRocksDbFactory.newFactory(
+        rocksDbConfiguration
+            .withDefaultColumnFamilyProfiles(DEFAULT_COLUMN_FAMILY_PROFILES)
+            .withDefaultColumnFamilyCacheSizes(DEFAULT_COLUMN_FAMILY_CACHE_SIZES));
   }
 }
@@ -81,5 +81,9 @@ public enum ZbColumnFamilies {
 
   EXPORTER,
 
-  AWAIT_WORKLOW_RESULT
+  AWAIT_WORKLOW_RESULT,
+
+  JOB_ACTIVATION_CURSOR,
+
+  MULTI_INSTANCE_INPUT_COLLECTION
 }
@@ -77,7 +77,7 @@ public class ZeebeState {
     keyGenerator = new DbKeyGenerator(partitionId, zeebeDb, transactionContext);
 
     variableState = new DbVariableState(zeebeDb, transactionContext, keyGenerator);
-    workflowState = new DbWorkflowState(zeebeDb, transactionContext);
+    workflowState = new DbWorkflowState(zeebeDb, transactionContext, partitionId);
     timerInstanceState = new DbTimerInstanceState(zeebeDb, transactionContext);
     elementInstanceState = new DbElementInstanceState(zeebeDb, transactionContext, variableState);
     eventScopeInstanceState = new DbEventScopeInstanceState(zeebeDb, transactionContext);
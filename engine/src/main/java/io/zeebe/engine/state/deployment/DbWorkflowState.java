@@ -15,6 +15,7 @@ import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbString;
+import io.zeebe.engine.metrics.WorkflowCacheMetrics;
 import io.zeebe.engine.processing.deployment.model.BpmnFactory;
 import io.zeebe.engine.processing.deployment.model.element.ExecutableFlowElement;
 import io.zeebe.engine.processing.deployment.model.element.ExecutableWorkflow;
@@ -28,24 +29,23 @@ import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentResource;
 import io.zeebe.protocol.impl.record.value.deployment.Workflow;
 import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
-import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.io.DirectBufferInputStream;
 
 public final class DbWorkflowState implements MutableWorkflowState {
 
+  /** The default max weight of the workflow cache, i.e. the summed size of the BPMN resources. */
+  public static final long DEFAULT_CACHE_WEIGHT = 16 * 1024 * 1024;
+
   private final BpmnTransformer transformer = BpmnFactory.createTransformer();
 
-  private final Map<DirectBuffer, Long2ObjectHashMap<DeployedWorkflow>>
-      workflowsByProcessIdAndVersion = new HashMap<>();
-  private final Long2ObjectHashMap<DeployedWorkflow> workflowsByKey;
+  // the workflows are read and transformed when they are used and not all are kept in memory
+  private final WorkflowCache workflowCache;
 
   // workflow
   private final ColumnFamily<DbLong, PersistedWorkflow> workflowColumnFamily;
@@ -67,7 +67,17 @@ public final class DbWorkflowState implements MutableWorkflowState {
   private final NextValueManager versionManager;
 
   public DbWorkflowState(
-      final ZeebeDb<ZbColumnFamilies> zeebeDb, final TransactionContext transactionContext) {
+      final ZeebeDb<ZbColumnFamilies> zeebeDb,
+      final TransactionContext transactionContext,
+      final int partitionId) {
+    this(zeebeDb, transactionContext, partitionId, DEFAULT_CACHE_WEIGHT);
+  }
+
+  public DbWorkflowState(
+      final ZeebeDb<ZbColumnFamilies> zeebeDb,
+      final TransactionContext transactionContext,
+      final int partitionId,
+      final long cacheWeight) {
     workflowKey = new DbLong();
     persistedWorkflow = new PersistedWorkflow();
     workflowColumnFamily =
@@ -95,7 +105,7 @@ public final class DbWorkflowState implements MutableWorkflowState {
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.WORKFLOW_CACHE_DIGEST_BY_ID, transactionContext, workflowId, digest);
 
-    workflowsByKey = new Long2ObjectHashMap<>();
+    workflowCache = new WorkflowCache(cacheWeight, new WorkflowCacheMetrics(partitionId));
 
     versionManager =
         new NextValueManager(zeebeDb, transactionContext, ZbColumnFamilies.WORKFLOW_VERSION);
@@ -162,7 +172,7 @@ public final class DbWorkflowState implements MutableWorkflowState {
     final DeployedWorkflow deployedWorkflow =
         new DeployedWorkflow(executableWorkflow, copiedWorkflow);
 
-    addWorkflowToInMemoryState(deployedWorkflow);
+    workflowCache.put(deployedWorkflow);
 
     return deployedWorkflow;
   }
@@ -173,74 +183,37 @@ public final class DbWorkflowState implements MutableWorkflowState {
     }
   }
 
-  private void addWorkflowToInMemoryState(final DeployedWorkflow deployedWorkflow) {
-    final DirectBuffer bpmnProcessId = deployedWorkflow.getBpmnProcessId();
-    workflowsByKey.put(deployedWorkflow.getKey(), deployedWorkflow);
-
-    Long2ObjectHashMap<DeployedWorkflow> versionMap =
-        workflowsByProcessIdAndVersion.get(bpmnProcessId);
-
-    if (versionMap == null) {
-      versionMap = new Long2ObjectHashMap<>();
-      workflowsByProcessIdAndVersion.put(bpmnProcessId, versionMap);
-    }
-
-    final int version = deployedWorkflow.getVersion();
-    versionMap.put(version, deployedWorkflow);
-  }
-
   @Override
   public DeployedWorkflow getLatestWorkflowVersionByProcessId(final DirectBuffer processId) {
-    final Long2ObjectHashMap<DeployedWorkflow> versionMap =
-        workflowsByProcessIdAndVersion.get(processId);
-
     workflowId.wrapBuffer(processId);
     final LatestWorkflowVersion latestVersion = latestWorkflowColumnFamily.get(workflowId);
-
-    DeployedWorkflow deployedWorkflow;
-    if (versionMap == null) {
-      deployedWorkflow = lookupWorkflowByIdAndPersistedVersion(latestVersion);
-    } else {
-      deployedWorkflow = versionMap.get(latestVersion.get());
-      if (deployedWorkflow == null) {
-        deployedWorkflow = lookupWorkflowByIdAndPersistedVersion(latestVersion);
-      }
+    if (latestVersion == null) {
+      return null;
     }
-    return deployedWorkflow;
-  }
-
-  private DeployedWorkflow lookupWorkflowByIdAndPersistedVersion(
-      final LatestWorkflowVersion version) {
-    final long latestVersion = version != null ? version.get() : -1;
-    workflowVersion.wrapLong(latestVersion);
-
-    final PersistedWorkflow persistedWorkflow =
-        workflowByIdAndVersionColumnFamily.get(idAndVersionKey);
 
-    if (persistedWorkflow != null) {
-      final DeployedWorkflow deployedWorkflow = updateInMemoryState(persistedWorkflow);
-      return deployedWorkflow;
-    }
-    return null;
+    return getWorkflowByProcessIdAndVersion(processId, latestVersion.get());
   }
 
   @Override
   public DeployedWorkflow getWorkflowByProcessIdAndVersion(
       final DirectBuffer processId, final int version) {
-    final Long2ObjectHashMap<DeployedWorkflow> versionMap =
-        workflowsByProcessIdAndVersion.get(processId);
-
-    if (versionMap != null) {
-      final DeployedWorkflow deployedWorkflow = versionMap.get(version);
-      return deployedWorkflow != null
-          ? deployedWorkflow
-          : lookupPersistenceState(processId, version);
+    return getWorkflowByProcessIdAndVersion(processId, (long) version);
+  }
+
+  private DeployedWorkflow getWorkflowByProcessIdAndVersion(
+      final DirectBuffer processId, final long version) {
+    final DeployedWorkflow deployedWorkflow =
+        workflowCache.getByProcessIdAndVersion(processId, version);
+
+    if (deployedWorkflow != null) {
+      return deployedWorkflow;
     } else {
       return lookupPersistenceState(processId, version);
     }
   }
 
-  private DeployedWorkflow lookupPersistenceState(final DirectBuffer processId, final int version) {
+  private DeployedWorkflow lookupPersistenceState(
+      final DirectBuffer processId, final long version) {
     workflowId.wrapBuffer(processId);
     workflowVersion.wrapLong(version);
 
@@ -248,14 +221,7 @@ public final class DbWorkflowState implements MutableWorkflowState {
         workflowByIdAndVersionColumnFamily.get(idAndVersionKey);
 
     if (persistedWorkflow != null) {
-      updateInMemoryState(persistedWorkflow);
-
-      final Long2ObjectHashMap<DeployedWorkflow> newVersionMap =
-          workflowsByProcessIdAndVersion.get(processId);
-
-      if (newVersionMap != null) {
-        return newVersionMap.get(version);
-      }
+      return updateInMemoryState(persistedWorkflow);
     }
     // does not exist in persistence and in memory state
     return null;
@@ -263,7 +229,7 @@ public final class DbWorkflowState implements MutableWorkflowState {
 
   @Override
   public DeployedWorkflow getWorkflowByKey(final long key) {
-    final DeployedWorkflow deployedWorkflow = workflowsByKey.get(key);
+    final DeployedWorkflow deployedWorkflow = workflowCache.getByKey(key);
 
     if (deployedWorkflow != null) {
       return deployedWorkflow;
@@ -277,37 +243,41 @@ public final class DbWorkflowState implements MutableWorkflowState {
 
     final PersistedWorkflow persistedWorkflow = workflowColumnFamily.get(this.workflowKey);
     if (persistedWorkflow != null) {
-      updateInMemoryState(persistedWorkflow);
-
-      final DeployedWorkflow deployedWorkflow = workflowsByKey.get(workflowKey);
-      return deployedWorkflow;
+      return updateInMemoryState(persistedWorkflow);
     }
     // does not exist in persistence and in memory state
     return null;
   }
 
+  /**
+   * Returns all deployed workflows. The workflows are read from the state, and the ones which are
+   * not cached are transformed, without keeping all of them in memory.
+   */
   @Override
   public Collection<DeployedWorkflow> getWorkflows() {
-    updateCompleteInMemoryState();
-    return workflowsByKey.values();
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+    workflowColumnFamily.forEach(
+        (key, workflow) -> workflows.add(getOrTransformWorkflow(key.getValue(), workflow)));
+    return workflows;
   }
 
   @Override
   public Collection<DeployedWorkflow> getWorkflowsByBpmnProcessId(
       final DirectBuffer bpmnProcessId) {
-    updateCompleteInMemoryState();
-
-    final Long2ObjectHashMap<DeployedWorkflow> workflowsByVersions =
-        workflowsByProcessIdAndVersion.get(bpmnProcessId);
-
-    if (workflowsByVersions != null) {
-      return workflowsByVersions.values();
-    }
-    return Collections.emptyList();
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+    workflowId.wrapBuffer(bpmnProcessId);
+    workflowByIdAndVersionColumnFamily.whileEqualPrefix(
+        workflowId,
+        (key, workflow) -> {
+          workflows.add(getOrTransformWorkflow(workflow.getKey(), workflow));
+        });
+    return workflows;
   }
 
-  private void updateCompleteInMemoryState() {
-    workflowColumnFamily.forEach((workflow) -> updateInMemoryState(persistedWorkflow));
+  private DeployedWorkflow getOrTransformWorkflow(
+      final long workflowKey, final PersistedWorkflow persistedWorkflow) {
+    final DeployedWorkflow deployedWorkflow = workflowCache.getByKey(workflowKey);
+    return deployedWorkflow != null ? deployedWorkflow : updateInMemoryState(persistedWorkflow);
   }
 
   @Override
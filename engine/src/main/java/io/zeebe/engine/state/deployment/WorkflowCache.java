@@ -0,0 +1,114 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.state.deployment;
+
+import io.zeebe.engine.metrics.WorkflowCacheMetrics;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
+
+/**
+ * Keeps the recently used deployed workflows in memory. The cache is bounded by its weight, which
+ * is the summed size of the BPMN resources of the cached workflows, since the size of the parsed
+ * and transformed workflow grows with its resource. If the weight exceeds the max weight then the
+ * least recently used workflows are evicted, but at least the most recently added workflow is kept.
+ */
+final class WorkflowCache {
+
+  private final Map<Long, DeployedWorkflow> workflowsByKey = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<DirectBuffer, Long2ObjectHashMap<DeployedWorkflow>>
+      workflowsByProcessIdAndVersion = new HashMap<>();
+
+  private final long maxWeight;
+  private final WorkflowCacheMetrics metrics;
+  private long weight;
+
+  WorkflowCache(final long maxWeight, final WorkflowCacheMetrics metrics) {
+    this.maxWeight = maxWeight;
+    this.metrics = metrics;
+  }
+
+  DeployedWorkflow getByKey(final long key) {
+    return countLookup(workflowsByKey.get(key));
+  }
+
+  DeployedWorkflow getByProcessIdAndVersion(final DirectBuffer processId, final long version) {
+    final var versionMap = workflowsByProcessIdAndVersion.get(processId);
+    if (versionMap == null) {
+      return countLookup(null);
+    }
+
+    final var deployedWorkflow = versionMap.get(version);
+    if (deployedWorkflow != null) {
+      // mark the workflow as recently used
+      workflowsByKey.get(deployedWorkflow.getKey());
+    }
+    return countLookup(deployedWorkflow);
+  }
+
+  void put(final DeployedWorkflow deployedWorkflow) {
+    final var replacedWorkflow = workflowsByKey.put(deployedWorkflow.getKey(), deployedWorkflow);
+    if (replacedWorkflow != null) {
+      weight -= weightOf(replacedWorkflow);
+    }
+    weight += weightOf(deployedWorkflow);
+
+    workflowsByProcessIdAndVersion
+        .computeIfAbsent(deployedWorkflow.getBpmnProcessId(), id -> new Long2ObjectHashMap<>())
+        .put(deployedWorkflow.getVersion(), deployedWorkflow);
+
+    evictLeastRecentlyUsed();
+    metrics.cacheSize(workflowsByKey.size(), weight);
+  }
+
+  int size() {
+    return workflowsByKey.size();
+  }
+
+  long getWeight() {
+    return weight;
+  }
+
+  private void evictLeastRecentlyUsed() {
+    final var iterator = workflowsByKey.values().iterator();
+    while (weight > maxWeight && workflowsByKey.size() > 1) {
+      final var evictedWorkflow = iterator.next();
+      iterator.remove();
+      removeFromVersionMap(evictedWorkflow);
+
+      weight -= weightOf(evictedWorkflow);
+      metrics.cacheEviction();
+    }
+  }
+
+  private void removeFromVersionMap(final DeployedWorkflow deployedWorkflow) {
+    final var processId = deployedWorkflow.getBpmnProcessId();
+    final var versionMap = workflowsByProcessIdAndVersion.get(processId);
+    if (versionMap != null) {
+      versionMap.remove(deployedWorkflow.getVersion());
+      if (versionMap.isEmpty()) {
+        workflowsByProcessIdAndVersion.remove(processId);
+      }
+    }
+  }
+
+  private DeployedWorkflow countLookup(final DeployedWorkflow deployedWorkflow) {
+    if (deployedWorkflow != null) {
+      metrics.cacheHit();
+    } else {
+      metrics.cacheMiss();
+    }
+    return deployedWorkflow;
+  }
+
+  private static long weightOf(final DeployedWorkflow deployedWorkflow) {
+    return deployedWorkflow.getResource().capacity();
+  }
+}
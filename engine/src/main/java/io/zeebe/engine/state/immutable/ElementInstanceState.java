@@ -12,6 +12,7 @@ import io.zeebe.engine.state.instance.ElementInstance;
 import io.zeebe.engine.state.instance.IndexedRecord;
 import io.zeebe.engine.state.instance.StoredRecord;
 import java.util.List;
+import org.agrona.DirectBuffer;
 
 public interface ElementInstanceState {
 
@@ -26,4 +27,6 @@ public interface ElementInstanceState {
   IndexedRecord getFailedRecord(long key);
 
   AwaitWorkflowInstanceResultMetadata getAwaitResultRequestMetadata(long workflowInstanceKey);
+
+  DirectBuffer getMultiInstanceInputCollection(long multiInstanceBodyKey);
 }
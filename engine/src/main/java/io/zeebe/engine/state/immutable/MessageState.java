@@ -24,6 +24,13 @@ public interface MessageState {
 
   void visitMessagesWithDeadlineBefore(long timestamp, MessageVisitor visitor);
 
+  /**
+   * Visits the messages with a deadline before or at the given timestamp, ordered by their deadline
+   * and key, starting at the message with the given deadline and key (inclusive).
+   */
+  void visitMessagesWithDeadlineBefore(
+      long timestamp, long startDeadline, long startMessageKey, MessageVisitor visitor);
+
   boolean exist(DirectBuffer name, DirectBuffer correlationKey, DirectBuffer messageId);
 
   @FunctionalInterface
@@ -22,8 +22,19 @@ public interface TimerInstanceState {
 
   TimerInstance get(long elementInstanceKey, long timerKey);
 
+  /**
+   * Visits the timers which are due at or after {@code from} and before {@code until}, ordered by
+   * their due date. Only the keys of the timers are read, not the timer instances.
+   */
+  void forEachDueDateBetween(long from, long until, DueDateVisitor visitor);
+
   @FunctionalInterface
   interface TimerVisitor {
     boolean visit(TimerInstance timer);
   }
+
+  @FunctionalInterface
+  interface DueDateVisitor {
+    void visit(long dueDate, long elementInstanceKey, long timerKey);
+  }
 }
@@ -22,6 +22,7 @@ import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceReco
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import java.util.ArrayList;
 import java.util.List;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public final class DbElementInstanceState implements MutableElementInstanceState {
@@ -49,6 +50,10 @@ public final class DbElementInstanceState implements MutableElementInstanceState
   private final ColumnFamily<DbLong, AwaitWorkflowInstanceResultMetadata>
       awaitWorkflowInstanceResultMetadataColumnFamily;
 
+  private final MultiInstanceInputCollection multiInstanceInputCollection;
+  private final ColumnFamily<DbLong, MultiInstanceInputCollection>
+      multiInstanceInputCollectionColumnFamily;
+
   private final MutableVariableState variableState;
 
   public DbElementInstanceState(
@@ -100,6 +105,14 @@ public final class DbElementInstanceState implements MutableElementInstanceState
             transactionContext,
             elementInstanceKey,
             awaitResultMetadata);
+
+    multiInstanceInputCollection = new MultiInstanceInputCollection();
+    multiInstanceInputCollectionColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.MULTI_INSTANCE_INPUT_COLLECTION,
+            transactionContext,
+            elementInstanceKey,
+            multiInstanceInputCollection);
   }
 
   @Override
@@ -164,6 +177,7 @@ public final class DbElementInstanceState implements MutableElementInstanceState
       variableState.removeScope(key);
 
       awaitWorkflowInstanceResultMetadataColumnFamily.delete(elementInstanceKey);
+      multiInstanceInputCollectionColumnFamily.delete(elementInstanceKey);
 
       final long parentKey = instance.getParentKey();
       if (parentKey > 0) {
@@ -341,6 +355,28 @@ public final class DbElementInstanceState implements MutableElementInstanceState
     return awaitWorkflowInstanceResultMetadataColumnFamily.get(elementInstanceKey);
   }
 
+  @Override
+  public void setMultiInstanceInputCollection(
+      final long multiInstanceBodyKey, final DirectBuffer inputCollection) {
+    elementInstanceKey.wrapLong(multiInstanceBodyKey);
+    multiInstanceInputCollection.set(inputCollection);
+    multiInstanceInputCollectionColumnFamily.put(elementInstanceKey, multiInstanceInputCollection);
+  }
+
+  @Override
+  public DirectBuffer getMultiInstanceInputCollection(final long multiInstanceBodyKey) {
+    elementInstanceKey.wrapLong(multiInstanceBodyKey);
+    final MultiInstanceInputCollection inputCollection =
+        multiInstanceInputCollectionColumnFamily.get(elementInstanceKey);
+    return inputCollection == null ? null : inputCollection.get();
+  }
+
+  @Override
+  public void removeMultiInstanceInputCollection(final long multiInstanceBodyKey) {
+    elementInstanceKey.wrapLong(multiInstanceBodyKey);
+    multiInstanceInputCollectionColumnFamily.delete(elementInstanceKey);
+  }
+
   @FunctionalInterface
   public interface RecordVisitor {
 
@@ -25,6 +25,7 @@ import io.zeebe.util.buffer.BufferUtil;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.MutableLong;
 import org.slf4j.Logger;
 
 public final class DbJobState implements JobState, MutableJobState {
@@ -49,6 +50,14 @@ public final class DbJobState implements JobState, MutableJobState {
   private final DbCompositeKey<DbString, DbLong> typeJobKey;
   private final ColumnFamily<DbCompositeKey<DbString, DbLong>, DbNil> activatableColumnFamily;
 
+  // type => lower bound of the keys of its activatable jobs
+  // lets an activation skip the keys of the previously activated jobs, which are still visited by
+  // the iterator as deletion markers until they are compacted
+  private final DbLong activationCursor = new DbLong();
+  private final ColumnFamily<DbString, DbLong> activationCursorColumnFamily;
+  private final DbLong activationStartJobKey = new DbLong();
+  private final DbCompositeKey<DbString, DbLong> activationStartKey;
+
   // timeout => key
   private final DbLong deadlineKey;
   private final DbCompositeKey<DbLong, DbLong> deadlineJobKey;
@@ -77,6 +86,14 @@ public final class DbJobState implements JobState, MutableJobState {
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.JOB_ACTIVATABLE, transactionContext, typeJobKey, DbNil.INSTANCE);
 
+    activationCursorColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.JOB_ACTIVATION_CURSOR,
+            transactionContext,
+            jobTypeKey,
+            activationCursor);
+    activationStartKey = new DbCompositeKey<>(jobTypeKey, activationStartJobKey);
+
     deadlineKey = new DbLong();
     deadlineJobKey = new DbCompositeKey<>(deadlineKey, jobKey);
     deadlinesColumnFamily =
@@ -256,17 +273,38 @@ public final class DbJobState implements JobState, MutableJobState {
     return getState(key) == state;
   }
 
+  /**
+   * Visits the activatable jobs of the given type in the order of their keys. The iteration starts
+   * at the activation cursor of the type, below which no activatable job exists. The cursor is
+   * moved to the first visited job afterwards, and lowered whenever a job with a smaller key
+   * becomes activatable again. It is part of the state, so it is rolled back together with the jobs
+   * and recovered with the snapshot.
+   */
   @Override
   public void forEachActivatableJobs(
       final DirectBuffer type, final BiFunction<Long, JobRecord, Boolean> callback) {
     jobTypeKey.wrapBuffer(type);
+    final DbLong cursor = activationCursorColumnFamily.get(jobTypeKey);
+    final long cursorJobKey = cursor != null ? cursor.getValue() : 0;
+    activationStartJobKey.wrapLong(cursorJobKey);
 
+    final var firstVisitedJobKey = new MutableLong(-1);
     activatableColumnFamily.whileEqualPrefix(
         jobTypeKey,
+        activationStartKey,
         ((compositeKey, zbNil) -> {
           final long jobKey = compositeKey.getSecond().getValue();
+          if (firstVisitedJobKey.get() < 0) {
+            firstVisitedJobKey.set(jobKey);
+          }
           return visitJob(jobKey, callback, () -> activatableColumnFamily.delete(compositeKey));
         }));
+
+    if (firstVisitedJobKey.get() > cursorJobKey) {
+      jobTypeKey.wrapBuffer(type);
+      activationCursor.wrapLong(firstVisitedJobKey.get());
+      activationCursorColumnFamily.put(jobTypeKey, activationCursor);
+    }
   }
 
   boolean visitJob(
@@ -329,11 +367,20 @@ public final class DbJobState implements JobState, MutableJobState {
 
     jobKey.wrapLong(key);
     activatableColumnFamily.put(typeJobKey, DbNil.INSTANCE);
+    lowerActivationCursor(key);
 
     // always notify
     notifyJobAvailable(type);
   }
 
+  private void lowerActivationCursor(final long key) {
+    final DbLong cursor = activationCursorColumnFamily.get(jobTypeKey);
+    if (cursor != null && key < cursor.getValue()) {
+      activationCursor.wrapLong(key);
+      activationCursorColumnFamily.put(jobTypeKey, activationCursor);
+    }
+  }
+
   private void makeJobNotActivatable(final DirectBuffer type) {
     EnsureUtil.ensureNotNullOrEmpty("type", type);
 
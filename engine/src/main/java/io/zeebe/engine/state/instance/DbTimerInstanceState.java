@@ -88,6 +88,31 @@ public final class DbTimerInstanceState implements MutableTimerInstanceState {
     return nextDueDate;
   }
 
+  @Override
+  public void forEachDueDateBetween(
+      final long from, final long until, final DueDateVisitor visitor) {
+    // the element instance and timer keys are never negative, so this is the first key of the date
+    dueDateKey.wrapLong(from);
+    elementInstanceKey.wrapLong(0);
+    timerKey.wrapLong(0);
+
+    dueDateColumnFamily.whileTrue(
+        dueDateCompositeKey,
+        (key, nil) -> {
+          final long dueDate = key.getFirst().getValue();
+          if (dueDate >= until) {
+            return false;
+          }
+
+          final DbCompositeKey<DbLong, DbLong> elementAndTimerKey = key.getSecond();
+          visitor.visit(
+              dueDate,
+              elementAndTimerKey.getFirst().getValue(),
+              elementAndTimerKey.getSecond().getValue());
+          return true;
+        });
+  }
+
   @Override
   public void forEachTimerForElementInstance(
       final long elementInstanceKey, final Consumer<TimerInstance> action) {
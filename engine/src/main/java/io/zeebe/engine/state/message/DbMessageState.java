@@ -310,6 +310,27 @@ public final class DbMessageState implements MutableMessageState {
         }));
   }
 
+  @Override
+  public void visitMessagesWithDeadlineBefore(
+      final long timestamp,
+      final long startDeadline,
+      final long startMessageKey,
+      final MessageVisitor visitor) {
+    deadline.wrapLong(startDeadline);
+    messageKey.wrapLong(startMessageKey);
+
+    deadlineColumnFamily.whileTrue(
+        deadlineMessageKey,
+        (compositeKey, nil) -> {
+          if (compositeKey.getFirst().getValue() > timestamp) {
+            return false;
+          }
+
+          final Message message = getMessage(compositeKey.getSecond().getValue());
+          return visitor.visit(message);
+        });
+  }
+
   @Override
   public boolean exist(
       final DirectBuffer name, final DirectBuffer correlationKey, final DirectBuffer messageId) {
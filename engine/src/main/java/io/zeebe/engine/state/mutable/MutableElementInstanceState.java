@@ -13,6 +13,7 @@ import io.zeebe.engine.state.instance.ElementInstance;
 import io.zeebe.engine.state.instance.StoredRecord.Purpose;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import org.agrona.DirectBuffer;
 
 public interface MutableElementInstanceState extends ElementInstanceState {
 
@@ -40,4 +41,8 @@ public interface MutableElementInstanceState extends ElementInstanceState {
 
   void setAwaitResultRequestMetadata(
       long workflowInstanceKey, AwaitWorkflowInstanceResultMetadata metadata);
+
+  void setMultiInstanceInputCollection(long multiInstanceBodyKey, DirectBuffer inputCollection);
+
+  void removeMultiInstanceInputCollection(long multiInstanceBodyKey);
 }
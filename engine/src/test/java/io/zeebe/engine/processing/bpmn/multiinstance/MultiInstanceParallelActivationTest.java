@@ -0,0 +1,267 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.bpmn.multiinstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.util.EngineRule;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.model.bpmn.BpmnModelInstance;
+import io.zeebe.model.bpmn.builder.StartEventBuilder;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.RecordValue;
+import io.zeebe.protocol.record.intent.VariableIntent;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.protocol.record.value.BpmnElementType;
+import io.zeebe.protocol.record.value.VariableRecordValue;
+import io.zeebe.protocol.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.test.util.record.RecordingExporter;
+import io.zeebe.test.util.record.RecordingExporterTestWatcher;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * A parallel multi-instance body activates its inner instances in chunks of 100. The input
+ * collection of the tests is larger, so the activation is continued two times.
+ */
+public final class MultiInstanceParallelActivationTest {
+
+  @ClassRule public static final EngineRule ENGINE = EngineRule.singlePartition();
+
+  private static final String PROCESS_ID = "process";
+  private static final String SUB_PROCESS_ELEMENT_ID = "sub-process";
+  private static final String INPUT_COLLECTION = "items";
+  private static final String INPUT_ELEMENT = "item";
+  private static final String OUTPUT_COLLECTION = "results";
+  private static final List<Integer> ITEMS =
+      IntStream.rangeClosed(1, 250).boxed().collect(Collectors.toList());
+
+  private static final BpmnModelInstance EMPTY_SUB_PROCESS = workflow(b -> {});
+
+  private static final BpmnModelInstance SERVICE_TASK_SUB_PROCESS =
+      workflow(b -> b.serviceTask("task", t -> t.zeebeJobType("test")));
+
+  @Rule
+  public final RecordingExporterTestWatcher recordingExporterTestWatcher =
+      new RecordingExporterTestWatcher();
+
+  private static BpmnModelInstance workflow(final Consumer<StartEventBuilder> subProcessBuilder) {
+    final StartEventBuilder workflow =
+        Bpmn.createExecutableProcess(PROCESS_ID)
+            .startEvent()
+            .subProcess(
+                SUB_PROCESS_ELEMENT_ID,
+                s ->
+                    s.multiInstance(
+                        b ->
+                            b.parallel()
+                                .zeebeInputCollectionExpression(INPUT_COLLECTION)
+                                .zeebeInputElement(INPUT_ELEMENT)))
+            .embeddedSubProcess()
+            .startEvent();
+
+    subProcessBuilder.accept(workflow);
+
+    return workflow.endEvent().done();
+  }
+
+  @Test
+  public void shouldActivateInnerInstancesInChunks() {
+    // given
+    ENGINE.deployment().withXmlResource(EMPTY_SUB_PROCESS).deploy();
+
+    // when
+    final long workflowInstanceKey =
+        ENGINE
+            .workflowInstance()
+            .ofBpmnProcessId(PROCESS_ID)
+            .withVariable(INPUT_COLLECTION, ITEMS)
+            .create();
+
+    // then
+    final List<Record<WorkflowInstanceRecordValue>> records =
+        RecordingExporter.workflowInstanceRecords()
+            .withWorkflowInstanceKey(workflowInstanceKey)
+            .limitToWorkflowInstanceCompleted()
+            .collect(Collectors.toList());
+
+    assertThat(records)
+        .filteredOn(r -> r.getIntent() == WorkflowInstanceIntent.ACTIVATE_CHILDREN)
+        .hasSize(2)
+        .allSatisfy(
+            r -> {
+              assertThat(r.getRecordType()).isEqualTo(RecordType.COMMAND);
+              assertThat(r.getValue().getBpmnElementType())
+                  .isEqualTo(BpmnElementType.MULTI_INSTANCE_BODY);
+            });
+
+    assertThat(records)
+        .filteredOn(
+            r ->
+                r.getIntent() == WorkflowInstanceIntent.ELEMENT_COMPLETED
+                    && r.getValue().getBpmnElementType() == BpmnElementType.SUB_PROCESS)
+        .hasSize(ITEMS.size());
+  }
+
+  @Test
+  public void shouldSetLoopCounterAndInputElementOfAllInnerInstances() {
+    // given
+    ENGINE.deployment().withXmlResource(EMPTY_SUB_PROCESS).deploy();
+
+    // when
+    final long workflowInstanceKey =
+        ENGINE
+            .workflowInstance()
+            .ofBpmnProcessId(PROCESS_ID)
+            .withVariable(INPUT_COLLECTION, ITEMS)
+            .create();
+
+    // then
+    final List<String> expectedValues =
+        ITEMS.stream().map(String::valueOf).collect(Collectors.toList());
+
+    assertThat(
+            RecordingExporter.variableRecords(VariableIntent.CREATED)
+                .withWorkflowInstanceKey(workflowInstanceKey)
+                .withName("loopCounter")
+                .limit(ITEMS.size()))
+        .extracting(r -> r.getValue().getValue())
+        .containsExactlyElementsOf(expectedValues);
+
+    assertThat(
+            RecordingExporter.variableRecords(VariableIntent.CREATED)
+                .withWorkflowInstanceKey(workflowInstanceKey)
+                .withName(INPUT_ELEMENT)
+                .limit(ITEMS.size()))
+        .extracting(r -> r.getValue().getValue())
+        .containsExactlyElementsOf(expectedValues);
+  }
+
+  @Test
+  public void shouldActivateInnerInstancesForItemsOfFirstEvaluation() {
+    // given
+    final var items = IntStream.rangeClosed(1, 1_000).boxed().collect(Collectors.toList());
+    final var workflow =
+        Bpmn.createExecutableProcess(PROCESS_ID)
+            .startEvent()
+            .subProcess(
+                SUB_PROCESS_ELEMENT_ID,
+                s ->
+                    s.multiInstance(
+                            b ->
+                                b.parallel()
+                                    .zeebeInputCollectionExpression(INPUT_COLLECTION)
+                                    .zeebeInputElement(INPUT_ELEMENT)
+                                    .zeebeOutputCollection(OUTPUT_COLLECTION)
+                                    .zeebeOutputElementExpression(INPUT_ELEMENT + " * 10"))
+                        // every completed inner instance replaces the input collection
+                        .zeebeOutputExpression("[0]", INPUT_COLLECTION))
+            .embeddedSubProcess()
+            .startEvent()
+            .done();
+
+    ENGINE.deployment().withXmlResource(workflow).deploy();
+
+    // when
+    final long workflowInstanceKey =
+        ENGINE
+            .workflowInstance()
+            .ofBpmnProcessId(PROCESS_ID)
+            .withVariable(INPUT_COLLECTION, items)
+            .create();
+
+    // then
+    final List<Record<RecordValue>> records =
+        RecordingExporter.records()
+            .limit(
+                r ->
+                    r.getKey() == workflowInstanceKey
+                        && r.getIntent() == WorkflowInstanceIntent.ELEMENT_COMPLETED)
+            .collect(Collectors.toList());
+
+    final var inputCollectionUpdate =
+        records.stream()
+            .filter(r -> r.getIntent() == VariableIntent.UPDATED)
+            .filter(r -> ((VariableRecordValue) r.getValue()).getName().equals(INPUT_COLLECTION))
+            .findFirst()
+            .orElseThrow();
+    final var lastContinuation =
+        records.stream()
+            .filter(r -> r.getIntent() == WorkflowInstanceIntent.ACTIVATE_CHILDREN)
+            .reduce((previous, next) -> next)
+            .orElseThrow();
+    assertThat(inputCollectionUpdate.getPosition())
+        .describedAs("Expected the input collection to be changed before the last continuation")
+        .isLessThan(lastContinuation.getPosition());
+
+    assertThat(records)
+        .filteredOn(r -> r.getIntent() == VariableIntent.CREATED)
+        .extracting(r -> (VariableRecordValue) r.getValue())
+        .filteredOn(v -> v.getName().equals(INPUT_ELEMENT))
+        .extracting(VariableRecordValue::getValue)
+        .containsExactlyElementsOf(
+            items.stream().map(String::valueOf).collect(Collectors.toList()));
+
+    assertThat(
+            RecordingExporter.variableRecords()
+                .withWorkflowInstanceKey(workflowInstanceKey)
+                .withName(OUTPUT_COLLECTION)
+                .withScopeKey(workflowInstanceKey)
+                .getFirst()
+                .getValue()
+                .getValue())
+        .isEqualTo(
+            items.stream()
+                .map(item -> String.valueOf(item * 10))
+                .collect(Collectors.joining(",", "[", "]")));
+  }
+
+  @Test
+  public void shouldTerminateInnerInstancesWhileActivatingInChunks() {
+    // given
+    ENGINE.deployment().withXmlResource(SERVICE_TASK_SUB_PROCESS).deploy();
+
+    final long workflowInstanceKey =
+        ENGINE
+            .workflowInstance()
+            .ofBpmnProcessId(PROCESS_ID)
+            .withVariable(INPUT_COLLECTION, ITEMS)
+            .create();
+
+    RecordingExporter.workflowInstanceRecords(WorkflowInstanceIntent.ACTIVATE_CHILDREN)
+        .withWorkflowInstanceKey(workflowInstanceKey)
+        .await();
+
+    // when
+    ENGINE.workflowInstance().withInstanceKey(workflowInstanceKey).cancel();
+
+    // then
+    final List<Record<WorkflowInstanceRecordValue>> subProcessRecords =
+        RecordingExporter.workflowInstanceRecords()
+            .withWorkflowInstanceKey(workflowInstanceKey)
+            .limitToWorkflowInstanceTerminated()
+            .filter(r -> r.getValue().getBpmnElementType() == BpmnElementType.SUB_PROCESS)
+            .collect(Collectors.toList());
+
+    final long activatedInnerInstances =
+        subProcessRecords.stream()
+            .filter(r -> r.getIntent() == WorkflowInstanceIntent.ELEMENT_ACTIVATING)
+            .count();
+
+    assertThat(activatedInnerInstances).isBetween(100L, (long) ITEMS.size());
+    assertThat(subProcessRecords)
+        .filteredOn(r -> r.getIntent() == WorkflowInstanceIntent.ELEMENT_TERMINATED)
+        .hasSize((int) activatedInnerInstances);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.message;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.engine.metrics.MessageMetrics;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedCommandWriter;
+import io.zeebe.engine.state.message.Message;
+import io.zeebe.engine.state.mutable.MutableMessageState;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.record.RecordValue;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.test.util.MsgPackUtil;
+import io.zeebe.util.sched.ActorControl;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.UnaryOperator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public final class MessageTimeToLiveCheckerTest {
+
+  private static final int PARTITION_ID = 42;
+  private static final int MESSAGE_COUNT = 250;
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private final Queue<Runnable> submittedJobs = new ArrayDeque<>();
+  private final SlowCommandWriter writer = new SlowCommandWriter();
+  private MutableMessageState messageState;
+  private MessageTimeToLiveChecker checker;
+
+  @Before
+  public void setUp() {
+    messageState = stateRule.getZeebeState().getMessageState();
+
+    final ActorControl actor = mock(ActorControl.class);
+    doAnswer(invocation -> submittedJobs.add(invocation.getArgument(0))).when(actor).submit(any());
+
+    checker =
+        new MessageTimeToLiveChecker(
+            actor, writer, messageState, new MessageMetrics(PARTITION_ID), 1024 * 1024);
+  }
+
+  @Test
+  public void shouldCountExpiredMessagesOnceWhenSweepIsContinuedInNextSlice() {
+    // given
+    for (int i = 1; i <= MESSAGE_COUNT; i++) {
+      messageState.put(
+          new Message(
+              i,
+              wrapString("message"),
+              wrapString("correlation-" + i),
+              MsgPackUtil.asMsgPack("{}"),
+              wrapString(""),
+              100,
+              i));
+    }
+    final double expiredBefore = getExpiredMessagesCount();
+
+    // when - every append exceeds the time budget of a slice
+    checker.run();
+    int slices = 1;
+    while (!submittedJobs.isEmpty()) {
+      submittedJobs.poll().run();
+      slices++;
+    }
+
+    // then
+    assertThat(slices).isGreaterThan(1);
+    assertThat(writer.appendedCommands).isEqualTo(MESSAGE_COUNT);
+    assertThat(getExpiredMessagesCount() - expiredBefore).isEqualTo(MESSAGE_COUNT);
+  }
+
+  private static double getExpiredMessagesCount() {
+    final Double count =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "zeebe_message_expired_total",
+            new String[] {"partition"},
+            new String[] {String.valueOf(PARTITION_ID)});
+    return count != null ? count : 0;
+  }
+
+  /** Counts the commands which are appended by a flush, which takes longer than a slice. */
+  private static final class SlowCommandWriter implements TypedCommandWriter {
+
+    private static final long FLUSH_DURATION_MILLIS = 60;
+
+    private int pendingCommands;
+    private int appendedCommands;
+
+    @Override
+    public void appendNewCommand(final Intent intent, final RecordValue value) {
+      pendingCommands++;
+    }
+
+    @Override
+    public void appendFollowUpCommand(
+        final long key, final Intent intent, final RecordValue value) {
+      pendingCommands++;
+    }
+
+    @Override
+    public void appendFollowUpCommand(
+        final long key,
+        final Intent intent,
+        final RecordValue value,
+        final UnaryOperator<RecordMetadata> modifier) {
+      pendingCommands++;
+    }
+
+    @Override
+    public void reset() {
+      pendingCommands = 0;
+    }
+
+    @Override
+    public long flush() {
+      try {
+        Thread.sleep(FLUSH_DURATION_MILLIS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      appendedCommands += pendingCommands;
+      return appendedCommands;
+    }
+  }
+}
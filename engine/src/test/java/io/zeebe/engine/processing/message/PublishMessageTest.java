@@ -196,6 +196,27 @@ public final class PublishMessageTest {
         .hasMessageId("");
   }
 
+  @Test
+  public void shouldDeleteManyMessagesAfterTTL() {
+    // given
+    final int messageCount = 250;
+    final String correlationKey = "shouldDeleteManyMessagesAfterTTL";
+
+    for (int i = 0; i < messageCount; i++) {
+      messageClient.withCorrelationKey(correlationKey).withTimeToLive(100).publish();
+    }
+
+    // when
+    ENGINE_RULE.increaseTime(MessageObserver.MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL);
+
+    // then
+    assertThat(
+            RecordingExporter.messageRecords(MessageIntent.DELETED)
+                .withCorrelationKey(correlationKey)
+                .limit(messageCount))
+        .hasSize(messageCount);
+  }
+
   @Test
   public void shouldDeleteMessageImmediatelyWithZeroTTL() {
     // given
@@ -0,0 +1,171 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectProducer;
+import io.zeebe.engine.processing.streamprocessor.writers.CommandResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.test.util.TestUtil;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.verification.VerificationWithTimeout;
+
+public final class BatchedStreamProcessorTest {
+
+  private static final VerificationWithTimeout TIMEOUT = timeout(5_000L);
+  private static final int RECORD_COUNT = 10;
+  private static final int FAILING_INSTANCE_KEY = 4;
+
+  @Rule public final StreamProcessorRule streamProcessorRule = new StreamProcessorRule();
+
+  @Before
+  public void setup() {
+    streamProcessorRule.withProcessingBatchSize(RECORD_COUNT);
+  }
+
+  @Test
+  public void shouldWriteFollowUpEventsWithTheirOwnSource() {
+    // given
+    final List<Long> positions = writeRecords();
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, context) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new ActivatingProcessor()));
+
+    // then
+    assertThat(waitForActivatedEvents(RECORD_COUNT))
+        .extracting(Record::getSourceRecordPosition)
+        .containsExactlyElementsOf(positions);
+  }
+
+  @Test
+  public void shouldWriteResponsesOfBatchInProcessingOrder() {
+    // given
+    final List<Long> positions = writeRecords();
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, context) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new ActivatingProcessor()));
+
+    // then
+    final CommandResponseWriter commandResponseWriter =
+        streamProcessorRule.getCommandResponseWriter();
+    verify(commandResponseWriter, TIMEOUT.times(RECORD_COUNT))
+        .tryWriteResponse(anyInt(), anyLong());
+
+    final InOrder inOrder = inOrder(commandResponseWriter);
+    for (final long position : positions) {
+      inOrder.verify(commandResponseWriter).key(position);
+    }
+  }
+
+  @Test
+  public void shouldProcessRecordsOneByOneIfRecordOfBatchFails() {
+    // given
+    final List<Long> positions = writeRecords();
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, context) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new ActivatingProcessor() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    super.processRecord(position, record, responseWriter, streamWriter, sideEffect);
+                    final var value = (WorkflowInstanceRecord) record.getValue();
+                    if (value.getWorkflowInstanceKey() == FAILING_INSTANCE_KEY) {
+                      throw new RuntimeException("expected");
+                    }
+                  }
+                }));
+
+    // then
+    final long failedPosition = positions.remove(FAILING_INSTANCE_KEY);
+    assertThat(waitForActivatedEvents(RECORD_COUNT - 1))
+        .extracting(Record::getSourceRecordPosition)
+        .containsExactlyElementsOf(positions);
+
+    final var errorRecord =
+        TestUtil.doRepeatedly(() -> streamProcessorRule.events().onlyErrorRecords().findFirst())
+            .until(Optional::isPresent)
+            .orElseThrow();
+    assertThat(errorRecord.getValue().getErrorEventPosition()).isEqualTo(failedPosition);
+  }
+
+  private List<Long> writeRecords() {
+    return IntStream.range(0, RECORD_COUNT)
+        .mapToObj(
+            i ->
+                streamProcessorRule.writeWorkflowInstanceEvent(
+                    WorkflowInstanceIntent.ELEMENT_ACTIVATING, i))
+        .collect(Collectors.toList());
+  }
+
+  private List<Record<WorkflowInstanceRecord>> waitForActivatedEvents(final int count) {
+    return TestUtil.doRepeatedly(
+            () ->
+                streamProcessorRule
+                    .events()
+                    .onlyWorkflowInstanceRecords()
+                    .withIntent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+                    .collect(Collectors.toList()))
+        .until(records -> records.size() >= count);
+  }
+
+  private static class ActivatingProcessor implements TypedRecordProcessor<UnifiedRecordValue> {
+
+    @Override
+    public void processRecord(
+        final long position,
+        final TypedRecord<UnifiedRecordValue> record,
+        final TypedResponseWriter responseWriter,
+        final TypedStreamWriter streamWriter,
+        final Consumer<SideEffectProducer> sideEffect) {
+      streamWriter.appendFollowUpEvent(
+          record.getKey(), WorkflowInstanceIntent.ELEMENT_ACTIVATED, record.getValue());
+      responseWriter.writeEventOnCommand(
+          position, WorkflowInstanceIntent.ELEMENT_ACTIVATED, record.getValue(), record);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.zeebe.engine.processing.streamprocessor.sideeffect.SideEffectProducer;
+import io.zeebe.engine.processing.streamprocessor.writers.CommandResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.awaitility.Awaitility;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.verification.VerificationWithTimeout;
+
+public final class PipelinedStreamProcessorTest {
+
+  private static final VerificationWithTimeout TIMEOUT = timeout(5_000L);
+  private static final int RECORD_COUNT = 10;
+  private static final int PIPELINE_DEPTH = 4;
+
+  @Rule public final StreamProcessorRule streamProcessorRule = new StreamProcessorRule();
+
+  @Before
+  public void setup() {
+    streamProcessorRule.withProcessingPipelineDepth(PIPELINE_DEPTH);
+  }
+
+  @Test
+  public void shouldWriteResponsesInProcessingOrder() {
+    // given
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, context) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<>() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    streamWriter.appendFollowUpEvent(
+                        record.getKey(),
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                        record.getValue());
+                    responseWriter.writeEventOnCommand(
+                        position,
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                        record.getValue(),
+                        record);
+                  }
+                }));
+
+    // when
+    final long[] positions =
+        IntStream.range(0, RECORD_COUNT)
+            .mapToLong(
+                i ->
+                    streamProcessorRule.writeWorkflowInstanceEvent(
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATING, i))
+            .toArray();
+
+    // then
+    final CommandResponseWriter commandResponseWriter =
+        streamProcessorRule.getCommandResponseWriter();
+    verify(commandResponseWriter, TIMEOUT.times(RECORD_COUNT))
+        .tryWriteResponse(anyInt(), anyLong());
+
+    final InOrder inOrder = inOrder(commandResponseWriter);
+    for (final long position : positions) {
+      inOrder.verify(commandResponseWriter).key(position);
+    }
+  }
+
+  @Test
+  public void shouldExecuteSideEffectsOfProcessor() throws Exception {
+    // given
+    final CountDownLatch sideEffectLatch = new CountDownLatch(RECORD_COUNT);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<>() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    streamWriter.appendFollowUpEvent(
+                        record.getKey(),
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                        record.getValue());
+                    sideEffect.accept(
+                        () -> {
+                          sideEffectLatch.countDown();
+                          return true;
+                        });
+                  }
+                }));
+
+    // when
+    IntStream.range(0, RECORD_COUNT)
+        .forEach(
+            i ->
+                streamProcessorRule.writeWorkflowInstanceEvent(
+                    WorkflowInstanceIntent.ELEMENT_ACTIVATING, i));
+
+    // then
+    assertThat(sideEffectLatch.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void shouldInvokeOnProcessedListenerForEachRecord() throws Exception {
+    // given
+    final CountDownLatch processedLatch = new CountDownLatch(RECORD_COUNT);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<>() {}),
+        record -> processedLatch.countDown());
+
+    // when
+    IntStream.range(0, RECORD_COUNT)
+        .forEach(
+            i ->
+                streamProcessorRule.writeWorkflowInstanceEvent(
+                    WorkflowInstanceIntent.ELEMENT_ACTIVATING, i));
+
+    // then
+    assertThat(processedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void shouldNotInvokeOnProcessedListenerBeforeFollowUpRecordsAreCommitted() {
+    // given
+    final long lastCommandPosition =
+        IntStream.range(0, RECORD_COUNT)
+            .mapToLong(
+                i ->
+                    streamProcessorRule.writeWorkflowInstanceEvent(
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATING, i))
+            .max()
+            .orElseThrow();
+    streamProcessorRule.withMaxCommitPosition(lastCommandPosition);
+
+    final Consumer<TypedRecord> onProcessed = mock(Consumer.class);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, context) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<>() {
+                  @Override
+                  public void processRecord(
+                      final long position,
+                      final TypedRecord<UnifiedRecordValue> record,
+                      final TypedResponseWriter responseWriter,
+                      final TypedStreamWriter streamWriter,
+                      final Consumer<SideEffectProducer> sideEffect) {
+                    streamWriter.appendFollowUpEvent(
+                        record.getKey(),
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                        record.getValue());
+                  }
+                }),
+        onProcessed);
+
+    // when - the pipeline is filled with records whose follow-up records are not committed
+    Awaitility.await()
+        .until(
+            () ->
+                streamProcessorRule
+                    .events()
+                    .withIntent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+                    .count(),
+            count -> count >= PIPELINE_DEPTH);
+
+    // then
+    verify(onProcessed, after(500).never()).accept(any());
+
+    // when
+    streamProcessorRule.withMaxCommitPosition(Long.MAX_VALUE);
+
+    // then
+    verify(onProcessed, TIMEOUT.times(RECORD_COUNT)).accept(any());
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public final class DueDateTimerWheelTest {
+
+  private static final int TICKS = 8;
+  private static final long TICK_DURATION = 100;
+
+  private final DueDateTimerWheel wheel = new DueDateTimerWheel(TICKS, TICK_DURATION, 1_000);
+  private final List<Long> expiredTimers = new ArrayList<>();
+
+  @Test
+  public void shouldExpireDueTimers() {
+    // given
+    wheel.add(1_050, 1, 10);
+    wheel.add(1_250, 2, 20);
+    wheel.add(1_310, 3, 30);
+
+    // when
+    final int expired = wheel.expire(1_300, this::collect);
+
+    // then
+    assertThat(expired).isEqualTo(2);
+    assertThat(expiredTimers).containsExactly(10L, 20L);
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(wheel.nextDueDate()).isEqualTo(1_310L);
+  }
+
+  @Test
+  public void shouldExpireOnlyDueTimersOfCurrentTick() {
+    // given
+    wheel.add(1_220, 1, 10);
+    wheel.add(1_280, 2, 20);
+    wheel.add(1_240, 3, 30);
+
+    // when
+    wheel.expire(1_250, this::collect);
+
+    // then
+    assertThat(expiredTimers).containsExactly(10L, 30L);
+    assertThat(wheel.nextDueDate()).isEqualTo(1_280L);
+
+    wheel.expire(1_280, this::collect);
+    assertThat(expiredTimers).containsExactly(10L, 30L, 20L);
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void shouldAddOverdueTimersToCurrentTick() {
+    // given
+    wheel.expire(1_500, this::collect);
+
+    // when
+    final boolean added = wheel.add(900, 1, 10);
+
+    // then
+    assertThat(added).isTrue();
+    assertThat(wheel.nextDueDate()).isEqualTo(900L);
+    assertThat(wheel.expire(1_500, this::collect)).isEqualTo(1);
+    assertThat(expiredTimers).containsExactly(10L);
+  }
+
+  @Test
+  public void shouldNotAddTimersAfterHorizon() {
+    // when
+    final boolean added = wheel.add(wheel.getHorizon(), 1, 10);
+
+    // then
+    assertThat(added).isFalse();
+    assertThat(wheel.size()).isZero();
+    assertThat(wheel.nextDueDate()).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldAdvanceHorizon() {
+    // given
+    final long horizon = wheel.getHorizon();
+    assertThat(horizon).isEqualTo(1_000 + TICKS * TICK_DURATION);
+
+    // when
+    wheel.expire(1_350, this::collect);
+
+    // then
+    assertThat(wheel.getHorizon()).isEqualTo(horizon + 3 * TICK_DURATION);
+    assertThat(wheel.add(horizon + 250, 1, 10)).isTrue();
+  }
+
+  @Test
+  public void shouldExpireAllTimersIfTimeJumpsOverWheel() {
+    // given
+    for (int i = 0; i < TICKS; i++) {
+      wheel.add(1_000 + i * TICK_DURATION, i, i);
+    }
+
+    // when
+    final int expired = wheel.expire(1_000_000, this::collect);
+
+    // then
+    assertThat(expired).isEqualTo(TICKS);
+    assertThat(wheel.size()).isZero();
+    assertThat(wheel.getHorizon()).isEqualTo(1_000_000 + TICKS * TICK_DURATION);
+  }
+
+  @Test
+  public void shouldRejectTicksWhichAreNotPowerOfTwo() {
+    assertThatThrownBy(() -> new DueDateTimerWheel(100, TICK_DURATION, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void collect(final long dueDate, final long elementInstanceKey, final long timerKey) {
+    expiredTimers.add(timerKey);
+  }
+}
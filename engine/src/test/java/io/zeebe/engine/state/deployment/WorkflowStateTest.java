@@ -10,9 +10,11 @@ package io.zeebe.engine.state.deployment;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processing.deployment.model.element.AbstractFlowElement;
 import io.zeebe.engine.processing.deployment.model.element.ExecutableWorkflow;
 import io.zeebe.engine.state.KeyGenerator;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.mutable.MutableWorkflowState;
 import io.zeebe.engine.util.ZeebeStateRule;
@@ -23,6 +25,7 @@ import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.util.buffer.BufferUtil;
 import java.util.Collection;
 import org.assertj.core.api.Assertions;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -35,6 +38,7 @@ public final class WorkflowStateTest {
 
   private MutableWorkflowState workflowState;
   private ZeebeState zeebeState;
+  private ZeebeDb<ZbColumnFamilies> db;
 
   @Before
   public void setUp() {
@@ -42,6 +46,13 @@ public final class WorkflowStateTest {
     workflowState = zeebeState.getWorkflowState();
   }
 
+  @After
+  public void tearDown() throws Exception {
+    if (db != null) {
+      db.close();
+    }
+  }
+
   @Test
   public void shouldGetNextWorkflowVersion() {
     // given
@@ -422,6 +433,66 @@ public final class WorkflowStateTest {
     Assertions.assertThat(latestWorkflow.getVersion()).isEqualTo(2);
   }
 
+  @Test
+  public void shouldEvictLeastRecentlyUsedWorkflow() {
+    // given
+    final var workflowCache = newWorkflowStateWithCacheForTwoWorkflows("second");
+    final var first = creatingDeploymentRecord(zeebeState, "first");
+    final var second = creatingDeploymentRecord(zeebeState, "second");
+    final var third = creatingDeploymentRecord(zeebeState, "third");
+    workflowCache.putDeployment(first);
+    workflowCache.putDeployment(second);
+    workflowCache.putDeployment(third);
+
+    final var firstWorkflow =
+        workflowCache.getLatestWorkflowVersionByProcessId(wrapString("first"));
+    final var secondWorkflow =
+        workflowCache.getLatestWorkflowVersionByProcessId(wrapString("second"));
+    workflowCache.getWorkflowByKey(firstWorkflow.getKey());
+
+    // when
+    final var thirdWorkflow =
+        workflowCache.getLatestWorkflowVersionByProcessId(wrapString("third"));
+
+    // then
+    assertThat(workflowCache.getWorkflowByKey(firstWorkflow.getKey())).isSameAs(firstWorkflow);
+    assertThat(workflowCache.getWorkflowByKey(thirdWorkflow.getKey())).isSameAs(thirdWorkflow);
+    assertThat(workflowCache.getWorkflowByKey(secondWorkflow.getKey()))
+        .isNotSameAs(secondWorkflow)
+        .extracting(DeployedWorkflow::getKey, DeployedWorkflow::getVersion)
+        .containsExactly(secondWorkflow.getKey(), secondWorkflow.getVersion());
+  }
+
+  @Test
+  public void shouldGetEvictedWorkflowByProcessIdAndVersion() {
+    // given
+    final var workflowCache = newWorkflowStateWithCacheForTwoWorkflows("processId");
+    workflowCache.putDeployment(creatingDeploymentRecord(zeebeState));
+    workflowCache.putDeployment(creatingDeploymentRecord(zeebeState));
+    workflowCache.putDeployment(creatingDeploymentRecord(zeebeState));
+
+    workflowCache.getWorkflowByProcessIdAndVersion(wrapString("processId"), 1);
+    workflowCache.getWorkflowByProcessIdAndVersion(wrapString("processId"), 2);
+    workflowCache.getWorkflowByProcessIdAndVersion(wrapString("processId"), 3);
+
+    // when
+    final var workflow = workflowCache.getWorkflowByProcessIdAndVersion(wrapString("processId"), 1);
+
+    // then
+    assertThat(workflow.getVersion()).isEqualTo(1);
+    assertThat(workflow.getWorkflow().getElementById(wrapString("test"))).isNotNull();
+    assertThat(workflowCache.getWorkflows()).hasSize(3);
+  }
+
+  private DbWorkflowState newWorkflowStateWithCacheForTwoWorkflows(final String processId) {
+    final var resource = creatingDeploymentRecord(zeebeState, processId, 1).resources().iterator();
+    final var resourceSize = resource.next().getResourceBuffer().capacity();
+
+    db = stateRule.createNewDb();
+    return new DbWorkflowState(
+        db, db.createContext(), Protocol.DEPLOYMENT_PARTITION, resourceSize * 2L + 1);
+  }
+
   public static DeploymentRecord creatingDeploymentRecord(final ZeebeState zeebeState) {
     return creatingDeploymentRecord(zeebeState, "processId");
   }
@@ -0,0 +1,138 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.state.instance;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.TransactionContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DbString;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.engine.state.mutable.MutableJobState;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.util.FileUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.LongArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the latency of activating a batch of jobs from a deep backlog of pending jobs. Each
+ * invocation activates a batch of jobs in one transaction, like the job batch activate processor,
+ * and creates the same amount of new jobs to keep the backlog at a constant size.
+ *
+ * <p>Without the activation cursor, every activation iterates from the first activatable key of the
+ * type again, and visits the deletion markers of all previously activated jobs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class JobActivationBenchmark {
+
+  private static final int PENDING_JOBS = 1_000_000;
+  private static final int CREATE_BATCH_SIZE = 10_000;
+  private static final int ACTIVATION_BATCH_SIZE = 32;
+  private static final String JOB_TYPE = "benchmark";
+
+  @Param({"true", "false"})
+  private boolean useActivationCursor;
+
+  private final JobRecord jobRecord = new JobRecord();
+  private final LongArrayList activatedJobKeys = new LongArrayList();
+  private final DbString cursorType = new DbString();
+  private Path directory;
+  private ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private TransactionContext transactionContext;
+  private MutableJobState jobState;
+  private ColumnFamily<DbString, DbLong> activationCursorColumnFamily;
+  private DirectBuffer type;
+  private long nextJobKey = 1;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JobActivationBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("job-activation-benchmark");
+    zeebeDb = DefaultZeebeDbFactory.defaultFactory().createDb(directory.toFile());
+    transactionContext = zeebeDb.createContext();
+    jobState = new ZeebeState(zeebeDb, transactionContext).getJobState();
+    activationCursorColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.JOB_ACTIVATION_CURSOR, transactionContext, cursorType, new DbLong());
+    cursorType.wrapString(JOB_TYPE);
+
+    jobRecord.setType(JOB_TYPE).setRetries(3).setDeadline(Long.MAX_VALUE).setWorker("benchmark");
+    type = jobRecord.getTypeBuffer();
+
+    for (int created = 0; created < PENDING_JOBS; created += CREATE_BATCH_SIZE) {
+      transactionContext.runInTransaction(() -> createJobs(CREATE_BATCH_SIZE));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+    FileUtil.deleteFolder(directory.toString());
+  }
+
+  @Benchmark
+  public int activateJobs() {
+    transactionContext.runInTransaction(
+        () -> {
+          if (!useActivationCursor) {
+            activationCursorColumnFamily.delete(cursorType);
+          }
+
+          activatedJobKeys.clear();
+          jobState.forEachActivatableJobs(
+              type,
+              (key, job) -> {
+                activatedJobKeys.addLong(key);
+                return activatedJobKeys.size() < ACTIVATION_BATCH_SIZE;
+              });
+
+          for (int i = 0; i < activatedJobKeys.size(); i++) {
+            jobState.activate(activatedJobKeys.getLong(i), jobRecord);
+          }
+          createJobs(activatedJobKeys.size());
+        });
+
+    return activatedJobKeys.size();
+  }
+
+  private void createJobs(final int amount) {
+    for (int i = 0; i < amount; i++) {
+      jobState.create(nextJobKey++, jobRecord);
+    }
+  }
+}
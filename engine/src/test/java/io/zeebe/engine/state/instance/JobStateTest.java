@@ -489,6 +489,42 @@ public final class JobStateTest {
     assertThat(jobKeys).isEmpty();
   }
 
+  @Test
+  public void shouldListActivatableJobsAfterPreviousActivations() {
+    // given
+    final DirectBuffer type = wrapString("test");
+    for (long key = 1; key <= 5; key++) {
+      jobState.create(key, newJobRecord().setType(type));
+    }
+    activateJobs(type, 3);
+
+    // when
+    jobState.create(6L, newJobRecord().setType(type));
+    final List<Long> jobKeys = getActivatableKeys(type);
+
+    // then
+    assertThat(jobKeys).containsExactly(4L, 5L, 6L);
+  }
+
+  @Test
+  public void shouldListJobsWhichBecameActivatableAgainAfterPreviousActivations() {
+    // given
+    final DirectBuffer type = wrapString("test");
+    for (long key = 1; key <= 5; key++) {
+      jobState.create(key, newJobRecord().setType(type));
+    }
+    activateJobs(type, 3);
+    activateJobs(type, 1);
+
+    // when
+    jobState.fail(2L, newJobRecord().setType(type).setRetries(1));
+    jobState.timeout(3L, newJobRecord().setType(type));
+    final List<Long> jobKeys = getActivatableKeys(type);
+
+    // then
+    assertThat(jobKeys).containsExactly(2L, 3L, 5L);
+  }
+
   @Test
   public void shouldReturnNullIfJobDoesNotExist() {
     // given
@@ -638,6 +674,17 @@ public final class JobStateTest {
     return activatableKeys;
   }
 
+  private void activateJobs(final DirectBuffer type, final int amount) {
+    final List<Long> jobKeys = new ArrayList<>();
+    jobState.forEachActivatableJobs(
+        type,
+        (key, job) -> {
+          jobKeys.add(key);
+          return jobKeys.size() < amount;
+        });
+    jobKeys.forEach(key -> jobState.activate(key, newJobRecord().setType(type)));
+  }
+
   private List<Long> getTimedOutKeys(final long since) {
     final List<Long> timedOutKeys = new ArrayList<>();
 
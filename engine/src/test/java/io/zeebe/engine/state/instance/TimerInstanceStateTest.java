@@ -53,6 +53,33 @@ public final class TimerInstanceStateTest {
     Assertions.assertThat(readTimer.getDueDate()).isEqualTo(1000L);
   }
 
+  @Test
+  public void shouldVisitDueDatesBetween() {
+    // given
+    final long[] dueDates = {1000L, 2000L, 2000L, 3000L};
+    for (int i = 0; i < dueDates.length; i++) {
+      final TimerInstance timer = new TimerInstance();
+      timer.setElementInstanceKey(i + 1);
+      timer.setKey(i + 10);
+      timer.setDueDate(dueDates[i]);
+      state.put(timer);
+    }
+
+    // when
+    final List<Long> visitedTimerKeys = new ArrayList<>();
+    state.forEachDueDateBetween(
+        2000L,
+        3000L,
+        (dueDate, elementInstanceKey, timerKey) -> {
+          assertThat(dueDate).isEqualTo(2000L);
+          assertThat(timerKey).isEqualTo(elementInstanceKey + 9);
+          visitedTimerKeys.add(timerKey);
+        });
+
+    // then
+    assertThat(visitedTimerKeys).containsExactly(11L, 12L);
+  }
+
   @Test
   public void shouldRemoveTimer() {
     // given
@@ -234,6 +234,22 @@ public final class MessageStateTest {
     assertThat(readMessage).containsExactly(1L, 2L);
   }
 
+  @Test
+  public void shouldVisitMessagesBeforeTimeStartingAtDeadlineAndKey() {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey", "{}", "nr1", 1000));
+    messageState.put(createMessage(2L, "name", "correlationKey", "{}", "nr2", 2000));
+    messageState.put(createMessage(3L, "name", "correlationKey", "{}", "nr3", 2000));
+    messageState.put(createMessage(4L, "name", "correlationKey", "{}", "nr4", 3000));
+
+    // when
+    final List<Long> readMessage = new ArrayList<>();
+    messageState.visitMessagesWithDeadlineBefore(2000, 2000, 2L, m -> readMessage.add(m.getKey()));
+
+    // then
+    assertThat(readMessage).containsExactly(2L, 3L);
+  }
+
   @Test
   public void shouldRemoveMessage() {
     // given
@@ -11,6 +11,8 @@ import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.logstreams.spi.LogStorageReader;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -22,7 +24,9 @@ public class ListLogStorage implements LogStorage {
 
   private final ConcurrentNavigableMap<Long, Integer> positionIndexMapping;
   private final List<Entry> entries;
+  private final Deque<HeldCommit> heldCommits = new ArrayDeque<>();
   private LongConsumer positionListener;
+  private long maxCommitPosition = Long.MAX_VALUE;
 
   public ListLogStorage() {
     entries = new CopyOnWriteArrayList<>();
@@ -33,6 +37,17 @@ public class ListLogStorage implements LogStorage {
     this.positionListener = positionListener;
   }
 
+  /**
+   * Holds back the commit of entries with a position greater than the given one. The held back
+   * entries are committed in order once the limit is raised.
+   */
+  public synchronized void setMaxCommitPosition(final long maxCommitPosition) {
+    this.maxCommitPosition = maxCommitPosition;
+    while (!heldCommits.isEmpty() && heldCommits.peek().highestPosition <= maxCommitPosition) {
+      heldCommits.poll().commit.run();
+    }
+  }
+
   @Override
   public LogStorageReader newReader() {
     return new LogStorageReader() {
@@ -88,16 +103,28 @@ public class ListLogStorage implements LogStorage {
       final ByteBuffer blockBuffer,
       final AppendListener listener) {
     try {
-      final var entry = new Entry(lowestPosition, highestPosition, blockBuffer);
+      // the block buffer may be reused after the listener was notified
+      final var copiedBuffer = ByteBuffer.allocate(blockBuffer.remaining()).put(blockBuffer).flip();
+      final var entry = new Entry(lowestPosition, highestPosition, copiedBuffer);
       entries.add(entry);
       final var index = entries.size();
       positionIndexMapping.put(lowestPosition, index);
       listener.onWrite(index);
 
-      if (positionListener != null) {
-        positionListener.accept(entry.getHighestPosition());
+      final Runnable commit =
+          () -> {
+            if (positionListener != null) {
+              positionListener.accept(entry.getHighestPosition());
+            }
+            listener.onCommit(index);
+          };
+      synchronized (this) {
+        if (heldCommits.isEmpty() && highestPosition <= maxCommitPosition) {
+          commit.run();
+        } else {
+          heldCommits.add(new HeldCommit(highestPosition, commit));
+        }
       }
-      listener.onCommit(index);
     } catch (final Exception e) {
       listener.onWriteError(e);
     }
@@ -147,4 +174,14 @@ public class ListLogStorage implements LogStorage {
       return data;
     }
   }
+
+  private static final class HeldCommit {
+    private final long highestPosition;
+    private final Runnable commit;
+
+    private HeldCommit(final long highestPosition, final Runnable commit) {
+      this.highestPosition = highestPosition;
+      this.commit = commit;
+    }
+  }
 }
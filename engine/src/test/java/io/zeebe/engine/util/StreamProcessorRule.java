@@ -122,6 +122,21 @@ public final class StreamProcessorRule implements TestRule {
     return this;
   }
 
+  public StreamProcessorRule withProcessingPipelineDepth(final int processingPipelineDepth) {
+    streams.withProcessingPipelineDepth(processingPipelineDepth);
+    return this;
+  }
+
+  public StreamProcessorRule withProcessingBatchSize(final int processingBatchSize) {
+    streams.withProcessingBatchSize(processingBatchSize);
+    return this;
+  }
+
+  public StreamProcessorRule withMaxCommitPosition(final long maxCommitPosition) {
+    streams.withMaxCommitPosition(maxCommitPosition);
+    return this;
+  }
+
   public LogStreamRecordWriter getLogStreamRecordWriter(final int partitionId) {
     return streamProcessingComposite.getLogStreamRecordWriter(partitionId);
   }
@@ -79,6 +79,8 @@ public final class TestStreams {
   private boolean snapshotWasTaken = false;
 
   private Function<ZeebeState, EventApplier> eventApplierFactory = EventAppliers::new;
+  private int processingPipelineDepth;
+  private int processingBatchSize = 1;
 
   public TestStreams(
       final TemporaryFolder dataDirectory,
@@ -107,6 +109,25 @@ public final class TestStreams {
     this.eventApplierFactory = eventApplierFactory;
   }
 
+  public void withProcessingPipelineDepth(final int processingPipelineDepth) {
+    this.processingPipelineDepth = processingPipelineDepth;
+  }
+
+  public void withProcessingBatchSize(final int processingBatchSize) {
+    this.processingBatchSize = processingBatchSize;
+  }
+
+  /**
+   * Holds back the commit of the records written after the given position, until the limit is
+   * raised again.
+   */
+  public void withMaxCommitPosition(final long maxCommitPosition) {
+    logContextMap.values().stream()
+        .map(LogContext::getLogStorage)
+        .filter(ListLogStorage.class::isInstance)
+        .forEach(storage -> ((ListLogStorage) storage).setMaxCommitPosition(maxCommitPosition));
+  }
+
   public CommandResponseWriter getMockedResponseWriter() {
     return mockCommandResponseWriter;
   }
@@ -251,6 +272,8 @@ public final class TestStreams {
             .streamProcessorFactory(factory)
             .detectReprocessingInconsistency(detectReprocessingInconsistency)
             .eventApplierFactory(eventApplierFactory)
+            .processingPipelineDepth(processingPipelineDepth)
+            .processingBatchSize(processingBatchSize)
             .build();
     streamProcessor.openAsync(false).join(15, TimeUnit.SECONDS);
 
@@ -417,6 +440,10 @@ public final class TestStreams {
       return logStream;
     }
 
+    public LogStorage getLogStorage() {
+      return logStorage;
+    }
+
     public LogStreamRecordWriter newLogStreamRecordWriter() {
       return logStream.newLogStreamRecordWriter();
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * The body of a bulk request, encoded as newline delimited JSON. The buffer is reused after the
+ * bulk was flushed, and its size is tracked while items are appended.
+ *
+ * <p>An item is appended by calling {@link #beginItem()}, writing its action and source lines, and
+ * {@link #endItem(long)}.
+ */
+public final class BulkBuffer extends OutputStream {
+
+  private static final int INITIAL_CAPACITY = 64 * 1024;
+  private static final byte NEW_LINE = '\n';
+
+  private byte[] bytes;
+  private int size;
+  private int itemCount;
+  private int itemOffset;
+  private int lastItemOffset = -1;
+  private long lastPosition = -1;
+
+  BulkBuffer() {
+    this(INITIAL_CAPACITY);
+  }
+
+  BulkBuffer(final int initialCapacity) {
+    bytes = new byte[initialCapacity];
+  }
+
+  void beginItem() {
+    itemOffset = size;
+  }
+
+  void newLine() {
+    write(NEW_LINE);
+  }
+
+  /**
+   * Completes the item which was written since {@link #beginItem()}. If it is equal to the previous
+   * item, e.g. because the same record is exported again after a failed flush, it is removed again.
+   *
+   * @param position the position of the record of the item
+   * @return true if the item was appended, false if it was a duplicate of the previous item
+   */
+  boolean endItem(final long position) {
+    if (isDuplicateOfLastItem()) {
+      size = itemOffset;
+      return false;
+    }
+
+    lastItemOffset = itemOffset;
+    lastPosition = position;
+    itemCount += 1;
+    return true;
+  }
+
+  private boolean isDuplicateOfLastItem() {
+    return lastItemOffset >= 0
+        && Arrays.equals(bytes, lastItemOffset, itemOffset, bytes, itemOffset, size);
+  }
+
+  /** @return the number of items in the bulk */
+  int getItemCount() {
+    return itemCount;
+  }
+
+  /** @return the size of the bulk in bytes */
+  int getSize() {
+    return size;
+  }
+
+  /** @return the position of the last record in the bulk, or -1 if it is empty */
+  long getLastPosition() {
+    return lastPosition;
+  }
+
+  boolean isEmpty() {
+    return itemCount == 0;
+  }
+
+  /** Clears the bulk, but keeps the buffer to be reused. */
+  void reset() {
+    size = 0;
+    itemCount = 0;
+    itemOffset = 0;
+    lastItemOffset = -1;
+    lastPosition = -1;
+  }
+
+  /**
+   * Creates the request entity of the bulk. Without compression, the entity is backed by the
+   * buffer, so the bulk must not be modified until the request is completed.
+   */
+  HttpEntity toEntity(final boolean gzip) {
+    if (!gzip) {
+      return new ByteArrayEntity(bytes, 0, size, ContentType.APPLICATION_JSON);
+    }
+
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream(size / 4 + 64);
+    try (final GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+      gzipStream.write(bytes, 0, size);
+    } catch (final IOException e) {
+      throw new ElasticsearchExporterException("Failed to compress bulk request", e);
+    }
+
+    final ByteArrayEntity entity =
+        new ByteArrayEntity(compressed.toByteArray(), ContentType.APPLICATION_JSON);
+    entity.setContentEncoding("gzip");
+    return entity;
+  }
+
+  @Override
+  public void write(final int b) {
+    ensureCapacity(size + 1);
+    bytes[size] = (byte) b;
+    size += 1;
+  }
+
+  @Override
+  public void write(final byte[] source, final int offset, final int length) {
+    ensureCapacity(size + length);
+    System.arraycopy(source, offset, bytes, size, length);
+    size += length;
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+    }
+  }
+}
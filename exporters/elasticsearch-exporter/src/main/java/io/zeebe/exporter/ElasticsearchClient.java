@@ -20,15 +20,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
@@ -38,6 +40,8 @@ import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.common.xcontent.DeprecationHandler;
@@ -58,22 +62,23 @@ public class ElasticsearchClient {
   private final ElasticsearchExporterConfiguration configuration;
   private final Logger log;
   private final DateTimeFormatter formatter;
-  private List<String> bulkRequest;
+  private final Deque<BulkBuffer> recycledBulks = new ArrayDeque<>();
+  private BulkBuffer bulk;
   private ElasticsearchMetrics metrics;
 
   public ElasticsearchClient(
       final ElasticsearchExporterConfiguration configuration, final Logger log) {
-    this(configuration, log, new ArrayList<>());
+    this(configuration, log, new BulkBuffer());
   }
 
   ElasticsearchClient(
       final ElasticsearchExporterConfiguration configuration,
       final Logger log,
-      final List<String> bulkRequest) {
+      final BulkBuffer bulk) {
     this.configuration = configuration;
     this.log = log;
     client = createClient();
-    this.bulkRequest = bulkRequest;
+    this.bulk = bulk;
     formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
   }
 
@@ -113,35 +118,33 @@ public class ElasticsearchClient {
   }
 
   public void bulk(final Map<String, Object> command, final Record<?> record) {
-    final String serializedCommand;
+    bulk.beginItem();
 
     try {
-      serializedCommand = MAPPER.writeValueAsString(command);
+      MAPPER.writeValue(bulk, command);
     } catch (final IOException e) {
       throw new ElasticsearchExporterException(
           "Failed to serialize bulk request command to JSON", e);
     }
 
-    final String jsonCommand = serializedCommand + "\n" + record.toJson();
+    bulk.newLine();
+    final byte[] source = record.toJson().getBytes(StandardCharsets.UTF_8);
+    bulk.write(source, 0, source.length);
+    bulk.newLine();
+
     // don't re-append when retrying same record, to avoid OOM
-    if (bulkRequest.isEmpty() || !bulkRequest.get(bulkRequest.size() - 1).equals(jsonCommand)) {
-      bulkRequest.add(jsonCommand);
-    }
+    bulk.endItem(record.getPosition());
   }
 
   /**
    * @throws ElasticsearchExporterException if not all items of the bulk were flushed successfully
    */
   public void flush() {
-    if (bulkRequest.isEmpty()) {
+    if (bulk.isEmpty()) {
       return;
     }
 
-    final int bulkSize = bulkRequest.size();
-    metrics.recordBulkSize(bulkSize);
-
-    final var bulkMemorySize = getBulkMemorySize();
-    metrics.recordBulkMemorySize(bulkMemorySize);
+    recordBulkMetrics(bulk);
 
     final BulkResponse bulkResponse;
     try {
@@ -156,8 +159,81 @@ public class ElasticsearchClient {
       throw new ElasticsearchExporterException("Failed to flush all items of the bulk");
     }
 
-    // all records where flushed, create new bulk request, otherwise retry next time
-    bulkRequest = new ArrayList<>();
+    // all records where flushed, reuse the bulk, otherwise retry next time
+    bulk.reset();
+  }
+
+  /**
+   * Hands over the current bulk to be sent with {@link #sendBulkAsync(BulkBuffer)}, and continues
+   * with an empty one. The bulk should be given back with {@link #recycleBulk(BulkBuffer)} after it
+   * was flushed successfully.
+   *
+   * @return the current bulk, or null if it is empty
+   */
+  public BulkBuffer takeBulk() {
+    if (bulk.isEmpty()) {
+      return null;
+    }
+
+    final BulkBuffer takenBulk = bulk;
+    final BulkBuffer recycledBulk = recycledBulks.poll();
+    bulk = recycledBulk != null ? recycledBulk : new BulkBuffer();
+    return takenBulk;
+  }
+
+  public void recycleBulk(final BulkBuffer takenBulk) {
+    takenBulk.reset();
+    recycledBulks.add(takenBulk);
+  }
+
+  /**
+   * Sends the given bulk without blocking. The bulk must not be modified until the returned future
+   * is completed. The future is completed on the thread of the rest client.
+   *
+   * @return a future which is completed exceptionally with an {@link
+   *     ElasticsearchExporterException} if not all items of the bulk were flushed successfully
+   */
+  public CompletableFuture<Void> sendBulkAsync(final BulkBuffer bulkToSend) {
+    recordBulkMetrics(bulkToSend);
+
+    final CompletableFuture<Void> result = new CompletableFuture<>();
+    final Histogram.Timer timer = metrics.measureFlushDuration();
+    client.performRequestAsync(
+        newBulkRequest(bulkToSend),
+        new ResponseListener() {
+          @Override
+          public void onSuccess(final Response response) {
+            timer.observeDuration();
+
+            try {
+              final BulkResponse bulkResponse =
+                  MAPPER.readValue(response.getEntity().getContent(), BulkResponse.class);
+              if (checkBulkResponse(bulkResponse)) {
+                result.complete(null);
+              } else {
+                result.completeExceptionally(
+                    new ElasticsearchExporterException("Failed to flush all items of the bulk"));
+              }
+            } catch (final IOException e) {
+              result.completeExceptionally(
+                  new ElasticsearchExporterException("Failed to read bulk response", e));
+            }
+          }
+
+          @Override
+          public void onFailure(final Exception exception) {
+            timer.observeDuration();
+            result.completeExceptionally(
+                new ElasticsearchExporterException("Failed to flush bulk", exception));
+          }
+        });
+
+    return result;
+  }
+
+  private void recordBulkMetrics(final BulkBuffer bulkToSend) {
+    metrics.recordBulkSize(bulkToSend.getItemCount());
+    metrics.recordBulkMemorySize(bulkToSend.getSize());
   }
 
   private boolean checkBulkResponse(final BulkResponse bulkResponse) {
@@ -181,22 +257,21 @@ public class ElasticsearchClient {
 
   private BulkResponse exportBulk() throws IOException {
     try (final Histogram.Timer timer = metrics.measureFlushDuration()) {
-      final var request = new Request("POST", "/_bulk");
-      request.setJsonEntity(String.join("\n", bulkRequest) + "\n");
-
-      final var response = client.performRequest(request);
+      final var response = client.performRequest(newBulkRequest(bulk));
 
       return MAPPER.readValue(response.getEntity().getContent(), BulkResponse.class);
     }
   }
 
-  public boolean shouldFlush() {
-    return bulkRequest.size() >= configuration.bulk.size
-        || getBulkMemorySize() >= configuration.bulk.memoryLimit;
+  private Request newBulkRequest(final BulkBuffer bulkToSend) {
+    final var request = new Request("POST", "/_bulk");
+    request.setEntity(bulkToSend.toEntity(configuration.bulk.gzip));
+    return request;
   }
 
-  private int getBulkMemorySize() {
-    return bulkRequest.stream().mapToInt(String::length).sum();
+  public boolean shouldFlush() {
+    return bulk.getItemCount() >= configuration.bulk.size
+        || bulk.getSize() >= configuration.bulk.memoryLimit;
   }
 
   /** @return true if request was acknowledged */
@@ -16,6 +16,13 @@ import io.zeebe.protocol.record.Record;
 import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 
 public class ElasticsearchExporter implements Exporter {
@@ -25,6 +32,8 @@ public class ElasticsearchExporter implements Exporter {
   // by default, the bulk request may not be bigger than 100MB
   private static final int RECOMMENDED_MAX_BULK_MEMORY_LIMIT = 100 * 1024 * 1024;
 
+  private static final Duration IN_FLIGHT_BULK_CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
   private Logger log;
   private Controller controller;
 
@@ -35,6 +44,9 @@ public class ElasticsearchExporter implements Exporter {
   private long lastPosition = -1;
   private boolean indexTemplatesCreated;
 
+  // bulks which are sent asynchronously, in the order of their records
+  private final Deque<InFlightBulk> inFlightBulks = new ArrayDeque<>();
+
   @Override
   public void configure(final Context context) {
     log = context.getLogger();
@@ -60,6 +72,7 @@ public class ElasticsearchExporter implements Exporter {
   public void close() {
 
     try {
+      awaitInFlightBulks();
       flush();
     } catch (final Exception e) {
       log.warn("Failed to flush records before closing exporter.", e);
@@ -80,11 +93,19 @@ public class ElasticsearchExporter implements Exporter {
       createIndexTemplates();
     }
 
+    if (configuration.bulk.async) {
+      acknowledgeFlushedBulks();
+    }
+
     client.index(record);
     lastPosition = record.getPosition();
 
     if (client.shouldFlush()) {
-      flush();
+      if (configuration.bulk.async) {
+        flushAsyncOrFail();
+      } else {
+        flush();
+      }
     }
   }
 
@@ -96,6 +117,13 @@ public class ElasticsearchExporter implements Exporter {
               configuration.index.prefix));
     }
 
+    if (configuration.bulk.async && configuration.bulk.maxInFlight < 1) {
+      throw new ExporterException(
+          String.format(
+              "Elasticsearch bulk maxInFlight must be greater than zero. Current value: %d",
+              configuration.bulk.maxInFlight));
+    }
+
     if (configuration.bulk.memoryLimit > RECOMMENDED_MAX_BULK_MEMORY_LIMIT) {
       log.warn(
           "The bulk memory limit is set to more than {} bytes. It is recommended to set the limit between 5 to 15 MB.",
@@ -109,7 +137,12 @@ public class ElasticsearchExporter implements Exporter {
 
   private void flushAndReschedule() {
     try {
-      flush();
+      if (configuration.bulk.async) {
+        acknowledgeFlushedBulks();
+        flushAsync();
+      } else {
+        flush();
+      }
     } catch (final Exception e) {
       log.error(
           "Unexpected exception occurred on periodically flushing bulk, will retry later.", e);
@@ -126,6 +159,81 @@ public class ElasticsearchExporter implements Exporter {
     controller.updateLastExportedRecordPosition(lastPosition);
   }
 
+  private void flushAsyncOrFail() {
+    if (!flushAsync()) {
+      // the record is already part of the bulk and is ignored when it is exported again
+      throw new ElasticsearchExporterException(
+          String.format(
+              "Expected to flush the bulk, but %d bulk(s) are still in flight. Retry later.",
+              inFlightBulks.size()));
+    }
+  }
+
+  /** @return false if the bulk can't be sent because too many bulks are in flight */
+  private boolean flushAsync() {
+    if (inFlightBulks.size() >= configuration.bulk.maxInFlight) {
+      return false;
+    }
+
+    final BulkBuffer bulk = client.takeBulk();
+    if (bulk != null) {
+      inFlightBulks.add(new InFlightBulk(bulk, client.sendBulkAsync(bulk)));
+    }
+    return true;
+  }
+
+  /**
+   * Resends the bulks which failed, and acknowledges the position of the last record of the bulks
+   * which were flushed, up to the first one which is not flushed yet.
+   */
+  private void acknowledgeFlushedBulks() {
+    for (final InFlightBulk inFlightBulk : inFlightBulks) {
+      if (inFlightBulk.response.isCompletedExceptionally()) {
+        log.warn(
+            "Failed to flush bulk up to position {}, will retry",
+            inFlightBulk.bulk.getLastPosition(),
+            getFailure(inFlightBulk.response));
+        inFlightBulk.response = client.sendBulkAsync(inFlightBulk.bulk);
+      }
+    }
+
+    long flushedPosition = -1;
+    while (!inFlightBulks.isEmpty() && inFlightBulks.peek().isFlushed()) {
+      final InFlightBulk inFlightBulk = inFlightBulks.poll();
+      flushedPosition = inFlightBulk.bulk.getLastPosition();
+      client.recycleBulk(inFlightBulk.bulk);
+    }
+
+    if (flushedPosition >= 0) {
+      controller.updateLastExportedRecordPosition(flushedPosition);
+    }
+  }
+
+  private void awaitInFlightBulks() {
+    while (!inFlightBulks.isEmpty()) {
+      final InFlightBulk inFlightBulk = inFlightBulks.peek();
+      try {
+        inFlightBulk.response.get(IN_FLIGHT_BULK_CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ElasticsearchExporterException("Interrupted while waiting for bulks", e);
+      } catch (final ExecutionException | TimeoutException e) {
+        throw new ElasticsearchExporterException("Failed to flush bulks in flight", e);
+      }
+
+      acknowledgeFlushedBulks();
+    }
+  }
+
+  private static Throwable getFailure(final CompletableFuture<Void> response) {
+    try {
+      response.join();
+      return null;
+    } catch (final CompletionException e) {
+      return e.getCause();
+    }
+  }
+
   private void createIndexTemplates() {
     final IndexConfiguration index = configuration.index;
 
@@ -188,6 +296,20 @@ public class ElasticsearchExporter implements Exporter {
     }
   }
 
+  private static final class InFlightBulk {
+    private final BulkBuffer bulk;
+    private CompletableFuture<Void> response;
+
+    private InFlightBulk(final BulkBuffer bulk, final CompletableFuture<Void> response) {
+      this.bulk = bulk;
+      this.response = response;
+    }
+
+    private boolean isFlushed() {
+      return response.isDone() && !response.isCompletedExceptionally();
+    }
+  }
+
   private static class ElasticsearchRecordFilter implements Context.RecordFilter {
 
     private final ElasticsearchExporterConfiguration configuration;
@@ -168,6 +168,12 @@ public class ElasticsearchExporterConfiguration {
     public int size = 1_000;
     // memory limit of the bulk in bytes before flush
     public int memoryLimit = 10 * 1024 * 1024;
+    // send bulks without blocking the exporter
+    public boolean async = false;
+    // max number of bulks which are sent at the same time, if async
+    public int maxInFlight = 2;
+    // compress the bulk requests with gzip
+    public boolean gzip = false;
 
     @Override
     public String toString() {
@@ -178,6 +184,12 @@ public class ElasticsearchExporterConfiguration {
           + size
           + ", memoryLimit="
           + memoryLimit
+          + ", async="
+          + async
+          + ", maxInFlight="
+          + maxInFlight
+          + ", gzip="
+          + gzip
           + '}';
     }
   }
@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+public class BulkBufferTest {
+
+  private final BulkBuffer bulk = new BulkBuffer(8);
+
+  @Test
+  public void shouldTrackSizeOfAppendedItems() {
+    // when
+    append("{\"index\":{}}", "{\"key\":1}", 1);
+    append("{\"index\":{}}", "{\"key\":2}", 2);
+
+    // then
+    assertThat(bulk.getItemCount()).isEqualTo(2);
+    assertThat(bulk.getSize()).isEqualTo(2 * "{\"index\":{}}\n{\"key\":1}\n".length());
+    assertThat(bulk.getLastPosition()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateOfLastItem() {
+    // given
+    append("{\"index\":{}}", "{\"key\":1}", 1);
+    final int size = bulk.getSize();
+
+    // when
+    final boolean appended = append("{\"index\":{}}", "{\"key\":1}", 1);
+
+    // then
+    assertThat(appended).isFalse();
+    assertThat(bulk.getItemCount()).isEqualTo(1);
+    assertThat(bulk.getSize()).isEqualTo(size);
+  }
+
+  @Test
+  public void shouldBeEmptyAfterReset() {
+    // given
+    append("{\"index\":{}}", "{\"key\":1}", 1);
+
+    // when
+    bulk.reset();
+    append("{\"index\":{}}", "{\"key\":1}", 1);
+
+    // then
+    assertThat(bulk.getItemCount()).isEqualTo(1);
+    assertThat(bulk.getLastPosition()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCreateEntity() throws IOException {
+    // given
+    append("{\"index\":{}}", "{\"key\":1}", 1);
+
+    // when
+    final HttpEntity entity = bulk.toEntity(false);
+
+    // then
+    assertThat(entity.getContentEncoding()).isNull();
+    assertThat(EntityUtils.toString(entity)).isEqualTo("{\"index\":{}}\n{\"key\":1}\n");
+  }
+
+  @Test
+  public void shouldCreateCompressedEntity() throws IOException {
+    // given
+    append("{\"index\":{}}", "{\"key\":1}", 1);
+
+    // when
+    final HttpEntity entity = bulk.toEntity(true);
+
+    // then
+    assertThat(entity.getContentEncoding().getValue()).isEqualTo("gzip");
+    try (final GZIPInputStream content = new GZIPInputStream(entity.getContent())) {
+      assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo("{\"index\":{}}\n{\"key\":1}\n");
+    }
+  }
+
+  private boolean append(final String action, final String source, final long position) {
+    bulk.beginItem();
+    write(action);
+    bulk.newLine();
+    write(source);
+    bulk.newLine();
+    return bulk.endItem(position);
+  }
+
+  private void write(final String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    bulk.write(bytes, 0, bytes.length);
+  }
+}
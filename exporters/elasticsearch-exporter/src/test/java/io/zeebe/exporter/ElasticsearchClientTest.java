@@ -36,7 +36,7 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
   private ElasticsearchExporterConfiguration configuration;
   private Logger logSpy;
   private ElasticsearchClient client;
-  private ArrayList<String> bulkRequest;
+  private BulkBuffer bulk;
 
   @Before
   public void init() {
@@ -44,8 +44,8 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
 
     configuration = getDefaultConfiguration();
     logSpy = spy(LoggerFactory.getLogger(ElasticsearchClientTest.class));
-    bulkRequest = new ArrayList<>();
-    client = new ElasticsearchClient(configuration, logSpy, bulkRequest);
+    bulk = new BulkBuffer();
+    client = new ElasticsearchClient(configuration, logSpy, bulk);
   }
 
   @Test
@@ -157,13 +157,13 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
     when(recordMock.toJson()).thenReturn("{}");
 
     client.index(recordMock);
-    assertThat(bulkRequest).hasSize(1);
+    assertThat(bulk.getItemCount()).isEqualTo(1);
 
     // when
     client.index(recordMock);
 
     // then
-    assertThat(bulkRequest).hasSize(1);
+    assertThat(bulk.getItemCount()).isEqualTo(1);
   }
 
   @Test
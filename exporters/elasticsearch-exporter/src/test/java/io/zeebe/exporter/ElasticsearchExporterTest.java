@@ -27,6 +27,7 @@ import io.zeebe.test.exporter.ExporterTestHarness;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -313,6 +314,99 @@ public class ElasticsearchExporterTest {
     verify(esClient, times(1)).flush();
   }
 
+  @Test
+  public void shouldUpdatePositionWhenAsyncBulkIsFlushed() {
+    // given
+    config.bulk.async = true;
+    final BulkBuffer bulk = newBulk(5);
+    final CompletableFuture<Void> response = new CompletableFuture<>();
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulk()).thenReturn(bulk, (BulkBuffer) null);
+    when(esClient.sendBulkAsync(bulk)).thenReturn(response);
+    createAndOpenExporter();
+
+    // when
+    testHarness.export();
+    final long positionBeforeResponse = testHarness.getController().getPosition();
+    response.complete(null);
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+
+    // then
+    assertThat(positionBeforeResponse).isEqualTo(-1);
+    assertThat(testHarness.getController().getPosition()).isEqualTo(5);
+    verify(esClient).recycleBulk(bulk);
+  }
+
+  @Test
+  public void shouldUpdatePositionOnlyUpToFirstAsyncBulkInFlight() {
+    // given
+    config.bulk.async = true;
+    final BulkBuffer firstBulk = newBulk(5);
+    final BulkBuffer secondBulk = newBulk(10);
+    final CompletableFuture<Void> firstResponse = new CompletableFuture<>();
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulk()).thenReturn(firstBulk, secondBulk, null);
+    when(esClient.sendBulkAsync(firstBulk)).thenReturn(firstResponse);
+    when(esClient.sendBulkAsync(secondBulk)).thenReturn(CompletableFuture.completedFuture(null));
+    createAndOpenExporter();
+
+    // when
+    testHarness.export();
+    testHarness.export();
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+    final long positionBeforeFirstResponse = testHarness.getController().getPosition();
+    firstResponse.complete(null);
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+
+    // then
+    assertThat(positionBeforeFirstResponse).isEqualTo(-1);
+    assertThat(testHarness.getController().getPosition()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldResendFailedAsyncBulk() {
+    // given
+    config.bulk.async = true;
+    final BulkBuffer bulk = newBulk(5);
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulk()).thenReturn(bulk, (BulkBuffer) null);
+    when(esClient.sendBulkAsync(bulk))
+        .thenReturn(
+            CompletableFuture.failedFuture(new ElasticsearchExporterException("expected")),
+            CompletableFuture.completedFuture(null));
+    createAndOpenExporter();
+
+    // when
+    testHarness.export();
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+
+    // then
+    verify(esClient, times(2)).sendBulkAsync(bulk);
+    assertThat(testHarness.getController().getPosition()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldFailExportIfTooManyAsyncBulksAreInFlight() {
+    // given
+    config.bulk.async = true;
+    config.bulk.maxInFlight = 1;
+    final BulkBuffer bulk = newBulk(5);
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulk()).thenReturn(bulk);
+    when(esClient.sendBulkAsync(bulk)).thenReturn(new CompletableFuture<>());
+    createAndOpenExporter();
+    testHarness.export();
+
+    // when
+    assertThatThrownBy(() -> testHarness.export())
+        .isInstanceOf(ElasticsearchExporterException.class)
+        .hasMessageContaining("1 bulk(s) are still in flight");
+
+    // then
+    verify(esClient, times(1)).sendBulkAsync(any());
+  }
+
   @Test
   public void shouldFailOnWrongPrefix() {
     // given
@@ -363,6 +457,14 @@ public class ElasticsearchExporterTest {
     return exporter;
   }
 
+  private static BulkBuffer newBulk(final long lastPosition) {
+    final BulkBuffer bulk = new BulkBuffer();
+    bulk.beginItem();
+    bulk.newLine();
+    bulk.endItem(lastPosition);
+    return bulk;
+  }
+
   private ElasticsearchClient mockElasticsearchClient() {
     final ElasticsearchClient client = mock(ElasticsearchClient.class);
     when(client.putIndexTemplate(any(ValueType.class))).thenReturn(true);
@@ -7,7 +7,11 @@
  */
 package io.zeebe.el;
 
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.util.Collection;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 /** The context for evaluating an expression. */
 public interface EvaluationContext {
@@ -20,4 +24,31 @@ public interface EvaluationContext {
    *     not present
    */
   DirectBuffer getVariable(String variableName);
+
+  /**
+   * Returns the values of the variables with the given names. Override this method if the variables
+   * can be fetched together more efficiently than one by one.
+   *
+   * @param variableNames the names of the variables
+   * @return a MessagePack encoded map that contains the variables which are present
+   */
+  default DirectBuffer getVariables(final Collection<String> variableNames) {
+    final var buffer = new ExpandableArrayBuffer();
+    final var writer = new MsgPackWriter();
+    writer.wrap(buffer, 0);
+    writer.reserveMapHeader();
+
+    int size = 0;
+    for (final String variableName : variableNames) {
+      final var value = getVariable(variableName);
+      if (value != null && value.capacity() > 0) {
+        writer.writeString(new UnsafeBuffer(variableName.getBytes()));
+        writer.writeRaw(value);
+        size += 1;
+      }
+    }
+
+    writer.writeReservedMapHeader(0, size);
+    return new UnsafeBuffer(buffer, 0, writer.getOffset());
+  }
 }
@@ -8,7 +8,9 @@
 package io.zeebe.el.impl;
 
 import io.zeebe.el.Expression;
+import io.zeebe.el.impl.feel.FeelVariableNames;
 import java.util.Optional;
+import java.util.Set;
 import org.camunda.feel.syntaxtree.Exp;
 import org.camunda.feel.syntaxtree.ParsedExpression;
 import org.camunda.feel.syntaxtree.PathExpression;
@@ -17,9 +19,11 @@ import org.camunda.feel.syntaxtree.Ref;
 public final class FeelExpression implements Expression {
 
   private final ParsedExpression expression;
+  private final Set<String> variableNames;
 
   public FeelExpression(final ParsedExpression expression) {
     this.expression = expression;
+    variableNames = FeelVariableNames.of(expression.expression());
   }
 
   @Override
@@ -63,6 +67,11 @@ public final class FeelExpression implements Expression {
     return expression;
   }
 
+  /** @return the names of the variables which are referenced by the expression */
+  public Set<String> getVariableNames() {
+    return variableNames;
+  }
+
   @Override
   public String toString() {
     return "FeelExpression{" + "expression=" + expression + '}';
@@ -19,6 +19,8 @@ import io.zeebe.el.impl.feel.FeelToMessagePackTransformer;
 import io.zeebe.el.impl.feel.FeelVariableContext;
 import io.zeebe.el.impl.feel.MessagePackValueMapper;
 import io.zeebe.util.sched.clock.ActorClock;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 import org.camunda.feel.FeelEngine;
 import org.camunda.feel.FeelEngine.Failure;
@@ -29,20 +31,32 @@ import scala.util.Either;
 /**
  * A wrapper around the FEEL-Scala expression language.
  *
+ * <p>The parsed expressions are cached by their text, since the same expressions are parsed again
+ * for every version of a workflow and whenever a workflow is loaded. The cache is bounded and
+ * evicts the least recently used expression. An instance must not be used concurrently.
+ *
  * <p>
  * <li><a href="https://github.com/camunda/feel-scala">GitHub Repository</a>
  * <li><a href="https://camunda.github.io/feel-scala">Documentation</a>
  */
 public final class FeelExpressionLanguage implements ExpressionLanguage {
 
+  public static final int DEFAULT_CACHE_SIZE = 1024;
+
   private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\=(.+)", Pattern.DOTALL);
 
   private final FeelToMessagePackTransformer messagePackTransformer =
       new FeelToMessagePackTransformer();
 
   private final FeelEngine feelEngine;
+  private final Map<String, Expression> parsedExpressions;
 
   public FeelExpressionLanguage(final ActorClock clock) {
+    this(clock, DEFAULT_CACHE_SIZE);
+  }
+
+  public FeelExpressionLanguage(final ActorClock clock, final int cacheSize) {
+    parsedExpressions = new ExpressionCache(cacheSize);
     feelEngine =
         new FeelEngine.Builder()
             .customValueMapper(new MessagePackValueMapper())
@@ -55,6 +69,17 @@ public final class FeelExpressionLanguage implements ExpressionLanguage {
   public Expression parseExpression(final String expression) {
     ensureNotNull("expression", expression);
 
+    final var cachedExpression = parsedExpressions.get(expression);
+    if (cachedExpression != null) {
+      return cachedExpression;
+    }
+
+    final var parsedExpression = parse(expression);
+    parsedExpressions.put(expression, parsedExpression);
+    return parsedExpression;
+  }
+
+  private Expression parse(final String expression) {
     final var expressionMatcher = EXPRESSION_PATTERN.matcher(expression);
 
     if (expressionMatcher.matches()) {
@@ -107,7 +132,7 @@ public final class FeelExpressionLanguage implements ExpressionLanguage {
       final FeelExpression feelExpression) {
 
     final var parsedExpression = feelExpression.getParsedExpression();
-    final var feelContext = new FeelVariableContext(context);
+    final var feelContext = new FeelVariableContext(context, feelExpression.getVariableNames());
 
     final Either<Failure, Object> evalResult = feelEngine.eval(parsedExpression, feelContext);
 
@@ -129,4 +154,19 @@ public final class FeelExpressionLanguage implements ExpressionLanguage {
               Val.class, result.getClass()));
     }
   }
+
+  private static final class ExpressionCache extends LinkedHashMap<String, Expression> {
+
+    private final int maxSize;
+
+    private ExpressionCache(final int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, Expression> eldest) {
+      return size() > maxSize;
+    }
+  }
 }
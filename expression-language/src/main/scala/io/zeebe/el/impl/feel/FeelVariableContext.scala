@@ -8,11 +8,22 @@
 package io.zeebe.el.impl.feel
 
 import io.zeebe.el.EvaluationContext
+import io.zeebe.msgpack.spec.MsgPackReader
 import org.camunda.feel.context.{CustomContext, VariableProvider}
 
-class FeelVariableContext(context: EvaluationContext) extends CustomContext {
+/**
+ * Provides the variables of the evaluation context to the FEEL engine. If the names of the
+ * referenced variables are known, they are fetched together before the evaluation, and their values
+ * are transformed only when the engine reads them. Otherwise, each variable is fetched when the
+ * engine reads it.
+ */
+class FeelVariableContext(context: EvaluationContext, variableNames: java.util.Set[String])
+  extends CustomContext {
 
-  override val variableProvider: VariableProvider = new EvaluationContextWrapper
+  def this(context: EvaluationContext) = this(context, java.util.Collections.emptySet())
+
+  override val variableProvider: VariableProvider =
+    if (variableNames.isEmpty) new EvaluationContextWrapper else new FetchedVariables
 
   class EvaluationContextWrapper extends VariableProvider {
 
@@ -24,4 +35,28 @@ class FeelVariableContext(context: EvaluationContext) extends CustomContext {
     override def keys: Iterable[String] = List.empty
   }
 
+  class FetchedVariables extends VariableProvider {
+
+    private val fetchedVariables: VariableProvider = {
+      val document = context.getVariables(variableNames)
+      val reader = new MsgPackReader
+      reader.wrap(document, 0, document.capacity())
+      val size = reader.readMapHeader()
+
+      new MessagePackContext(reader, bufferOffset = 0, size).variableProvider
+    }
+
+    private val lookup = new EvaluationContextWrapper
+
+    override def getVariable(name: String): Option[Any] = {
+      if (variableNames.contains(name)) {
+        fetchedVariables.getVariable(name)
+      } else {
+        lookup.getVariable(name)
+      }
+    }
+
+    override def keys: Iterable[String] = List.empty
+  }
+
 }
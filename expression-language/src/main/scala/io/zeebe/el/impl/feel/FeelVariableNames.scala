@@ -0,0 +1,36 @@
+/**
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.el.impl.feel
+
+import org.camunda.feel.syntaxtree.{Exp, Ref}
+
+import scala.collection.mutable
+import scala.jdk.CollectionConverters._
+
+/**
+ * Collects the names of the variables which are referenced by an expression, i.e. the first name
+ * of every reference. The names can include some which are not variables of the context, for
+ * example, the iteration variable of a for-expression. These are not found in the context and are
+ * ignored.
+ */
+object FeelVariableNames {
+
+  def of(expression: Exp): java.util.Set[String] = {
+    val names = mutable.LinkedHashSet[String]()
+    collect(expression, names)
+    names.asJava
+  }
+
+  private def collect(node: Any, names: mutable.Set[String]): Unit = node match {
+    case Ref(refNames) => refNames.headOption.foreach(names += _)
+    case iterable: Iterable[_] => iterable.foreach(collect(_, names))
+    case product: Product => product.productIterator.foreach(collect(_, names))
+    case _ =>
+  }
+
+}
@@ -7,23 +7,34 @@
  */
 package io.zeebe.el.impl.feel
 
+import java.nio.charset.StandardCharsets
+
 import io.zeebe.msgpack.spec.MsgPackReader
 import io.zeebe.util.buffer.BufferUtil.{bufferAsString, cloneBuffer}
 import org.agrona.DirectBuffer
 import org.agrona.concurrent.UnsafeBuffer
 import org.camunda.feel.context.{CustomContext, VariableProvider}
 
+/**
+ * A context that is backed by a MessagePack map. The entries are not read upfront. A single entry
+ * is looked up by scanning the map without creating the keys, and the keys of all entries are only
+ * read if the engine asks for all of them, for example, to transform the context.
+ */
 class MessagePackContext(
                           reader: MsgPackReader,
                           bufferOffset: Int,
                           size: Int
                         ) extends CustomContext {
 
-  private val valueOffsets: Map[String, (Int, Int)] = readValueOffsets(reader, size)
-  private val length = reader.getOffset - bufferOffset
+  private val length = {
+    reader.skipValues(size * 2L)
+    reader.getOffset - bufferOffset
+  }
 
   val messagePackMap: DirectBuffer = cloneBuffer(reader.getBuffer, bufferOffset, length)
 
+  private lazy val valueOffsets: Map[String, (Int, Int)] = readValueOffsets()
+
   override val variableProvider: VariableProvider = new MessagePackMapVariableProvider(messagePackMap)
 
   class MessagePackMapVariableProvider(entries: DirectBuffer) extends VariableProvider {
@@ -33,8 +44,7 @@ class MessagePackContext(
     override def keys: Iterable[String] = valueOffsets.keys
 
     override def getVariable(name: String): Option[Any] = {
-      valueOffsets
-        .get(name)
+      findValueOffset(name)
         .map { case (offset, length) =>
           resultView.wrap(entries, offset, length)
           resultView
@@ -47,21 +57,56 @@ class MessagePackContext(
 
   }
 
-  private def readValueOffsets(reader: MsgPackReader, size: Int): Map[String, (Int, Int)] = {
+  private def findValueOffset(name: String): Option[(Int, Int)] = {
+    val nameBytes = name.getBytes(StandardCharsets.UTF_8)
+    val entryReader = wrapEntries()
+
+    var result: Option[(Int, Int)] = None
+    var entry = 0
+    while (result.isEmpty && entry < size) {
+      val keyLength = entryReader.readStringLength()
+      val isMatch = keyLength == nameBytes.length && keyEquals(entryReader.getOffset, nameBytes)
+      entryReader.skipBytes(keyLength)
+
+      val valueOffset = entryReader.getOffset
+      entryReader.skipValue()
+
+      if (isMatch) {
+        result = Some((valueOffset, entryReader.getOffset - valueOffset))
+      }
+      entry += 1
+    }
+
+    result
+  }
+
+  private def keyEquals(keyOffset: Int, nameBytes: Array[Byte]): Boolean =
+    nameBytes.indices.forall(i => messagePackMap.getByte(keyOffset + i) == nameBytes(i))
+
+  private def readValueOffsets(): Map[String, (Int, Int)] = {
+    val entryReader = wrapEntries()
+
     val offsets = (0 until size).map { _ =>
 
-      val keyToken = reader.readToken()
+      val keyToken = entryReader.readToken()
       val keyBuffer = keyToken.getValueBuffer
       val key = bufferAsString(keyBuffer)
 
-      val valueOffset = reader.getOffset
-      reader.skipValue()
-      val valueLength = reader.getOffset - valueOffset
+      val valueOffset = entryReader.getOffset
+      entryReader.skipValue()
+      val valueLength = entryReader.getOffset - valueOffset
 
-      key -> (valueOffset - bufferOffset, valueLength)
+      key -> (valueOffset, valueLength)
     }
 
     offsets.toMap
   }
 
+  private def wrapEntries(): MsgPackReader = {
+    val entryReader = new MsgPackReader
+    entryReader.wrap(messagePackMap, 0, messagePackMap.capacity())
+    entryReader.readMapHeader()
+    entryReader
+  }
+
 }
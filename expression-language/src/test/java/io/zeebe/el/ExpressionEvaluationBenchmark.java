@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.el;
+
+import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
+
+import io.zeebe.el.impl.FeelExpressionLanguage;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures parsing and evaluating the kind of expressions which are evaluated on every element
+ * activation: a gateway condition and an input mapping. The variables are given as MessagePack, as
+ * they are stored in the state, and a large variable is present which the expressions only access
+ * partially.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ExpressionEvaluationBenchmark {
+
+  private static final String CONDITION = "=orderTotal > 100 and customer.tier = \"gold\"";
+  private static final String INPUT_MAPPING =
+      "={orderId: orderId, items: count(items), tier: customer.tier}";
+
+  @Param({"10", "1000"})
+  private int customerAttributes;
+
+  private ExpressionLanguage cachingLanguage;
+  private ExpressionLanguage nonCachingLanguage;
+  private Expression condition;
+  private Expression inputMapping;
+  private EvaluationContext variables;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ExpressionEvaluationBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  @Setup
+  public void setup() {
+    cachingLanguage = new FeelExpressionLanguage(ActorClock.current());
+    nonCachingLanguage = new FeelExpressionLanguage(ActorClock.current(), 0);
+    condition = cachingLanguage.parseExpression(CONDITION);
+    inputMapping = cachingLanguage.parseExpression(INPUT_MAPPING);
+
+    final Map<String, Object> customer =
+        IntStream.range(0, customerAttributes)
+            .boxed()
+            .collect(Collectors.toMap(i -> "attribute" + i, i -> "value" + i));
+    customer.put("tier", "gold");
+
+    final Map<String, DirectBuffer> state = new HashMap<>();
+    state.put("orderId", asMsgPack("\"order-123\""));
+    state.put("orderTotal", asMsgPack("250"));
+    state.put("items", asMsgPack(List.of(1, 2, 3, 4, 5).toString()));
+    state.put("customer", asMsgPack(customer));
+    IntStream.range(0, 20).forEach(i -> state.put("unused" + i, asMsgPack("\"value\"")));
+    variables = state::get;
+  }
+
+  @Benchmark
+  public Expression parseCachedExpression() {
+    return cachingLanguage.parseExpression(CONDITION);
+  }
+
+  @Benchmark
+  public Expression parseExpressionWithoutCache() {
+    return nonCachingLanguage.parseExpression(CONDITION);
+  }
+
+  @Benchmark
+  public Boolean evaluateCondition() {
+    return cachingLanguage.evaluateExpression(condition, variables).getBoolean();
+  }
+
+  @Benchmark
+  public DirectBuffer evaluateInputMapping() {
+    return cachingLanguage.evaluateExpression(inputMapping, variables).toBuffer();
+  }
+}
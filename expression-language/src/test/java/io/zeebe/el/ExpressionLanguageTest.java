@@ -10,8 +10,14 @@ package io.zeebe.el;
 import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.el.impl.FeelExpressionLanguage;
 import io.zeebe.el.impl.StaticExpression;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import org.agrona.DirectBuffer;
 import org.junit.Test;
 
 public class ExpressionLanguageTest {
@@ -182,4 +188,76 @@ public class ExpressionLanguageTest {
     assertThat(evaluationResult.getType()).isNull();
     assertThat(evaluationResult.getString()).isNull();
   }
+
+  @Test
+  public void shouldReuseParsedExpression() {
+    // given
+    final var expression = expressionLanguage.parseExpression("=x + 1");
+
+    // when
+    final var reparsedExpression = expressionLanguage.parseExpression("=x + 1");
+
+    // then
+    assertThat(reparsedExpression).isSameAs(expression);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedExpression() {
+    // given
+    final var language = new FeelExpressionLanguage(ActorClock.current(), 2);
+    final var evicted = language.parseExpression("=x");
+    final var retained = language.parseExpression("=y");
+
+    // when
+    language.parseExpression("=y");
+    language.parseExpression("=z");
+
+    // then
+    assertThat(language.parseExpression("=y")).isSameAs(retained);
+    assertThat(language.parseExpression("=x")).isNotSameAs(evicted);
+  }
+
+  @Test
+  public void shouldFetchReferencedVariablesTogether() {
+    // given
+    final var expression = expressionLanguage.parseExpression("=if a > 1 then b.c else a");
+    final var variables = asMsgPack(Map.of("a", 2, "b", Map.of("c", "d")));
+    final var fetchedNames = new ArrayList<Collection<String>>();
+
+    final var context =
+        new EvaluationContext() {
+          @Override
+          public DirectBuffer getVariable(final String variableName) {
+            throw new AssertionError("Expected to fetch the variables together");
+          }
+
+          @Override
+          public DirectBuffer getVariables(final Collection<String> variableNames) {
+            fetchedNames.add(List.copyOf(variableNames));
+            return variables;
+          }
+        };
+
+    // when
+    final var evaluationResult = expressionLanguage.evaluateExpression(expression, context);
+
+    // then
+    assertThat(evaluationResult.isFailure()).isFalse();
+    assertThat(evaluationResult.getString()).isEqualTo("d");
+    assertThat(fetchedNames).containsExactly(List.of("a", "b"));
+  }
+
+  @Test
+  public void shouldEvaluateExpressionWithLocalNames() {
+    // given
+    final var expression = expressionLanguage.parseExpression("=for x in items return x * y");
+    final var context = Map.of("items", asMsgPack("[1,2]"), "y", asMsgPack("3"));
+
+    // when
+    final var evaluationResult = expressionLanguage.evaluateExpression(expression, context::get);
+
+    // then
+    assertThat(evaluationResult.isFailure()).isFalse();
+    assertThat(evaluationResult.toBuffer()).isEqualTo(asMsgPack("[3,6]"));
+  }
 }
@@ -18,7 +18,7 @@ import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.ClusterCfg;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
-import io.zeebe.transport.impl.AtomixClientTransportAdapter;
+import io.zeebe.transport.TransportFactory;
 import io.zeebe.util.exception.UncheckedExecutionException;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
@@ -87,11 +87,13 @@ public final class BrokerClientImpl implements BrokerClient {
             member -> topologyManager.event(new ClusterMembershipEvent(Type.MEMBER_ADDED, member)));
 
     final var messagingService = atomixCluster.getMessagingService();
-    final var atomixTransportAdapter = new AtomixClientTransportAdapter(messagingService);
-    actorScheduler.submitActor(atomixTransportAdapter);
+    final var clientTransport =
+        new TransportFactory(actorScheduler)
+            .createClientTransport(
+                messagingService, configuration.getThreads().getTransportShards());
     requestManager =
         new BrokerRequestManager(
-            atomixTransportAdapter,
+            clientTransport,
             topologyManager,
             new RoundRobinDispatchStrategy(topologyManager),
             clusterCfg.getRequestTimeout());
@@ -8,12 +8,14 @@
 package io.zeebe.gateway.impl.configuration;
 
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_MANAGEMENT_THREADS;
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_TRANSPORT_SHARDS;
 
 import java.util.Objects;
 
 public final class ThreadsCfg {
 
   private int managementThreads = DEFAULT_MANAGEMENT_THREADS;
+  private int transportShards = DEFAULT_TRANSPORT_SHARDS;
 
   public int getManagementThreads() {
     return managementThreads;
@@ -24,9 +26,18 @@ public final class ThreadsCfg {
     return this;
   }
 
+  public int getTransportShards() {
+    return transportShards;
+  }
+
+  public ThreadsCfg setTransportShards(final int transportShards) {
+    this.transportShards = transportShards;
+    return this;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(managementThreads);
+    return Objects.hash(managementThreads, transportShards);
   }
 
   @Override
@@ -38,11 +49,16 @@ public final class ThreadsCfg {
       return false;
     }
     final ThreadsCfg that = (ThreadsCfg) o;
-    return managementThreads == that.managementThreads;
+    return managementThreads == that.managementThreads && transportShards == that.transportShards;
   }
 
   @Override
   public String toString() {
-    return "ThreadsCfg{" + "managementThreads=" + managementThreads + '}';
+    return "ThreadsCfg{"
+        + "managementThreads="
+        + managementThreads
+        + ", transportShards="
+        + transportShards
+        + '}';
   }
 }
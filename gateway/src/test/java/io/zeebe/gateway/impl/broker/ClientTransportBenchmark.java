@@ -0,0 +1,224 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.impl.broker;
+
+import io.atomix.cluster.messaging.MessagingService;
+import io.atomix.utils.net.Address;
+import io.zeebe.transport.ClientRequest;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.transport.TransportFactory;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how many requests per second the gateway's client transport handles, depending on the
+ * count of transport shards. Each shard gets its own actor thread, and the requests are spread over
+ * several partitions. The messaging service responds immediately, such that only the transport
+ * itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ClientTransportBenchmark {
+
+  private static final int PARTITION_COUNT = 8;
+  private static final int REQUESTS_PER_INVOCATION = 1_000;
+  private static final int REQUEST_LENGTH = 256;
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
+  private static final Supplier<String> NODE_ADDRESS = () -> "localhost:26501";
+
+  @Param({"1", "2", "4", "8"})
+  private int shards;
+
+  private ActorScheduler actorScheduler;
+  private ClientTransport clientTransport;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ClientTransportBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    actorScheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(shards)
+            .setIoBoundActorThreadCount(1)
+            .setSchedulerName("benchmark")
+            .build();
+    actorScheduler.start();
+
+    clientTransport =
+        new TransportFactory(actorScheduler)
+            .createClientTransport(new RespondingMessagingService(), shards);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    clientTransport.close();
+    actorScheduler.stop().get(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REQUESTS_PER_INVOCATION)
+  public int sendRequests() {
+    final List<ActorFuture<DirectBuffer>> responses = new ArrayList<>(REQUESTS_PER_INVOCATION);
+    for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+      final var request = new Request(1 + i % PARTITION_COUNT);
+      responses.add(clientTransport.sendRequest(NODE_ADDRESS, request, REQUEST_TIMEOUT));
+    }
+
+    int responseLength = 0;
+    for (final var response : responses) {
+      responseLength += response.join().capacity();
+    }
+    return responseLength;
+  }
+
+  private static final class Request implements ClientRequest {
+
+    private final int partitionId;
+
+    private Request(final int partitionId) {
+      this.partitionId = partitionId;
+    }
+
+    @Override
+    public int getPartitionId() {
+      return partitionId;
+    }
+
+    @Override
+    public int getLength() {
+      return REQUEST_LENGTH;
+    }
+
+    @Override
+    public void write(final MutableDirectBuffer buffer, final int offset) {
+      buffer.setMemory(offset, REQUEST_LENGTH, (byte) partitionId);
+    }
+  }
+
+  /** Responds to every request immediately, without sending it anywhere. */
+  private static final class RespondingMessagingService implements MessagingService {
+
+    private static final byte[] RESPONSE = new byte[64];
+
+    @Override
+    public Address address() {
+      return Address.from(NODE_ADDRESS.get());
+    }
+
+    @Override
+    public Collection<Address> bindingAddresses() {
+      return List.of(address());
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(
+        final Address address, final String type, final byte[] payload, final boolean keepAlive) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(
+        final Address address, final String type, final byte[] payload, final boolean keepAlive) {
+      return CompletableFuture.completedFuture(RESPONSE);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(
+        final Address address,
+        final String type,
+        final byte[] payload,
+        final boolean keepAlive,
+        final Executor executor) {
+      return CompletableFuture.completedFuture(RESPONSE);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(
+        final Address address,
+        final String type,
+        final byte[] payload,
+        final boolean keepAlive,
+        final Duration timeout) {
+      return CompletableFuture.completedFuture(RESPONSE);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(
+        final Address address,
+        final String type,
+        final byte[] payload,
+        final boolean keepAlive,
+        final Duration timeout,
+        final Executor executor) {
+      return CompletableFuture.completedFuture(RESPONSE);
+    }
+
+    @Override
+    public void registerHandler(
+        final String type, final BiConsumer<Address, byte[]> handler, final Executor executor) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void registerHandler(
+        final String type,
+        final BiFunction<Address, byte[], byte[]> handler,
+        final Executor executor) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void registerHandler(
+        final String type, final BiFunction<Address, byte[], CompletableFuture<byte[]>> handler) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void unregisterHandler(final String type) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
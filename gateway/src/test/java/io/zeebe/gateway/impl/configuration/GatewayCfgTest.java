@@ -46,7 +46,7 @@ public final class GatewayCfgTest {
         .setCertificateChainPath("certificateChainPath")
         .setPrivateKeyPath("privateKeyPath");
     CUSTOM_CFG.getMonitoring().setEnabled(true).setHost("monitoringHost").setPort(1234);
-    CUSTOM_CFG.getThreads().setManagementThreads(100);
+    CUSTOM_CFG.getThreads().setManagementThreads(100).setTransportShards(4);
     CUSTOM_CFG.getLongPolling().setEnabled(false);
   }
 
@@ -144,6 +144,7 @@ public final class GatewayCfgTest {
     setEnv("zeebe.gateway.network.port", "5432");
     setEnv("zeebe.gateway.cluster.contactPoint", "broker:432");
     setEnv("zeebe.gateway.threads.managementThreads", "32");
+    setEnv("zeebe.gateway.threads.transportShards", "8");
     setEnv("zeebe.gateway.cluster.requestTimeout", Duration.ofMinutes(43).toString());
     setEnv("zeebe.gateway.cluster.longPollingEnabled", "false");
     setEnv("zeebe.gateway.cluster.clusterName", "envCluster");
@@ -182,7 +183,7 @@ public final class GatewayCfgTest {
         .setMemberId("envMember")
         .setHost("envHost")
         .setPort(12345);
-    expected.getThreads().setManagementThreads(32);
+    expected.getThreads().setManagementThreads(32).setTransportShards(8);
     expected.getMonitoring().setEnabled(true).setHost("monitorHost").setPort(231);
     expected
         .getSecurity()
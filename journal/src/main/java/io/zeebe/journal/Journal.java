@@ -24,7 +24,8 @@ public interface Journal extends AutoCloseable {
   /**
    * Appends a new {@link JournalRecord} that contains the given data. asqn refers to Application
    * Sequence Number. It is a sequence number provided by the application. The given asqn must be
-   * positive and, it must be greater than the asqn of the previous record.
+   * positive and, it must be greater than the asqn of the previous record, otherwise the append is
+   * rejected with an {@link io.zeebe.journal.StorageException.InvalidAsqn}.
    *
    * @param asqn A sequence number provided by the application.
    * @param data The data to be appended
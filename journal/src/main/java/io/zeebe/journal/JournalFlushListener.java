@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal;
+
+/** Listener which is notified whenever records of a {@link Journal} are flushed. */
+@FunctionalInterface
+public interface JournalFlushListener {
+
+  /**
+   * Called after the records up to the given index were flushed to the persistent storage. Records
+   * should only be considered durable, e.g. to acknowledge or commit them, once this was called
+   * with an index greater than or equal to their index.
+   *
+   * @param lastFlushedIndex the index of the last flushed record
+   */
+  void onFlush(long lastFlushedIndex);
+}
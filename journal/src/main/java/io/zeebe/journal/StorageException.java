@@ -60,4 +60,11 @@ public class StorageException extends RuntimeException {
       super(message);
     }
   }
+
+  /** Exception thrown when an entry's asqn is not greater than the asqn of a previous entry. */
+  public static class InvalidAsqn extends StorageException {
+    public InvalidAsqn(final String message) {
+      super(message);
+    }
+  }
 }
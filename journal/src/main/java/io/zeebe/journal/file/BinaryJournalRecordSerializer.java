@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import io.zeebe.journal.JournalRecord;
+import io.zeebe.journal.StorageException;
+import io.zeebe.journal.StorageException.InvalidChecksum;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Serializer for segments of version {@value #VERSION}. Records are stored in a fixed layout frame
+ * which is written and verified directly on the mapped buffer, without any intermediate copy. Only
+ * the data of the returned records is copied, so that they stay valid when the segment is unmapped:
+ *
+ * <pre>
+ *  0                   1                   2                   3
+ *  0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |                            length                             |
+ * +---------------------------------------------------------------+
+ * |                           checksum                            |
+ * +---------------------------------------------------------------+
+ * |                             index                             |
+ * |                                                               |
+ * +---------------------------------------------------------------+
+ * |                             asqn                              |
+ * |                                                               |
+ * +---------------------------------------------------------------+
+ * |                             data                             ...
+ * +---------------------------------------------------------------+
+ * </pre>
+ *
+ * <p>The length covers the frame without the length field itself, a length of 0 marks the end of
+ * the segment. The checksum is a CRC32C of the data, which is computed in place on the mapped
+ * buffer. All fields are stored in little endian byte order.
+ */
+final class BinaryJournalRecordSerializer implements JournalRecordSerializer {
+
+  static final int VERSION = 2;
+
+  static final int LENGTH_OFFSET = 0;
+  static final int CHECKSUM_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+  static final int INDEX_OFFSET = CHECKSUM_OFFSET + Integer.BYTES;
+  static final int ASQN_OFFSET = INDEX_OFFSET + Long.BYTES;
+  static final int HEADER_LENGTH = ASQN_OFFSET + Long.BYTES;
+
+  private static final ByteOrder ENDIANNESS = ByteOrder.LITTLE_ENDIAN;
+
+  private final ByteBuffer buffer;
+  private final ByteBuffer checksumView;
+  private final UnsafeBuffer view;
+  private final int maxEntrySize;
+  private final CRC32C crc32c = new CRC32C();
+
+  BinaryJournalRecordSerializer(final ByteBuffer buffer, final int maxEntrySize) {
+    this.buffer = buffer;
+    this.maxEntrySize = maxEntrySize;
+    checksumView = buffer.duplicate();
+    view = new UnsafeBuffer(buffer);
+  }
+
+  /**
+   * Returns the number of bytes a record with the given data length occupies in a segment.
+   *
+   * @param dataLength the length of the record's data
+   * @return the length of the record's frame
+   */
+  static int getFrameLength(final int dataLength) {
+    return HEADER_LENGTH + dataLength;
+  }
+
+  @Override
+  public JournalRecord write(final long index, final long asqn, final DirectBuffer data) {
+    final int offset = buffer.position();
+    writeFrame(offset, index, asqn, data);
+
+    final int checksum = computeChecksum(offset + HEADER_LENGTH, data.capacity());
+    view.putInt(offset + CHECKSUM_OFFSET, checksum, ENDIANNESS);
+    commitFrame(offset, data.capacity());
+
+    return newRecord(offset, index, asqn, checksum, data.capacity());
+  }
+
+  @Override
+  public void write(final JournalRecord record) {
+    final int offset = buffer.position();
+    final DirectBuffer data = record.data();
+    writeFrame(offset, record.index(), record.asqn(), data);
+
+    final int checksum = computeChecksum(offset + HEADER_LENGTH, data.capacity());
+    if (checksum != record.checksum()) {
+      // the length was not written yet, so the frame is not visible to any reader
+      throw new InvalidChecksum("Checksum invalid for record " + record);
+    }
+    view.putInt(offset + CHECKSUM_OFFSET, checksum, ENDIANNESS);
+    commitFrame(offset, data.capacity());
+  }
+
+  @Override
+  public JournalRecord read(final long expectedIndex) {
+    final int offset = buffer.position();
+    if (offset + HEADER_LENGTH > buffer.limit()) {
+      return null;
+    }
+
+    final int length = view.getInt(offset + LENGTH_OFFSET, ENDIANNESS);
+    if (length < HEADER_LENGTH - Integer.BYTES
+        || length > maxEntrySize
+        || offset + Integer.BYTES + length > buffer.limit()) {
+      return null;
+    }
+
+    final long index = view.getLong(offset + INDEX_OFFSET, ENDIANNESS);
+    if (index != expectedIndex) {
+      return null;
+    }
+
+    final int dataLength = length + Integer.BYTES - HEADER_LENGTH;
+    final int checksum = view.getInt(offset + CHECKSUM_OFFSET, ENDIANNESS);
+    if (checksum != computeChecksum(offset + HEADER_LENGTH, dataLength)) {
+      return null;
+    }
+
+    final long asqn = view.getLong(offset + ASQN_OFFSET, ENDIANNESS);
+    buffer.position(offset + getFrameLength(dataLength));
+    return newRecord(offset, index, asqn, checksum, dataLength);
+  }
+
+  private void writeFrame(
+      final int offset, final long index, final long asqn, final DirectBuffer data) {
+    final int length = getFrameLength(data.capacity()) - Integer.BYTES;
+    if (length > maxEntrySize) {
+      throw new StorageException.TooLarge(
+          "Entry size " + length + " exceeds maximum allowed bytes (" + maxEntrySize + ")");
+    }
+
+    if (offset + getFrameLength(data.capacity()) > buffer.limit()) {
+      throw new BufferOverflowException();
+    }
+
+    view.putLong(offset + INDEX_OFFSET, index, ENDIANNESS);
+    view.putLong(offset + ASQN_OFFSET, asqn, ENDIANNESS);
+    view.putBytes(offset + HEADER_LENGTH, data, 0, data.capacity());
+  }
+
+  private void commitFrame(final int offset, final int dataLength) {
+    // the length is written last, which makes the frame visible to readers
+    view.putInt(offset + LENGTH_OFFSET, getFrameLength(dataLength) - Integer.BYTES, ENDIANNESS);
+    buffer.position(offset + getFrameLength(dataLength));
+  }
+
+  private JournalRecord newRecord(
+      final int offset, final long index, final long asqn, final int checksum, final int length) {
+    // the record may be used after the segment was unmapped, e.g. when it is rolled over, compacted
+    // or deleted, so the data is copied out of the mapped buffer
+    final byte[] data = new byte[length];
+    view.getBytes(offset + HEADER_LENGTH, data);
+    return new PersistedJournalRecord(index, asqn, checksum, new UnsafeBuffer(data));
+  }
+
+  private int computeChecksum(final int offset, final int length) {
+    checksumView.clear();
+    checksumView.position(offset).limit(offset + length);
+    crc32c.reset();
+    crc32c.update(checksumView);
+    return (int) crc32c.getValue();
+  }
+}
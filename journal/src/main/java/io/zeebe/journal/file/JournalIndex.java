@@ -16,6 +16,8 @@
 package io.zeebe.journal.file;
 
 import io.zeebe.journal.JournalRecord;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 
 /**
  * JournalIndex that indexes record's index, position and asqn. JournalReader may use this to
@@ -64,4 +66,36 @@ interface JournalIndex {
    * @param indexExclusive the index to which to compact the index
    */
   void deleteUntil(long indexExclusive);
+
+  /**
+   * Returns the number of bytes {@link #persist(long, long, MutableDirectBuffer, int)} writes for
+   * the given range of indexes.
+   *
+   * @param fromIndex the first index of the range (inclusive)
+   * @param toIndex the last index of the range (inclusive)
+   * @return the length of the persisted entries
+   */
+  int getPersistedLength(long fromIndex, long toIndex);
+
+  /**
+   * Writes the entries of the given range of indexes to the buffer, e.g. to store the entries of a
+   * segment next to it. The entries can be added again via {@link #restore(DirectBuffer, int)}.
+   *
+   * @param fromIndex the first index of the range (inclusive)
+   * @param toIndex the last index of the range (inclusive)
+   * @param buffer the buffer to write to
+   * @param offset the offset in the buffer to write at
+   * @return the number of bytes written
+   */
+  int persist(long fromIndex, long toIndex, MutableDirectBuffer buffer, int offset);
+
+  /**
+   * Adds the entries previously written via {@link #persist(long, long, MutableDirectBuffer, int)}.
+   * The entries must follow the entries which are already indexed.
+   *
+   * @param buffer the buffer to read from
+   * @param offset the offset in the buffer to read at
+   * @return the number of bytes read
+   */
+  int restore(DirectBuffer buffer, int offset);
 }
@@ -45,6 +45,31 @@ class JournalMetrics {
           .labelNames(PARTITION_LABEL)
           .register();
 
+  private static final Histogram FLUSH_LATENCY =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("journal_flush_latency")
+          .help("Time from appending the first unflushed record until it is flushed")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Histogram ENTRIES_PER_FLUSH =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("journal_entries_per_flush")
+          .help("Number of records flushed by one flush")
+          .buckets(1, 2, 5, 10, 25, 50, 100, 250, 500, 1000)
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Histogram SEGMENT_LOAD_TIME =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("segment_load_time")
+          .help("Time spend to load a segment when opening the journal")
+          .labelNames(PARTITION_LABEL, "recovery")
+          .register();
+
   private static final Gauge SEGMENT_COUNT =
       Gauge.build()
           .namespace(NAMESPACE)
@@ -78,6 +103,17 @@ class JournalMetrics {
     SEGMENT_TRUNCATE_TIME.labels(logName).time(segmentTruncation);
   }
 
+  public void observeFlush(final int flushedEntries, final long latencyNanos) {
+    ENTRIES_PER_FLUSH.labels(logName).observe(flushedEntries);
+    FLUSH_LATENCY.labels(logName).observe(latencyNanos / 1_000_000_000d);
+  }
+
+  public void observeSegmentLoad(final boolean fromIndexFile, final long durationNanos) {
+    SEGMENT_LOAD_TIME
+        .labels(logName, fromIndexFile ? "index" : "scan")
+        .observe(durationNanos / 1_000_000_000d);
+  }
+
   public void observeJournalOpenDuration(final long durationMillis) {
     JOURNAL_OPEN_DURATION.labels(logName).set(durationMillis / 1000f);
   }
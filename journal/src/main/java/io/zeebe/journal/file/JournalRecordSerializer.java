@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import io.zeebe.journal.JournalRecord;
+import io.zeebe.journal.StorageException;
+import java.nio.ByteBuffer;
+import org.agrona.DirectBuffer;
+
+/**
+ * Reads and writes journal records from and to the mapped buffer of a segment. The format used to
+ * store the records depends on the version of the segment, see {@link
+ * JournalSegmentDescriptor#version()}.
+ *
+ * <p>All operations work on the current position of the buffer. A successful read or write advances
+ * the position to the end of the record, otherwise the position is left unchanged.
+ */
+interface JournalRecordSerializer {
+
+  /**
+   * Returns the serializer for the given segment version.
+   *
+   * @param version the version of the segment
+   * @param buffer the mapped buffer of the segment
+   * @param maxEntrySize the maximum size of a serialized entry
+   * @return the serializer for the given version
+   * @throws StorageException if the version is not supported
+   */
+  static JournalRecordSerializer ofVersion(
+      final int version, final ByteBuffer buffer, final int maxEntrySize) {
+    switch (version) {
+      case KryoJournalRecordSerializer.VERSION:
+        return new KryoJournalRecordSerializer(buffer, maxEntrySize);
+      case BinaryJournalRecordSerializer.VERSION:
+        return new BinaryJournalRecordSerializer(buffer, maxEntrySize);
+      default:
+        throw new StorageException("Unsupported journal segment version " + version);
+    }
+  }
+
+  /**
+   * Writes a new record with the given index, asqn and data at the current position.
+   *
+   * @return the written record
+   * @throws java.nio.BufferOverflowException if the record does not fit into the segment
+   * @throws StorageException.TooLarge if the record exceeds the maximum entry size
+   */
+  JournalRecord write(long index, long asqn, DirectBuffer data);
+
+  /**
+   * Writes the given record at the current position. The checksum of the record is verified against
+   * its data.
+   *
+   * @throws java.nio.BufferOverflowException if the record does not fit into the segment
+   * @throws StorageException.TooLarge if the record exceeds the maximum entry size
+   * @throws StorageException.InvalidChecksum if the checksum does not match the data
+   */
+  void write(JournalRecord record);
+
+  /**
+   * Reads the record at the current position.
+   *
+   * @param expectedIndex the index the record at the current position should have
+   * @return the record, or null if there is no valid record with the expected index
+   */
+  JournalRecord read(long expectedIndex);
+}
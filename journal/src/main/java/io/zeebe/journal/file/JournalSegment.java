@@ -184,9 +184,28 @@ class JournalSegment implements AutoCloseable {
     this.index.deleteUntil(index);
   }
 
+  /**
+   * Seals the segment, after which no more records are expected to be appended to it.
+   *
+   * @see MappedJournalSegmentWriter#seal()
+   */
+  void seal() {
+    writer.seal();
+  }
+
+  /**
+   * Returns whether the segment is sealed.
+   *
+   * @return true if the segment is sealed, otherwise false
+   */
+  boolean isSealed() {
+    return writer.isSealed();
+  }
+
   /** Deletes the segment. */
   public void delete() {
     try {
+      Files.deleteIfExists(file.indexFile().toPath());
       Files.deleteIfExists(file.file().toPath());
     } catch (final IOException e) {
       throw new StorageException(e);
@@ -35,9 +35,9 @@ import java.nio.ByteBuffer;
  *   <li>{@code index} (64-bit signed integer) - The effective first index of the segment. This
  *       indicates the index at which the first entry should be written to the segment. Indexes are
  *       monotonically increasing thereafter.
- *   <li>{@code version} (64-bit signed integer) - The version of the segment. Versions are
- *       monotonically increasing starting at {@code 1}. Versions will only be incremented whenever
- *       the segment is rewritten to another memory/disk space, e.g. after log compaction.
+ *   <li>{@code version} (32-bit signed integer) - The version of the segment. The version defines
+ *       the format in which the records are stored in the segment, see {@link
+ *       JournalRecordSerializer}. Segments written with an older version remain readable.
  *   <li>{@code maxSegmentSize} (32-bit unsigned integer) - The maximum number of bytes allowed in
  *       the segment.
  *   <li>{@code maxEntries} (32-bit signed integer) - The total number of expected entries in the
@@ -62,7 +62,7 @@ final class JournalSegmentDescriptor {
   public static final int BYTES = 64;
 
   // Current segment version.
-  @VisibleForTesting static final int VERSION = 1;
+  @VisibleForTesting static final int VERSION = BinaryJournalRecordSerializer.VERSION;
 
   // The lengths of each field in the header.
   private static final int VERSION_LENGTH = Integer.BYTES; // 32-bit signed integer
@@ -122,7 +122,8 @@ final class JournalSegmentDescriptor {
   /**
    * Returns the segment version.
    *
-   * <p>Versions are monotonically increasing starting at {@code 1}.
+   * <p>The version defines the format in which the records of the segment are stored. Versions are
+   * monotonically increasing starting at {@code 1}.
    *
    * @return The segment version.
    */
@@ -214,6 +215,18 @@ final class JournalSegmentDescriptor {
       buffer.putInt(VERSION_POSITION, VERSION);
     }
 
+    /**
+     * Sets the segment version. By default, segments are created with the latest version.
+     *
+     * @param version The segment version.
+     * @return The segment descriptor builder.
+     */
+    @VisibleForTesting
+    Builder withVersion(final int version) {
+      buffer.putInt(VERSION_POSITION, version);
+      return this;
+    }
+
     /**
      * Sets the segment identifier.
      *
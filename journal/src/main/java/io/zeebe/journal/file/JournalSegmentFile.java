@@ -33,6 +33,7 @@ final class JournalSegmentFile {
   private static final char PART_SEPARATOR = '-';
   private static final char EXTENSION_SEPARATOR = '.';
   private static final String EXTENSION = "log";
+  private static final String INDEX_EXTENSION = "idx";
   private final File file;
 
   /** @throws IllegalArgumentException if {@code file} is not a valid segment file */
@@ -96,6 +97,19 @@ final class JournalSegmentFile {
     return file;
   }
 
+  /**
+   * Returns the index file of the segment, which is written next to the segment file once the
+   * segment is sealed.
+   *
+   * @return The segment index file.
+   */
+  File indexFile() {
+    final String fileName = file.getName();
+    final int extensionSeparator = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+    return new File(
+        file.getParentFile(), fileName.substring(0, extensionSeparator + 1) + INDEX_EXTENSION);
+  }
+
   FileChannel openChannel(final StandardOpenOption... options) {
     try {
       return FileChannel.open(file.toPath(), options);
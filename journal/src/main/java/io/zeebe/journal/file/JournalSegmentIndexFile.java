@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import io.zeebe.journal.StorageException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The index file of a sealed segment. It is written next to the segment once no more records are
+ * appended to it, and allows to open the segment without scanning all of its records. The file
+ * contains the following fields, in little endian byte order:
+ *
+ * <ul>
+ *   <li>{@code version} (32-bit signed integer) - The version of the index file format.
+ *   <li>{@code lastIndex} (64-bit signed integer) - The index of the last record in the segment.
+ *   <li>{@code lastAsqn} (64-bit signed integer) - The asqn of the last record in the segment.
+ *   <li>{@code lastPosition} (32-bit signed integer) - The position of the last record in the
+ *       segment.
+ *   <li>{@code entries} - The entries of the journal index for the segment, see {@link
+ *       JournalIndex#persist(long, long, org.agrona.MutableDirectBuffer, int)}.
+ *   <li>{@code checksum} (32-bit signed integer) - The CRC32C of all preceding bytes.
+ * </ul>
+ */
+final class JournalSegmentIndexFile {
+
+  static final int VERSION = 1;
+
+  private static final Logger LOG = LoggerFactory.getLogger(JournalSegmentIndexFile.class);
+  private static final ByteOrder ENDIANNESS = ByteOrder.LITTLE_ENDIAN;
+
+  private static final int VERSION_OFFSET = 0;
+  private static final int LAST_INDEX_OFFSET = VERSION_OFFSET + Integer.BYTES;
+  private static final int LAST_ASQN_OFFSET = LAST_INDEX_OFFSET + Long.BYTES;
+  private static final int LAST_POSITION_OFFSET = LAST_ASQN_OFFSET + Long.BYTES;
+  private static final int ENTRIES_OFFSET = LAST_POSITION_OFFSET + Integer.BYTES;
+  private static final int CHECKSUM_LENGTH = Integer.BYTES;
+
+  private final DirectBuffer buffer;
+
+  private JournalSegmentIndexFile(final DirectBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Writes the index file for a segment, replacing any existing one. The file is flushed to disk
+   * before returning.
+   *
+   * @param file the index file to write
+   * @param firstIndex the first index of the segment
+   * @param lastIndex the index of the last record in the segment
+   * @param lastAsqn the asqn of the last record in the segment
+   * @param lastPosition the position of the last record in the segment
+   * @param index the journal index containing the entries of the segment
+   */
+  static void write(
+      final File file,
+      final long firstIndex,
+      final long lastIndex,
+      final long lastAsqn,
+      final int lastPosition,
+      final JournalIndex index) {
+    final int entriesLength = index.getPersistedLength(firstIndex, lastIndex);
+    final int length = ENTRIES_OFFSET + entriesLength + CHECKSUM_LENGTH;
+    final ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+    final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
+
+    buffer.putInt(VERSION_OFFSET, VERSION, ENDIANNESS);
+    buffer.putLong(LAST_INDEX_OFFSET, lastIndex, ENDIANNESS);
+    buffer.putLong(LAST_ASQN_OFFSET, lastAsqn, ENDIANNESS);
+    buffer.putInt(LAST_POSITION_OFFSET, lastPosition, ENDIANNESS);
+    index.persist(firstIndex, lastIndex, buffer, ENTRIES_OFFSET);
+    buffer.putInt(length - CHECKSUM_LENGTH, computeChecksum(byteBuffer, length), ENDIANNESS);
+
+    try (final FileChannel channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      byteBuffer.clear();
+      while (byteBuffer.hasRemaining()) {
+        channel.write(byteBuffer);
+      }
+      channel.force(true);
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  /**
+   * Reads the given index file.
+   *
+   * @param file the index file to read
+   * @return the index file, or null if it doesn't exist or is not valid
+   */
+  static JournalSegmentIndexFile read(final File file) {
+    final byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file.toPath());
+    } catch (final NoSuchFileException e) {
+      return null;
+    } catch (final IOException e) {
+      LOG.warn("Failed to read segment index file {}, the segment will be scanned", file, e);
+      return null;
+    }
+
+    if (bytes.length < ENTRIES_OFFSET + CHECKSUM_LENGTH) {
+      LOG.warn("Segment index file {} is truncated, the segment will be scanned", file);
+      return null;
+    }
+
+    final UnsafeBuffer buffer = new UnsafeBuffer(bytes);
+    final int checksum = buffer.getInt(bytes.length - CHECKSUM_LENGTH, ENDIANNESS);
+    if (checksum != computeChecksum(ByteBuffer.wrap(bytes), bytes.length)) {
+      LOG.warn("Segment index file {} is corrupted, the segment will be scanned", file);
+      return null;
+    }
+
+    final int version = buffer.getInt(VERSION_OFFSET, ENDIANNESS);
+    if (version != VERSION) {
+      LOG.warn(
+          "Segment index file {} has unsupported version {}, the segment will be scanned",
+          file,
+          version);
+      return null;
+    }
+
+    return new JournalSegmentIndexFile(buffer);
+  }
+
+  /**
+   * Deletes the given index file, if it exists.
+   *
+   * @param file the index file to delete
+   */
+  static void delete(final File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  long lastIndex() {
+    return buffer.getLong(LAST_INDEX_OFFSET, ENDIANNESS);
+  }
+
+  long lastAsqn() {
+    return buffer.getLong(LAST_ASQN_OFFSET, ENDIANNESS);
+  }
+
+  int lastPosition() {
+    return buffer.getInt(LAST_POSITION_OFFSET, ENDIANNESS);
+  }
+
+  /**
+   * Adds the persisted entries to the given journal index.
+   *
+   * @param index the journal index to restore the entries into
+   */
+  void restoreEntries(final JournalIndex index) {
+    index.restore(buffer, ENTRIES_OFFSET);
+  }
+
+  private static int computeChecksum(final ByteBuffer buffer, final int length) {
+    final CRC32C crc32c = new CRC32C();
+    crc32c.update(buffer.array(), 0, length - CHECKSUM_LENGTH);
+    return (int) crc32c.getValue();
+  }
+}
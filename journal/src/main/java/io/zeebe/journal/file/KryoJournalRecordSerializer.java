@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import com.esotericsoftware.kryo.KryoException;
+import io.atomix.utils.serializer.Namespace;
+import io.atomix.utils.serializer.Namespaces;
+import io.zeebe.journal.JournalRecord;
+import io.zeebe.journal.StorageException;
+import io.zeebe.journal.StorageException.InvalidChecksum;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Serializer for segments of version {@value #VERSION}. Each record is stored as a length prefix
+ * followed by the Kryo serialized {@link PersistedJournalRecord}, where the checksum is a CRC32 of
+ * the data.
+ *
+ * <p>This format is only kept to read and extend segments which were written before {@link
+ * BinaryJournalRecordSerializer} was introduced.
+ */
+final class KryoJournalRecordSerializer implements JournalRecordSerializer {
+
+  static final int VERSION = 1;
+
+  private static final Namespace NAMESPACE =
+      new Namespace.Builder()
+          .register(Namespaces.BASIC)
+          .nextId(Namespaces.BEGIN_USER_CUSTOM_ID)
+          .register(PersistedJournalRecord.class)
+          .register(UnsafeBuffer.class)
+          .name("Journal")
+          .build();
+
+  private final ByteBuffer buffer;
+  private final int maxEntrySize;
+  private final CRC32 crc32 = new CRC32();
+
+  KryoJournalRecordSerializer(final ByteBuffer buffer, final int maxEntrySize) {
+    this.buffer = buffer;
+    this.maxEntrySize = maxEntrySize;
+  }
+
+  @Override
+  public JournalRecord write(final long index, final long asqn, final DirectBuffer data) {
+    final var record = new PersistedJournalRecord(index, asqn, computeChecksum(data), data);
+    writeRecord(record);
+    return record;
+  }
+
+  @Override
+  public void write(final JournalRecord record) {
+    final var checksum = computeChecksum(record.data());
+    if (checksum != record.checksum()) {
+      throw new InvalidChecksum("Checksum invalid for record " + record);
+    }
+    writeRecord(record);
+  }
+
+  @Override
+  public JournalRecord read(final long expectedIndex) {
+    // Mark the buffer so it can be reset if necessary.
+    buffer.mark();
+
+    try {
+      // Read the length of the record.
+      final int length = buffer.getInt();
+
+      // If the buffer length is zero then return.
+      if (length <= 0 || length > maxEntrySize) {
+        buffer.reset();
+        return null;
+      }
+
+      final ByteBuffer slice = buffer.slice();
+      slice.limit(length);
+
+      // If the stored checksum equals the computed checksum, return the record.
+      slice.rewind();
+      final PersistedJournalRecord record = NAMESPACE.deserialize(slice);
+      final var checksum = record.checksum();
+      final var expectedChecksum = computeChecksum(record.data());
+      if (checksum != expectedChecksum || expectedIndex != record.index()) {
+        buffer.reset();
+        return null;
+      }
+      buffer.position(buffer.position() + length);
+      return record;
+    } catch (final BufferUnderflowException | KryoException e) {
+      buffer.reset();
+      return null;
+    }
+  }
+
+  private void writeRecord(final JournalRecord record) {
+    final int recordStartPosition = buffer.position();
+    if (recordStartPosition + Integer.BYTES > buffer.limit()) {
+      throw new BufferOverflowException();
+    }
+
+    buffer.position(recordStartPosition + Integer.BYTES);
+
+    try {
+      NAMESPACE.serialize(record, buffer);
+    } catch (final KryoException e) {
+      buffer.position(recordStartPosition);
+      throw new BufferOverflowException();
+    }
+
+    final int length = buffer.position() - (recordStartPosition + Integer.BYTES);
+
+    // If the entry length exceeds the maximum entry size then throw an exception.
+    if (length > maxEntrySize) {
+      // Just reset the buffer. There's no need to zero the bytes since we haven't written the
+      // length or checksum.
+      buffer.position(recordStartPosition);
+      throw new StorageException.TooLarge(
+          "Entry size " + length + " exceeds maximum allowed bytes (" + maxEntrySize + ")");
+    }
+
+    buffer.position(recordStartPosition);
+    buffer.putInt(length);
+    buffer.position(recordStartPosition + Integer.BYTES + length);
+  }
+
+  private int computeChecksum(final DirectBuffer data) {
+    final byte[] slice = new byte[data.capacity()];
+    data.getBytes(0, slice);
+    crc32.reset();
+    crc32.update(slice);
+    return (int) crc32.getValue();
+  }
+}
@@ -16,49 +16,34 @@
  */
 package io.zeebe.journal.file;
 
-import io.atomix.utils.serializer.Namespace;
-import io.atomix.utils.serializer.Namespaces;
 import io.zeebe.journal.JournalRecord;
-import java.nio.BufferUnderflowException;
-import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel.MapMode;
 import java.util.NoSuchElementException;
-import java.util.zip.CRC32;
-import org.agrona.DirectBuffer;
 import org.agrona.IoUtil;
-import org.agrona.concurrent.UnsafeBuffer;
 
 /** Log segment reader. */
 class MappedJournalSegmentReader {
 
-  private static final Namespace NAMESPACE =
-      new Namespace.Builder()
-          .register(Namespaces.BASIC)
-          .nextId(Namespaces.BEGIN_USER_CUSTOM_ID)
-          .register(PersistedJournalRecord.class)
-          .register(UnsafeBuffer.class)
-          .name("Journal")
-          .build();
   private final MappedByteBuffer buffer;
-  private final int maxEntrySize;
+  private final JournalRecordSerializer serializer;
   private final JournalIndex index;
   private final JournalSegment segment;
   private JournalRecord currentEntry;
   private JournalRecord nextEntry;
-  private final CRC32 crc32 = new CRC32();
 
   MappedJournalSegmentReader(
       final JournalSegmentFile file,
       final JournalSegment segment,
       final int maxEntrySize,
       final JournalIndex index) {
-    this.maxEntrySize = maxEntrySize;
     this.index = index;
     this.segment = segment;
     buffer =
         IoUtil.mapExistingFile(
             file.file(), MapMode.READ_ONLY, file.name(), 0, segment.descriptor().maxSegmentSize());
+    serializer =
+        JournalRecordSerializer.ofVersion(segment.descriptor().version(), buffer, maxEntrySize);
     reset();
   }
 
@@ -136,51 +121,7 @@ class MappedJournalSegmentReader {
 
   /** Reads the next entry in the segment. */
   private void readNext(final long expectedIndex) {
-
-    // Mark the buffer so it can be reset if necessary.
-    buffer.mark();
-
-    try {
-      // Read the length of the record.
-      final int length = buffer.getInt();
-
-      // If the buffer length is zero then return.
-      if (length <= 0 || length > maxEntrySize) {
-        buffer.reset();
-        nextEntry = null;
-        return;
-      }
-
-      final ByteBuffer slice = buffer.slice();
-      slice.limit(length);
-
-      // If the stored checksum equals the computed checksum, return the record.
-      slice.rewind();
-      final PersistedJournalRecord record = NAMESPACE.deserialize(slice);
-      final var checksum = record.checksum();
-      // TODO: checksum should also include asqn.
-      // TODO: It is now copying the data to calculate the checksum. This should be fixed.
-      final var expectedChecksum = computeChecksum(record.data());
-      if (checksum != expectedChecksum || expectedIndex != record.index()) {
-        nextEntry = null;
-        buffer.reset();
-        return;
-      }
-      nextEntry = record;
-      buffer.position(buffer.position() + length);
-
-    } catch (final BufferUnderflowException e) {
-      buffer.reset();
-      nextEntry = null;
-    }
-  }
-
-  private int computeChecksum(final DirectBuffer data) {
-    final byte[] slice = new byte[data.capacity()];
-    data.getBytes(0, slice);
-    crc32.reset();
-    crc32.update(slice);
-    return (int) crc32.getValue();
+    nextEntry = serializer.read(expectedIndex);
   }
 
   long getCurrentIndex() {
@@ -16,41 +16,27 @@
  */
 package io.zeebe.journal.file;
 
-import com.esotericsoftware.kryo.KryoException;
-import io.atomix.utils.serializer.Namespace;
-import io.atomix.utils.serializer.Namespaces;
 import io.zeebe.journal.JournalRecord;
-import io.zeebe.journal.StorageException;
-import io.zeebe.journal.StorageException.InvalidChecksum;
+import io.zeebe.journal.StorageException.InvalidAsqn;
 import io.zeebe.journal.StorageException.InvalidIndex;
-import java.nio.BufferOverflowException;
-import java.nio.BufferUnderflowException;
-import java.nio.ByteBuffer;
+import java.io.File;
 import java.nio.MappedByteBuffer;
-import java.util.zip.CRC32;
 import org.agrona.DirectBuffer;
 import org.agrona.IoUtil;
-import org.agrona.concurrent.UnsafeBuffer;
 
 /** Segment writer. */
 class MappedJournalSegmentWriter {
 
-  private static final Namespace NAMESPACE =
-      new Namespace.Builder()
-          .register(Namespaces.BASIC)
-          .nextId(Namespaces.BEGIN_USER_CUSTOM_ID)
-          .register(PersistedJournalRecord.class)
-          .register(UnsafeBuffer.class)
-          .name("Journal")
-          .build();
   private final MappedByteBuffer buffer;
+  private final JournalRecordSerializer serializer;
   private final JournalSegment segment;
-  private final int maxEntrySize;
   private final JournalIndex index;
   private final long firstIndex;
-  private final CRC32 crc32 = new CRC32();
+  private final File indexFile;
   private JournalRecord lastEntry;
+  private int lastEntryPosition;
   private boolean isOpen = true;
+  private boolean sealed;
 
   MappedJournalSegmentWriter(
       final JournalSegmentFile file,
@@ -58,11 +44,17 @@ class MappedJournalSegmentWriter {
       final int maxEntrySize,
       final JournalIndex index) {
     this.segment = segment;
-    this.maxEntrySize = maxEntrySize;
     this.index = index;
     firstIndex = segment.index();
     buffer = mapFile(file, segment);
-    reset(0);
+    serializer =
+        JournalRecordSerializer.ofVersion(segment.descriptor().version(), buffer, maxEntrySize);
+    indexFile = file.indexFile();
+
+    sealed = restoreFromIndexFile();
+    if (!sealed) {
+      reset(0);
+    }
   }
 
   private static MappedByteBuffer mapFile(
@@ -92,57 +84,27 @@ class MappedJournalSegmentWriter {
     // Store the entry index.
     final long index = getNextIndex();
 
-    // TODO: Should reject append if the asqn is not greater than the previous record
-
-    // Serialize the entry.
-    final int recordStartPosition = buffer.position();
-    if (recordStartPosition + Integer.BYTES > buffer.limit()) {
-      throw new BufferOverflowException();
-    }
-
-    buffer.position(recordStartPosition + Integer.BYTES);
-
-    // compute checksum and construct the record
-    // TODO: checksum should also include asqn. https://github.com/zeebe-io/zeebe/issues/6218
-    // TODO: It is now copying the data to calculate the checksum. This should be fixed when
-    // we change the serialization format. https://github.com/zeebe-io/zeebe/issues/6219
-    final var checksum = computeChecksum(data);
-    final var recordToWrite = new PersistedJournalRecord(index, asqn, checksum, data);
-
-    try {
-      NAMESPACE.serialize(recordToWrite, buffer);
-    } catch (final KryoException e) {
-      throw new BufferOverflowException();
+    if (asqn != SegmentedJournal.ASQN_IGNORE
+        && lastEntry != null
+        && lastEntry.asqn() != SegmentedJournal.ASQN_IGNORE
+        && asqn <= lastEntry.asqn()) {
+      throw new InvalidAsqn(
+          String.format(
+              "The record asqn is not increasing. Expected an asqn greater than %d, but the record to append has asqn %d",
+              lastEntry.asqn(), asqn));
     }
 
-    final int length = buffer.position() - (recordStartPosition + Integer.BYTES);
-
-    // If the entry length exceeds the maximum entry size then throw an exception.
-    if (length > maxEntrySize) {
-      // Just reset the buffer. There's no need to zero the bytes since we haven't written the
-      // length or checksum.
-      buffer.position(recordStartPosition);
-      throw new StorageException.TooLarge(
-          "Entry size " + length + " exceeds maximum allowed bytes (" + maxEntrySize + ")");
+    if (sealed) {
+      unseal();
     }
 
-    buffer.position(recordStartPosition);
-    buffer.putInt(length);
-    buffer.position(recordStartPosition + Integer.BYTES + length);
-
-    lastEntry = recordToWrite;
+    final int recordStartPosition = buffer.position();
+    lastEntry = serializer.write(index, asqn, data);
+    lastEntryPosition = recordStartPosition;
     this.index.index(lastEntry, recordStartPosition);
     return lastEntry;
   }
 
-  private int computeChecksum(final DirectBuffer data) {
-    final byte[] slice = new byte[data.capacity()];
-    data.getBytes(0, slice);
-    crc32.reset();
-    crc32.update(slice);
-    return (int) crc32.getValue();
-  }
-
   public void append(final JournalRecord record) {
     final long nextIndex = getNextIndex();
 
@@ -154,39 +116,15 @@ class MappedJournalSegmentWriter {
               nextIndex, record.index()));
     }
 
-    final int recordStartPosition = buffer.position();
-    if (recordStartPosition + Integer.BYTES > buffer.limit()) {
-      throw new BufferOverflowException();
-    }
-
-    buffer.position(recordStartPosition + Integer.BYTES);
-    final var checksum = computeChecksum(record.data());
-
-    if (checksum != record.checksum()) {
-      throw new InvalidChecksum("Checksum invalid for record " + record);
-    }
-    try {
-      NAMESPACE.serialize(record, buffer);
-    } catch (final KryoException e) {
-      throw new BufferOverflowException();
-    }
-
-    final int length = buffer.position() - (recordStartPosition + Integer.BYTES);
-
-    // If the entry length exceeds the maximum entry size then throw an exception.
-    if (length > maxEntrySize) {
-      // Just reset the buffer. There's no need to zero the bytes since we haven't written the
-      // length or checksum.
-      buffer.position(recordStartPosition);
-      throw new StorageException.TooLarge(
-          "Entry size " + length + " exceeds maximum allowed bytes (" + maxEntrySize + ")");
+    if (sealed) {
+      unseal();
     }
 
-    buffer.position(recordStartPosition);
-    buffer.putInt(length);
-    buffer.position(recordStartPosition + Integer.BYTES + length);
+    final int recordStartPosition = buffer.position();
+    serializer.write(record);
 
     lastEntry = record;
+    lastEntryPosition = recordStartPosition;
     index.index(lastEntry, recordStartPosition);
   }
 
@@ -196,42 +134,14 @@ class MappedJournalSegmentWriter {
     // Clear the buffer indexes.
     buffer.position(JournalSegmentDescriptor.BYTES);
 
-    // Read the entry length.
-    buffer.mark();
-
-    try {
-      var recordPosition = buffer.position();
-      int length = buffer.getInt();
-
-      // If the length is non-zero, read the entry.
-      while (length > 0 && length <= maxEntrySize && (index == 0 || nextIndex <= index)) {
-
-        final ByteBuffer slice = buffer.slice();
-        slice.limit(length);
-
-        // If the stored checksum equals the computed checksum, return the record.
-        slice.rewind();
-        final PersistedJournalRecord record = NAMESPACE.deserialize(slice);
-        final var checksum = record.checksum();
-        final var expectedChecksum = computeChecksum(record.data());
-        if (checksum != expectedChecksum || nextIndex != record.index()) {
-          buffer.reset();
-          return;
-        }
-        lastEntry = record;
-        this.index.index(record, recordPosition);
-        nextIndex++;
-        buffer.position(recordPosition + Integer.BYTES + length);
-
-        recordPosition = buffer.position();
-        buffer.mark();
-        length = buffer.getInt();
-      }
-
-    } catch (final BufferUnderflowException e) {
-      // Reached end of the segment
-    } finally {
-      buffer.reset();
+    var recordPosition = buffer.position();
+    JournalRecord record;
+    while ((index == 0 || nextIndex <= index) && (record = serializer.read(nextIndex)) != null) {
+      lastEntry = record;
+      lastEntryPosition = recordPosition;
+      this.index.index(record, recordPosition);
+      nextIndex++;
+      recordPosition = buffer.position();
     }
   }
 
@@ -241,6 +151,9 @@ class MappedJournalSegmentWriter {
       return;
     }
 
+    // The index file would not match the truncated segment anymore.
+    unseal();
+
     // Reset the last entry.
     lastEntry = null;
 
@@ -264,6 +177,59 @@ class MappedJournalSegmentWriter {
     }
   }
 
+  /**
+   * Seals the segment, after which no more records are expected to be appended. Writes the index
+   * file of the segment, which allows to open the segment again without scanning all records.
+   */
+  public void seal() {
+    if (lastEntry == null || sealed) {
+      return;
+    }
+
+    JournalSegmentIndexFile.write(
+        indexFile, firstIndex, lastEntry.index(), lastEntry.asqn(), lastEntryPosition, index);
+    sealed = true;
+  }
+
+  /**
+   * Returns whether the segment is sealed. A segment opened from its index file, without scanning
+   * all records, is sealed as well.
+   *
+   * @return true if the segment is sealed, otherwise false
+   */
+  public boolean isSealed() {
+    return sealed;
+  }
+
+  private void unseal() {
+    JournalSegmentIndexFile.delete(indexFile);
+    sealed = false;
+  }
+
+  private boolean restoreFromIndexFile() {
+    final JournalSegmentIndexFile sealedSegment = JournalSegmentIndexFile.read(indexFile);
+    if (sealedSegment == null) {
+      return false;
+    }
+
+    final int lastPosition = sealedSegment.lastPosition();
+    if (lastPosition >= JournalSegmentDescriptor.BYTES && lastPosition < buffer.limit()) {
+      buffer.position(lastPosition);
+
+      // verify that the index file matches the segment by reading the last record
+      final JournalRecord record = serializer.read(sealedSegment.lastIndex());
+      if (record != null && record.asqn() == sealedSegment.lastAsqn()) {
+        lastEntry = record;
+        lastEntryPosition = lastPosition;
+        sealedSegment.restoreEntries(index);
+        return true;
+      }
+    }
+
+    JournalSegmentIndexFile.delete(indexFile);
+    return false;
+  }
+
   public void flush() {
     buffer.force();
   }
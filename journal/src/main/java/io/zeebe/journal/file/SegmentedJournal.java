@@ -20,7 +20,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.Sets;
+import io.atomix.utils.concurrent.Scheduler;
 import io.zeebe.journal.Journal;
+import io.zeebe.journal.JournalFlushListener;
 import io.zeebe.journal.JournalReader;
 import io.zeebe.journal.JournalRecord;
 import io.zeebe.journal.StorageException;
@@ -30,6 +32,7 @@ import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
@@ -57,6 +60,7 @@ public class SegmentedJournal implements Journal {
   private final int maxEntrySize;
   private final NavigableMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
   private final Collection<SegmentedJournalReader> readers = Sets.newConcurrentHashSet();
+  private final Collection<JournalFlushListener> flushListeners = Sets.newConcurrentHashSet();
   private volatile JournalSegment currentSegment;
   private volatile boolean open = true;
   private final long minFreeDiskSpace;
@@ -69,7 +73,10 @@ public class SegmentedJournal implements Journal {
       final int maxSegmentSize,
       final int maxEntrySize,
       final long minFreeSpace,
-      final JournalIndex journalIndex) {
+      final JournalIndex journalIndex,
+      final Duration maxFlushDelay,
+      final int maxUnflushedBytes,
+      final Scheduler flushScheduler) {
     this.name = checkNotNull(name, "name cannot be null");
     this.directory = checkNotNull(directory, "directory cannot be null");
     this.maxSegmentSize = maxSegmentSize;
@@ -78,7 +85,9 @@ public class SegmentedJournal implements Journal {
     minFreeDiskSpace = minFreeSpace;
     this.journalIndex = journalIndex;
     open();
-    writer = new SegmentedJournalWriter(this);
+    writer =
+        new SegmentedJournalWriter(
+            this, maxFlushDelay.toNanos(), maxUnflushedBytes, flushScheduler, flushListeners);
   }
 
   /**
@@ -155,11 +164,45 @@ public class SegmentedJournal implements Journal {
     return writer.getNextIndex() - getFirstSegment().index() == 0;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If group commit is enabled, see {@link SegmentedJournalBuilder#withGroupCommit(Duration,
+   * int, Scheduler)}, the flush may be deferred and coalesced with later flushes. Use a {@link
+   * JournalFlushListener} to be notified once the records are flushed.
+   */
   @Override
   public void flush() {
     writer.flush();
   }
 
+  /**
+   * Returns the index of the last record which is flushed to the persistent storage.
+   *
+   * @return the last flushed index
+   */
+  public long getLastFlushedIndex() {
+    return writer.getLastFlushedIndex();
+  }
+
+  /**
+   * Adds a listener which is notified whenever records are flushed.
+   *
+   * @param listener the listener to add
+   */
+  public void addFlushListener(final JournalFlushListener listener) {
+    flushListeners.add(listener);
+  }
+
+  /**
+   * Removes a previously added flush listener.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeFlushListener(final JournalFlushListener listener) {
+    flushListeners.remove(listener);
+  }
+
   @Override
   public JournalReader openReader() {
     final SegmentedJournalReader reader = new SegmentedJournalReader(this);
@@ -174,6 +217,7 @@ public class SegmentedJournal implements Journal {
 
   @Override
   public void close() {
+    writer.cancelScheduledFlush();
     segments
         .values()
         .forEach(
@@ -435,8 +479,14 @@ public class SegmentedJournal implements Journal {
       channel.read(buffer);
       buffer.flip();
       final JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
+      final long startTime = System.nanoTime();
       final JournalSegment segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
-      log.debug("Loaded disk segment: {} ({})", descriptor.id(), segmentFile.getName());
+      journalMetrics.observeSegmentLoad(segment.isSealed(), System.nanoTime() - startTime);
+      log.debug(
+          "Loaded disk segment: {} ({}, sealed: {})",
+          descriptor.id(),
+          segmentFile.getName(),
+          segment.isSealed());
       return segment;
     } catch (final IOException e) {
       throw new StorageException(e);
@@ -465,13 +515,13 @@ public class SegmentedJournal implements Journal {
     directory.mkdirs();
 
     final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+    final TreeMap<Long, JournalSegmentDescriptor> descriptors = new TreeMap<>();
 
     // Iterate through all files in the log directory.
     for (final File file : directory.listFiles(File::isFile)) {
 
-      // If the file looks like a segment file, attempt to load the segment.
+      // If the file looks like a segment file, read the descriptor of the segment.
       if (JournalSegmentFile.isSegmentFile(name, file)) {
-        final JournalSegmentFile segmentFile = new JournalSegmentFile(file);
         final ByteBuffer buffer = ByteBuffer.allocate(JournalSegmentDescriptor.BYTES);
         try (final FileChannel channel = openChannel(file)) {
           channel.read(buffer);
@@ -481,15 +531,17 @@ public class SegmentedJournal implements Journal {
         }
 
         final JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
+        descriptors.put(descriptor.index(), descriptor);
+      }
+    }
 
-        // Load the segment.
-        final JournalSegment segment = loadSegment(descriptor.id());
+    // Load the segments in the order of their indexes, as the journal index is built while loading
+    for (final JournalSegmentDescriptor descriptor : descriptors.values()) {
+      final JournalSegment segment = loadSegment(descriptor.id());
 
-        // Add the segment to the segments list.
-        log.debug(
-            "Found segment: {} ({})", segment.descriptor().id(), segmentFile.file().getName());
-        segments.put(segment.index(), segment);
-      }
+      // Add the segment to the segments list.
+      log.debug("Found segment: {} ({})", segment.descriptor().id(), segment.file().name());
+      segments.put(segment.index(), segment);
     }
 
     // Verify that all the segments in the log align with one another.
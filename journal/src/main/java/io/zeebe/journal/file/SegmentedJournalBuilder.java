@@ -19,7 +19,9 @@ package io.zeebe.journal.file;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import io.atomix.utils.concurrent.Scheduler;
 import java.io.File;
+import java.time.Duration;
 
 /** Raft log builder. */
 public class SegmentedJournalBuilder {
@@ -36,6 +38,9 @@ public class SegmentedJournalBuilder {
 
   private long freeDiskSpace = DEFAULT_MIN_FREE_DISK_SPACE;
   private int journalIndexDensity = 100;
+  private Duration maxFlushDelay = Duration.ZERO;
+  private int maxUnflushedBytes;
+  private Scheduler flushScheduler;
 
   protected SegmentedJournalBuilder() {}
 
@@ -129,6 +134,41 @@ public class SegmentedJournalBuilder {
     return this;
   }
 
+  /**
+   * Enables group commit, returning the builder for method chaining.
+   *
+   * <p>With group commit, {@link SegmentedJournal#flush()} does not flush immediately. Instead,
+   * flushes are coalesced until the given delay has passed since the first unflushed record was
+   * appended, or until the given number of bytes were appended without a flush. Callers must
+   * register a {@link io.zeebe.journal.JournalFlushListener} to find out which records are flushed.
+   *
+   * <p>Once the delay has passed, the deferred records are flushed by a timer of the given
+   * scheduler, even if no further records are appended or flushed. The scheduler must run its
+   * callbacks on the thread which writes to the journal, as the journal is not thread safe.
+   *
+   * <p>By default, group commit is disabled and every flush is executed immediately.
+   *
+   * @param maxFlushDelay the maximum time to defer a flush, zero disables group commit
+   * @param maxUnflushedBytes the number of unflushed bytes after which to flush, or zero to only
+   *     flush based on the delay
+   * @param flushScheduler the scheduler of the journal's writing thread, used to flush the deferred
+   *     records once the delay has passed
+   * @return the journal builder
+   * @throws IllegalArgumentException if the {@code maxFlushDelay} or {@code maxUnflushedBytes} is
+   *     negative
+   */
+  public SegmentedJournalBuilder withGroupCommit(
+      final Duration maxFlushDelay, final int maxUnflushedBytes, final Scheduler flushScheduler) {
+    checkNotNull(maxFlushDelay, "maxFlushDelay cannot be null");
+    checkNotNull(flushScheduler, "flushScheduler cannot be null");
+    checkArgument(!maxFlushDelay.isNegative(), "maxFlushDelay must not be negative");
+    checkArgument(maxUnflushedBytes >= 0, "maxUnflushedBytes must not be negative");
+    this.maxFlushDelay = maxFlushDelay;
+    this.maxUnflushedBytes = maxUnflushedBytes;
+    this.flushScheduler = flushScheduler;
+    return this;
+  }
+
   public SegmentedJournal build() {
     return new SegmentedJournal(
         name,
@@ -136,6 +176,9 @@ public class SegmentedJournalBuilder {
         maxSegmentSize,
         maxEntrySize,
         freeDiskSpace,
-        new SparseJournalIndex(journalIndexDensity));
+        new SparseJournalIndex(journalIndexDensity),
+        maxFlushDelay,
+        maxUnflushedBytes,
+        flushScheduler);
   }
 }
@@ -16,21 +16,48 @@
  */
 package io.zeebe.journal.file;
 
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.Scheduler;
+import io.zeebe.journal.JournalFlushListener;
 import io.zeebe.journal.JournalRecord;
 import java.nio.BufferOverflowException;
+import java.time.Duration;
+import java.util.Collection;
 import org.agrona.DirectBuffer;
 
 class SegmentedJournalWriter {
   private final SegmentedJournal journal;
   private final JournalMetrics journalMetrics;
+  private final Collection<JournalFlushListener> flushListeners;
+  // group commit is enabled if the maximum flush delay is positive
+  private final long maxFlushDelayNanos;
+  private final int maxUnflushedBytes;
+  private final Scheduler flushScheduler;
   private JournalSegment currentSegment;
   private MappedJournalSegmentWriter currentWriter;
 
-  public SegmentedJournalWriter(final SegmentedJournal journal) {
+  private long lastFlushedIndex;
+  private long firstUnflushedAppendNanos;
+  private int unflushedEntries;
+  private long unflushedBytes;
+  private Scheduled scheduledFlush;
+
+  public SegmentedJournalWriter(
+      final SegmentedJournal journal,
+      final long maxFlushDelayNanos,
+      final int maxUnflushedBytes,
+      final Scheduler flushScheduler,
+      final Collection<JournalFlushListener> flushListeners) {
     this.journal = journal;
+    this.maxFlushDelayNanos = maxFlushDelayNanos;
+    this.maxUnflushedBytes = maxUnflushedBytes;
+    this.flushScheduler = flushScheduler;
+    this.flushListeners = flushListeners;
     journalMetrics = journal.getJournalMetrics();
     currentSegment = journal.getLastSegment();
     currentWriter = currentSegment.writer();
+    // everything which was written before the journal was opened is considered flushed
+    lastFlushedIndex = currentWriter.getLastIndex();
   }
 
   public long getLastIndex() {
@@ -45,9 +72,14 @@ class SegmentedJournalWriter {
     return currentWriter.getNextIndex();
   }
 
+  public long getLastFlushedIndex() {
+    return lastFlushedIndex;
+  }
+
   public JournalRecord append(final long asqn, final DirectBuffer data) {
+    JournalRecord record;
     try {
-      return currentWriter.append(asqn, data);
+      record = currentWriter.append(asqn, data);
     } catch (final BufferOverflowException e) {
       if (currentSegment.index() == currentWriter.getNextIndex()) {
         throw e;
@@ -55,8 +87,11 @@ class SegmentedJournalWriter {
 
       journalMetrics.observeSegmentCreation(this::createNewSegment);
 
-      return currentWriter.append(asqn, data);
+      record = currentWriter.append(asqn, data);
     }
+
+    onAppended(record);
+    return record;
   }
 
   public void append(final JournalRecord record) {
@@ -70,12 +105,17 @@ class SegmentedJournalWriter {
       journalMetrics.observeSegmentCreation(this::createNewSegment);
       currentWriter.append(record);
     }
+
+    onAppended(record);
   }
 
   public void reset(final long index) {
     currentSegment = journal.resetSegments(index);
     currentWriter = currentSegment.writer();
     journal.resetHead(index);
+
+    lastFlushedIndex = index - 1;
+    resetUnflushed();
   }
 
   public void deleteAfter(final long index) {
@@ -94,19 +134,106 @@ class SegmentedJournalWriter {
           // Reset segment readers.
           journal.resetTail(index + 1);
         });
+
+    if (lastFlushedIndex > index) {
+      lastFlushedIndex = index;
+    }
+    if (unflushedEntries > 0 && lastFlushedIndex == getLastIndex()) {
+      resetUnflushed();
+    }
   }
 
+  /**
+   * Flushes the appended records. In group commit mode, the flush is deferred until the maximum
+   * flush delay has passed since the first unflushed record was appended, or until the maximum
+   * unflushed bytes are reached. If neither happens before, the deferred records are flushed by a
+   * timer once the delay has passed. The {@link JournalFlushListener}s are notified once the
+   * records are flushed.
+   */
   public void flush() {
+    if (!isGroupCommit() || isFlushDue()) {
+      forceFlush();
+    }
+  }
+
+  /** Flushes the appended records immediately, regardless of the group commit thresholds. */
+  public void forceFlush() {
     journalMetrics.observeSegmentFlush(currentWriter::flush);
+    onFlushed();
   }
 
   public void close() {
+    cancelScheduledFlush();
     currentWriter.close();
   }
 
+  /** Cancels the timer which flushes the deferred records, e.g. when the journal is closed. */
+  void cancelScheduledFlush() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel();
+      scheduledFlush = null;
+    }
+  }
+
   private void createNewSegment() {
     currentWriter.flush();
+    currentWriter.seal();
+    // only the records of the current segment have to be flushed by the next flush
+    onFlushed();
     currentSegment = journal.getNextSegment();
     currentWriter = currentSegment.writer();
   }
+
+  private void onAppended(final JournalRecord record) {
+    if (unflushedEntries == 0) {
+      firstUnflushedAppendNanos = System.nanoTime();
+      if (isGroupCommit()) {
+        // flush the deferred records at the latest when the delay has passed
+        scheduledFlush =
+            flushScheduler.schedule(Duration.ofNanos(maxFlushDelayNanos), this::onFlushDelayPassed);
+      }
+    }
+    unflushedEntries++;
+    unflushedBytes += record.data().capacity();
+
+    if (isGroupCommit() && isFlushDue()) {
+      forceFlush();
+    }
+  }
+
+  private void onFlushDelayPassed() {
+    scheduledFlush = null;
+    if (unflushedEntries > 0) {
+      forceFlush();
+    }
+  }
+
+  private void onFlushed() {
+    final long lastIndex = getLastIndex();
+    if (unflushedEntries > 0) {
+      journalMetrics.observeFlush(unflushedEntries, System.nanoTime() - firstUnflushedAppendNanos);
+      resetUnflushed();
+    }
+
+    if (lastIndex != lastFlushedIndex) {
+      lastFlushedIndex = lastIndex;
+      flushListeners.forEach(listener -> listener.onFlush(lastIndex));
+    }
+  }
+
+  private boolean isGroupCommit() {
+    return maxFlushDelayNanos > 0;
+  }
+
+  private boolean isFlushDue() {
+    return unflushedEntries > 0
+        && ((maxUnflushedBytes > 0 && unflushedBytes >= maxUnflushedBytes)
+            || System.nanoTime() - firstUnflushedAppendNanos >= maxFlushDelayNanos);
+  }
+
+  private void resetUnflushed() {
+    cancelScheduledFlush();
+    unflushedEntries = 0;
+    unflushedBytes = 0;
+  }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import java.util.Arrays;
+
+/**
+ * A growable table of pairs of primitive longs, where both columns are sorted in ascending order.
+ * Entries can only be appended at the tail, which is O(1) amortized. Lookups are binary searches on
+ * either column, and truncating the head or the tail of the table only moves a pointer.
+ */
+final class SortedLongPairs {
+
+  private static final int INITIAL_CAPACITY = 32;
+
+  private long[] left = new long[INITIAL_CAPACITY];
+  private long[] right = new long[INITIAL_CAPACITY];
+  private int head;
+  private int tail;
+
+  void append(final long leftValue, final long rightValue) {
+    if (tail == left.length) {
+      ensureCapacity();
+    }
+
+    left[tail] = leftValue;
+    right[tail] = rightValue;
+    tail++;
+  }
+
+  int size() {
+    return tail - head;
+  }
+
+  boolean isEmpty() {
+    return tail == head;
+  }
+
+  long left(final int entry) {
+    return left[head + entry];
+  }
+
+  long right(final int entry) {
+    return right[head + entry];
+  }
+
+  /** @return the last entry with a left value less than or equal to the given value, or -1 */
+  int floorLeft(final long value) {
+    return upperBound(left, value) - 1 - head;
+  }
+
+  /** @return the first entry with a left value greater than or equal to the given value */
+  int ceilingLeft(final long value) {
+    return lowerBound(left, value) - head;
+  }
+
+  /** @return the last entry with a right value less than or equal to the given value, or -1 */
+  int floorRight(final long value) {
+    return upperBound(right, value) - 1 - head;
+  }
+
+  /** @return the first entry with a right value greater than or equal to the given value */
+  int ceilingRight(final long value) {
+    return lowerBound(right, value) - head;
+  }
+
+  /** Removes all entries with a left value greater than the given value. */
+  void truncateAfterLeft(final long value) {
+    tail = upperBound(left, value);
+  }
+
+  /** Removes all entries with a right value greater than the given value. */
+  void truncateAfterRight(final long value) {
+    tail = upperBound(right, value);
+  }
+
+  /** Removes all entries with a left value less than the given value. */
+  void truncateBeforeLeft(final long value) {
+    head = lowerBound(left, value);
+  }
+
+  /** Removes all entries with a right value less than the given value. */
+  void truncateBeforeRight(final long value) {
+    head = lowerBound(right, value);
+  }
+
+  void clear() {
+    head = 0;
+    tail = 0;
+  }
+
+  private void ensureCapacity() {
+    final int size = size();
+    if (head > 0 && size <= left.length / 2) {
+      // reuse the space freed at the head instead of growing
+      System.arraycopy(left, head, left, 0, size);
+      System.arraycopy(right, head, right, 0, size);
+    } else {
+      left = Arrays.copyOfRange(left, head, head + left.length * 2);
+      right = Arrays.copyOfRange(right, head, head + right.length * 2);
+    }
+
+    head = 0;
+    tail = size;
+  }
+
+  /** @return the first slot in [head, tail) with a value greater than the given value */
+  private int upperBound(final long[] column, final long value) {
+    int low = head;
+    int high = tail;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (column[mid] <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** @return the first slot in [head, tail) with a value greater than or equal the given value */
+  private int lowerBound(final long[] column, final long value) {
+    int low = head;
+    int high = tail;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (column[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -16,17 +16,26 @@
 package io.zeebe.journal.file;
 
 import io.zeebe.journal.JournalRecord;
-import java.util.Map;
-import java.util.TreeMap;
+import io.zeebe.journal.StorageException.InvalidAsqn;
+import java.nio.ByteOrder;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 
+/**
+ * Indexes every {@code density}-th record. The entries are kept in sorted primitive arrays, such
+ * that indexing a record doesn't allocate and lookups are binary searches.
+ */
 class SparseJournalIndex implements JournalIndex {
 
+  private static final ByteOrder ENDIANNESS = ByteOrder.LITTLE_ENDIAN;
+  private static final int POSITION_ENTRY_LENGTH = Long.BYTES + Integer.BYTES;
+  private static final int ASQN_ENTRY_LENGTH = Long.BYTES + Long.BYTES;
+
   private final int density;
-  private final TreeMap<Long, Integer> indexToPosition = new TreeMap<>();
-  private final TreeMap<Long, Long> asqnToIndex = new TreeMap<>();
-  // This is added to make deleteAfter and deleteUntil easier.
-  // TODO: Check if this can be improved. https://github.com/zeebe-io/zeebe/issues/6220
-  private final TreeMap<Long, Long> indexToAsqn = new TreeMap<>();
+  // index -> position
+  private final SortedLongPairs positions = new SortedLongPairs();
+  // asqn -> index; asqns are increasing with the index, records without asqn are not added
+  private final SortedLongPairs asqns = new SortedLongPairs();
 
   public SparseJournalIndex(final int density) {
     this.density = density;
@@ -35,49 +44,111 @@ class SparseJournalIndex implements JournalIndex {
   @Override
   public void index(final JournalRecord indexedEntry, final int position) {
     final long index = indexedEntry.index();
-    if (index % density == 0) {
-      indexToPosition.put(index, position);
+    // the entry may already be indexed, e.g. when a segment is scanned again after a truncation
+    final boolean isIndexed = !positions.isEmpty() && positions.left(positions.size() - 1) >= index;
+    if (index % density == 0 && !isIndexed) {
       final long asqn = indexedEntry.asqn();
-      if (asqn != SegmentedJournal.ASQN_IGNORE) {
-        asqnToIndex.put(asqn, index);
-        indexToAsqn.put(index, asqn);
+      final boolean hasAsqn = asqn != SegmentedJournal.ASQN_IGNORE;
+      // the lookups are binary searches, which are only correct if the asqns are sorted
+      if (hasAsqn && !asqns.isEmpty() && asqns.left(asqns.size() - 1) >= asqn) {
+        throw new InvalidAsqn(
+            String.format(
+                "Expected the asqn of record %d to be greater than %d, but it is %d",
+                index, asqns.left(asqns.size() - 1), asqn));
+      }
+
+      positions.append(index, position);
+      if (hasAsqn) {
+        asqns.append(asqn, index);
       }
     }
   }
 
   @Override
   public IndexInfo lookup(final long index) {
-    final Map.Entry<Long, Integer> entry = indexToPosition.floorEntry(index);
-    return entry != null ? new IndexInfo(entry.getKey(), entry.getValue()) : null;
+    final int entry = positions.floorLeft(index);
+    return entry >= 0 ? new IndexInfo(positions.left(entry), (int) positions.right(entry)) : null;
   }
 
   @Override
   public Long lookupAsqn(final long asqn) {
-    final Map.Entry<Long, Long> entry = asqnToIndex.floorEntry(asqn);
-    return entry != null ? entry.getValue() : null;
+    final int entry = asqns.floorLeft(asqn);
+    return entry >= 0 ? asqns.right(entry) : null;
   }
 
   @Override
   public void deleteAfter(final long index) {
-    indexToPosition.tailMap(index, false).clear();
-    final var asqnEntryToDelete = indexToAsqn.ceilingEntry(index);
-    if (asqnEntryToDelete != null) {
-      final var asqnToDelete = asqnEntryToDelete.getValue();
-      indexToAsqn.tailMap(index, false).clear();
-      final boolean include = asqnEntryToDelete.getKey() > index;
-      asqnToIndex.tailMap(asqnToDelete, include).clear();
-    }
+    positions.truncateAfterLeft(index);
+    asqns.truncateAfterRight(index);
   }
 
   @Override
   public void deleteUntil(final long index) {
-    indexToPosition.headMap(index, false).clear();
+    positions.truncateBeforeLeft(index);
+    asqns.truncateBeforeRight(index);
+  }
+
+  @Override
+  public int getPersistedLength(final long fromIndex, final long toIndex) {
+    final int positionCount = positions.floorLeft(toIndex) - positions.ceilingLeft(fromIndex) + 1;
+    final int asqnCount = asqns.floorRight(toIndex) - asqns.ceilingRight(fromIndex) + 1;
+    return Integer.BYTES
+        + Math.max(positionCount, 0) * POSITION_ENTRY_LENGTH
+        + Integer.BYTES
+        + Math.max(asqnCount, 0) * ASQN_ENTRY_LENGTH;
+  }
+
+  @Override
+  public int persist(
+      final long fromIndex,
+      final long toIndex,
+      final MutableDirectBuffer buffer,
+      final int offset) {
+    int cursor = offset;
 
-    final var asqnEntryToDelete = indexToAsqn.floorEntry(index);
-    if (asqnEntryToDelete != null) {
-      final var asqnToDelete = asqnEntryToDelete.getValue();
-      indexToAsqn.headMap(index, false).clear();
-      asqnToIndex.headMap(asqnToDelete, false).clear();
+    final int firstPosition = positions.ceilingLeft(fromIndex);
+    final int positionCount = Math.max(positions.floorLeft(toIndex) - firstPosition + 1, 0);
+    buffer.putInt(cursor, positionCount, ENDIANNESS);
+    cursor += Integer.BYTES;
+    for (int entry = firstPosition; entry < firstPosition + positionCount; entry++) {
+      buffer.putLong(cursor, positions.left(entry), ENDIANNESS);
+      buffer.putInt(cursor + Long.BYTES, (int) positions.right(entry), ENDIANNESS);
+      cursor += POSITION_ENTRY_LENGTH;
     }
+
+    final int firstAsqn = asqns.ceilingRight(fromIndex);
+    final int asqnCount = Math.max(asqns.floorRight(toIndex) - firstAsqn + 1, 0);
+    buffer.putInt(cursor, asqnCount, ENDIANNESS);
+    cursor += Integer.BYTES;
+    for (int entry = firstAsqn; entry < firstAsqn + asqnCount; entry++) {
+      buffer.putLong(cursor, asqns.left(entry), ENDIANNESS);
+      buffer.putLong(cursor + Long.BYTES, asqns.right(entry), ENDIANNESS);
+      cursor += ASQN_ENTRY_LENGTH;
+    }
+
+    return cursor - offset;
+  }
+
+  @Override
+  public int restore(final DirectBuffer buffer, final int offset) {
+    int cursor = offset;
+
+    final int positionCount = buffer.getInt(cursor, ENDIANNESS);
+    cursor += Integer.BYTES;
+    for (int entry = 0; entry < positionCount; entry++) {
+      positions.append(
+          buffer.getLong(cursor, ENDIANNESS), buffer.getInt(cursor + Long.BYTES, ENDIANNESS));
+      cursor += POSITION_ENTRY_LENGTH;
+    }
+
+    final int asqnCount = buffer.getInt(cursor, ENDIANNESS);
+    cursor += Integer.BYTES;
+    for (int entry = 0; entry < asqnCount; entry++) {
+      asqns.append(
+          buffer.getLong(cursor, ENDIANNESS), buffer.getLong(cursor + Long.BYTES, ENDIANNESS));
+      cursor += ASQN_ENTRY_LENGTH;
+    }
+
+    return cursor - offset;
   }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.journal.file;
+
+import io.zeebe.journal.JournalRecord;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the legacy Kryo based record format with the binary record format. Each invocation
+ * appends one record to an off-heap buffer, and reads it back again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class JournalRecordSerializerBenchmark {
+
+  private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  @Param({"128", "4096", "65536"})
+  private int dataLength;
+
+  private final UnsafeBuffer data = new UnsafeBuffer();
+  private ByteBuffer segmentBuffer;
+  private JournalRecordSerializer kryoSerializer;
+  private JournalRecordSerializer binarySerializer;
+  private long index;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JournalRecordSerializerBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  @Setup
+  public void setup() {
+    final byte[] bytes = new byte[dataLength];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    data.wrap(bytes);
+
+    segmentBuffer = ByteBuffer.allocateDirect(SEGMENT_SIZE);
+    kryoSerializer = new KryoJournalRecordSerializer(segmentBuffer, SEGMENT_SIZE);
+    binarySerializer = new BinaryJournalRecordSerializer(segmentBuffer, SEGMENT_SIZE);
+  }
+
+  @Benchmark
+  public JournalRecord kryo() {
+    return writeAndRead(kryoSerializer);
+  }
+
+  @Benchmark
+  public JournalRecord binary() {
+    return writeAndRead(binarySerializer);
+  }
+
+  private JournalRecord writeAndRead(final JournalRecordSerializer serializer) {
+    // always use the same region of the buffer, to measure the format and not the page faults
+    segmentBuffer.clear();
+    serializer.write(++index, index, data);
+    segmentBuffer.clear();
+    return serializer.read(index);
+  }
+}
@@ -18,13 +18,21 @@ package io.zeebe.journal.file;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-import io.atomix.utils.serializer.Namespace;
-import io.atomix.utils.serializer.Namespaces;
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.Scheduler;
 import io.zeebe.journal.JournalRecord;
+import io.zeebe.journal.StorageException.InvalidAsqn;
 import io.zeebe.journal.StorageException.InvalidChecksum;
 import io.zeebe.journal.StorageException.InvalidIndex;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -36,35 +44,21 @@ public class SegmentedJournalTest {
 
   @TempDir Path directory;
   final DirectBuffer data = new UnsafeBuffer();
+  private final ManualScheduler flushScheduler = new ManualScheduler();
   private SegmentedJournal journal;
   private byte[] entry;
   private int entriesPerSegment;
+  private int entrySize;
 
   @BeforeEach
   public void setup() {
-    final var namespace =
-        new Namespace.Builder()
-            .register(Namespaces.BASIC)
-            .nextId(Namespaces.BEGIN_USER_CUSTOM_ID)
-            .register(PersistedJournalRecord.class)
-            .register(UnsafeBuffer.class)
-            .name("Journal")
-            .build();
-
     entry = "TestData".getBytes();
     data.wrap(entry);
 
-    final var entrySize =
-        namespace.serialize(new PersistedJournalRecord(1, 1, Integer.MAX_VALUE, data)).length
-            + Integer.BYTES;
+    entrySize = BinaryJournalRecordSerializer.getFrameLength(entry.length);
     entriesPerSegment = 10;
 
-    journal =
-        SegmentedJournal.builder()
-            .withDirectory(directory.resolve("data").toFile())
-            .withMaxSegmentSize(entriesPerSegment * entrySize + JournalSegmentDescriptor.BYTES)
-            .withJournalIndexDensity(5)
-            .build();
+    journal = openJournal();
   }
 
   @Test
@@ -357,6 +351,20 @@ public class SegmentedJournalTest {
         .isInstanceOf(InvalidIndex.class);
   }
 
+  @Test
+  public void shouldNotAppendRecordWithNonIncreasingAsqn() {
+    // given
+    journal.append(5, data);
+    journal.append(SegmentedJournal.ASQN_IGNORE, data);
+    journal.append(6, data);
+
+    // when - then
+    assertThatThrownBy(() -> journal.append(6, data)).isInstanceOf(InvalidAsqn.class);
+    assertThatThrownBy(() -> journal.append(2, data)).isInstanceOf(InvalidAsqn.class);
+    assertThat(journal.getLastIndex()).isEqualTo(3);
+    assertThat(journal.append(7, data).index()).isEqualTo(4);
+  }
+
   @Test
   public void shouldNotAppendRecordWithInvalidChecksum() {
     // given
@@ -375,4 +383,310 @@ public class SegmentedJournalTest {
     assertThatThrownBy(() -> receiverJournal.append(invalidChecksumRecord))
         .isInstanceOf(InvalidChecksum.class);
   }
+
+  @Test
+  public void shouldOpenSealedSegmentsFromIndexFile() {
+    // given
+    for (int i = 1; i <= entriesPerSegment * 2 + 1; i++) {
+      journal.append(i * 10L, data);
+    }
+    journal.close();
+
+    // when
+    journal = openJournal();
+
+    // then
+    assertThat(journal.getFirstSegment().isSealed()).isTrue();
+    assertThat(journal.getLastSegment().isSealed()).isFalse();
+    assertThat(journal.getLastIndex()).isEqualTo(entriesPerSegment * 2 + 1);
+
+    final var reader = journal.openReader();
+    assertThat(reader.seekToAsqn(entriesPerSegment * 10L + 5)).isTrue();
+    assertThat(reader.next().index()).isEqualTo(entriesPerSegment);
+    assertThat(reader.next().index()).isEqualTo(entriesPerSegment + 1);
+  }
+
+  @Test
+  public void shouldScanSealedSegmentAfterAppendingToIt() {
+    // given - the first segment is sealed with space left for one more entry
+    for (int i = 1; i < entriesPerSegment; i++) {
+      journal.append(i, data);
+    }
+    journal.append(entriesPerSegment, new UnsafeBuffer(new byte[entry.length * 2]));
+    journal.deleteAfter(entriesPerSegment - 1);
+    journal.append(entriesPerSegment, data);
+    journal.close();
+
+    // when
+    journal = openJournal();
+
+    // then
+    assertThat(journal.getFirstSegment().isSealed()).isFalse();
+    assertThat(journal.getLastIndex()).isEqualTo(entriesPerSegment);
+  }
+
+  @Test
+  public void shouldScanSealedSegmentAfterTruncatingIt() {
+    // given
+    for (int i = 1; i <= entriesPerSegment + 2; i++) {
+      journal.append(i, data);
+    }
+    journal.deleteAfter(entriesPerSegment - 3);
+    journal.close();
+
+    // when
+    journal = openJournal();
+
+    // then
+    assertThat(journal.getFirstSegment().isSealed()).isFalse();
+    assertThat(journal.getLastIndex()).isEqualTo(entriesPerSegment - 3);
+  }
+
+  @Test
+  public void shouldReadCurrentEntryAfterCrossingSegment() {
+    // given
+    for (int i = 1; i <= entriesPerSegment + 1; i++) {
+      journal.append(i, data);
+    }
+
+    final var reader = (SegmentedJournalReader) journal.openReader();
+    for (int i = 1; i <= entriesPerSegment; i++) {
+      reader.next();
+    }
+
+    // when
+    assertThat(reader.hasNext()).isTrue();
+
+    // then
+    final var currentEntry = reader.getCurrentEntry();
+    assertThat(currentEntry.index()).isEqualTo(entriesPerSegment);
+    final byte[] currentData = new byte[currentEntry.data().capacity()];
+    currentEntry.data().getBytes(0, currentData);
+    assertThat(currentData).containsExactly(entry);
+  }
+
+  @Test
+  public void shouldReadRecordsAfterTheirSegmentIsDeleted() {
+    // given
+    final var appendedRecord = journal.append(1, data);
+    for (int i = 2; i <= entriesPerSegment + 1; i++) {
+      journal.append(i, data);
+    }
+
+    final var reader = journal.openReader();
+    final var readRecord = reader.next();
+
+    // when
+    journal.deleteUntil(entriesPerSegment + 1);
+
+    // then
+    assertThat(journal.getFirstIndex()).isEqualTo(entriesPerSegment + 1);
+    for (final JournalRecord record : List.of(appendedRecord, readRecord)) {
+      assertThat(record.index()).isEqualTo(1);
+      final byte[] recordData = new byte[record.data().capacity()];
+      record.data().getBytes(0, recordData);
+      assertThat(recordData).containsExactly(entry);
+    }
+  }
+
+  @Test
+  public void shouldNotifyFlushListener() {
+    // given
+    final List<Long> flushedIndexes = new ArrayList<>();
+    journal.addFlushListener(flushedIndexes::add);
+    journal.append(1, data);
+    journal.append(2, data);
+
+    // when
+    journal.flush();
+
+    // then
+    assertThat(journal.getLastFlushedIndex()).isEqualTo(2);
+    assertThat(flushedIndexes).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldDeferFlushWithGroupCommit() {
+    // given
+    final var groupCommitJournal =
+        SegmentedJournal.builder()
+            .withDirectory(directory.resolve("data-2").toFile())
+            .withGroupCommit(Duration.ofHours(1), 0, flushScheduler)
+            .build();
+    final List<Long> flushedIndexes = new ArrayList<>();
+    groupCommitJournal.addFlushListener(flushedIndexes::add);
+    groupCommitJournal.append(1, data);
+
+    // when
+    groupCommitJournal.flush();
+
+    // then
+    assertThat(groupCommitJournal.getLastFlushedIndex()).isEqualTo(0);
+    assertThat(flushedIndexes).isEmpty();
+  }
+
+  @Test
+  public void shouldFlushWhenUnflushedBytesReachedWithGroupCommit() {
+    // given
+    final var groupCommitJournal =
+        SegmentedJournal.builder()
+            .withDirectory(directory.resolve("data-2").toFile())
+            .withGroupCommit(Duration.ofHours(1), entry.length * 3, flushScheduler)
+            .build();
+    final List<Long> flushedIndexes = new ArrayList<>();
+    groupCommitJournal.addFlushListener(flushedIndexes::add);
+
+    // when
+    for (int i = 1; i <= 4; i++) {
+      groupCommitJournal.append(i, data);
+    }
+
+    // then
+    assertThat(groupCommitJournal.getLastFlushedIndex()).isEqualTo(3);
+    assertThat(flushedIndexes).containsExactly(3L);
+  }
+
+  @Test
+  public void shouldFlushDeferredRecordsWhenFlushDelayPassedWithGroupCommit() {
+    // given
+    final var groupCommitJournal =
+        SegmentedJournal.builder()
+            .withDirectory(directory.resolve("data-2").toFile())
+            .withGroupCommit(Duration.ofHours(1), 0, flushScheduler)
+            .build();
+    final List<Long> flushedIndexes = new ArrayList<>();
+    groupCommitJournal.addFlushListener(flushedIndexes::add);
+    groupCommitJournal.append(1, data);
+    groupCommitJournal.append(2, data);
+    groupCommitJournal.flush();
+
+    // when
+    assertThat(flushScheduler.scheduledDelays).containsExactly(Duration.ofHours(1));
+    flushScheduler.runScheduled();
+
+    // then
+    assertThat(groupCommitJournal.getLastFlushedIndex()).isEqualTo(2);
+    assertThat(flushedIndexes).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldCancelScheduledFlushWhenFlushedWithGroupCommit() {
+    // given
+    final var groupCommitJournal =
+        SegmentedJournal.builder()
+            .withDirectory(directory.resolve("data-2").toFile())
+            .withGroupCommit(Duration.ofHours(1), entry.length, flushScheduler)
+            .build();
+
+    // when
+    groupCommitJournal.append(1, data);
+
+    // then
+    assertThat(groupCommitJournal.getLastFlushedIndex()).isEqualTo(1);
+    assertThat(flushScheduler.scheduled).isEmpty();
+  }
+
+  @Test
+  public void shouldReadAndExtendSegmentOfPreviousVersion() throws Exception {
+    // given
+    final File legacyDirectory = directory.resolve("legacy").toFile();
+    final JournalSegment legacySegment =
+        createSegment(legacyDirectory, KryoJournalRecordSerializer.VERSION);
+    legacySegment.writer().append(1, data);
+    legacySegment.writer().append(2, data);
+    legacySegment.close();
+
+    // when
+    final var legacyJournal =
+        SegmentedJournal.builder()
+            .withDirectory(legacyDirectory)
+            .withJournalIndexDensity(5)
+            .build();
+    final var appended = legacyJournal.append(3, data);
+
+    // then
+    assertThat(legacyJournal.getLastSegment().version())
+        .isEqualTo(KryoJournalRecordSerializer.VERSION);
+    assertThat(appended.index()).isEqualTo(3);
+
+    final var reader = legacyJournal.openReader();
+    for (int asqn = 1; asqn <= 3; asqn++) {
+      assertThat(reader.hasNext()).isTrue();
+      final var record = reader.next();
+      assertThat(record.index()).isEqualTo(asqn);
+      assertThat(record.asqn()).isEqualTo(asqn);
+      final byte[] recordData = new byte[record.data().capacity()];
+      record.data().getBytes(0, recordData);
+      assertThat(recordData).containsExactly(entry);
+    }
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  private JournalSegment createSegment(final File segmentDirectory, final int version)
+      throws Exception {
+    final var descriptor =
+        JournalSegmentDescriptor.builder()
+            .withId(1)
+            .withIndex(1)
+            .withVersion(version)
+            .withMaxSegmentSize(1024 * 1024)
+            .build();
+    segmentDirectory.mkdirs();
+    final var file = JournalSegmentFile.createSegmentFile("journal", segmentDirectory, 1);
+
+    try (final var raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(descriptor.maxSegmentSize());
+      final var header = ByteBuffer.allocate(JournalSegmentDescriptor.BYTES);
+      descriptor.copyTo(header);
+      raf.getChannel().write(header.flip());
+    }
+
+    return new JournalSegment(
+        new JournalSegmentFile(file), descriptor, 1024, new SparseJournalIndex(5));
+  }
+
+  private SegmentedJournal openJournal() {
+    return SegmentedJournal.builder()
+        .withDirectory(directory.resolve("data").toFile())
+        .withMaxSegmentSize(entriesPerSegment * entrySize + JournalSegmentDescriptor.BYTES)
+        .withJournalIndexDensity(5)
+        .build();
+  }
+
+  private static final class ManualScheduler implements Scheduler {
+
+    private final List<Duration> scheduledDelays = new ArrayList<>();
+    private final Map<Runnable, Scheduled> scheduled = new LinkedHashMap<>();
+
+    @Override
+    public Scheduled schedule(final Duration delay, final Runnable callback) {
+      scheduledDelays.add(delay);
+      final Scheduled task =
+          new Scheduled() {
+            @Override
+            public void cancel() {
+              scheduled.remove(callback);
+            }
+
+            @Override
+            public boolean isDone() {
+              return !scheduled.containsKey(callback);
+            }
+          };
+      scheduled.put(callback, task);
+      return task;
+    }
+
+    @Override
+    public Scheduled schedule(
+        final Duration initialDelay, final Duration interval, final Runnable callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    private void runScheduled() {
+      final List<Runnable> callbacks = new ArrayList<>(scheduled.keySet());
+      scheduled.clear();
+      callbacks.forEach(Runnable::run);
+    }
+  }
 }
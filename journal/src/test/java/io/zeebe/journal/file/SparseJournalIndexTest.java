@@ -18,8 +18,11 @@ package io.zeebe.journal.file;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.zeebe.journal.JournalRecord;
+import io.zeebe.journal.StorageException.InvalidAsqn;
+import org.agrona.ExpandableArrayBuffer;
 import org.junit.jupiter.api.Test;
 
 /** Sparse journal index test. */
@@ -212,4 +215,92 @@ public class SparseJournalIndexTest {
     assertNull(index.lookupAsqn(50));
     assertNull(index.lookupAsqn(80));
   }
+
+  @Test
+  public void shouldFindEntriesAfterCompactingAndAppending() {
+    // given - every 5 index is added
+    final JournalIndex index = new SparseJournalIndex(5);
+    for (int i = 1; i <= 1_000; i++) {
+      index.index(asJournalRecord(i, i * 10L), i * 2);
+    }
+
+    // when
+    index.deleteUntil(900);
+    for (int i = 1_001; i <= 2_000; i++) {
+      index.index(asJournalRecord(i, i * 10L), i * 2);
+    }
+
+    // then
+    assertNull(index.lookup(899));
+    assertNull(index.lookupAsqn(8_990));
+    assertEquals(900, index.lookup(903).index());
+    assertEquals(1_800, index.lookup(903).position());
+    assertEquals(1_500, index.lookupAsqn(15_049));
+    assertEquals(2_000, index.lookup(2_100).index());
+  }
+
+  @Test
+  public void shouldRestorePersistedEntries() {
+    // given - every 5 index is added
+    final JournalIndex index = new SparseJournalIndex(5);
+    for (int i = 1; i <= 30; i++) {
+      index.index(asJournalRecord(i, i == 15 ? SegmentedJournal.ASQN_IGNORE : i * 10L), i * 2);
+    }
+    final var buffer = new ExpandableArrayBuffer();
+
+    // when
+    final int length = index.persist(11, 20, buffer, 0);
+    final JournalIndex restoredIndex = new SparseJournalIndex(5);
+    final int readLength = restoredIndex.restore(buffer, 0);
+
+    // then
+    assertEquals(index.getPersistedLength(11, 20), length);
+    assertEquals(length, readLength);
+    assertNull(restoredIndex.lookup(14));
+    assertEquals(15, restoredIndex.lookup(19).index());
+    assertEquals(30, restoredIndex.lookup(19).position());
+    assertEquals(20, restoredIndex.lookup(25).index());
+    assertEquals(40, restoredIndex.lookup(25).position());
+    assertNull(restoredIndex.lookupAsqn(199));
+    assertEquals(20, restoredIndex.lookupAsqn(250));
+  }
+
+  @Test
+  public void shouldIgnoreAlreadyIndexedEntries() {
+    // given - every 5 index is added
+    final JournalIndex index = new SparseJournalIndex(5);
+    for (int i = 1; i <= 10; i++) {
+      index.index(asJournalRecord(i, i * 10L), i * 2);
+    }
+    index.deleteAfter(7);
+
+    // when - the segment is scanned again after the truncation
+    for (int i = 1; i <= 12; i++) {
+      index.index(asJournalRecord(i, i * 10L), i * 2);
+    }
+
+    // then
+    assertEquals(5, index.lookup(9).index());
+    assertEquals(10, index.lookup(12).index());
+    assertEquals(20, index.lookup(12).position());
+    assertEquals(5, index.lookupAsqn(99));
+    assertEquals(10, index.lookupAsqn(100));
+  }
+
+  @Test
+  public void shouldRejectNonIncreasingAsqn() {
+    // given - every 5 index is added
+    final JournalIndex index = new SparseJournalIndex(5);
+    for (int i = 1; i <= 5; i++) {
+      index.index(asJournalRecord(i, i * 10L), i * 2);
+    }
+    for (int i = 6; i < 10; i++) {
+      index.index(asJournalRecord(i, SegmentedJournal.ASQN_IGNORE), i * 2);
+    }
+
+    // when - then
+    assertThrows(InvalidAsqn.class, () -> index.index(asJournalRecord(10, 50), 20));
+    assertEquals(5, index.lookupAsqn(50));
+    assertEquals(5, index.lookup(10).index());
+  }
 }
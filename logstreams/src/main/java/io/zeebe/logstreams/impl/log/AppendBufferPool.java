@@ -0,0 +1,96 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.logstreams.impl.log;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+
+/**
+ * Recycles the buffers which blocks are copied into before they are appended to the log storage.
+ * The buffers are grouped by their capacity, which is a power of two, such that a block can reuse
+ * any buffer which is at least as large as the block.
+ *
+ * <p>A buffer is acquired by the appender and released by the log storage, once the block was
+ * written, which may happen on a different thread. If the pool is exhausted a new buffer is
+ * allocated, and if the pool is full a released buffer is left to the garbage collector.
+ */
+final class AppendBufferPool {
+
+  static final int MIN_CAPACITY = 4 * 1024;
+  static final long DEFAULT_MAX_POOLED_BYTES = 32 * 1024 * 1024;
+  private static final int MAX_BUFFERS_PER_CAPACITY = 256;
+
+  private final ManyToManyConcurrentArrayQueue<ByteBuffer>[] pools;
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final long maxPooledBytes;
+  private final AppenderMetrics metrics;
+
+  @SuppressWarnings("unchecked")
+  AppendBufferPool(
+      final int maxBlockSize, final long maxPooledBytes, final AppenderMetrics metrics) {
+    this.maxPooledBytes = maxPooledBytes;
+    this.metrics = metrics;
+
+    final int capacityClasses = capacityClass(Math.max(maxBlockSize, MIN_CAPACITY)) + 1;
+    pools = new ManyToManyConcurrentArrayQueue[capacityClasses];
+    for (int i = 0; i < capacityClasses; i++) {
+      final long capacity = (long) MIN_CAPACITY << i;
+      final int buffers =
+          (int) Math.max(1, Math.min(MAX_BUFFERS_PER_CAPACITY, maxPooledBytes / capacity));
+      pools[i] = new ManyToManyConcurrentArrayQueue<>(buffers);
+    }
+  }
+
+  /**
+   * Returns a cleared buffer with a capacity of at least the given length. It must be given back
+   * via {@link #release(ByteBuffer)} once it is not used anymore.
+   */
+  ByteBuffer acquire(final int length) {
+    final int capacityClass = capacityClass(Math.max(length, MIN_CAPACITY));
+    if (capacityClass < pools.length) {
+      final ByteBuffer buffer = pools[capacityClass].poll();
+      if (buffer != null) {
+        pooledBytes.addAndGet(-buffer.capacity());
+        metrics.bufferRecycled(buffer.capacity());
+        return buffer.clear();
+      }
+    }
+
+    final int capacity = BitUtil.findNextPositivePowerOfTwo(Math.max(length, MIN_CAPACITY));
+    metrics.bufferAllocated(capacity);
+    return ByteBuffer.allocate(capacity);
+  }
+
+  void release(final ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    final int capacityClass = capacityClass(capacity);
+    if (capacityClass >= pools.length) {
+      return;
+    }
+
+    if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+      pooledBytes.addAndGet(-capacity);
+      return;
+    }
+
+    if (!pools[capacityClass].offer(buffer)) {
+      pooledBytes.addAndGet(-capacity);
+    }
+  }
+
+  long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  private static int capacityClass(final int length) {
+    final int capacity = BitUtil.findNextPositivePowerOfTwo(length);
+    return Integer.numberOfTrailingZeros(capacity) - Integer.numberOfTrailingZeros(MIN_CAPACITY);
+  }
+}
@@ -7,6 +7,7 @@
  */
 package io.zeebe.logstreams.impl.log;
 
+import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 
@@ -43,6 +44,22 @@ public class AppenderMetrics {
           .labelNames("partition")
           .register();
 
+  private static final Counter BUFFER_ALLOCATED_BYTES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("log_appender_buffer_allocated_bytes_total")
+          .help("Bytes of the buffers which were newly allocated to append blocks to the log")
+          .labelNames("partition")
+          .register();
+
+  private static final Counter BUFFER_RECYCLED_BYTES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("log_appender_buffer_recycled_bytes_total")
+          .help("Bytes of the buffers which were recycled to append blocks to the log")
+          .labelNames("partition")
+          .register();
+
   private final String partitionLabel;
 
   public AppenderMetrics(final String partitionLabel) {
@@ -64,4 +81,12 @@ public class AppenderMetrics {
   public void commitLatency(final long startTime, final long currentTime) {
     COMMIT_LATENCY.labels(partitionLabel).observe((currentTime - startTime) / 1000f);
   }
+
+  public void bufferAllocated(final int capacity) {
+    BUFFER_ALLOCATED_BYTES.labels(partitionLabel).inc(capacity);
+  }
+
+  public void bufferRecycled(final int capacity) {
+    BUFFER_RECYCLED_BYTES.labels(partitionLabel).inc(capacity);
+  }
 }
@@ -9,27 +9,41 @@ package io.zeebe.logstreams.impl.log;
 
 import io.atomix.raft.RaftException.NoLeader;
 import io.zeebe.logstreams.spi.LogStorage.AppendListener;
+import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public final class Listener implements AppendListener {
   private final LogStorageAppender appender;
   private final long highestPosition;
   private final long startTime;
+  // the buffer of the block, until it is released after the block was written or failed to
+  private final AtomicReference<ByteBuffer> buffer;
+  private final Consumer<ByteBuffer> bufferReleaser;
 
   public Listener(
-      final LogStorageAppender appender, final long highestPosition, final long startTime) {
+      final LogStorageAppender appender,
+      final long highestPosition,
+      final long startTime,
+      final ByteBuffer buffer,
+      final Consumer<ByteBuffer> bufferReleaser) {
     this.appender = appender;
     this.highestPosition = highestPosition;
     this.startTime = startTime;
+    this.buffer = new AtomicReference<>(buffer);
+    this.bufferReleaser = bufferReleaser;
   }
 
   @Override
   public void onWrite(final long address) {
+    releaseBuffer();
     appender.notifyWritePosition(highestPosition, startTime);
   }
 
   @Override
   public void onWriteError(final Throwable error) {
+    releaseBuffer();
     if (error instanceof NoSuchElementException || error instanceof NoLeader) {
       // Not a failure. It is probably during transition to follower.
       LogStorageAppender.LOG.debug(
@@ -58,6 +72,15 @@ public final class Listener implements AppendListener {
     appender.runOnFailure(error);
   }
 
+  private void releaseBuffer() {
+    // the storage is done with the block after it reported either the write or the write error;
+    // the buffer is released at most once, to never hand it to two blocks of the pool
+    final ByteBuffer writtenBuffer = buffer.getAndSet(null);
+    if (writtenBuffer != null) {
+      bufferReleaser.accept(writtenBuffer);
+    }
+  }
+
   private void releaseBackPressure() {
     appender.releaseBackPressure(highestPosition);
   }
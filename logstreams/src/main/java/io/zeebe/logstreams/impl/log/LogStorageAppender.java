@@ -33,7 +33,7 @@ import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.function.LongConsumer;
-import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.DirectBuffer;
 import org.slf4j.Logger;
 
 /** Consume the write buffer and append the blocks to the distributedlog. */
@@ -52,6 +52,7 @@ public class LogStorageAppender extends Actor implements HealthMonitorable {
   private final Environment env;
   private final LoggedEventImpl positionReader = new LoggedEventImpl();
   private final AppenderMetrics appenderMetrics;
+  private final AppendBufferPool bufferPool;
   private FailureListener failureListener;
   private final ActorFuture<Void> closeFuture;
   private final LongConsumer commitPositionListener;
@@ -70,6 +71,9 @@ public class LogStorageAppender extends Actor implements HealthMonitorable {
     this.logStorage = logStorage;
     this.writeBufferSubscription = writeBufferSubscription;
     maxAppendBlockSize = maxBlockSize;
+    bufferPool =
+        new AppendBufferPool(
+            maxBlockSize, AppendBufferPool.DEFAULT_MAX_POOLED_BYTES, appenderMetrics);
     appendBackpressureMetrics = new AppendBackpressureMetrics(partitionId);
 
     final boolean isBackpressureEnabled =
@@ -109,16 +113,25 @@ public class LogStorageAppender extends Actor implements HealthMonitorable {
   }
 
   private void appendBlock(final BlockPeek blockPeek) {
-    final ByteBuffer rawBuffer = blockPeek.getRawBuffer();
-    final int bytes = rawBuffer.remaining();
-    final ByteBuffer copiedBuffer = ByteBuffer.allocate(bytes).put(rawBuffer).flip();
-    final Tuple<Long, Long> positions = readLowestHighestPosition(copiedBuffer);
+    final Tuple<Long, Long> positions = readLowestHighestPosition(blockPeek.getBuffer());
 
     // Commit position is the position of the last event.
     appendBackpressureMetrics.newEntryToAppend();
     if (appendEntryLimiter.tryAcquire(positions.getRight())) {
-      final var listener = new Listener(this, positions.getRight(), ActorClock.currentTimeMillis());
-      logStorage.append(positions.getLeft(), positions.getRight(), copiedBuffer, listener);
+      // the block is copied once into a recycled buffer, which is released by the listener as soon
+      // as the log storage has written it
+      final ByteBuffer rawBuffer = blockPeek.getRawBuffer();
+      final ByteBuffer pooledBuffer = bufferPool.acquire(rawBuffer.remaining());
+      final ByteBuffer block = pooledBuffer.put(rawBuffer).flip().slice();
+
+      final var listener =
+          new Listener(
+              this,
+              positions.getRight(),
+              ActorClock.currentTimeMillis(),
+              pooledBuffer,
+              bufferPool::release);
+      logStorage.append(positions.getLeft(), positions.getRight(), block, listener);
 
       blockPeek.markCompleted();
     } else {
@@ -174,8 +187,7 @@ public class LogStorageAppender extends Actor implements HealthMonitorable {
     }
   }
 
-  private Tuple<Long, Long> readLowestHighestPosition(final ByteBuffer buffer) {
-    final var view = new UnsafeBuffer(buffer);
+  private Tuple<Long, Long> readLowestHighestPosition(final DirectBuffer view) {
     final var positions = new Tuple<>(Long.MAX_VALUE, Long.MIN_VALUE);
     var offset = 0;
 
@@ -165,6 +165,9 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
     eventBuffer.putLong(eventBufferOffset, key, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_LONG;
 
+    eventBuffer.putLong(eventBufferOffset, sourceEventPosition, Protocol.ENDIANNESS);
+    eventBufferOffset += SIZE_OF_LONG;
+
     eventBuffer.putInt(eventBufferOffset, sourceIndex, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_INT;
 
@@ -233,6 +236,9 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
       final long key = eventBuffer.getLong(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_LONG;
 
+      final long sourceEventPosition = eventBuffer.getLong(eventBufferOffset, Protocol.ENDIANNESS);
+      eventBufferOffset += SIZE_OF_LONG;
+
       final int sourceIndex = eventBuffer.getInt(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_INT;
 
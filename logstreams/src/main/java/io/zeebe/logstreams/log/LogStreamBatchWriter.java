@@ -17,7 +17,11 @@ import org.agrona.DirectBuffer;
  * <p>Note that the log entry data is buffered until {@link #tryWrite()} is called.
  */
 public interface LogStreamBatchWriter extends LogStreamWriter {
-  /** Set the source event for all log entries. */
+  /**
+   * Set the source event for the log entries of the batch. The position applies to all log entries
+   * which are not yet completed, so different entries of one batch can refer to different source
+   * events.
+   */
   LogStreamBatchWriter sourceRecordPosition(long position);
 
   /** Returns the builder to add a new log entry to the batch. */
@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.logstreams.impl.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public final class AppendBufferPoolTest {
+
+  private static final int MAX_BLOCK_SIZE = 64 * 1024;
+
+  private final AppendBufferPool pool =
+      new AppendBufferPool(MAX_BLOCK_SIZE, 128 * 1024, new AppenderMetrics("1"));
+
+  @Test
+  public void shouldAllocateBufferWithPowerOfTwoCapacity() {
+    // when
+    final ByteBuffer buffer = pool.acquire(5_000);
+
+    // then
+    assertThat(buffer.capacity()).isEqualTo(8 * 1024);
+    assertThat(buffer.position()).isZero();
+    assertThat(buffer.remaining()).isEqualTo(8 * 1024);
+  }
+
+  @Test
+  public void shouldAllocateAtLeastMinimalCapacity() {
+    // when
+    final ByteBuffer buffer = pool.acquire(10);
+
+    // then
+    assertThat(buffer.capacity()).isEqualTo(AppendBufferPool.MIN_CAPACITY);
+  }
+
+  @Test
+  public void shouldRecycleReleasedBuffer() {
+    // given
+    final ByteBuffer buffer = pool.acquire(5_000);
+    buffer.putInt(42).flip();
+    pool.release(buffer);
+
+    // when
+    final ByteBuffer recycled = pool.acquire(6_000);
+
+    // then
+    assertThat(recycled).isSameAs(buffer);
+    assertThat(recycled.position()).isZero();
+    assertThat(recycled.limit()).isEqualTo(recycled.capacity());
+    assertThat(pool.getPooledBytes()).isZero();
+  }
+
+  @Test
+  public void shouldNotRecycleBufferOfOtherCapacity() {
+    // given
+    final ByteBuffer buffer = pool.acquire(5_000);
+    pool.release(buffer);
+
+    // when
+    final ByteBuffer other = pool.acquire(10_000);
+
+    // then
+    assertThat(other).isNotSameAs(buffer);
+    assertThat(other.capacity()).isEqualTo(16 * 1024);
+  }
+
+  @Test
+  public void shouldNotPoolMoreThanMaxPooledBytes() {
+    // given
+    final ByteBuffer first = pool.acquire(MAX_BLOCK_SIZE);
+    final ByteBuffer second = pool.acquire(MAX_BLOCK_SIZE);
+    final ByteBuffer third = pool.acquire(MAX_BLOCK_SIZE);
+
+    // when
+    pool.release(first);
+    pool.release(second);
+    pool.release(third);
+
+    // then
+    assertThat(pool.getPooledBytes()).isEqualTo(128 * 1024);
+  }
+
+  @Test
+  public void shouldAllocateBlocksLargerThanMaxBlockSize() {
+    // given
+    final ByteBuffer buffer = pool.acquire(MAX_BLOCK_SIZE * 2);
+
+    // when
+    pool.release(buffer);
+
+    // then
+    assertThat(buffer.capacity()).isEqualTo(MAX_BLOCK_SIZE * 2);
+    assertThat(pool.getPooledBytes()).isZero();
+  }
+}
@@ -315,6 +315,23 @@ public final class MsgPackWriter {
     return this;
   }
 
+  /**
+   * Writes the value as 64-bit float, even if it could be written as 32-bit float without losing
+   * precision.
+   *
+   * @param value to write
+   * @return this object
+   */
+  public MsgPackWriter writeDouble(final double value) {
+    buffer.putByte(offset, FLOAT64);
+    ++offset;
+
+    buffer.putDouble(offset, value, BYTE_ORDER);
+    offset += SIZE_OF_DOUBLE;
+
+    return this;
+  }
+
   public int getOffset() {
     return offset;
   }
@@ -91,6 +91,11 @@ public final class MsgPackWriterTest {
             actual((w) -> w.writeFloat(Double.MAX_VALUE)),
             expect((b) -> b.add(0xcb).add(toByte(Double.MAX_VALUE)))
           },
+          {
+            "double",
+            actual((w) -> w.writeDouble(123.0d)),
+            expect((b) -> b.add(0xcb).add(toByte(123.0d)))
+          },
           {"uint 8", actual((w) -> w.writeInteger((1 << 8) - 1)), expect((b) -> b.add(0xcc, 0xff))},
           {
             "uint 16",
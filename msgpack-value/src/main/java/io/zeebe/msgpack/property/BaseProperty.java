@@ -14,6 +14,7 @@ import io.zeebe.msgpack.spec.MsgPackWriter;
 import io.zeebe.msgpack.value.BaseValue;
 import io.zeebe.msgpack.value.StringValue;
 import java.util.Objects;
+import org.agrona.DirectBuffer;
 
 public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected final StringValue key;
@@ -21,6 +22,10 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected final T defaultValue;
   protected boolean isSet;
 
+  // the encoded value of a lazily read property, decoded on first access
+  private MsgPackReader encodedValue;
+  private boolean hasEncodedValue;
+
   public BaseProperty(final T value) {
     this(StringValue.EMPTY_STRING, value);
   }
@@ -40,11 +45,13 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   public void set() {
     isSet = true;
+    hasEncodedValue = false;
   }
 
   @Override
   public void reset() {
     isSet = false;
+    hasEncodedValue = false;
     value.reset();
   }
 
@@ -58,6 +65,7 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   protected T resolveValue() {
     if (isSet) {
+      decodeValue();
       return value;
     } else if (defaultValue != null) {
       return defaultValue;
@@ -68,6 +76,10 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   public int getEncodedLength() {
+    if (hasEncodedValue) {
+      return key.getEncodedLength() + encodedValue.getBuffer().capacity();
+    }
+
     return key.getEncodedLength() + resolveValue().getEncodedLength();
   }
 
@@ -76,7 +88,44 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     set();
   }
 
+  /**
+   * Skips the value and only remembers where it is encoded. The value is read on first access, or
+   * copied as it is if the property is written before. The given reader's buffer must not be
+   * modified until then.
+   */
+  public void readLazily(final MsgPackReader reader) {
+    final int offset = reader.getOffset();
+    reader.skipValue();
+
+    if (encodedValue == null) {
+      encodedValue = new MsgPackReader();
+    }
+    encodedValue.wrap(reader.getBuffer(), offset, reader.getOffset() - offset);
+
+    isSet = true;
+    hasEncodedValue = true;
+  }
+
+  private void decodeValue() {
+    if (hasEncodedValue) {
+      hasEncodedValue = false;
+
+      try {
+        value.read(encodedValue);
+      } catch (final Exception e) {
+        throw new MsgpackPropertyException(key, e);
+      }
+    }
+  }
+
   public void write(final MsgPackWriter writer) {
+    if (hasEncodedValue) {
+      final DirectBuffer encodedValueBuffer = encodedValue.getBuffer();
+      key.write(writer);
+      writer.writeRaw(encodedValueBuffer, 0, encodedValueBuffer.capacity());
+      return;
+    }
+
     T valueToWrite = value;
     if (!isSet) {
       valueToWrite = defaultValue;
@@ -103,6 +152,7 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   @Override
   public int hashCode() {
+    decodeValue();
     return Objects.hash(getKey(), value, defaultValue, isSet);
   }
 
@@ -123,6 +173,8 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   @Override
   public String toString() {
+    decodeValue();
+
     final StringBuilder builder = new StringBuilder();
     builder.append(key.toString());
     builder.append(" => ");
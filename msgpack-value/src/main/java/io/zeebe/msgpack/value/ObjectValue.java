@@ -9,24 +9,45 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.property.BaseProperty;
 import io.zeebe.msgpack.property.UndeclaredProperty;
+import io.zeebe.msgpack.spec.MsgPackFormat;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import org.agrona.BitUtil;
 
 public class ObjectValue extends BaseValue {
+  private static final int NO_PROPERTY = -1;
+
   private final List<BaseProperty<? extends BaseValue>> declaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> undeclaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> recycledProperties = new ArrayList<>();
 
   private final StringValue decodedKey = new StringValue();
 
+  // open addressing hash table of the declared property keys, containing the property indexes
+  private int[] propertyIndex;
+  private boolean lazyDecoding;
+
   public ObjectValue declareProperty(final BaseProperty<? extends BaseValue> prop) {
     declaredProperties.add(prop);
+    propertyIndex = null;
     return this;
   }
 
+  /**
+   * If enabled, the nested objects and arrays of the declared properties are not decoded on {@link
+   * #read(MsgPackReader)} but on first access, so only the ones which are used are decoded.
+   * Properties which are not accessed are written as they were read. Scalar values are cheap to
+   * decode and are still read directly. Note that invalid nested values are only detected when they
+   * are accessed, and that the read buffer must not be modified as long as the object is used.
+   */
+  public void setLazyDecoding(final boolean lazyDecoding) {
+    this.lazyDecoding = lazyDecoding;
+  }
+
   @Override
   public void reset() {
     for (int i = 0; i < declaredProperties.size(); ++i) {
@@ -87,27 +108,28 @@ public class ObjectValue extends BaseValue {
   public void read(final MsgPackReader reader) {
     final int mapSize = reader.readMapHeader();
 
+    // the properties are usually written in the declared order, so try the next one first
+    int expectedIndex = 0;
+
     for (int i = 0; i < mapSize; ++i) {
       decodedKey.read(reader);
 
-      BaseProperty<? extends BaseValue> prop = null;
-
-      for (int k = 0; k < declaredProperties.size(); ++k) {
-        final BaseProperty<?> declaredProperty = declaredProperties.get(k);
-        final StringValue declaredKey = declaredProperty.getKey();
+      final int index = findDeclaredProperty(decodedKey, expectedIndex);
+      final BaseProperty<? extends BaseValue> prop;
 
-        if (declaredKey.equals(decodedKey)) {
-          prop = declaredProperty;
-          break;
-        }
-      }
-
-      if (prop == null) {
+      if (index != NO_PROPERTY) {
+        prop = declaredProperties.get(index);
+        expectedIndex = index + 1;
+      } else {
         prop = newUndeclaredProperty(decodedKey);
       }
 
       try {
-        prop.read(reader);
+        if (lazyDecoding && index != NO_PROPERTY && isContainerValue(reader)) {
+          prop.readLazily(reader);
+        } else {
+          prop.read(reader);
+        }
       } catch (final Exception e) {
         throw new RuntimeException(String.format("Could not read property '%s'", prop.getKey()), e);
       }
@@ -123,6 +145,53 @@ public class ObjectValue extends BaseValue {
     }
   }
 
+  private static boolean isContainerValue(final MsgPackReader reader) {
+    final byte headerByte = reader.getBuffer().getByte(reader.getOffset());
+    return !MsgPackFormat.valueOf(headerByte).getType().isScalar();
+  }
+
+  private int findDeclaredProperty(final StringValue key, final int expectedIndex) {
+    if (expectedIndex < declaredProperties.size()
+        && declaredProperties.get(expectedIndex).getKey().equals(key)) {
+      return expectedIndex;
+    }
+
+    if (propertyIndex == null) {
+      indexDeclaredProperties();
+    }
+
+    final int mask = propertyIndex.length - 1;
+    int slot = key.getValue().hashCode() & mask;
+
+    while (propertyIndex[slot] != NO_PROPERTY) {
+      final int index = propertyIndex[slot];
+      if (declaredProperties.get(index).getKey().equals(key)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return NO_PROPERTY;
+  }
+
+  private void indexDeclaredProperties() {
+    final int size = declaredProperties.size();
+    // keep the table at most half full so that a missing key finds an empty slot quickly
+    propertyIndex = new int[BitUtil.findNextPositivePowerOfTwo(Math.max(2, size * 2))];
+    Arrays.fill(propertyIndex, NO_PROPERTY);
+
+    final int mask = propertyIndex.length - 1;
+    for (int index = 0; index < size; index++) {
+      final StringValue key = declaredProperties.get(index).getKey();
+
+      int slot = key.getValue().hashCode() & mask;
+      while (propertyIndex[slot] != NO_PROPERTY) {
+        slot = (slot + 1) & mask;
+      }
+      propertyIndex[slot] = index;
+    }
+  }
+
   @Override
   public int getEncodedLength() {
     final int size = declaredProperties.size() + undeclaredProperties.size();
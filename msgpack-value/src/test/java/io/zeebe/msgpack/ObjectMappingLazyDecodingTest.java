@@ -0,0 +1,185 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.msgpack.ObjectMappingTest.BUF1;
+import static io.zeebe.msgpack.ObjectMappingTest.BUF2;
+import static io.zeebe.msgpack.ObjectMappingTest.MSGPACK_BUF1;
+import static io.zeebe.msgpack.ObjectMappingTest.MSGPACK_BUF2;
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.zeebe.msgpack.POJO.POJOEnum;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class ObjectMappingLazyDecodingTest {
+
+  private static final DirectBuffer MSGPACK_INVALID_NESTED =
+      encodeMsgPack(
+          (w) -> {
+            w.writeMapHeader(1);
+            w.writeString(BUF1);
+            w.writeString(BUF2);
+          });
+
+  private final POJO pojo = new POJO();
+
+  @Before
+  public void setUp() {
+    pojo.setLazyDecoding(true);
+  }
+
+  @Test
+  public void shouldDecodePropertiesOnAccess() {
+    // given
+    final DirectBuffer buffer = encodePOJO(POJOEnum.BAR, 88888L, 123, MSGPACK_BUF1);
+
+    // when
+    pojo.wrap(buffer);
+
+    // then
+    assertThat(pojo.getEnum()).isEqualByComparingTo(POJOEnum.BAR);
+    assertThat(pojo.getLong()).isEqualTo(88888L);
+    assertThat(pojo.getInt()).isEqualTo(123);
+    assertThatBuffer(pojo.getPacked()).hasBytes(MSGPACK_BUF1);
+    assertThatBuffer(pojo.getBinary()).hasBytes(BUF1);
+    assertThatBuffer(pojo.getString()).hasBytes(BUF2);
+    assertThat(pojo.nestedObject().getLong()).isEqualTo(123123L);
+  }
+
+  @Test
+  public void shouldWriteNotAccessedPropertiesAsTheyWereRead() {
+    // given
+    pojo.wrap(encodePOJO(POJOEnum.BAR, 88888L, 123, MSGPACK_BUF1));
+
+    // when
+    pojo.setLong(7777L);
+    pojo.nestedObject().setLong(24L);
+
+    final UnsafeBuffer resultBuffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(resultBuffer, 0);
+
+    // then
+    final Map<String, Object> msgPackMap =
+        MsgPackUtil.asMap(resultBuffer, 0, resultBuffer.capacity());
+    assertThat(msgPackMap)
+        .hasSize(7)
+        .contains(
+            entry("enumProp", POJOEnum.BAR.toString()),
+            entry("longProp", 7777L),
+            entry("intProp", 123L),
+            entry("stringProp", "bar"),
+            entry("binaryProp", BUF1.byteArray()),
+            entry("objectProp", Map.of("foo", 24L)));
+  }
+
+  @Test
+  public void shouldDeserializeWithReusedPOJO() {
+    // given
+    pojo.wrap(encodePOJO(POJOEnum.BAR, 88888L, 123, MSGPACK_BUF1));
+
+    // when
+    pojo.reset();
+    pojo.wrap(encodePOJO(POJOEnum.FOO, 7777L, 456, MSGPACK_BUF2));
+
+    // then
+    assertThat(pojo.getEnum()).isEqualByComparingTo(POJOEnum.FOO);
+    assertThat(pojo.getLong()).isEqualTo(7777L);
+    assertThat(pojo.getInt()).isEqualTo(456);
+    assertThatBuffer(pojo.getPacked()).hasBytes(MSGPACK_BUF2);
+  }
+
+  @Test
+  public void shouldFailOnAccessOfInvalidNestedObject() {
+    // given
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(7);
+              w.writeString(wrapString("enumProp"));
+              w.writeString(wrapString(POJOEnum.FOO.toString()));
+              w.writeString(wrapString("longProp"));
+              w.writeInteger(1L);
+              w.writeString(wrapString("intProp"));
+              w.writeInteger(2L);
+              w.writeString(wrapString("packedProp"));
+              w.writeRaw(MSGPACK_BUF1);
+              w.writeString(wrapString("binaryProp"));
+              w.writeBinary(BUF1);
+              w.writeString(wrapString("stringProp"));
+              w.writeString(BUF2);
+              w.writeString(wrapString("objectProp"));
+              w.writeRaw(MSGPACK_INVALID_NESTED);
+            });
+
+    // when
+    pojo.wrap(buffer);
+
+    // then
+    assertThat(pojo.getLong()).isEqualTo(1L);
+    assertThatThrownBy(pojo::nestedObject)
+        .isInstanceOf(MsgpackPropertyException.class)
+        .hasMessageStartingWith("Property 'objectProp' is invalid");
+  }
+
+  @Test
+  public void shouldFailIfRequiredPropertyIsMissing() {
+    // given
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+              w.writeString(wrapString("longProp"));
+              w.writeInteger(1L);
+            });
+
+    // then
+    assertThatThrownBy(() -> pojo.wrap(buffer))
+        .hasRootCauseMessage("Property 'enumProp' has no valid value");
+  }
+
+  private static DirectBuffer encodePOJO(
+      final POJOEnum enumValue,
+      final long longValue,
+      final int intValue,
+      final DirectBuffer packed) {
+    return encodeMsgPack(
+        (w) -> {
+          w.writeMapHeader(7);
+
+          w.writeString(wrapString("enumProp"));
+          w.writeString(wrapString(enumValue.toString()));
+
+          w.writeString(wrapString("binaryProp"));
+          w.writeBinary(BUF1);
+
+          w.writeString(wrapString("stringProp"));
+          w.writeString(BUF2);
+
+          w.writeString(wrapString("packedProp"));
+          w.writeRaw(packed);
+
+          w.writeString(wrapString("longProp"));
+          w.writeInteger(longValue);
+
+          w.writeString(wrapString("intProp"));
+          w.writeInteger(intValue);
+
+          w.writeString(wrapString("objectProp"));
+          w.writeRaw(MSGPACK_BUF1);
+        });
+  }
+}
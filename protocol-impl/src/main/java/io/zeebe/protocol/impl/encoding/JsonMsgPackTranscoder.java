@@ -0,0 +1,742 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import io.zeebe.msgpack.spec.MsgPackCodes;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.util.Arrays;
+import java.util.Base64;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Transcodes JSON documents to MessagePack and back without building an intermediate tree or token
+ * stream. The JSON is parsed directly from its UTF-8 bytes into a {@link MsgPackWriter}, and
+ * MessagePack is read with a {@link MsgPackReader} and written as JSON bytes. Both directions write
+ * into buffers which are owned and reused by the transcoder.
+ *
+ * <p>The accepted JSON is the same as with the Jackson based conversion of {@link
+ * MsgPackConverter}: strings and field names may also be enclosed in single quotes.
+ *
+ * <p>An instance is not thread-safe. The returned buffers are only valid until the next call of the
+ * same direction.
+ */
+public final class JsonMsgPackTranscoder {
+
+  private static final int INITIAL_CAPACITY = 4 * 1024;
+  private static final int INITIAL_DEPTH = 16;
+
+  /**
+   * The header of a map or an array is written when its size is known, i.e. after its content.
+   * Until then, space for the largest header is reserved and the content is moved if a smaller
+   * header is sufficient.
+   */
+  private static final int RESERVED_HEADER_LENGTH = 5;
+
+  private static final long MIN_LONG_DIV_10 = Long.MIN_VALUE / 10;
+  private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+  private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+  private static final byte[] HEX_DIGITS = {
+    '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+  };
+
+  private final ExpandableArrayBuffer msgPackBuffer = new ExpandableArrayBuffer(INITIAL_CAPACITY);
+  private final ExpandableArrayBuffer stringBuffer = new ExpandableArrayBuffer(INITIAL_CAPACITY);
+  private final ExpandableArrayBuffer jsonBuffer = new ExpandableArrayBuffer(INITIAL_CAPACITY);
+  private final UnsafeBuffer msgPackView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer jsonView = new UnsafeBuffer(0, 0);
+  private final MsgPackWriter writer = new MsgPackWriter();
+  private final MsgPackReader reader = new MsgPackReader();
+
+  // JSON to MessagePack
+  private DirectBuffer json;
+  private int position;
+  private int limit;
+
+  // open containers: the size of a JSON container is counted while it is read, the size of a
+  // MessagePack container is read from its header and the index of the next item is tracked
+  private int depth;
+  private boolean[] isMap = new boolean[INITIAL_DEPTH];
+  private int[] headerOffsets = new int[INITIAL_DEPTH];
+  private int[] sizes = new int[INITIAL_DEPTH];
+  private int[] indices = new int[INITIAL_DEPTH];
+
+  // MessagePack to JSON
+  private int jsonLength;
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  ///////////////////////////////////// JSON to MSGPACK //////////////////////////////////////////
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  public DirectBuffer toMsgPack(final DirectBuffer json) {
+    return toMsgPack(json, 0, json.capacity());
+  }
+
+  /**
+   * Transcodes the given JSON document to MessagePack. The document can be an object, an array or a
+   * scalar value.
+   *
+   * @param json the buffer containing the UTF-8 encoded JSON document
+   * @param offset the offset of the document in the buffer
+   * @param length the length of the document
+   * @return a view of the MessagePack document, which is valid until the next call
+   * @throws IllegalArgumentException if the document is not valid JSON
+   */
+  public DirectBuffer toMsgPack(final DirectBuffer json, final int offset, final int length) {
+    this.json = json;
+    position = offset;
+    limit = offset + length;
+    depth = 0;
+    writer.wrap(msgPackBuffer, 0);
+
+    try {
+      transcodeJson();
+
+      skipWhitespace();
+      if (position < limit) {
+        throw unexpectedCharacter("the end of the document");
+      }
+    } finally {
+      this.json = null;
+    }
+
+    msgPackView.wrap(msgPackBuffer, 0, writer.getOffset());
+    return msgPackView;
+  }
+
+  private void transcodeJson() {
+    while (true) {
+      if (!transcodeJsonValue()) {
+        // a container was opened and its first value follows
+        continue;
+      }
+
+      // the value is complete, continue with the enclosing container
+      while (depth > 0) {
+        skipWhitespace();
+        final byte c = nextJsonByte();
+        final boolean inMap = isMap[depth - 1];
+
+        if (c == ',') {
+          if (inMap) {
+            transcodeKey();
+          } else {
+            sizes[depth - 1] += 1;
+          }
+          break;
+        } else if (c == (inMap ? '}' : ']')) {
+          closeContainer();
+        } else {
+          position -= 1;
+          throw unexpectedCharacter(inMap ? "',' or '}'" : "',' or ']'");
+        }
+      }
+
+      if (depth == 0) {
+        return;
+      }
+    }
+  }
+
+  /** @return false if a non-empty container was opened, true if the value is complete */
+  private boolean transcodeJsonValue() {
+    skipWhitespace();
+    final byte c = nextJsonByte();
+
+    switch (c) {
+      case '{':
+        openContainer(true);
+        skipWhitespace();
+        if (peekJsonByte() == '}') {
+          position += 1;
+          closeContainer();
+          return true;
+        }
+        transcodeKey();
+        return false;
+
+      case '[':
+        openContainer(false);
+        skipWhitespace();
+        if (peekJsonByte() == ']') {
+          position += 1;
+          closeContainer();
+          return true;
+        }
+        sizes[depth - 1] = 1;
+        return false;
+
+      case '"':
+      case '\'':
+        transcodeString(c);
+        return true;
+
+      case 't':
+        expectLiteral(TRUE);
+        writer.writeBoolean(true);
+        return true;
+
+      case 'f':
+        expectLiteral(FALSE);
+        writer.writeBoolean(false);
+        return true;
+
+      case 'n':
+        expectLiteral(NULL);
+        writer.writeNil();
+        return true;
+
+      default:
+        if (c == '-' || isDigit(c)) {
+          position -= 1;
+          transcodeNumber();
+          return true;
+        }
+
+        position -= 1;
+        throw unexpectedCharacter("a value");
+    }
+  }
+
+  private void transcodeKey() {
+    skipWhitespace();
+    final byte quote = nextJsonByte();
+    if (quote != '"' && quote != '\'') {
+      position -= 1;
+      throw unexpectedCharacter("a field name");
+    }
+    transcodeString(quote);
+
+    skipWhitespace();
+    if (nextJsonByte() != ':') {
+      position -= 1;
+      throw unexpectedCharacter("':'");
+    }
+
+    sizes[depth - 1] += 1;
+  }
+
+  private void transcodeString(final byte quote) {
+    final int start = position;
+
+    // most strings contain no escape sequences and are copied as they are
+    while (position < limit) {
+      final byte c = json.getByte(position);
+      if (c == quote) {
+        writer.writeString(json, start, position - start);
+        position += 1;
+        return;
+      } else if (c == '\\') {
+        break;
+      } else if (isControlCharacter(c)) {
+        throw unexpectedCharacter("a string character");
+      }
+      position += 1;
+    }
+
+    stringBuffer.putBytes(0, json, start, position - start);
+    final int length = unescapeString(quote, position - start);
+    writer.writeString(stringBuffer, 0, length);
+  }
+
+  private int unescapeString(final byte quote, final int offset) {
+    int length = offset;
+
+    while (true) {
+      final byte c = nextJsonByte();
+
+      if (c == quote) {
+        return length;
+      } else if (c == '\\') {
+        final byte escaped = nextJsonByte();
+        switch (escaped) {
+          case '"':
+          case '\'':
+          case '\\':
+          case '/':
+            stringBuffer.putByte(length++, escaped);
+            break;
+          case 'b':
+            stringBuffer.putByte(length++, (byte) '\b');
+            break;
+          case 'f':
+            stringBuffer.putByte(length++, (byte) '\f');
+            break;
+          case 'n':
+            stringBuffer.putByte(length++, (byte) '\n');
+            break;
+          case 'r':
+            stringBuffer.putByte(length++, (byte) '\r');
+            break;
+          case 't':
+            stringBuffer.putByte(length++, (byte) '\t');
+            break;
+          case 'u':
+            length = unescapeCodePoint(length);
+            break;
+          default:
+            position -= 1;
+            throw unexpectedCharacter("an escape sequence");
+        }
+      } else if (isControlCharacter(c)) {
+        position -= 1;
+        throw unexpectedCharacter("a string character");
+      } else {
+        stringBuffer.putByte(length++, c);
+      }
+    }
+  }
+
+  private int unescapeCodePoint(final int offset) {
+    int codePoint = readHexCodeUnit();
+
+    if (Character.isHighSurrogate((char) codePoint)
+        && position + 6 <= limit
+        && json.getByte(position) == '\\'
+        && json.getByte(position + 1) == 'u') {
+      final int mark = position;
+      position += 2;
+      final char low = (char) readHexCodeUnit();
+      if (Character.isLowSurrogate(low)) {
+        codePoint = Character.toCodePoint((char) codePoint, low);
+      } else {
+        position = mark;
+      }
+    }
+
+    return offset + putUtf8(offset, codePoint);
+  }
+
+  private int readHexCodeUnit() {
+    int codeUnit = 0;
+    for (int i = 0; i < 4; i++) {
+      final int digit = Character.digit(nextJsonByte(), 16);
+      if (digit < 0) {
+        position -= 1;
+        throw unexpectedCharacter("a hex digit");
+      }
+      codeUnit = (codeUnit << 4) | digit;
+    }
+    return codeUnit;
+  }
+
+  private int putUtf8(final int offset, final int codePoint) {
+    if (codePoint < 0x80) {
+      stringBuffer.putByte(offset, (byte) codePoint);
+      return 1;
+    } else if (codePoint < 0x800) {
+      stringBuffer.putByte(offset, (byte) (0xC0 | (codePoint >> 6)));
+      stringBuffer.putByte(offset + 1, (byte) (0x80 | (codePoint & 0x3F)));
+      return 2;
+    } else if (codePoint < 0x10000) {
+      stringBuffer.putByte(offset, (byte) (0xE0 | (codePoint >> 12)));
+      stringBuffer.putByte(offset + 1, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      stringBuffer.putByte(offset + 2, (byte) (0x80 | (codePoint & 0x3F)));
+      return 3;
+    } else {
+      stringBuffer.putByte(offset, (byte) (0xF0 | (codePoint >> 18)));
+      stringBuffer.putByte(offset + 1, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+      stringBuffer.putByte(offset + 2, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      stringBuffer.putByte(offset + 3, (byte) (0x80 | (codePoint & 0x3F)));
+      return 4;
+    }
+  }
+
+  private void transcodeNumber() {
+    final int start = position;
+    final boolean negative = peekJsonByte() == '-';
+    if (negative) {
+      position += 1;
+    }
+
+    // the value is accumulated negatively to cover Long.MIN_VALUE
+    long value = 0;
+    boolean overflow = false;
+
+    final byte first = nextJsonByte();
+    if (first == '0') {
+      if (position < limit && isDigit(json.getByte(position))) {
+        throw unexpectedCharacter("no leading zeros");
+      }
+    } else if (isDigit(first)) {
+      value = -(first - '0');
+      while (position < limit && isDigit(json.getByte(position))) {
+        final int digit = json.getByte(position) - '0';
+        if (value < MIN_LONG_DIV_10 || value * 10 < Long.MIN_VALUE + digit) {
+          overflow = true;
+        } else {
+          value = value * 10 - digit;
+        }
+        position += 1;
+      }
+    } else {
+      position -= 1;
+      throw unexpectedCharacter("a digit");
+    }
+
+    boolean isFloat = false;
+    if (position < limit && json.getByte(position) == '.') {
+      position += 1;
+      expectDigits();
+      isFloat = true;
+    }
+    if (position < limit && (json.getByte(position) == 'e' || json.getByte(position) == 'E')) {
+      position += 1;
+      if (position < limit && (json.getByte(position) == '+' || json.getByte(position) == '-')) {
+        position += 1;
+      }
+      expectDigits();
+      isFloat = true;
+    }
+
+    if (isFloat) {
+      // always float64, like Jackson, even if the value would fit into a float32
+      writer.writeDouble(
+          Double.parseDouble(json.getStringWithoutLengthAscii(start, position - start)));
+    } else if (overflow || (!negative && value == Long.MIN_VALUE)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected an integer in the range of a long, but found '%s'",
+              json.getStringWithoutLengthAscii(start, position - start)));
+    } else {
+      writer.writeInteger(negative ? value : -value);
+    }
+  }
+
+  private void expectDigits() {
+    if (position >= limit || !isDigit(json.getByte(position))) {
+      throw unexpectedCharacter("a digit");
+    }
+    while (position < limit && isDigit(json.getByte(position))) {
+      position += 1;
+    }
+  }
+
+  private void expectLiteral(final byte[] literal) {
+    final int start = position - 1;
+    for (int i = 1; i < literal.length; i++) {
+      if (position >= limit || json.getByte(position) != literal[i]) {
+        position = start;
+        throw unexpectedCharacter("a value");
+      }
+      position += 1;
+    }
+  }
+
+  private void openContainer(final boolean map) {
+    ensureDepthCapacity();
+
+    isMap[depth] = map;
+    headerOffsets[depth] = writer.getOffset();
+    sizes[depth] = 0;
+    depth += 1;
+
+    writer.reserveMapHeader();
+  }
+
+  private void closeContainer() {
+    depth -= 1;
+    final boolean map = isMap[depth];
+    final int size = sizes[depth];
+    final int headerOffset = headerOffsets[depth];
+    final int contentOffset = headerOffset + RESERVED_HEADER_LENGTH;
+    final int contentLength = writer.getOffset() - contentOffset;
+    final int headerLength =
+        map
+            ? MsgPackWriter.getEncodedMapHeaderLenght(size)
+            : MsgPackWriter.getEncodedArrayHeaderLenght(size);
+
+    if (headerLength < RESERVED_HEADER_LENGTH && contentLength > 0) {
+      final byte[] bytes = msgPackBuffer.byteArray();
+      System.arraycopy(bytes, contentOffset, bytes, headerOffset + headerLength, contentLength);
+    }
+
+    writer.wrap(msgPackBuffer, headerOffset);
+    if (map) {
+      writer.writeMapHeader(size);
+    } else {
+      writer.writeArrayHeader(size);
+    }
+    writer.wrap(msgPackBuffer, headerOffset + headerLength + contentLength);
+  }
+
+  private void ensureDepthCapacity() {
+    if (depth == isMap.length) {
+      final int capacity = depth * 2;
+      isMap = Arrays.copyOf(isMap, capacity);
+      headerOffsets = Arrays.copyOf(headerOffsets, capacity);
+      sizes = Arrays.copyOf(sizes, capacity);
+      indices = Arrays.copyOf(indices, capacity);
+    }
+  }
+
+  private void skipWhitespace() {
+    while (position < limit) {
+      final byte c = json.getByte(position);
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return;
+      }
+      position += 1;
+    }
+  }
+
+  private byte peekJsonByte() {
+    if (position >= limit) {
+      throw new IllegalArgumentException("Unexpected end of the JSON document");
+    }
+    return json.getByte(position);
+  }
+
+  private byte nextJsonByte() {
+    final byte c = peekJsonByte();
+    position += 1;
+    return c;
+  }
+
+  private IllegalArgumentException unexpectedCharacter(final String expected) {
+    if (position >= limit) {
+      return new IllegalArgumentException(
+          String.format("Expected %s, but reached the end of the JSON document", expected));
+    }
+
+    return new IllegalArgumentException(
+        String.format(
+            "Expected %s, but found '%c' at offset %d of the JSON document",
+            expected, (char) (json.getByte(position) & 0xFF), position));
+  }
+
+  private static boolean isDigit(final byte c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isControlCharacter(final byte c) {
+    // bytes of multi-byte UTF-8 sequences are negative
+    return c >= 0 && c < 0x20;
+  }
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  ///////////////////////////////////// MSGPACK to JSON //////////////////////////////////////////
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  public DirectBuffer toJson(final DirectBuffer msgPack) {
+    return toJson(msgPack, 0, msgPack.capacity());
+  }
+
+  /**
+   * Transcodes the given MessagePack document to JSON. Map keys must be strings or integers. Binary
+   * values are written as Base64 encoded strings.
+   *
+   * @param msgPack the buffer containing the MessagePack document
+   * @param offset the offset of the document in the buffer
+   * @param length the length of the document
+   * @return a view of the UTF-8 encoded JSON document, which is valid until the next call
+   */
+  public DirectBuffer toJson(final DirectBuffer msgPack, final int offset, final int length) {
+    reader.wrap(msgPack, offset, length);
+    jsonLength = 0;
+    depth = 0;
+
+    try {
+      transcodeMsgPack();
+    } finally {
+      reader.reset();
+    }
+
+    jsonView.wrap(jsonBuffer, 0, jsonLength);
+    return jsonView;
+  }
+
+  private void transcodeMsgPack() {
+    do {
+      if (depth > 0) {
+        final int level = depth - 1;
+        final int index = indices[level];
+        if (index == sizes[level]) {
+          closeJsonContainer();
+          continue;
+        }
+        indices[level] += 1;
+
+        if (index > 0 && (!isMap[level] || index % 2 == 0)) {
+          putJsonByte(',');
+        }
+        if (isMap[level] && index % 2 == 0) {
+          transcodeMsgPackKey();
+          putJsonByte(':');
+          continue;
+        }
+      }
+
+      transcodeMsgPackValue();
+    } while (depth > 0);
+  }
+
+  private void transcodeMsgPackValue() {
+    final byte header = reader.getBuffer().getByte(reader.getOffset());
+    final MsgPackToken token = reader.readToken();
+
+    switch (token.getType()) {
+      case MAP:
+        putJsonByte('{');
+        // keys and values are counted as items
+        openJsonContainer(true, token.getSize() * 2);
+        break;
+      case ARRAY:
+        putJsonByte('[');
+        openJsonContainer(false, token.getSize());
+        break;
+      case STRING:
+        putJsonString(token.getValueBuffer());
+        break;
+      case INTEGER:
+        jsonLength += jsonBuffer.putLongAscii(jsonLength, token.getIntegerValue());
+        break;
+      case FLOAT:
+        putJsonFloat(header, token.getFloatValue());
+        break;
+      case BOOLEAN:
+        putJsonBytes(token.getBooleanValue() ? TRUE : FALSE);
+        break;
+      case NIL:
+        putJsonBytes(NULL);
+        break;
+      case BINARY:
+        putJsonBinary(token.getValueBuffer());
+        break;
+      default:
+        throw new IllegalArgumentException(
+            String.format("Expected a MessagePack value, but found '%s'", token.getType()));
+    }
+  }
+
+  private void transcodeMsgPackKey() {
+    final MsgPackToken token = reader.readToken();
+
+    switch (token.getType()) {
+      case STRING:
+        putJsonString(token.getValueBuffer());
+        break;
+      case INTEGER:
+        putJsonByte('"');
+        jsonLength += jsonBuffer.putLongAscii(jsonLength, token.getIntegerValue());
+        putJsonByte('"');
+        break;
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected a string or an integer as key of a MessagePack map, but found '%s'",
+                token.getType()));
+    }
+  }
+
+  private void openJsonContainer(final boolean map, final int size) {
+    ensureDepthCapacity();
+
+    isMap[depth] = map;
+    sizes[depth] = size;
+    indices[depth] = 0;
+    depth += 1;
+  }
+
+  private void closeJsonContainer() {
+    depth -= 1;
+    putJsonByte(isMap[depth] ? '}' : ']');
+  }
+
+  private void putJsonString(final DirectBuffer value) {
+    final int length = value.capacity();
+    putJsonByte('"');
+
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      final byte c = value.getByte(i);
+      if (c != '"' && c != '\\' && !isControlCharacter(c)) {
+        continue;
+      }
+
+      jsonBuffer.putBytes(jsonLength, value, start, i - start);
+      jsonLength += i - start;
+      start = i + 1;
+
+      putJsonByte('\\');
+      switch (c) {
+        case '"':
+        case '\\':
+          putJsonByte(c);
+          break;
+        case '\b':
+          putJsonByte('b');
+          break;
+        case '\f':
+          putJsonByte('f');
+          break;
+        case '\n':
+          putJsonByte('n');
+          break;
+        case '\r':
+          putJsonByte('r');
+          break;
+        case '\t':
+          putJsonByte('t');
+          break;
+        default:
+          putJsonByte('u');
+          putJsonByte('0');
+          putJsonByte('0');
+          putJsonByte(HEX_DIGITS[c >> 4]);
+          putJsonByte(HEX_DIGITS[c & 0xF]);
+      }
+    }
+
+    jsonBuffer.putBytes(jsonLength, value, start, length - start);
+    jsonLength += length - start;
+    putJsonByte('"');
+  }
+
+  private void putJsonFloat(final byte header, final double value) {
+    final String formatted =
+        header == MsgPackCodes.FLOAT32 ? Float.toString((float) value) : Double.toString(value);
+
+    // like Jackson, non-finite numbers are written as strings
+    final boolean quoted = !Double.isFinite(value);
+    if (quoted) {
+      putJsonByte('"');
+    }
+    jsonLength += jsonBuffer.putStringWithoutLengthAscii(jsonLength, formatted);
+    if (quoted) {
+      putJsonByte('"');
+    }
+  }
+
+  private void putJsonBinary(final DirectBuffer value) {
+    final byte[] bytes = new byte[value.capacity()];
+    value.getBytes(0, bytes);
+
+    putJsonByte('"');
+    putJsonBytes(Base64.getEncoder().encode(bytes));
+    putJsonByte('"');
+  }
+
+  private void putJsonBytes(final byte[] bytes) {
+    jsonBuffer.putBytes(jsonLength, bytes);
+    jsonLength += bytes.length;
+  }
+
+  private void putJsonByte(final char c) {
+    putJsonByte((byte) c);
+  }
+
+  private void putJsonByte(final byte c) {
+    jsonBuffer.putByte(jsonLength, c);
+    jsonLength += 1;
+  }
+}
@@ -9,33 +9,27 @@ package io.zeebe.protocol.impl.encoding;
 
 import static io.zeebe.util.StringUtil.getBytes;
 
-import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.zeebe.protocol.record.JsonSerializable;
 import io.zeebe.util.buffer.BufferUtil;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 public final class MsgPackConverter {
 
-  private static final JsonEncoding JSON_ENCODING = JsonEncoding.UTF8;
   private static final Charset JSON_CHARSET = StandardCharsets.UTF_8;
   private static final TypeReference<HashMap<String, Object>> OBJECT_MAP_TYPE_REFERENCE =
       new TypeReference<>() {};
@@ -58,6 +52,10 @@ public final class MsgPackConverter {
   private static final ObjectMapper MESSSAGE_PACK_OBJECT_MAPPER =
       new ObjectMapper(MESSAGE_PACK_FACTORY);
 
+  /** documents are transcoded directly, reusing the buffers of the calling thread */
+  private static final ThreadLocal<JsonMsgPackTranscoder> TRANSCODER =
+      ThreadLocal.withInitial(JsonMsgPackTranscoder::new);
+
   // prevent instantiation
   private MsgPackConverter() {}
 
@@ -66,16 +64,23 @@ public final class MsgPackConverter {
   ////////////////////////////////////////////////////////////////////////////////////////////////
 
   public static byte[] convertToMsgPack(final String json) {
-    final byte[] jsonBytes = getBytes(json, JSON_CHARSET);
-    final ByteArrayInputStream inputStream = new ByteArrayInputStream(jsonBytes);
-    return convertToMsgPack(inputStream);
+    return transcodeToMsgPack(getBytes(json, JSON_CHARSET));
   }
 
   public static byte[] convertToMsgPack(final InputStream inputStream) {
-    try (final ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      convert(inputStream, outputStream, JSON_FACTORY, MESSAGE_PACK_FACTORY);
+    final byte[] jsonBytes;
+    try {
+      jsonBytes = inputStream.readAllBytes();
+    } catch (final IOException e) {
+      throw new RuntimeException("Failed to convert JSON to MessagePack", e);
+    }
+    return transcodeToMsgPack(jsonBytes);
+  }
 
-      return outputStream.toByteArray();
+  private static byte[] transcodeToMsgPack(final byte[] jsonBytes) {
+    try {
+      final DirectBuffer msgPack = TRANSCODER.get().toMsgPack(new UnsafeBuffer(jsonBytes));
+      return BufferUtil.bufferAsArray(msgPack);
     } catch (final Exception e) {
       throw new RuntimeException("Failed to convert JSON to MessagePack", e);
     }
@@ -86,58 +91,27 @@ public final class MsgPackConverter {
   ////////////////////////////////////////////////////////////////////////////////////////////////
 
   public static String convertToJson(final DirectBuffer buffer) {
-    return convertToJson(BufferUtil.bufferAsArray(buffer));
+    final DirectBuffer json = convertToJsonBuffer(buffer);
+    return json.getStringWithoutLengthUtf8(0, json.capacity());
   }
 
   public static String convertToJson(final byte[] msgPack) {
-    return convertToJson(new ByteArrayInputStream(msgPack));
-  }
-
-  private static String convertToJson(final InputStream msgPackInputStream) {
-    final byte[] jsonBytes = convertToJsonBytes(msgPackInputStream);
-    return new String(jsonBytes, JSON_CHARSET);
+    return convertToJson(new UnsafeBuffer(msgPack));
   }
 
   public static InputStream convertToJsonInputStream(final byte[] msgPack) {
-    final byte[] jsonBytes = convertToJsonBytes(msgPack);
-    return new ByteArrayInputStream(jsonBytes);
-  }
-
-  private static byte[] convertToJsonBytes(final byte[] msgPack) {
-    final InputStream inputStream = new ByteArrayInputStream(msgPack);
-    return convertToJsonBytes(inputStream);
+    final DirectBuffer json = convertToJsonBuffer(new UnsafeBuffer(msgPack));
+    return new ByteArrayInputStream(BufferUtil.bufferAsArray(json));
   }
 
-  private static byte[] convertToJsonBytes(final InputStream msgPackInputStream) {
-    try (final ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      convert(msgPackInputStream, outputStream, MESSAGE_PACK_FACTORY, JSON_FACTORY);
-
-      return outputStream.toByteArray();
+  private static DirectBuffer convertToJsonBuffer(final DirectBuffer msgPack) {
+    try {
+      return TRANSCODER.get().toJson(msgPack);
     } catch (final Exception e) {
       throw new RuntimeException("Failed to convert MessagePack to JSON", e);
     }
   }
 
-  private static void convert(
-      final InputStream in,
-      final OutputStream out,
-      final JsonFactory inFormat,
-      final JsonFactory outFormat)
-      throws Exception {
-    try (final JsonParser parser = inFormat.createParser(in);
-        final JsonGenerator generator = outFormat.createGenerator(out, JSON_ENCODING)) {
-
-      final JsonToken token = parser.nextToken();
-      if (!token.isStructStart() && !token.isScalarValue()) {
-        throw new RuntimeException(
-            "Document does not begin with an object, an array, or a scalar value");
-      }
-
-      generator.copyCurrentStructure(parser);
-      generator.flush();
-    }
-  }
-
   ////////////////////////////////////////////////////////////////////////////////////////////////
   ///////////////////////////////////// MSGPACK to MAP ///////////////////////////////////////////
   ////////////////////////////////////////////////////////////////////////////////////////////////
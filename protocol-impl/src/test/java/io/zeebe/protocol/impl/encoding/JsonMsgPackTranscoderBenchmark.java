@@ -0,0 +1,141 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import io.zeebe.util.buffer.BufferUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the conversion of variable documents of the given size by copying the structure between
+ * Jackson parsers and generators, as it was done before, with the {@link JsonMsgPackTranscoder}.
+ * The documents are objects of nested variables with strings, numbers, booleans and arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class JsonMsgPackTranscoderBenchmark {
+
+  private static final JsonFactory MESSAGE_PACK_FACTORY =
+      new MessagePackFactory().setReuseResourceInGenerator(false).setReuseResourceInParser(false);
+  private static final JsonFactory JSON_FACTORY =
+      new MappingJsonFactory().configure(Feature.ALLOW_SINGLE_QUOTES, true);
+
+  @Param({"jackson", "transcoder"})
+  private String converter;
+
+  @Param({"1024", "102400", "1048576"})
+  private int documentSize;
+
+  private final JsonMsgPackTranscoder transcoder = new JsonMsgPackTranscoder();
+  private byte[] json;
+  private byte[] msgPack;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JsonMsgPackTranscoderBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    json = createDocument(documentSize).getBytes(StandardCharsets.UTF_8);
+    msgPack = convert(json, JSON_FACTORY, MESSAGE_PACK_FACTORY);
+  }
+
+  @Benchmark
+  public byte[] jsonToMsgPack() throws IOException {
+    if ("jackson".equals(converter)) {
+      return convert(json, JSON_FACTORY, MESSAGE_PACK_FACTORY);
+    }
+
+    final DirectBuffer converted = transcoder.toMsgPack(new UnsafeBuffer(json));
+    return BufferUtil.bufferAsArray(converted);
+  }
+
+  @Benchmark
+  public String msgPackToJson() throws IOException {
+    if ("jackson".equals(converter)) {
+      return new String(
+          convert(msgPack, MESSAGE_PACK_FACTORY, JSON_FACTORY), StandardCharsets.UTF_8);
+    }
+
+    final DirectBuffer converted = transcoder.toJson(new UnsafeBuffer(msgPack));
+    return converted.getStringWithoutLengthUtf8(0, converted.capacity());
+  }
+
+  private static byte[] convert(
+      final byte[] document, final JsonFactory inFormat, final JsonFactory outFormat)
+      throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (final JsonParser parser = inFormat.createParser(document);
+        final JsonGenerator generator =
+            outFormat.createGenerator(outputStream, JsonEncoding.UTF8)) {
+      parser.nextToken();
+      generator.copyCurrentStructure(parser);
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static String createDocument(final int size) {
+    final StringBuilder builder = new StringBuilder(size + 256).append('{');
+
+    for (int i = 0; builder.length() < size; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder
+          .append("\"var")
+          .append(i)
+          .append("\":{\"name\":\"customer ")
+          .append(i)
+          .append("\",\"amount\":")
+          .append(i * 17.25)
+          .append(",\"count\":")
+          .append(i)
+          .append(",\"active\":")
+          .append(i % 2 == 0)
+          .append(",\"tags\":[\"a\",\"b\\n\",")
+          .append(i)
+          .append("]}");
+    }
+
+    return builder.append('}').toString();
+  }
+}
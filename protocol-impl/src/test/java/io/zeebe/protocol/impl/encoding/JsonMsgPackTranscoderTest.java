@@ -0,0 +1,183 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsArray;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.test.util.MsgPackUtil;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+public final class JsonMsgPackTranscoderTest {
+
+  private static final ObjectMapper JSON_MAPPER =
+      new ObjectMapper().configure(Feature.ALLOW_SINGLE_QUOTES, true);
+  private static final ObjectMapper MSGPACK_MAPPER = new ObjectMapper(new MessagePackFactory());
+
+  private final JsonMsgPackTranscoder transcoder = new JsonMsgPackTranscoder();
+
+  @Test
+  public void shouldTranscodeJsonToMsgPack() throws Exception {
+    // given
+    final String json =
+        "{\"string\":\"foo\",\"int\":-12,\"long\":9223372036854775807,\"float\":1.5e3,"
+            + "\"bool\":true,\"nil\":null,\"array\":[1,[2,{}],[]],\"object\":{\"nested\":false}}";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(wrapString(json));
+
+    // then
+    assertThat(MSGPACK_MAPPER.readTree(bufferAsArray(msgPack)))
+        .isEqualTo(JSON_MAPPER.readTree(json));
+  }
+
+  @Test
+  public void shouldTranscodeMsgPackToJson() {
+    // given
+    final String json =
+        "{\"string\":\"foo\",\"int\":-12,\"long\":-9223372036854775808,\"float\":1.5,"
+            + "\"bool\":false,\"nil\":null,\"array\":[1,[2,{}],[]],\"object\":{\"nested\":true}}";
+    final DirectBuffer msgPack = MsgPackUtil.asMsgPack(json);
+
+    // when
+    final DirectBuffer transcoded = transcoder.toJson(msgPack);
+
+    // then
+    assertThat(bufferAsString(transcoded)).isEqualTo(json);
+  }
+
+  @Test
+  public void shouldTranscodeScalarDocuments() {
+    assertThat(roundTrip("\"foo\"")).isEqualTo("\"foo\"");
+    assertThat(roundTrip("123")).isEqualTo("123");
+    assertThat(roundTrip("-0.25")).isEqualTo("-0.25");
+    assertThat(roundTrip(" true ")).isEqualTo("true");
+    assertThat(roundTrip("null")).isEqualTo("null");
+  }
+
+  @Test
+  public void shouldTranscodeSingleQuotedStrings() {
+    // when
+    final String json = roundTrip("{'foo' : 'it\\'s \"bar\"', \"baz\": [ 'a' ]}");
+
+    // then
+    assertThat(json).isEqualTo("{\"foo\":\"it's \\\"bar\\\"\",\"baz\":[\"a\"]}");
+  }
+
+  @Test
+  public void shouldUnescapeAndEscapeStrings() {
+    // given
+    final String json = "\"tab\\t quote\\\" slash\\/ \\u00e4 \\ud83d\\ude00 \\u0001\"";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(wrapString(json));
+
+    // then
+    final MsgPackReader reader = new MsgPackReader();
+    reader.wrap(msgPack, 0, msgPack.capacity());
+    assertThat(bufferAsString(reader.readToken().getValueBuffer()))
+        .isEqualTo("tab\t quote\" slash/ \u00e4 \ud83d\ude00 \u0001");
+    assertThat(bufferAsString(transcoder.toJson(msgPack)))
+        .isEqualTo("\"tab\\t quote\\\" slash/ \u00e4 \ud83d\ude00 \\u0001\"");
+  }
+
+  @Test
+  public void shouldWriteSmallestContainerHeaders() {
+    // given
+    final String json =
+        "{\"small\":"
+            + array(15)
+            + ",\"medium\":"
+            + array(16)
+            + ",\"large\":"
+            + array(1 << 16)
+            + ",\"empty\":{}}";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(wrapString(json));
+
+    // then
+    assertThat(bufferAsArray(msgPack)).isEqualTo(MsgPackUtil.asMsgPackReturnArray(json));
+    assertThat(bufferAsString(transcoder.toJson(msgPack))).isEqualTo(json);
+  }
+
+  @Test
+  public void shouldWriteFloatsAsFloat64() {
+    // given
+    final String json = "{\"exact\":1.5,\"inexact\":0.1,\"exponent\":-2e3,\"list\":[0.25]}";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(wrapString(json));
+
+    // then
+    assertThat(bufferAsArray(msgPack)).isEqualTo(MsgPackUtil.asMsgPackReturnArray(json));
+    assertThat(bufferAsString(transcoder.toJson(msgPack)))
+        .isEqualTo("{\"exact\":1.5,\"inexact\":0.1,\"exponent\":-2000.0,\"list\":[0.25]}");
+  }
+
+  @Test
+  public void shouldReuseBuffers() {
+    // given
+    transcoder.toMsgPack(wrapString("{\"foo\":" + array(1_000) + "}"));
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(wrapString("{\"foo\":1}"));
+
+    // then
+    assertThat(bufferAsArray(msgPack)).isEqualTo(MsgPackUtil.asMsgPackReturnArray("{\"foo\":1}"));
+  }
+
+  @Test
+  public void shouldRejectInvalidJson() {
+    final String[] documents = {
+      "",
+      "}",
+      "{",
+      "{\"foo\"}",
+      "{\"foo\":1,}",
+      "[1,]",
+      "[1 2]",
+      "{foo:1}",
+      "01",
+      "1.",
+      "-",
+      "tru",
+      "\"foo",
+      "\"foo\u0001\"",
+      "\"\\x\"",
+      "{} {}",
+      "9223372036854775808"
+    };
+
+    for (final String document : documents) {
+      assertThatThrownBy(() -> transcoder.toMsgPack(wrapString(document)))
+          .describedAs(document)
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  private String roundTrip(final String json) {
+    return bufferAsString(transcoder.toJson(transcoder.toMsgPack(wrapString(json))));
+  }
+
+  private static String array(final int size) {
+    return IntStream.range(0, size)
+        .mapToObj(Integer::toString)
+        .collect(Collectors.joining(",", "[", "]"));
+  }
+}
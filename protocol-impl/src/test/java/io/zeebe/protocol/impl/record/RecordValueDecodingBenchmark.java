@@ -0,0 +1,192 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.record;
+
+import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
+
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.value.BpmnElementType;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures decoding the record values which are read most often by the stream processor, either
+ * eagerly or lazily. A processor usually reads one or two properties of a record, or reads it and
+ * writes it again with a single property changed, which is what the benchmarks do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RecordValueDecodingBenchmark {
+
+  @Param({"workflowInstance", "job", "message", "jobBatch"})
+  private String recordType;
+
+  @Param({"false", "true"})
+  private boolean lazyDecoding;
+
+  private final ExpandableArrayBuffer writeBuffer = new ExpandableArrayBuffer();
+  private DirectBuffer encodedRecord;
+  private UnpackedObject record;
+  private ToLongFunction<UnpackedObject> readProperty;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(RecordValueDecodingBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  @Setup
+  public void setup() {
+    final Supplier<UnpackedObject> recordFactory;
+    final UnpackedObject value;
+
+    switch (recordType) {
+      case "workflowInstance":
+        recordFactory = WorkflowInstanceRecord::new;
+        value = newWorkflowInstanceRecord();
+        readProperty = r -> ((WorkflowInstanceRecord) r).getFlowScopeKey();
+        break;
+      case "job":
+        recordFactory = JobRecord::new;
+        value = newJobRecord();
+        readProperty = r -> ((JobRecord) r).getElementInstanceKey();
+        break;
+      case "message":
+        recordFactory = MessageRecord::new;
+        value = newMessageRecord();
+        readProperty = r -> ((MessageRecord) r).getTimeToLive();
+        break;
+      case "jobBatch":
+        recordFactory = JobBatchRecord::new;
+        value = newJobBatchRecord();
+        readProperty = r -> ((JobBatchRecord) r).getTimeout();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown record type: " + recordType);
+    }
+
+    encodedRecord = encode(value);
+
+    record = recordFactory.get();
+    record.setLazyDecoding(lazyDecoding);
+  }
+
+  @Benchmark
+  public long readOneProperty() {
+    record.reset();
+    record.wrap(encodedRecord);
+    return readProperty.applyAsLong(record);
+  }
+
+  @Benchmark
+  public int readAndWrite() {
+    record.reset();
+    record.wrap(encodedRecord);
+    record.write(writeBuffer, 0);
+    return record.getLength();
+  }
+
+  private static DirectBuffer encode(final UnpackedObject value) {
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[value.getLength()]);
+    value.write(buffer, 0);
+    return buffer;
+  }
+
+  private static WorkflowInstanceRecord newWorkflowInstanceRecord() {
+    return new WorkflowInstanceRecord()
+        .setBpmnProcessId("order-process")
+        .setVersion(3)
+        .setWorkflowKey(2251799813685249L)
+        .setWorkflowInstanceKey(2251799813685251L)
+        .setElementId("collect-money")
+        .setFlowScopeKey(2251799813685251L)
+        .setBpmnElementType(BpmnElementType.SERVICE_TASK)
+        .setParentWorkflowInstanceKey(-1L)
+        .setParentElementInstanceKey(-1L);
+  }
+
+  private static JobRecord newJobRecord() {
+    return new JobRecord()
+        .setType("payment-service")
+        .setWorker("worker-1")
+        .setRetries(3)
+        .setDeadline(1_600_000_000_000L)
+        .setCustomHeaders(asMsgPack(Map.<String, Object>of("method", "VISA", "region", "eu-west")))
+        .setVariables(variables())
+        .setBpmnProcessId("order-process")
+        .setWorkflowDefinitionVersion(3)
+        .setWorkflowKey(2251799813685249L)
+        .setWorkflowInstanceKey(2251799813685251L)
+        .setElementId("collect-money")
+        .setElementInstanceKey(2251799813685257L);
+  }
+
+  private static JobBatchRecord newJobBatchRecord() {
+    final JobBatchRecord record =
+        new JobBatchRecord()
+            .setType("payment-service")
+            .setWorker("worker-1")
+            .setTimeout(300_000L)
+            .setMaxJobsToActivate(10);
+
+    final DirectBuffer job = encode(newJobRecord());
+    for (int i = 0; i < 10; i++) {
+      record.jobKeys().add().setValue(2251799813685260L + i);
+      record.jobs().add().wrap(job);
+    }
+
+    return record;
+  }
+
+  private static MessageRecord newMessageRecord() {
+    return new MessageRecord()
+        .setName("order-paid")
+        .setCorrelationKey("order-4711")
+        .setMessageId("payment-0815")
+        .setTimeToLive(60_000L)
+        .setVariables(variables());
+  }
+
+  private static DirectBuffer variables() {
+    return asMsgPack(
+        IntStream.range(0, 20)
+            .boxed()
+            .collect(Collectors.toMap(i -> "variable-" + i, i -> (Object) ("value-" + i))));
+  }
+}
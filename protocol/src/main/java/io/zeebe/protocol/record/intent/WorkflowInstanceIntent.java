@@ -31,7 +31,9 @@ public enum WorkflowInstanceIntent implements WorkflowInstanceRelatedIntent {
 
   ACTIVATE_ELEMENT((short) 9),
   COMPLETE_ELEMENT((short) 10),
-  TERMINATE_ELEMENT((short) 11);
+  TERMINATE_ELEMENT((short) 11),
+
+  ACTIVATE_CHILDREN((short) 12);
 
   private final short value;
   private final boolean shouldBlacklist;
@@ -75,6 +77,8 @@ public enum WorkflowInstanceIntent implements WorkflowInstanceRelatedIntent {
         return COMPLETE_ELEMENT;
       case 11:
         return TERMINATE_ELEMENT;
+      case 12:
+        return ACTIVATE_CHILDREN;
       default:
         return Intent.UNKNOWN;
     }
@@ -7,8 +7,6 @@
  */
 package io.zeebe.snapshots.broker.impl;
 
-import static java.nio.file.StandardOpenOption.CREATE_NEW;
-
 import io.zeebe.snapshots.raft.PersistedSnapshot;
 import io.zeebe.snapshots.raft.ReceivedSnapshot;
 import io.zeebe.snapshots.raft.SnapshotChunk;
@@ -18,11 +16,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -42,6 +43,10 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
   private final FileBasedSnapshotMetadata metadata;
   private long expectedSnapshotChecksum;
   private int expectedTotalCount;
+  private int appliedChunkCount;
+  // the files which are reused from the previous snapshot, with the position of their last chunk
+  private final Map<String, Long> reusedFiles = new HashMap<>();
+  private ByteBuffer skipToChunkId;
 
   FileBasedReceivedSnapshot(
       final FileBasedSnapshotMetadata metadata,
@@ -61,7 +66,16 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
 
   @Override
   public boolean containsChunk(final ByteBuffer chunkId) {
-    return Files.exists(directory.resolve(getFile(chunkId)));
+    final var id = getChunkId(chunkId);
+    final var file = directory.resolve(SnapshotChunkUtil.getFileName(id));
+    final var position = SnapshotChunkUtil.getFileBlockPosition(id);
+
+    final var reusedLastChunkPosition = reusedFiles.get(SnapshotChunkUtil.getFileName(id));
+    if (reusedLastChunkPosition != null) {
+      return position < reusedLastChunkPosition;
+    }
+
+    return Files.exists(file) && (position == 0 || file.toFile().length() > position);
   }
 
   @Override
@@ -78,8 +92,14 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
     expectedId = nextChunkId;
   }
 
+  @Override
+  public ByteBuffer getSkipToChunk() {
+    return skipToChunkId;
+  }
+
   @Override
   public boolean apply(final SnapshotChunk snapshotChunk) throws IOException {
+    skipToChunkId = null;
     final var currentSnapshotChecksum = snapshotChunk.getSnapshotChecksum();
 
     if (isSnapshotIdInvalid(snapshotChunk.getSnapshotId())) {
@@ -106,8 +126,9 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
       return SUCCESS;
     }
 
+    final byte[] content = snapshotChunk.getContent();
     final long expectedChecksum = snapshotChunk.getChecksum();
-    final long actualChecksum = SnapshotChunkUtil.createChecksum(snapshotChunk.getContent());
+    final long actualChecksum = SnapshotChunkUtil.createChecksum(content);
 
     if (expectedChecksum != actualChecksum) {
       LOGGER.warn(
@@ -122,14 +143,121 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
     final var tmpSnapshotDirectory = directory;
     FileUtil.ensureDirectoryExists(tmpSnapshotDirectory);
 
+    final var position = snapshotChunk.getFileBlockPosition();
+    if (position < 0 || position + content.length > snapshotChunk.getTotalFileSize()) {
+      LOGGER.warn(
+          "Expected snapshot chunk {} ({}) to be within its file of size {}, but got {} bytes at position {}",
+          chunkName,
+          snapshotId,
+          snapshotChunk.getTotalFileSize(),
+          content.length,
+          position);
+      return FAILED;
+    }
+
+    final var reusedLastChunkPosition = reusedFiles.get(chunkName);
+    if (reusedLastChunkPosition != null) {
+      return applyChunkOfReusedFile(chunkName, position, reusedLastChunkPosition);
+    }
+
     final var snapshotFile = tmpSnapshotDirectory.resolve(chunkName);
-    if (Files.exists(snapshotFile)) {
-      LOGGER.debug("Received a snapshot snapshotChunk which already exist '{}'.", snapshotFile);
+    if (position == 0
+        && content.length > 0
+        && content.length < snapshotChunk.getTotalFileSize()
+        && !Files.exists(snapshotFile)
+        && tryReuseFile(snapshotChunk, snapshotFile)) {
+      // the remaining chunks of the file don't need to be transferred, except the last one which
+      // is expected next; the chunks in between are counted as applied
+      final long chunkSize = content.length;
+      final long lastChunkPosition = (snapshotChunk.getTotalFileSize() - 1) / chunkSize * chunkSize;
+      reusedFiles.put(chunkName, lastChunkPosition);
+      appliedChunkCount += (int) (lastChunkPosition / chunkSize);
+      skipToChunkId =
+          FileBasedSnapshotChunkReader.encodeChunkId(
+              SnapshotChunkUtil.createChunkId(chunkName, lastChunkPosition));
+      return SUCCESS;
+    }
+
+    if (Files.exists(snapshotFile)
+        && (position == 0 || snapshotFile.toFile().length() > position)) {
+      LOGGER.debug(
+          "Received a snapshot snapshotChunk which already exist '{}' at position {}.",
+          snapshotFile,
+          position);
       return FAILED;
     }
 
-    LOGGER.debug("Consume snapshot snapshotChunk {} of snapshot {}", chunkName, snapshotId);
-    return writeReceivedSnapshotChunk(snapshotChunk, snapshotFile);
+    LOGGER.debug(
+        "Consume snapshot snapshotChunk {} at position {} of snapshot {}",
+        chunkName,
+        position,
+        snapshotId);
+    return writeReceivedSnapshotChunk(content, position, snapshotFile);
+  }
+
+  /**
+   * Tries to reuse the file of the latest snapshot with the same name, if it has the same size and
+   * checksum. Since the files of a snapshot are immutable, it is linked into the received snapshot,
+   * or copied if links are not supported.
+   */
+  private boolean tryReuseFile(final SnapshotChunk snapshotChunk, final Path snapshotFile) {
+    final var latestSnapshot = snapshotStore.getLatestFileBasedSnapshot();
+    if (latestSnapshot.isEmpty()) {
+      return false;
+    }
+
+    final var chunkName = snapshotChunk.getChunkName();
+    try {
+      final var manifest = latestSnapshot.get().getManifest();
+      if (manifest.getFileSize(chunkName) != snapshotChunk.getTotalFileSize()
+          || manifest.getFileChecksum(chunkName) != snapshotChunk.getFileChecksum()) {
+        return false;
+      }
+
+      linkOrCopy(manifest.getFile(chunkName), snapshotFile);
+    } catch (final IOException e) {
+      LOGGER.debug(
+          "Failed to reuse file {} of snapshot {}, will receive it instead",
+          chunkName,
+          latestSnapshot.get(),
+          e);
+      try {
+        Files.deleteIfExists(snapshotFile);
+      } catch (final IOException deleteException) {
+        LOGGER.warn("Failed to delete partially reused file {}", snapshotFile, deleteException);
+      }
+      return false;
+    }
+
+    LOGGER.debug(
+        "Reused file {} of snapshot {} for received snapshot {}",
+        chunkName,
+        latestSnapshot.get().getId(),
+        metadata.getSnapshotIdAsString());
+    return true;
+  }
+
+  private void linkOrCopy(final Path source, final Path target) throws IOException {
+    try {
+      Files.createLink(target, source);
+    } catch (final UnsupportedOperationException | IOException e) {
+      LOGGER.trace("Failed to link {} to {}, will copy it instead", target, source, e);
+      Files.deleteIfExists(target);
+      Files.copy(source, target);
+    }
+  }
+
+  private boolean applyChunkOfReusedFile(
+      final String chunkName, final long position, final long lastChunkPosition) {
+    // the skipped chunks were counted already, but they may still be received if the sender
+    // doesn't skip them
+    if (position == lastChunkPosition) {
+      reusedFiles.remove(chunkName);
+      appliedChunkCount++;
+    }
+
+    LOGGER.trace("Skip snapshot chunk {} at position {} of reused file", chunkName, position);
+    return SUCCESS;
   }
 
   private boolean isSnapshotChecksumInvalid(final long currentSnapshotChecksum) {
@@ -171,9 +299,20 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
   }
 
   private boolean writeReceivedSnapshotChunk(
-      final SnapshotChunk snapshotChunk, final Path snapshotFile) throws IOException {
-    Files.write(snapshotFile, snapshotChunk.getContent(), CREATE_NEW, StandardOpenOption.WRITE);
-    LOGGER.trace("Wrote replicated snapshot chunk to file {}", snapshotFile);
+      final byte[] content, final long position, final Path snapshotFile) throws IOException {
+    // the first chunk of a file creates it, the following chunks are written at their position
+    final var openOption =
+        position == 0 ? StandardOpenOption.CREATE_NEW : StandardOpenOption.CREATE;
+    try (final var channel = FileChannel.open(snapshotFile, openOption, StandardOpenOption.WRITE)) {
+      final var buffer = ByteBuffer.wrap(content);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer, position + buffer.position());
+      }
+    }
+
+    appliedChunkCount++;
+    LOGGER.trace(
+        "Wrote replicated snapshot chunk to file {} at position {}", snapshotFile, position);
     return SUCCESS;
   }
 
@@ -202,11 +341,11 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
     final var files = directory.toFile().listFiles();
     Objects.requireNonNull(files, "No chunks have been applied yet");
 
-    if (files.length != expectedTotalCount) {
+    if (appliedChunkCount != expectedTotalCount) {
       throw new IllegalStateException(
           String.format(
-              "Expected '%d' chunk files for this snapshot, but found '%d'. Files are: %s.",
-              expectedSnapshotChecksum, files.length, Arrays.toString(files)));
+              "Expected '%d' chunks for this snapshot, but applied '%d'. Files are: %s.",
+              expectedTotalCount, appliedChunkCount, Arrays.toString(files)));
     }
 
     final var filePaths =
@@ -232,7 +371,7 @@ public class FileBasedReceivedSnapshot implements ReceivedSnapshot {
     return directory;
   }
 
-  private String getFile(final ByteBuffer chunkId) {
+  private String getChunkId(final ByteBuffer chunkId) {
     final var view = new UnsafeBuffer(chunkId);
     return view.getStringWithoutLengthAscii(0, chunkId.remaining());
   }
@@ -26,10 +26,14 @@ public final class FileBasedSnapshot implements PersistedSnapshot {
 
   private final Path directory;
   private final FileBasedSnapshotMetadata metadata;
+  private final int maxChunkSize;
+  private FileBasedSnapshotManifest manifest;
 
-  FileBasedSnapshot(final Path directory, final FileBasedSnapshotMetadata metadata) {
+  FileBasedSnapshot(
+      final Path directory, final FileBasedSnapshotMetadata metadata, final int maxChunkSize) {
     this.directory = directory;
     this.metadata = metadata;
+    this.maxChunkSize = maxChunkSize;
   }
 
   public FileBasedSnapshotMetadata getMetadata() {
@@ -40,6 +44,13 @@ public final class FileBasedSnapshot implements PersistedSnapshot {
     return directory;
   }
 
+  synchronized FileBasedSnapshotManifest getManifest() throws IOException {
+    if (manifest == null) {
+      manifest = FileBasedSnapshotManifest.of(directory);
+    }
+    return manifest;
+  }
+
   @Override
   public WallClockTimestamp getTimestamp() {
     return metadata.getTimestamp();
@@ -63,7 +74,7 @@ public final class FileBasedSnapshot implements PersistedSnapshot {
   @Override
   public SnapshotChunkReader newChunkReader() {
     try {
-      return new FileBasedSnapshotChunkReader(directory);
+      return new FileBasedSnapshotChunkReader(directory, getManifest(), maxChunkSize);
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -10,60 +10,92 @@ package io.zeebe.snapshots.broker.impl;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.snapshots.raft.SnapshotChunk;
 import io.zeebe.snapshots.raft.SnapshotChunkReader;
-import io.zeebe.util.ChecksumUtil;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.NavigableSet;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
-import org.agrona.AsciiSequenceView;
-import org.agrona.DirectBuffer;
+import org.agrona.CloseHelper;
 import org.agrona.concurrent.UnsafeBuffer;
 
 /**
- * Implements a chunk reader where each chunk is a single file in a root directory. Chunks are then
- * ordered lexicographically, and the files are assumed to be immutable, i.e. no more are added to
- * the directory once this is created.
+ * Implements a chunk reader where each chunk is a block of a file in a root directory. A file is
+ * split into blocks of at most the max chunk size, such that a chunk never holds more than one
+ * block in memory, regardless of the file size. Chunks are ordered lexicographically by their file
+ * name and then by their position in the file, and the files are assumed to be immutable, i.e. no
+ * more are added to the directory once this is created.
+ *
+ * <p>The ID of the first chunk of a file is the file name, the ID of the following chunks is the
+ * file name plus the position of the block in the file.
+ *
+ * <p>Brokers which only know the snapshot chunk schema before version 3 ignore the block position
+ * and expect exactly one chunk per file. Unless every broker of the cluster understands file
+ * blocks, the reader must therefore be created with {@link #WHOLE_FILE_CHUNK_SIZE}, which keeps
+ * each file in a single chunk as before.
  */
 public final class FileBasedSnapshotChunkReader implements SnapshotChunkReader {
   static final Charset ID_CHARSET = StandardCharsets.US_ASCII;
+  static final int WHOLE_FILE_CHUNK_SIZE = Integer.MAX_VALUE;
+  static final int DEFAULT_FILE_BLOCK_SIZE = 1024 * 1024;
 
   private final Path directory;
-  private final NavigableSet<CharSequence> chunks;
-  private final CharSequenceView chunkIdView;
+  private final FileBasedSnapshotManifest manifest;
+  private final int maxChunkSize;
+  private final List<FileBlock> blocks;
 
-  private NavigableSet<CharSequence> chunksView;
+  private int nextBlock;
   private final int totalCount;
   private final long snapshotChecksum;
   private final String snapshotID;
 
+  private FileChannel channel;
+  private String channelFileName;
+
   FileBasedSnapshotChunkReader(final Path directory) throws IOException {
-    this.directory = directory;
-    chunks = collectChunks(directory);
-    totalCount = chunks.size();
-    chunksView = chunks;
-    chunkIdView = new CharSequenceView();
-
-    try (final var fileStream = Files.list(directory).sorted()) {
-      snapshotChecksum =
-          ChecksumUtil.createCombinedChecksum(fileStream.collect(Collectors.toList()));
+    this(directory, WHOLE_FILE_CHUNK_SIZE);
+  }
+
+  FileBasedSnapshotChunkReader(final Path directory, final int maxChunkSize) throws IOException {
+    this(directory, FileBasedSnapshotManifest.of(directory), maxChunkSize);
+  }
+
+  FileBasedSnapshotChunkReader(
+      final Path directory, final FileBasedSnapshotManifest manifest, final int maxChunkSize)
+      throws IOException {
+    if (maxChunkSize <= 0) {
+      throw new IllegalArgumentException(
+          "Expected max chunk size to be greater than 0, but was " + maxChunkSize);
     }
 
+    this.directory = directory;
+    this.manifest = manifest;
+    this.maxChunkSize = maxChunkSize;
+    blocks = collectBlocks();
+    totalCount = blocks.size();
+    snapshotChecksum = manifest.getSnapshotChecksum();
     snapshotID = directory.getFileName().toString();
   }
 
-  private NavigableSet<CharSequence> collectChunks(final Path directory) throws IOException {
-    final var set = new TreeSet<>(CharSequence::compare);
-    try (final var stream = Files.list(directory).sorted()) {
-      stream.map(directory::relativize).map(Path::toString).forEach(set::add);
+  private List<FileBlock> collectBlocks() {
+    final var fileBlocks = new ArrayList<FileBlock>();
+    for (final var fileName : manifest.getFileNames()) {
+      final long fileSize = manifest.getFileSize(fileName);
+
+      // an empty file is still transferred as one empty chunk
+      long position = 0;
+      do {
+        fileBlocks.add(new FileBlock(fileName, position, fileSize));
+        position += maxChunkSize;
+      } while (position < fileSize);
     }
-    return set;
+
+    return fileBlocks;
   }
 
   @Override
@@ -72,62 +104,100 @@ public final class FileBasedSnapshotChunkReader implements SnapshotChunkReader {
       return;
     }
 
-    final var path = decodeChunkId(id);
-    chunksView = chunks.tailSet(path, true);
+    final var chunkId = decodeChunkId(id);
+    final var fileName = SnapshotChunkUtil.getFileName(chunkId);
+    final var position = SnapshotChunkUtil.getFileBlockPosition(chunkId);
+
+    nextBlock = 0;
+    while (nextBlock < blocks.size() && blocks.get(nextBlock).isBefore(fileName, position)) {
+      nextBlock++;
+    }
   }
 
   @Override
   public ByteBuffer nextId() {
-    if (chunksView.isEmpty()) {
+    if (!hasNext()) {
       return null;
     }
 
-    return encodeChunkId(chunksView.first());
+    final var block = blocks.get(nextBlock);
+    return encodeChunkId(SnapshotChunkUtil.createChunkId(block.fileName, block.position));
   }
 
   @Override
   public void close() {
-    chunks.clear();
-    chunksView.clear();
+    CloseHelper.quietClose(channel);
+    channel = null;
+    channelFileName = null;
+    blocks.clear();
+    nextBlock = 0;
   }
 
   @Override
   public boolean hasNext() {
-    return !chunksView.isEmpty();
+    return nextBlock < blocks.size();
   }
 
   @Override
   public SnapshotChunk next() {
-    final var chunkName = chunksView.pollFirst();
-    if (chunkName == null) {
+    if (!hasNext()) {
       throw new NoSuchElementException();
     }
 
-    final var path = directory.resolve(chunkName.toString());
+    final var block = blocks.get(nextBlock++);
+    final int blockLength = (int) Math.min(maxChunkSize, block.fileSize - block.position);
 
     try {
-      return SnapshotChunkUtil.createSnapshotChunkFromFile(
-          path.toFile(), snapshotID, totalCount, snapshotChecksum);
+      return SnapshotChunkUtil.createSnapshotChunkFromFileBlock(
+          openChannel(block.fileName),
+          block.fileName,
+          block.position,
+          blockLength,
+          block.fileSize,
+          manifest.getFileChecksum(block.fileName),
+          snapshotID,
+          totalCount,
+          snapshotChecksum);
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
   }
 
-  private ByteBuffer encodeChunkId(final CharSequence path) {
-    return ByteBuffer.wrap(path.toString().getBytes(ID_CHARSET)).order(Protocol.ENDIANNESS);
+  private FileChannel openChannel(final String fileName) throws IOException {
+    if (!fileName.equals(channelFileName)) {
+      CloseHelper.quietClose(channel);
+      channel = null;
+
+      channel = FileChannel.open(directory.resolve(fileName), StandardOpenOption.READ);
+      channelFileName = fileName;
+    }
+
+    return channel;
+  }
+
+  static ByteBuffer encodeChunkId(final String chunkId) {
+    return ByteBuffer.wrap(chunkId.getBytes(ID_CHARSET)).order(Protocol.ENDIANNESS);
   }
 
-  private CharSequence decodeChunkId(final ByteBuffer id) {
-    return chunkIdView.wrap(id);
+  private String decodeChunkId(final ByteBuffer id) {
+    final var view = new UnsafeBuffer(id);
+    return view.getStringWithoutLengthAscii(0, id.remaining());
   }
 
-  private static final class CharSequenceView {
-    private final DirectBuffer wrapper = new UnsafeBuffer();
-    private final AsciiSequenceView view = new AsciiSequenceView();
+  private static final class FileBlock {
+    private final String fileName;
+    private final long position;
+    private final long fileSize;
+
+    private FileBlock(final String fileName, final long position, final long fileSize) {
+      this.fileName = fileName;
+      this.position = position;
+      this.fileSize = fileSize;
+    }
 
-    private CharSequence wrap(final ByteBuffer buffer) {
-      wrapper.wrap(buffer);
-      return view.wrap(wrapper, 0, wrapper.capacity());
+    private boolean isBefore(final String otherFileName, final long otherPosition) {
+      final int fileNameComparison = CharSequence.compare(fileName, otherFileName);
+      return fileNameComparison < 0 || (fileNameComparison == 0 && position < otherPosition);
     }
   }
 }
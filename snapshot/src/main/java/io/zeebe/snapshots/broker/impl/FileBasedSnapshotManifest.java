@@ -0,0 +1,85 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.snapshots.broker.impl;
+
+import io.zeebe.util.ChecksumUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Describes the files of a snapshot by their name, size and checksum. The files of a snapshot are
+ * immutable, so the checksum of a file is only computed once, when it is needed for the first time.
+ * The files are ordered lexicographically by their name, which is the order in which they are
+ * replicated.
+ */
+final class FileBasedSnapshotManifest {
+
+  private final Path directory;
+  private final Map<String, Long> fileSizes;
+  private final Map<String, Long> fileChecksums = new ConcurrentHashMap<>();
+
+  private FileBasedSnapshotManifest(final Path directory, final Map<String, Long> fileSizes) {
+    this.directory = directory;
+    this.fileSizes = fileSizes;
+  }
+
+  static FileBasedSnapshotManifest of(final Path directory) throws IOException {
+    final var fileSizes = new LinkedHashMap<String, Long>();
+    try (final var stream = Files.list(directory).sorted()) {
+      for (final var file : (Iterable<Path>) stream::iterator) {
+        fileSizes.put(directory.relativize(file).toString(), Files.size(file));
+      }
+    }
+
+    return new FileBasedSnapshotManifest(directory, Collections.unmodifiableMap(fileSizes));
+  }
+
+  List<String> getFileNames() {
+    return new ArrayList<>(fileSizes.keySet());
+  }
+
+  boolean containsFile(final String fileName) {
+    return fileSizes.containsKey(fileName);
+  }
+
+  Path getFile(final String fileName) {
+    return directory.resolve(fileName);
+  }
+
+  long getFileSize(final String fileName) {
+    return fileSizes.getOrDefault(fileName, -1L);
+  }
+
+  long getFileChecksum(final String fileName) throws IOException {
+    final var checksum = fileChecksums.get(fileName);
+    if (checksum != null) {
+      return checksum;
+    }
+
+    final var computedChecksum = ChecksumUtil.createChecksum(getFile(fileName));
+    fileChecksums.put(fileName, computedChecksum);
+    return computedChecksum;
+  }
+
+  /** @return the combined checksum of all files, as computed by {@link ChecksumUtil} */
+  long getSnapshotChecksum() throws IOException {
+    final var checksums = new ArrayList<Long>(fileSizes.size());
+    for (final var fileName : fileSizes.keySet()) {
+      checksums.add(getFileChecksum(fileName));
+    }
+
+    return ChecksumUtil.combineChecksums(checksums);
+  }
+}
@@ -49,6 +49,8 @@ public final class FileBasedSnapshotStore
   private final Set<PersistedSnapshotListener> listeners;
 
   private final SnapshotMetrics snapshotMetrics;
+  // the max size of the chunks in which the snapshots are replicated
+  private final int maxChunkSize;
 
   private final AtomicReference<FileBasedSnapshot> currentPersistedSnapshotRef;
   // used to write concurrently received snapshots in different pending directories
@@ -58,9 +60,22 @@ public final class FileBasedSnapshotStore
       final SnapshotMetrics snapshotMetrics,
       final Path snapshotsDirectory,
       final Path pendingDirectory) {
+    this(
+        snapshotMetrics,
+        snapshotsDirectory,
+        pendingDirectory,
+        FileBasedSnapshotChunkReader.WHOLE_FILE_CHUNK_SIZE);
+  }
+
+  public FileBasedSnapshotStore(
+      final SnapshotMetrics snapshotMetrics,
+      final Path snapshotsDirectory,
+      final Path pendingDirectory,
+      final int maxChunkSize) {
     this.snapshotsDirectory = snapshotsDirectory;
     this.pendingDirectory = pendingDirectory;
     this.snapshotMetrics = snapshotMetrics;
+    this.maxChunkSize = maxChunkSize;
     receivingSnapshotStartCount = new AtomicLong();
 
     listeners = new CopyOnWriteArraySet<>();
@@ -105,7 +120,7 @@ public final class FileBasedSnapshotStore
     final var optionalMeta = FileBasedSnapshotMetadata.ofPath(path);
     if (optionalMeta.isPresent()) {
       final var metadata = optionalMeta.get();
-      return new FileBasedSnapshot(path, metadata);
+      return new FileBasedSnapshot(path, metadata, maxChunkSize);
     } else {
       LOGGER.warn("Expected snapshot file format to be %d-%d-%d-%d, but was {}", path);
     }
@@ -128,6 +143,10 @@ public final class FileBasedSnapshotStore
     return Optional.ofNullable(currentPersistedSnapshotRef.get());
   }
 
+  Optional<FileBasedSnapshot> getLatestFileBasedSnapshot() {
+    return Optional.ofNullable(currentPersistedSnapshotRef.get());
+  }
+
   @Override
   public void purgePendingSnapshots() throws IOException {
     try (final var files = Files.list(pendingDirectory)) {
@@ -311,7 +330,7 @@ public final class FileBasedSnapshotStore
       throw new UncheckedIOException(e);
     }
 
-    final var newPersistedSnapshot = new FileBasedSnapshot(destination, metadata);
+    final var newPersistedSnapshot = new FileBasedSnapshot(destination, metadata, maxChunkSize);
     final var failed =
         !currentPersistedSnapshotRef.compareAndSet(currentPersistedSnapshot, newPersistedSnapshot);
     if (failed) {
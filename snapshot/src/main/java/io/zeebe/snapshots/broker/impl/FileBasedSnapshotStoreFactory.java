@@ -26,6 +26,11 @@ import org.agrona.IoUtil;
  *
  * <p>The metadata extraction is done by parsing the directory name using '%d-%d-%d-%d', where in
  * order we expect: index, term, timestamp, and position.
+ *
+ * <p>By default, the snapshots are replicated with one chunk per file. Splitting the files into
+ * blocks requires that every broker of the cluster understands the snapshot chunk schema version 3,
+ * so it must only be enabled once all brokers run a version which supports it. Otherwise a follower
+ * of an older version fails to receive the snapshot.
  */
 public final class FileBasedSnapshotStoreFactory
     implements SnapshotStoreSupplier, ReceivableSnapshotStoreFactory {
@@ -33,6 +38,22 @@ public final class FileBasedSnapshotStoreFactory
   public static final String PENDING_DIRECTORY = "pending";
 
   private final Map<String, FileBasedSnapshotStore> partitionSnapshotStores = new HashMap();
+  private final int maxChunkSize;
+
+  public FileBasedSnapshotStoreFactory() {
+    this(false);
+  }
+
+  /**
+   * @param replicateFileBlocks if true, snapshot files are replicated in blocks of at most 1MB
+   *     instead of as whole files; only enable this once all brokers support file blocks
+   */
+  public FileBasedSnapshotStoreFactory(final boolean replicateFileBlocks) {
+    maxChunkSize =
+        replicateFileBlocks
+            ? FileBasedSnapshotChunkReader.DEFAULT_FILE_BLOCK_SIZE
+            : FileBasedSnapshotChunkReader.WHOLE_FILE_CHUNK_SIZE;
+  }
 
   @Override
   public ReceivableSnapshotStore createReceivableSnapshotStore(
@@ -47,7 +68,10 @@ public final class FileBasedSnapshotStoreFactory
         partitionName,
         p ->
             new FileBasedSnapshotStore(
-                new SnapshotMetrics(partitionName), snapshotDirectory, pendingDirectory));
+                new SnapshotMetrics(partitionName),
+                snapshotDirectory,
+                pendingDirectory,
+                maxChunkSize));
   }
 
   @Override
@@ -8,13 +8,21 @@
 package io.zeebe.snapshots.broker.impl;
 
 import io.zeebe.snapshots.raft.SnapshotChunk;
-import java.io.File;
+import java.io.EOFException;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.zip.CRC32;
 
 final class SnapshotChunkUtil {
 
+  /**
+   * Separates the file name from the position in the ID of a chunk which doesn't start at the
+   * beginning of the file. The first chunk of a file is identified by the file name only, and since
+   * file names can't contain the separator it is not ambiguous.
+   */
+  private static final char ID_POSITION_SEPARATOR = '/';
+
   private SnapshotChunkUtil() {}
 
   static long createChecksum(final byte[] content) {
@@ -23,17 +31,58 @@ final class SnapshotChunkUtil {
     return crc32.getValue();
   }
 
-  static SnapshotChunk createSnapshotChunkFromFile(
-      final File snapshotChunkFile,
+  static String createChunkId(final String fileName, final long fileBlockPosition) {
+    if (fileBlockPosition == 0) {
+      return fileName;
+    }
+
+    return fileName + ID_POSITION_SEPARATOR + fileBlockPosition;
+  }
+
+  static String getFileName(final String chunkId) {
+    final int separator = chunkId.lastIndexOf(ID_POSITION_SEPARATOR);
+    return separator < 0 ? chunkId : chunkId.substring(0, separator);
+  }
+
+  static long getFileBlockPosition(final String chunkId) {
+    final int separator = chunkId.lastIndexOf(ID_POSITION_SEPARATOR);
+    return separator < 0 ? 0L : Long.parseLong(chunkId.substring(separator + 1));
+  }
+
+  static SnapshotChunk createSnapshotChunkFromFileBlock(
+      final FileChannel channel,
+      final String fileName,
+      final long fileBlockPosition,
+      final int blockLength,
+      final long totalFileSize,
+      final long fileChecksum,
       final String snapshotId,
       final int totalCount,
       final long snapshotChecksum)
       throws IOException {
-    final byte[] content;
-    content = Files.readAllBytes(snapshotChunkFile.toPath());
+    final byte[] content = new byte[blockLength];
+    final ByteBuffer buffer = ByteBuffer.wrap(content);
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, fileBlockPosition + buffer.position());
+      if (read < 0) {
+        throw new EOFException(
+            String.format(
+                "Expected to read %d bytes of file %s at position %d, but reached end of file",
+                blockLength, fileName, fileBlockPosition));
+      }
+    }
+
     final long checksum = createChecksum(content);
     return new SnapshotChunkImpl(
-        snapshotId, totalCount, snapshotChunkFile.getName(), checksum, content, snapshotChecksum);
+        snapshotId,
+        totalCount,
+        fileName,
+        checksum,
+        content,
+        snapshotChecksum,
+        fileBlockPosition,
+        totalFileSize,
+        fileChecksum);
   }
 
   private static final class SnapshotChunkImpl implements SnapshotChunk {
@@ -43,6 +92,9 @@ final class SnapshotChunkUtil {
     private final byte[] content;
     private final long snapshotChecksum;
     private final long checksum;
+    private final long fileBlockPosition;
+    private final long totalFileSize;
+    private final long fileChecksum;
 
     SnapshotChunkImpl(
         final String snapshotId,
@@ -50,13 +102,19 @@ final class SnapshotChunkUtil {
         final String chunkName,
         final long checksum,
         final byte[] content,
-        final long snapshotChecksum) {
+        final long snapshotChecksum,
+        final long fileBlockPosition,
+        final long totalFileSize,
+        final long fileChecksum) {
       this.snapshotId = snapshotId;
       this.totalCount = totalCount;
       this.chunkName = chunkName;
       this.checksum = checksum;
       this.content = content;
       this.snapshotChecksum = snapshotChecksum;
+      this.fileBlockPosition = fileBlockPosition;
+      this.totalFileSize = totalFileSize;
+      this.fileChecksum = fileChecksum;
     }
 
     @Override
@@ -88,5 +146,20 @@ final class SnapshotChunkUtil {
     public long getSnapshotChecksum() {
       return snapshotChecksum;
     }
+
+    @Override
+    public long getFileBlockPosition() {
+      return fileBlockPosition;
+    }
+
+    @Override
+    public long getTotalFileSize() {
+      return totalFileSize;
+    }
+
+    @Override
+    public long getFileChecksum() {
+      return fileChecksum;
+    }
   }
 }
@@ -46,6 +46,17 @@ public interface ReceivedSnapshot extends PersistableSnapshot {
    */
   void setNextExpected(ByteBuffer nextChunkId);
 
+  /**
+   * Returns the ID of the chunk which is expected next, if the last applied chunk allowed to skip
+   * the chunks up to it, e.g. because the snapshot could reuse the remaining content of a file from
+   * a previous snapshot. The sender should then continue with this chunk.
+   *
+   * @return the ID of the next expected chunk if chunks are skipped, otherwise null
+   */
+  default ByteBuffer getSkipToChunk() {
+    return null;
+  }
+
   /**
    * Applies the next {@link SnapshotChunk} to the snapshot. Based on the implementation the chunk
    * can be validated before applied to the snapshot.
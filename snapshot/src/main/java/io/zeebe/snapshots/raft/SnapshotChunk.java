@@ -27,4 +27,29 @@ public interface SnapshotChunk {
 
   /** @return the checksum of the entire snapshot */
   long getSnapshotChecksum();
+
+  /**
+   * A chunk may only contain a part of a file, in which case the file is split into multiple chunks
+   * with the same chunk name.
+   *
+   * @return the position of the content in the file with the chunk name
+   */
+  default long getFileBlockPosition() {
+    return 0L;
+  }
+
+  /** @return the total size of the file with the chunk name */
+  default long getTotalFileSize() {
+    return getContent().length;
+  }
+
+  /**
+   * The checksum of the whole file can be used to find out whether a file of a previous snapshot is
+   * equal to it, such that the remaining chunks of the file don't need to be transferred.
+   *
+   * @return the checksum of the file with the chunk name
+   */
+  default long getFileChecksum() {
+    return getChecksum();
+  }
 }
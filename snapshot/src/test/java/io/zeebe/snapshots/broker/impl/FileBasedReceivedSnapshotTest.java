@@ -28,6 +28,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -158,6 +159,87 @@ public class FileBasedReceivedSnapshotTest {
     assertThat(snapshotFileList).isNotNull().extracting(File::getName).containsExactly("file1.txt");
   }
 
+  @Test
+  public void shouldPersistSnapshotReceivedInFileBlocks() throws Exception {
+    // given
+    final var transientSnapshot =
+        senderSnapshotStore.newTransientSnapshot(1L, 0L, 1, 0).orElseThrow();
+    transientSnapshot.take(
+        p -> takeSnapshot(p, List.of("file1", "file2"), List.of("This is the content", "")));
+    final var persistedSnapshot = transientSnapshot.persist();
+    final var receivedSnapshot =
+        receiverSnapshotStore.newReceivedSnapshot(persistedSnapshot.getId());
+
+    // when
+    try (final var snapshotChunkReader =
+        new FileBasedSnapshotChunkReader(persistedSnapshot.getPath(), 4)) {
+      while (snapshotChunkReader.hasNext()) {
+        assertThat(receivedSnapshot.apply(snapshotChunkReader.next())).isTrue();
+      }
+    }
+    final var snapshot = receivedSnapshot.persist();
+
+    // then
+    final var snapshotPath = snapshot.getPath();
+    assertThat(snapshotPath.resolve("file1")).hasContent("This is the content");
+    assertThat(snapshotPath.resolve("file2")).exists().hasContent("");
+  }
+
+  @Test
+  public void shouldReuseEqualFilesOfPreviousSnapshot() throws Exception {
+    // given
+    final var previousSnapshot =
+        takeSnapshot(1L, 0L, List.of("file1", "file2"), List.of("reused content", "old"));
+    receiveSnapshot(previousSnapshot).persist();
+
+    final var persistedSnapshot =
+        takeSnapshot(
+            2L, 0L, List.of("file1", "file2"), List.of("reused content", "changed content"));
+    final var receivedSnapshot =
+        receiverSnapshotStore.newReceivedSnapshot(persistedSnapshot.getId());
+
+    // when
+    final var receivedChunks = new ArrayList<String>();
+    try (final var snapshotChunkReader =
+        new FileBasedSnapshotChunkReader(persistedSnapshot.getPath(), 4)) {
+      while (snapshotChunkReader.hasNext()) {
+        final var chunk = snapshotChunkReader.next();
+        receivedChunks.add(chunk.getChunkName() + "@" + chunk.getFileBlockPosition());
+        assertThat(receivedSnapshot.apply(chunk)).isTrue();
+        snapshotChunkReader.seek(receivedSnapshot.getSkipToChunk());
+      }
+    }
+    final var snapshot = receivedSnapshot.persist();
+
+    // then
+    assertThat(receivedChunks)
+        .containsExactly("file1@0", "file1@12", "file2@0", "file2@4", "file2@8", "file2@12");
+    assertThat(snapshot.getPath().resolve("file1")).hasContent("reused content");
+    assertThat(snapshot.getPath().resolve("file2")).hasContent("changed content");
+  }
+
+  @Test
+  public void shouldNotReuseFilesWithDifferentContent() throws Exception {
+    // given
+    final var previousSnapshot =
+        takeSnapshot(1L, 0L, List.of("file1"), List.of("previous content"));
+    receiveSnapshot(previousSnapshot).persist();
+
+    final var persistedSnapshot =
+        takeSnapshot(2L, 0L, List.of("file1"), List.of("changed content!"));
+    final var receivedSnapshot =
+        receiverSnapshotStore.newReceivedSnapshot(persistedSnapshot.getId());
+
+    // when
+    try (final var snapshotChunkReader =
+        new FileBasedSnapshotChunkReader(persistedSnapshot.getPath(), 4)) {
+      assertThat(receivedSnapshot.apply(snapshotChunkReader.next())).isTrue();
+
+      // then
+      assertThat(receivedSnapshot.getSkipToChunk()).isNull();
+    }
+  }
+
   @Test
   public void shouldNotDeletePersistedSnapshotOnPurgePendingOnStore() throws Exception {
     // given
@@ -601,6 +683,17 @@ public class FileBasedReceivedSnapshotTest {
     return transientSnapshot.persist();
   }
 
+  private PersistedSnapshot takeSnapshot(
+      final long index,
+      final long term,
+      final List<String> fileNames,
+      final List<String> fileContents) {
+    final var transientSnapshot =
+        senderSnapshotStore.newTransientSnapshot(index, term, 1, 0).orElseThrow();
+    transientSnapshot.take(p -> takeSnapshot(p, fileNames, fileContents));
+    return transientSnapshot.persist();
+  }
+
   private ReceivedSnapshot receiveSnapshot(final PersistedSnapshot persistedSnapshot)
       throws IOException {
     final var receivedSnapshot =
@@ -8,6 +8,7 @@
 package io.zeebe.snapshots.broker.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import io.zeebe.snapshots.raft.SnapshotChunk;
 import java.io.IOException;
@@ -70,6 +71,88 @@ public final class FileBasedSnapshotChunkReaderTest {
     assertThat(reader.hasNext()).isFalse();
   }
 
+  @Test
+  public void shouldSplitFilesIntoBlocks() throws IOException {
+    // given
+    final var directory = temporaryFolder.getRoot().toPath();
+    Files.writeString(directory.resolve("a"), "0123456789");
+    Files.writeString(directory.resolve("b"), "xyz");
+    final var reader = new FileBasedSnapshotChunkReader(directory, 4);
+
+    // when
+    final var chunks = new ArrayList<SnapshotChunk>();
+    while (reader.hasNext()) {
+      chunks.add(reader.next());
+    }
+
+    // then
+    assertThat(chunks)
+        .extracting(
+            SnapshotChunk::getChunkName,
+            SnapshotChunk::getFileBlockPosition,
+            SnapshotChunk::getTotalFileSize,
+            chunk -> new String(chunk.getContent()))
+        .containsExactly(
+            tuple("a", 0L, 10L, "0123"),
+            tuple("a", 4L, 10L, "4567"),
+            tuple("a", 8L, 10L, "89"),
+            tuple("b", 0L, 3L, "xyz"));
+    assertThat(chunks).extracting(SnapshotChunk::getTotalCount).containsOnly(4);
+    assertThat(chunks)
+        .allSatisfy(
+            chunk ->
+                assertThat(chunk.getChecksum())
+                    .isEqualTo(SnapshotChunkUtil.createChecksum(chunk.getContent())));
+  }
+
+  @Test
+  public void shouldNotSplitFilesByDefault() throws IOException {
+    // given
+    final var directory = temporaryFolder.getRoot().toPath();
+    Files.write(
+        directory.resolve("a"), new byte[FileBasedSnapshotChunkReader.DEFAULT_FILE_BLOCK_SIZE + 1]);
+    Files.writeString(directory.resolve("b"), "xyz");
+    final var reader = new FileBasedSnapshotChunkReader(directory);
+
+    // when
+    final var chunks = new ArrayList<SnapshotChunk>();
+    while (reader.hasNext()) {
+      chunks.add(reader.next());
+    }
+
+    // then
+    assertThat(chunks)
+        .extracting(
+            SnapshotChunk::getChunkName,
+            SnapshotChunk::getFileBlockPosition,
+            chunk -> (long) chunk.getContent().length)
+        .containsExactly(
+            tuple("a", 0L, FileBasedSnapshotChunkReader.DEFAULT_FILE_BLOCK_SIZE + 1L),
+            tuple("b", 0L, 3L));
+    assertThat(chunks).extracting(SnapshotChunk::getTotalCount).containsOnly(2);
+  }
+
+  @Test
+  public void shouldSeekToFileBlock() throws IOException {
+    // given
+    final var directory = temporaryFolder.getRoot().toPath();
+    Files.writeString(directory.resolve("a"), "0123456789");
+    Files.writeString(directory.resolve("b"), "xyz");
+    final var reader = new FileBasedSnapshotChunkReader(directory, 4);
+
+    // when
+    reader.seek(asBuffer("a/4"));
+
+    // then
+    assertThat(reader.nextId()).isEqualTo(asBuffer("a/4"));
+    final var chunk = reader.next();
+    assertThat(chunk.getChunkName()).isEqualTo("a");
+    assertThat(chunk.getFileBlockPosition()).isEqualTo(4L);
+    assertThat(reader.nextId()).isEqualTo(asBuffer("a/8"));
+    reader.next();
+    assertThat(reader.nextId()).isEqualTo(asBuffer("b"));
+  }
+
   private ByteBuffer asBuffer(final CharSequence chunk) {
     return ByteBuffer.wrap(chunk.toString().getBytes(FileBasedSnapshotChunkReader.ID_CHARSET));
   }
@@ -9,6 +9,11 @@ package io.zeebe.snapshots.broker.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.snapshots.raft.PersistedSnapshot;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -34,4 +39,58 @@ public final class FileBasedSnapshotStoreFactoryTest {
         .isDirectory();
     assertThat(store.getLatestSnapshot()).isEmpty();
   }
+
+  @Test
+  public void shouldReplicateWholeFilesByDefault() {
+    // given
+    final var factory = new FileBasedSnapshotStoreFactory();
+
+    // when
+    final var snapshot = takeSnapshot(factory);
+
+    // then
+    assertThat(countChunks(snapshot)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReplicateFileBlocksIfEnabled() {
+    // given
+    final var factory = new FileBasedSnapshotStoreFactory(true);
+
+    // when
+    final var snapshot = takeSnapshot(factory);
+
+    // then
+    assertThat(countChunks(snapshot)).isEqualTo(2);
+  }
+
+  private PersistedSnapshot takeSnapshot(final FileBasedSnapshotStoreFactory factory) {
+    factory.createReceivableSnapshotStore(temporaryFolder.getRoot().toPath(), "1");
+    final var transientSnapshot =
+        factory.getConstructableSnapshotStore("1").newTransientSnapshot(1L, 0L, 1, 0).orElseThrow();
+    transientSnapshot.take(this::writeLargeFile);
+    return transientSnapshot.persist();
+  }
+
+  private boolean writeLargeFile(final Path path) {
+    try {
+      Files.createDirectories(path);
+      Files.write(
+          path.resolve("file"), new byte[FileBasedSnapshotChunkReader.DEFAULT_FILE_BLOCK_SIZE + 1]);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return true;
+  }
+
+  private int countChunks(final PersistedSnapshot snapshot) {
+    try (final var reader = snapshot.newChunkReader()) {
+      int count = 0;
+      while (reader.hasNext()) {
+        reader.next();
+        count++;
+      }
+      return count;
+    }
+  }
 }
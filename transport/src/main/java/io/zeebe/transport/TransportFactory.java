@@ -10,7 +10,9 @@ package io.zeebe.transport;
 import io.atomix.cluster.messaging.MessagingService;
 import io.zeebe.transport.impl.AtomixClientTransportAdapter;
 import io.zeebe.transport.impl.AtomixServerTransport;
+import io.zeebe.transport.impl.ShardedClientTransport;
 import io.zeebe.util.sched.ActorScheduler;
+import java.util.ArrayList;
 
 public final class TransportFactory {
 
@@ -35,4 +37,26 @@ public final class TransportFactory {
     actorScheduler.submitActor(atomixClientTransportAdapter);
     return atomixClientTransportAdapter;
   }
+
+  /**
+   * Creates a client transport which spreads the requests by their partition over the given count
+   * of actors, see {@link ShardedClientTransport}. With a single shard, this is the same as {@link
+   * #createClientTransport(MessagingService)}.
+   */
+  public ClientTransport createClientTransport(
+      final MessagingService messagingService, final int shardCount) {
+    if (shardCount <= 1) {
+      return createClientTransport(messagingService);
+    }
+
+    final var shards = new ArrayList<AtomixClientTransportAdapter>(shardCount);
+    for (int shardId = 0; shardId < shardCount; shardId++) {
+      final var shard =
+          new AtomixClientTransportAdapter(messagingService, "ClientTransport-" + shardId);
+      actorScheduler.submitActor(shard);
+      shards.add(shard);
+    }
+
+    return new ShardedClientTransport(shards);
+  }
 }
@@ -12,6 +12,7 @@ import io.atomix.cluster.messaging.MessagingService;
 import io.zeebe.transport.ClientRequest;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.net.ConnectException;
@@ -27,13 +28,34 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
 
   private static final Logger LOG = LoggerFactory.getLogger(AtomixClientTransportAdapter.class);
   private static final Duration RETRY_DELAY = Duration.ofMillis(10);
+  private static final Duration TIMEOUT_TICK = Duration.ofMillis(10);
+  private static final int TIMEOUT_WHEEL_SLOTS = 1024;
   private static final String NO_REMOTE_ADDRESS_FOUND_ERROR_MESSAGE =
       "Failed to send request to %s, no remote address found.";
 
   private final MessagingService messagingService;
+  private final String name;
+  private final RequestTimeoutWheel timeoutWheel =
+      new RequestTimeoutWheel(TIMEOUT_TICK.toMillis(), TIMEOUT_WHEEL_SLOTS);
+  private final RequestBufferPool requestBufferPool = new RequestBufferPool();
+  private boolean isTimeoutTickScheduled;
 
   public AtomixClientTransportAdapter(final MessagingService messagingService) {
+    this(messagingService, null);
+  }
+
+  /**
+   * @param messagingService the messaging service to send the requests with
+   * @param name the name of the actor, or null to use the default name
+   */
+  public AtomixClientTransportAdapter(final MessagingService messagingService, final String name) {
     this.messagingService = messagingService;
+    this.name = name;
+  }
+
+  @Override
+  public String getName() {
+    return name == null ? super.getName() : name;
   }
 
   @Override
@@ -63,7 +85,7 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
 
     // copy once
     final var length = clientRequest.getLength();
-    final var requestBytes = new byte[length];
+    final var requestBytes = requestBufferPool.acquire(length);
     final var buffer = new UnsafeBuffer(requestBytes);
     clientRequest.write(buffer, 0);
 
@@ -79,16 +101,36 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
             responseValidator,
             shouldRetry,
             timeout);
-    actor.call(
+    actor.run(
         () -> {
-          final var scheduledTimer = actor.runDelayed(timeout, () -> timeoutFuture(requestContext));
-          requestContext.setScheduledTimer(scheduledTimer);
+          timeoutWheel.add(requestContext, ActorClock.currentTimeMillis());
+          scheduleTimeoutTick();
           tryToSend(requestContext);
         });
 
     return requestFuture;
   }
 
+  /**
+   * The timeout wheel is advanced by a single timer, which is only scheduled while there are
+   * pending requests.
+   */
+  private void scheduleTimeoutTick() {
+    if (!isTimeoutTickScheduled) {
+      isTimeoutTickScheduled = true;
+      actor.runDelayed(TIMEOUT_TICK, this::onTimeoutTick);
+    }
+  }
+
+  private void onTimeoutTick() {
+    isTimeoutTickScheduled = false;
+    timeoutWheel.expire(ActorClock.currentTimeMillis(), this::timeoutFuture);
+
+    if (!timeoutWheel.isEmpty()) {
+      scheduleTimeoutTick();
+    }
+  }
+
   private void tryToSend(final RequestContext requestContext) {
     if (requestContext.isDone()) {
       if (LOG.isTraceEnabled()) {
@@ -127,7 +169,8 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
           LOG.trace(
               "No target address for request {}, will fail request.", requestContext.hashCode());
         }
-        requestContext.completeExceptionally(
+        completeExceptionally(
+            requestContext,
             new ConnectException(
                 String.format(
                     NO_REMOTE_ADDRESS_FOUND_ERROR_MESSAGE, requestContext.getTopicName())));
@@ -144,6 +187,7 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
     }
 
     final var requestBytes = requestContext.getRequestBytes();
+    requestContext.onSend();
     messagingService
         .sendAndReceive(nodeAddress, requestContext.getTopicName(), requestBytes, calculateTimeout)
         .whenComplete(
@@ -153,7 +197,10 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
 
   private void handleResponse(
       final RequestContext requestContext, final byte[] response, final Throwable errorOnRequest) {
+    requestContext.onSendCompleted(errorOnRequest != null);
+
     if (requestContext.isDone()) {
+      releaseRequestBytes(requestContext);
       if (LOG.isTraceEnabled()) {
         LOG.trace("Handle response, but request {} is already done", requestContext.hashCode());
       }
@@ -167,7 +214,7 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
         if (LOG.isTraceEnabled()) {
           LOG.trace("Got valid response for request {}.", requestContext.hashCode());
         }
-        requestContext.complete(responseBuffer);
+        complete(requestContext, responseBuffer);
       } else {
         if (LOG.isTraceEnabled()) {
           LOG.trace(
@@ -200,7 +247,7 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
           LOG.trace(
               "Request {} failed, will not retry!", requestContext.hashCode(), errorOnRequest);
         }
-        requestContext.completeExceptionally(errorOnRequest);
+        completeExceptionally(requestContext, errorOnRequest);
       }
     }
   }
@@ -216,5 +263,24 @@ public final class AtomixClientTransportAdapter extends Actor implements ClientT
     }
 
     requestContext.timeout();
+    releaseRequestBytes(requestContext);
+  }
+
+  private void complete(final RequestContext requestContext, final DirectBuffer response) {
+    requestContext.complete(response);
+    timeoutWheel.remove(requestContext);
+    releaseRequestBytes(requestContext);
+  }
+
+  private void completeExceptionally(final RequestContext requestContext, final Throwable error) {
+    requestContext.completeExceptionally(error);
+    timeoutWheel.remove(requestContext);
+    releaseRequestBytes(requestContext);
+  }
+
+  private void releaseRequestBytes(final RequestContext requestContext) {
+    if (requestContext.tryReleaseRequestBytes()) {
+      requestBufferPool.release(requestContext.getRequestBytes());
+    }
   }
 }
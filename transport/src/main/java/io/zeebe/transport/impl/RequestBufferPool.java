@@ -0,0 +1,91 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+
+/**
+ * Recycles the arrays which requests are written into before they are sent. The messaging service
+ * sends the whole array, so a request can only reuse an array of exactly its length. The arrays are
+ * therefore grouped by their length, and only a limited count of different lengths is pooled.
+ *
+ * <p>An array is acquired by the sender of a request and released by the transport actor, once the
+ * request is done, which happens on a different thread. If the pool is exhausted a new array is
+ * allocated, and if the pool is full a released array is left to the garbage collector.
+ */
+final class RequestBufferPool {
+
+  static final int MAX_POOLED_LENGTH = 64 * 1024;
+  static final long DEFAULT_MAX_POOLED_BYTES = 4 * 1024 * 1024;
+  private static final int MAX_POOLED_LENGTHS = 256;
+  private static final int MAX_BUFFERS_PER_LENGTH = 128;
+
+  private final Map<Integer, ManyToManyConcurrentArrayQueue<byte[]>> pools =
+      new ConcurrentHashMap<>();
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final long maxPooledBytes;
+
+  RequestBufferPool() {
+    this(DEFAULT_MAX_POOLED_BYTES);
+  }
+
+  RequestBufferPool(final long maxPooledBytes) {
+    this.maxPooledBytes = maxPooledBytes;
+  }
+
+  /**
+   * Returns an array of exactly the given length, whose content is undefined. It should be given
+   * back via {@link #release(byte[])} once it is not used anymore.
+   */
+  byte[] acquire(final int length) {
+    final var pool = pools.get(length);
+    if (pool != null) {
+      final byte[] buffer = pool.poll();
+      if (buffer != null) {
+        pooledBytes.addAndGet(-buffer.length);
+        return buffer;
+      }
+    }
+
+    return new byte[length];
+  }
+
+  void release(final byte[] buffer) {
+    final int length = buffer.length;
+    if (length == 0 || length > MAX_POOLED_LENGTH) {
+      return;
+    }
+
+    var pool = pools.get(length);
+    if (pool == null) {
+      if (pools.size() >= MAX_POOLED_LENGTHS) {
+        return;
+      }
+
+      pool =
+          pools.computeIfAbsent(
+              length, ignored -> new ManyToManyConcurrentArrayQueue<>(MAX_BUFFERS_PER_LENGTH));
+    }
+
+    if (pooledBytes.addAndGet(length) > maxPooledBytes) {
+      pooledBytes.addAndGet(-length);
+      return;
+    }
+
+    if (!pool.offer(buffer)) {
+      pooledBytes.addAndGet(-length);
+    }
+  }
+
+  long getPooledBytes() {
+    return pooledBytes.get();
+  }
+}
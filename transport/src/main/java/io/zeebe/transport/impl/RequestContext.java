@@ -10,7 +10,6 @@ package io.zeebe.transport.impl;
 import static io.zeebe.transport.impl.AtomixServerTransport.topicName;
 
 import io.atomix.utils.net.Address;
-import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
@@ -30,7 +29,16 @@ final class RequestContext {
   private final Duration timeout;
   private final Predicate<DirectBuffer> responseValidator;
 
-  private ScheduledTimer scheduledTimer;
+  // links the request into its slot of the timeout wheel
+  private int timeoutSlot = -1;
+  private RequestContext previousInSlot;
+  private RequestContext nextInSlot;
+
+  // the request bytes can only be recycled when no send is pending, and no send failed, since the
+  // remote handler or the network layer may still read them otherwise
+  private int pendingSends;
+  private boolean sendFailed;
+  private boolean requestBytesReleased;
 
   RequestContext(
       final CompletableActorFuture<DirectBuffer> currentFuture,
@@ -87,24 +95,16 @@ final class RequestContext {
     return responseValidator.test(response);
   }
 
+  long getDeadline() {
+    return startTime + timeout.toMillis();
+  }
+
   public void complete(final DirectBuffer buffer) {
     currentFuture.complete(buffer);
-    cancelTimer();
   }
 
   public void completeExceptionally(final Throwable throwable) {
     currentFuture.completeExceptionally(throwable);
-    cancelTimer();
-  }
-
-  private void cancelTimer() {
-    if (scheduledTimer != null) {
-      scheduledTimer.cancel();
-    }
-  }
-
-  public void setScheduledTimer(final ScheduledTimer scheduledTimer) {
-    this.scheduledTimer = scheduledTimer;
   }
 
   public void timeout() {
@@ -115,4 +115,50 @@ final class RequestContext {
   public boolean shouldRetry() {
     return shouldRetry;
   }
+
+  int getTimeoutSlot() {
+    return timeoutSlot;
+  }
+
+  void setTimeoutSlot(final int timeoutSlot) {
+    this.timeoutSlot = timeoutSlot;
+  }
+
+  RequestContext getPreviousInSlot() {
+    return previousInSlot;
+  }
+
+  void setPreviousInSlot(final RequestContext previousInSlot) {
+    this.previousInSlot = previousInSlot;
+  }
+
+  RequestContext getNextInSlot() {
+    return nextInSlot;
+  }
+
+  void setNextInSlot(final RequestContext nextInSlot) {
+    this.nextInSlot = nextInSlot;
+  }
+
+  void onSend() {
+    pendingSends++;
+  }
+
+  void onSendCompleted(final boolean failed) {
+    pendingSends--;
+    sendFailed |= failed;
+  }
+
+  /**
+   * @return true if the request bytes are not referenced anymore, and were not released yet, in
+   *     which case they are marked as released
+   */
+  boolean tryReleaseRequestBytes() {
+    if (requestBytesReleased || !isDone() || pendingSends > 0 || sendFailed) {
+      return false;
+    }
+
+    requestBytesReleased = true;
+    return true;
+  }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import java.util.function.Consumer;
+import org.agrona.BitUtil;
+
+/**
+ * A hashed timing wheel which holds the deadlines of the pending requests of one transport actor,
+ * such that a single recurring tick times out the requests instead of one scheduled timer per
+ * request.
+ *
+ * <p>A request is put into the slot of the tick its deadline falls into. The slots form intrusive
+ * doubly linked lists over the request contexts, such that a request can be removed in constant
+ * time once it is completed. Deadlines which are more than one rotation ahead share the slot with
+ * nearer ones, and are skipped until their rotation comes.
+ *
+ * <p>The wheel is not thread safe, and is only accessed by the transport actor.
+ */
+final class RequestTimeoutWheel {
+
+  private final long tickMillis;
+  private final RequestContext[] slots;
+  private final int mask;
+
+  private long currentTick;
+  private int size;
+
+  RequestTimeoutWheel(final long tickMillis, final int slotCount) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException(
+          "Expected tick duration to be greater than 0, but was " + tickMillis);
+    }
+
+    this.tickMillis = tickMillis;
+    slots = new RequestContext[BitUtil.findNextPositivePowerOfTwo(slotCount)];
+    mask = slots.length - 1;
+  }
+
+  /**
+   * Adds the request, which is timed out by the first {@link #expire(long, Consumer)} after its
+   * deadline.
+   *
+   * @param requestContext the request to add, which must not be part of the wheel yet
+   * @param nowMillis the current time, which is only used to start the wheel if it is empty
+   */
+  void add(final RequestContext requestContext, final long nowMillis) {
+    if (size == 0) {
+      currentTick = nowMillis / tickMillis;
+    }
+
+    // a deadline which is already passed is expired on the next tick
+    final long deadlineTick =
+        Math.max(currentTick + 1, ceilDiv(requestContext.getDeadline(), tickMillis));
+    final int slot = (int) (deadlineTick & mask);
+
+    final RequestContext head = slots[slot];
+    requestContext.setTimeoutSlot(slot);
+    requestContext.setPreviousInSlot(null);
+    requestContext.setNextInSlot(head);
+    if (head != null) {
+      head.setPreviousInSlot(requestContext);
+    }
+    slots[slot] = requestContext;
+    size++;
+  }
+
+  /** Removes the request from the wheel, if it is part of it. */
+  void remove(final RequestContext requestContext) {
+    final int slot = requestContext.getTimeoutSlot();
+    if (slot < 0) {
+      return;
+    }
+
+    final RequestContext previous = requestContext.getPreviousInSlot();
+    final RequestContext next = requestContext.getNextInSlot();
+    if (previous == null) {
+      slots[slot] = next;
+    } else {
+      previous.setNextInSlot(next);
+    }
+    if (next != null) {
+      next.setPreviousInSlot(previous);
+    }
+
+    requestContext.setTimeoutSlot(-1);
+    requestContext.setPreviousInSlot(null);
+    requestContext.setNextInSlot(null);
+    size--;
+  }
+
+  /**
+   * Removes all requests whose deadline is not after the given time, and passes them to the given
+   * consumer.
+   *
+   * @return the count of expired requests
+   */
+  int expire(final long nowMillis, final Consumer<RequestContext> onTimeout) {
+    final long nowTick = nowMillis / tickMillis;
+    if (nowTick <= currentTick) {
+      return 0;
+    }
+
+    // if more than one rotation passed since the last tick, every slot is visited once
+    final long ticks = Math.min(nowTick - currentTick, slots.length);
+    int expired = 0;
+    for (long tick = nowTick - ticks + 1; tick <= nowTick; tick++) {
+      expired += expireSlot((int) (tick & mask), nowMillis, onTimeout);
+    }
+
+    currentTick = nowTick;
+    return expired;
+  }
+
+  private int expireSlot(
+      final int slot, final long nowMillis, final Consumer<RequestContext> onTimeout) {
+    int expired = 0;
+    RequestContext requestContext = slots[slot];
+    while (requestContext != null) {
+      final RequestContext next = requestContext.getNextInSlot();
+      if (requestContext.getDeadline() <= nowMillis) {
+        remove(requestContext);
+        onTimeout.accept(requestContext);
+        expired++;
+      }
+      requestContext = next;
+    }
+
+    return expired;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private static long ceilDiv(final long dividend, final long divisor) {
+    return -Math.floorDiv(-dividend, divisor);
+  }
+}
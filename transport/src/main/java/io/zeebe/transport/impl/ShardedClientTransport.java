@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import io.zeebe.transport.ClientRequest;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+
+/**
+ * Spreads the requests over several transport actors, which are called shards. The shard of a
+ * request is determined by its partition id, such that all requests to the same partition are
+ * handled by the same actor, while requests to different partitions can be handled concurrently.
+ * Each shard has its own timeout wheel and request buffer pool.
+ */
+public final class ShardedClientTransport implements ClientTransport {
+
+  private final List<AtomixClientTransportAdapter> shards;
+
+  public ShardedClientTransport(final List<AtomixClientTransportAdapter> shards) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("Expected at least one shard, but none was given");
+    }
+
+    this.shards = new ArrayList<>(shards);
+  }
+
+  @Override
+  public ActorFuture<DirectBuffer> sendRequestWithRetry(
+      final Supplier<String> nodeAddressSupplier,
+      final Predicate<DirectBuffer> responseValidator,
+      final ClientRequest clientRequest,
+      final Duration timeout) {
+    return getShard(clientRequest)
+        .sendRequestWithRetry(nodeAddressSupplier, responseValidator, clientRequest, timeout);
+  }
+
+  @Override
+  public ActorFuture<DirectBuffer> sendRequest(
+      final Supplier<String> nodeAddressSupplier,
+      final ClientRequest clientRequest,
+      final Duration timeout) {
+    return getShard(clientRequest).sendRequest(nodeAddressSupplier, clientRequest, timeout);
+  }
+
+  @Override
+  public void close() {
+    final var closeFutures = new ArrayList<ActorFuture<Void>>(shards.size());
+    shards.forEach(shard -> closeFutures.add(shard.closeAsync()));
+    closeFutures.forEach(ActorFuture::join);
+  }
+
+  int getShardCount() {
+    return shards.size();
+  }
+
+  private AtomixClientTransportAdapter getShard(final ClientRequest clientRequest) {
+    return shards.get(Math.floorMod(clientRequest.getPartitionId(), shards.size()));
+  }
+}
@@ -93,6 +93,19 @@ public class AtomixTransportTest {
                   return transportFactory.createServerTransport(0, messagingService);
                 }
           },
+          {
+            "use sharded client transport",
+            (Function<AtomixCluster, ClientTransport>)
+                (cluster) -> {
+                  final var messagingService = cluster.getMessagingService();
+                  return transportFactory.createClientTransport(messagingService, 4);
+                },
+            (Function<AtomixCluster, ServerTransport>)
+                (cluster) -> {
+                  final var messagingService = cluster.getMessagingService();
+                  return transportFactory.createServerTransport(0, messagingService);
+                }
+          },
           {
             "use different messaging service",
             (Function<AtomixCluster, ClientTransport>)
@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public final class RequestBufferPoolTest {
+
+  @Test
+  public void shouldReuseReleasedBufferOfSameLength() {
+    // given
+    final var pool = new RequestBufferPool();
+    final byte[] buffer = pool.acquire(128);
+
+    // when
+    pool.release(buffer);
+
+    // then
+    assertThat(pool.acquire(128)).isSameAs(buffer);
+    assertThat(pool.getPooledBytes()).isZero();
+  }
+
+  @Test
+  public void shouldNotReuseBufferOfOtherLength() {
+    // given
+    final var pool = new RequestBufferPool();
+    final byte[] buffer = pool.acquire(128);
+    pool.release(buffer);
+
+    // when
+    final byte[] acquired = pool.acquire(129);
+
+    // then
+    assertThat(acquired).isNotSameAs(buffer).hasSize(129);
+    assertThat(pool.getPooledBytes()).isEqualTo(128);
+  }
+
+  @Test
+  public void shouldNotPoolMoreThanMaxBytes() {
+    // given
+    final var pool = new RequestBufferPool(256);
+
+    // when
+    pool.release(new byte[128]);
+    pool.release(new byte[128]);
+    pool.release(new byte[128]);
+
+    // then
+    assertThat(pool.getPooledBytes()).isEqualTo(256);
+  }
+
+  @Test
+  public void shouldNotPoolLargeBuffers() {
+    // given
+    final var pool = new RequestBufferPool();
+
+    // when
+    pool.release(new byte[RequestBufferPool.MAX_POOLED_LENGTH + 1]);
+
+    // then
+    assertThat(pool.getPooledBytes()).isZero();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.clock.ActorClock;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class RequestTimeoutWheelTest {
+
+  private static final long TICK_MILLIS = 10;
+  private static final int SLOTS = 16;
+
+  private final List<RequestContext> expired = new ArrayList<>();
+  private RequestTimeoutWheel wheel;
+  private long now;
+
+  @Before
+  public void setUp() {
+    wheel = new RequestTimeoutWheel(TICK_MILLIS, SLOTS);
+    now = ActorClock.currentTimeMillis();
+  }
+
+  @Test
+  public void shouldExpireRequestAfterDeadline() {
+    // given
+    final var request = newRequest(Duration.ofMillis(25));
+    wheel.add(request, now);
+
+    // when
+    final int expiredBeforeDeadline = wheel.expire(request.getDeadline() - 1, expired::add);
+    final int expiredAfterDeadline =
+        wheel.expire(request.getDeadline() + TICK_MILLIS, expired::add);
+
+    // then
+    assertThat(expiredBeforeDeadline).isZero();
+    assertThat(expiredAfterDeadline).isOne();
+    assertThat(expired).containsExactly(request);
+    assertThat(wheel.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldNotExpireRemovedRequest() {
+    // given
+    final var removed = newRequest(Duration.ofMillis(20));
+    final var other = newRequest(Duration.ofMillis(20));
+    wheel.add(removed, now);
+    wheel.add(other, now);
+
+    // when
+    wheel.remove(removed);
+    wheel.expire(other.getDeadline() + TICK_MILLIS, expired::add);
+
+    // then
+    assertThat(expired).containsExactly(other);
+    assertThat(wheel.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldExpireRequestOnlyInItsRotation() {
+    // given
+    final var rotation = Duration.ofMillis(TICK_MILLIS * SLOTS);
+    final var near = newRequest(Duration.ofMillis(TICK_MILLIS * 2));
+    final var far = newRequest(rotation.plusMillis(TICK_MILLIS * 2));
+    wheel.add(near, now);
+    wheel.add(far, now);
+
+    // when
+    wheel.expire(near.getDeadline() + TICK_MILLIS, expired::add);
+
+    // then
+    assertThat(expired).containsExactly(near);
+    assertThat(wheel.size()).isOne();
+
+    // when
+    wheel.expire(far.getDeadline() + TICK_MILLIS, expired::add);
+
+    // then
+    assertThat(expired).containsExactly(near, far);
+    assertThat(wheel.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldExpireAllDueRequestsAfterSeveralRotations() {
+    // given
+    final var requests = new ArrayList<RequestContext>();
+    for (int i = 0; i < SLOTS * 2; i++) {
+      final var request = newRequest(Duration.ofMillis(i * TICK_MILLIS / 2));
+      requests.add(request);
+      wheel.add(request, now);
+    }
+
+    // when
+    wheel.expire(now + TICK_MILLIS * SLOTS * 3, expired::add);
+
+    // then
+    assertThat(expired).containsExactlyInAnyOrderElementsOf(requests);
+    assertThat(wheel.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldExpirePassedDeadlineOnNextTick() {
+    // given
+    final var request = newRequest(Duration.ZERO);
+    wheel.add(request, now + TICK_MILLIS * 5);
+
+    // when
+    wheel.expire(now + TICK_MILLIS * 6, expired::add);
+
+    // then
+    assertThat(expired).containsExactly(request);
+  }
+
+  private RequestContext newRequest(final Duration timeout) {
+    return new RequestContext(
+        new CompletableActorFuture<>(), () -> null, 1, new byte[0], r -> true, false, timeout);
+  }
+}
@@ -9,8 +9,10 @@ package io.zeebe.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.zip.CRC32;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -95,4 +97,34 @@ public class ChecksumUtilTest {
     // then
     assertThat(actual).isNotEqualTo(expectedChecksum);
   }
+
+  @Test
+  public void shouldCreateChecksumOfFile() throws Exception {
+    // given
+    final var crc32 = new CRC32();
+    crc32.update(Files.readAllBytes(exampleFile));
+
+    // when
+    final var actual = ChecksumUtil.createChecksum(exampleFile);
+
+    // then
+    assertThat(actual).isEqualTo(crc32.getValue());
+  }
+
+  @Test
+  public void shouldCombineChecksumsOfFiles() throws Exception {
+    // given
+    final var expectedChecksum =
+        ChecksumUtil.createCombinedChecksum(List.of(exampleFile, otherExampleFile));
+
+    // when
+    final var actual =
+        ChecksumUtil.combineChecksums(
+            List.of(
+                ChecksumUtil.createChecksum(exampleFile),
+                ChecksumUtil.createChecksum(otherExampleFile)));
+
+    // then
+    assertThat(actual).isEqualTo(expectedChecksum);
+  }
 }
@@ -67,6 +67,18 @@ public interface ColumnFamily<KeyType extends DbKey, ValueType extends DbValue>
    */
   void whileTrue(KeyValuePairVisitor<KeyType, ValueType> visitor);
 
+  /**
+   * Visits the key-value pairs, which are stored in the column family, starting at the first key
+   * which is equal to or greater than the given start key. The ordering depends on the key. The
+   * visitor can indicate via the return value, whether the iteration should continue or not.
+   *
+   * <p>Similar to {@link #whileTrue(KeyValuePairVisitor)}.
+   *
+   * @param startAtKey the key to start the iteration at
+   * @param visitor the visitor which visits the key-value pairs
+   */
+  void whileTrue(KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor);
+
   /**
    * Visits the key-value pairs, which are stored in the column family and which have the same
    * common prefix. The ordering depends on the key.
@@ -92,6 +104,20 @@ public interface ColumnFamily<KeyType extends DbKey, ValueType extends DbValue>
    */
   void whileEqualPrefix(DbKey keyPrefix, KeyValuePairVisitor<KeyType, ValueType> visitor);
 
+  /**
+   * Visits the key-value pairs, which are stored in the column family and which have the same
+   * common prefix, starting at the first key which is equal to or greater than the given start key.
+   * This allows to resume an iteration without visiting the preceding keys again.
+   *
+   * <p>Similar to {@link #whileEqualPrefix(DbKey, KeyValuePairVisitor)}.
+   *
+   * @param keyPrefix the prefix which should have the keys in common
+   * @param startAtKey the key to start the iteration at, which has to begin with the prefix
+   * @param visitor the visitor which visits the key-value pairs
+   */
+  void whileEqualPrefix(
+      DbKey keyPrefix, KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor);
+
   /**
    * Deletes the key-value pair with the given key from the column family.
    *
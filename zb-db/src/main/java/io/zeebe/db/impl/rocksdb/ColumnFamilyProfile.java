@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+import org.rocksdb.CompactionPriority;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.IndexType;
+
+/**
+ * Describes the dominant access pattern of a column family, from which the tuning of its RocksDB
+ * options is derived. Every profile receives its own share of the block cache, its own filter
+ * configuration and its own compaction style.
+ */
+public enum ColumnFamilyProfile {
+
+  /**
+   * Mostly point reads of single keys, e.g. variables or keys. Whole keys are added to the bloom
+   * filter and a large share of the block cache is reserved for these families.
+   */
+  POINT_LOOKUP(
+      0.35,
+      10,
+      true,
+      IndexType.kHashSearch,
+      CompactionStyle.LEVEL,
+      CompactionPriority.MinOverlappingRatio),
+
+  /**
+   * Reads are mostly prefix iterations over a composite key. This is the profile which was used for
+   * all data before profiles were introduced and is the default for unknown column families.
+   */
+  PREFIX_SCAN(
+      0.4,
+      10,
+      true,
+      IndexType.kHashSearch,
+      CompactionStyle.LEVEL,
+      CompactionPriority.OldestSmallestSeqFirst),
+
+  /**
+   * Keys are ordered by time, appended at the tail and removed from the head, e.g. due dates or
+   * deadlines. Such families are only range scanned, so bloom filters are useless, and their
+   * compaction is prioritized by the amount of deletions to drop tombstones quickly.
+   */
+  TIME_ORDERED_QUEUE(
+      0.15,
+      0,
+      false,
+      IndexType.kBinarySearch,
+      CompactionStyle.LEVEL,
+      CompactionPriority.ByCompensatedSize),
+
+  /**
+   * Values are written once and rarely read afterwards. Universal compaction keeps the write
+   * amplification low and only a small share of the block cache is reserved.
+   */
+  WRITE_ONCE(
+      0.1,
+      10,
+      true,
+      IndexType.kHashSearch,
+      CompactionStyle.UNIVERSAL,
+      CompactionPriority.OldestSmallestSeqFirst);
+
+  private final double blockCacheShare;
+  private final int bloomFilterBitsPerKey;
+  private final boolean wholeKeyFiltering;
+  private final IndexType indexType;
+  private final CompactionStyle compactionStyle;
+  private final CompactionPriority compactionPriority;
+
+  ColumnFamilyProfile(
+      final double blockCacheShare,
+      final int bloomFilterBitsPerKey,
+      final boolean wholeKeyFiltering,
+      final IndexType indexType,
+      final CompactionStyle compactionStyle,
+      final CompactionPriority compactionPriority) {
+    this.blockCacheShare = blockCacheShare;
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.wholeKeyFiltering = wholeKeyFiltering;
+    this.indexType = indexType;
+    this.compactionStyle = compactionStyle;
+    this.compactionPriority = compactionPriority;
+  }
+
+  /**
+   * @return the weight of this profile when splitting the block cache between the profiles in use
+   */
+  public double getBlockCacheShare() {
+    return blockCacheShare;
+  }
+
+  /** @return the bits per key of the bloom filter, or 0 if no bloom filter should be created */
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public boolean hasBloomFilter() {
+    return bloomFilterBitsPerKey > 0;
+  }
+
+  public boolean isWholeKeyFiltering() {
+    return wholeKeyFiltering;
+  }
+
+  public IndexType getIndexType() {
+    return indexType;
+  }
+
+  public CompactionStyle getCompactionStyle() {
+    return compactionStyle;
+  }
+
+  public CompactionPriority getCompactionPriority() {
+    return compactionPriority;
+  }
+}
@@ -7,12 +7,16 @@
  */
 package io.zeebe.db.impl.rocksdb;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 public final class RocksDbConfiguration {
 
   public static final long DEFAULT_MEMORY_LIMIT = 512 * 1024 * 1024L;
   public static final int DEFAULT_UNLIMITED_MAX_OPEN_FILES = -1;
+  public static final ColumnFamilyProfile DEFAULT_COLUMN_FAMILY_PROFILE =
+      ColumnFamilyProfile.PREFIX_SCAN;
 
   private final Properties columnFamilyOptions;
   private final boolean statisticsEnabled;
@@ -27,15 +31,42 @@ public final class RocksDbConfiguration {
    */
   private final int maxOpenFiles;
 
+  /**
+   * Maps the name of a column family to the profile its options are derived from. Column families
+   * which are not contained use the {@link #DEFAULT_COLUMN_FAMILY_PROFILE}.
+   */
+  private final Map<String, ColumnFamilyProfile> columnFamilyProfiles;
+
+  /**
+   * If true, each column family is stored in its own RocksDB column family, which allows them to be
+   * compacted, flushed and tuned independently. Otherwise all column families share the default
+   * RocksDB column family and are only separated by their key prefix. Existing state is moved to
+   * the configured layout when the database is opened.
+   */
+  private final boolean separateColumnFamilies;
+
+  /**
+   * Maps the name of a column family to the size in bytes of the cache in front of it. Only column
+   * families with long keys can be cached; the cache is disabled for all other column families and
+   * for those which are not contained.
+   */
+  private final Map<String, Long> columnFamilyCacheSizes;
+
   private RocksDbConfiguration(
       final Properties columnFamilyOptions,
       final boolean statisticsEnabled,
       final long memoryLimit,
-      final int maxOpenFiles) {
+      final int maxOpenFiles,
+      final Map<String, ColumnFamilyProfile> columnFamilyProfiles,
+      final boolean separateColumnFamilies,
+      final Map<String, Long> columnFamilyCacheSizes) {
     this.columnFamilyOptions = columnFamilyOptions;
     this.statisticsEnabled = statisticsEnabled;
     this.memoryLimit = memoryLimit;
     this.maxOpenFiles = maxOpenFiles;
+    this.columnFamilyProfiles = Map.copyOf(columnFamilyProfiles);
+    this.separateColumnFamilies = separateColumnFamilies;
+    this.columnFamilyCacheSizes = Map.copyOf(columnFamilyCacheSizes);
   }
 
   public static RocksDbConfiguration empty() {
@@ -61,7 +92,94 @@ public final class RocksDbConfiguration {
       final boolean statisticsEnabled,
       final long memoryLimit,
       final int maxOpenFiles) {
-    return new RocksDbConfiguration(properties, statisticsEnabled, memoryLimit, maxOpenFiles);
+    return of(properties, statisticsEnabled, memoryLimit, maxOpenFiles, Map.of());
+  }
+
+  public static RocksDbConfiguration of(
+      final Properties properties,
+      final boolean statisticsEnabled,
+      final long memoryLimit,
+      final int maxOpenFiles,
+      final Map<String, ColumnFamilyProfile> columnFamilyProfiles) {
+    return of(
+        properties, statisticsEnabled, memoryLimit, maxOpenFiles, columnFamilyProfiles, false);
+  }
+
+  public static RocksDbConfiguration of(
+      final Properties properties,
+      final boolean statisticsEnabled,
+      final long memoryLimit,
+      final int maxOpenFiles,
+      final Map<String, ColumnFamilyProfile> columnFamilyProfiles,
+      final boolean separateColumnFamilies) {
+    return of(
+        properties,
+        statisticsEnabled,
+        memoryLimit,
+        maxOpenFiles,
+        columnFamilyProfiles,
+        separateColumnFamilies,
+        Map.of());
+  }
+
+  public static RocksDbConfiguration of(
+      final Properties properties,
+      final boolean statisticsEnabled,
+      final long memoryLimit,
+      final int maxOpenFiles,
+      final Map<String, ColumnFamilyProfile> columnFamilyProfiles,
+      final boolean separateColumnFamilies,
+      final Map<String, Long> columnFamilyCacheSizes) {
+    return new RocksDbConfiguration(
+        properties,
+        statisticsEnabled,
+        memoryLimit,
+        maxOpenFiles,
+        columnFamilyProfiles,
+        separateColumnFamilies,
+        columnFamilyCacheSizes);
+  }
+
+  /**
+   * Returns a copy of this configuration, where the given profiles are used for all column families
+   * which have no explicitly configured profile.
+   *
+   * @param defaultProfiles the profiles per column family name to fall back to
+   * @return the configuration including the given defaults
+   */
+  public RocksDbConfiguration withDefaultColumnFamilyProfiles(
+      final Map<String, ColumnFamilyProfile> defaultProfiles) {
+    final var profiles = new HashMap<>(defaultProfiles);
+    profiles.putAll(columnFamilyProfiles);
+    return of(
+        columnFamilyOptions,
+        statisticsEnabled,
+        memoryLimit,
+        maxOpenFiles,
+        profiles,
+        separateColumnFamilies,
+        columnFamilyCacheSizes);
+  }
+
+  /**
+   * Returns a copy of this configuration, where the given cache sizes are used for all column
+   * families which have no explicitly configured cache size.
+   *
+   * @param defaultCacheSizes the cache sizes in bytes per column family name to fall back to
+   * @return the configuration including the given defaults
+   */
+  public RocksDbConfiguration withDefaultColumnFamilyCacheSizes(
+      final Map<String, Long> defaultCacheSizes) {
+    final var cacheSizes = new HashMap<>(defaultCacheSizes);
+    cacheSizes.putAll(columnFamilyCacheSizes);
+    return of(
+        columnFamilyOptions,
+        statisticsEnabled,
+        memoryLimit,
+        maxOpenFiles,
+        columnFamilyProfiles,
+        separateColumnFamilies,
+        cacheSizes);
   }
 
   public Properties getColumnFamilyOptions() {
@@ -79,4 +197,20 @@ public final class RocksDbConfiguration {
   public int getMaxOpenFiles() {
     return maxOpenFiles;
   }
+
+  public Map<String, ColumnFamilyProfile> getColumnFamilyProfiles() {
+    return columnFamilyProfiles;
+  }
+
+  public boolean isSeparateColumnFamilies() {
+    return separateColumnFamilies;
+  }
+
+  public Map<String, Long> getColumnFamilyCacheSizes() {
+    return columnFamilyCacheSizes;
+  }
+
+  public ColumnFamilyProfile getColumnFamilyProfile(final String columnFamilyName) {
+    return columnFamilyProfiles.getOrDefault(columnFamilyName, DEFAULT_COLUMN_FAMILY_PROFILE);
+  }
 }
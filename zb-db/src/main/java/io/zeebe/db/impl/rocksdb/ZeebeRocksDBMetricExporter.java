@@ -9,6 +9,7 @@ package io.zeebe.db.impl.rocksdb;
 
 import io.prometheus.client.Gauge;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +70,38 @@ public final class ZeebeRocksDBMetricExporter<ColumnFamilyType extends Enum<Colu
     new RocksDBMetric("rocksdb.num-running-compactions", WRITE_METRICS_PREFIX, WRITE_METRICS_HELP),
   };
 
+  private static final String COLUMN_FAMILY = "columnFamily";
+  private static final String CACHE_METRICS_HELP_SUFFIX =
+      " of the cache in front of a column family per column family and partition";
+  private static final Gauge CACHE_HITS =
+      Gauge.build()
+          .namespace(ZEEBE_NAMESPACE)
+          .name("rocksdb_cache_hits")
+          .help("Total number of hits" + CACHE_METRICS_HELP_SUFFIX)
+          .labelNames(PARTITION, COLUMN_FAMILY)
+          .register();
+  private static final Gauge CACHE_MISSES =
+      Gauge.build()
+          .namespace(ZEEBE_NAMESPACE)
+          .name("rocksdb_cache_misses")
+          .help("Total number of misses" + CACHE_METRICS_HELP_SUFFIX)
+          .labelNames(PARTITION, COLUMN_FAMILY)
+          .register();
+  private static final Gauge CACHE_EVICTIONS =
+      Gauge.build()
+          .namespace(ZEEBE_NAMESPACE)
+          .name("rocksdb_cache_evictions")
+          .help("Total number of evicted entries" + CACHE_METRICS_HELP_SUFFIX)
+          .labelNames(PARTITION, COLUMN_FAMILY)
+          .register();
+  private static final Gauge CACHE_SIZE =
+      Gauge.build()
+          .namespace(ZEEBE_NAMESPACE)
+          .name("rocksdb_cache_size_bytes")
+          .help("Estimated size in bytes" + CACHE_METRICS_HELP_SUFFIX)
+          .labelNames(PARTITION, COLUMN_FAMILY)
+          .register();
+
   private final String partition;
   private final ZeebeDb<ColumnFamilyType> database;
 
@@ -84,6 +117,7 @@ public final class ZeebeRocksDBMetricExporter<ColumnFamilyType extends Enum<Colu
     exportMetrics(LIVE_METRICS);
     exportMetrics(SST_METRICS);
     exportMetrics(WRITE_METRICS);
+    exportCacheMetrics();
 
     final long elapsedTime = System.currentTimeMillis() - startTime;
     LOG.trace("Exporting RocksDBMetrics took + {} ms", elapsedTime);
@@ -102,6 +136,19 @@ public final class ZeebeRocksDBMetricExporter<ColumnFamilyType extends Enum<Colu
     }
   }
 
+  private void exportCacheMetrics() {
+    if (database instanceof ZeebeTransactionDb) {
+      ((ZeebeTransactionDb<ColumnFamilyType>) database)
+          .forEachColumnFamilyCache(
+              (columnFamily, cache) -> {
+                CACHE_HITS.labels(partition, columnFamily).set(cache.getHits());
+                CACHE_MISSES.labels(partition, columnFamily).set(cache.getMisses());
+                CACHE_EVICTIONS.labels(partition, columnFamily).set(cache.getEvictions());
+                CACHE_SIZE.labels(partition, columnFamily).set(cache.getSize());
+              });
+    }
+  }
+
   private static final class RocksDBMetric {
 
     private final String propertyName;
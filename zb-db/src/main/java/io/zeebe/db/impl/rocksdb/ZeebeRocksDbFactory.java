@@ -10,28 +10,31 @@ package io.zeebe.db.impl.rocksdb;
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
 import org.agrona.CloseHelper;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyOptions;
-import org.rocksdb.CompactionPriority;
-import org.rocksdb.CompactionStyle;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.DataBlockIndexType;
-import org.rocksdb.IndexType;
 import org.rocksdb.LRUCache;
-import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Statistics;
 import org.rocksdb.StatsLevel;
 import org.rocksdb.TableFormatConfig;
+import org.rocksdb.WriteBufferManager;
 
 public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamilyType>>
     implements ZeebeDbFactory<ColumnFamilyType> {
@@ -61,16 +64,49 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
     final ZeebeTransactionDb<ColumnFamilyType> db;
     final List<AutoCloseable> closeables = new ArrayList<>();
     try {
+      final var path = pathName.getAbsolutePath();
+      final var separateColumnFamilies = rocksDbConfiguration.isSeparateColumnFamilies();
+
       // column family options have to be closed as last
-      final var columnFamilyOptions = createColumnFamilyOptions(closeables);
-      closeables.add(columnFamilyOptions);
+      final var profilesInUse = getProfilesInUse();
+      final var optionsPerProfile =
+          new EnumMap<ColumnFamilyProfile, ColumnFamilyOptions>(ColumnFamilyProfile.class);
+      for (final var profile : profilesInUse) {
+        final var columnFamilyOptions =
+            createColumnFamilyOptions(profile, profilesInUse, closeables);
+        closeables.add(columnFamilyOptions);
+        optionsPerProfile.put(profile, columnFamilyOptions);
+      }
+      final var defaultOptions =
+          optionsPerProfile.get(RocksDbConfiguration.DEFAULT_COLUMN_FAMILY_PROFILE);
+      final Function<String, ColumnFamilyOptions> optionsProvider =
+          name ->
+              separateColumnFamilies
+                  ? optionsPerProfile.get(rocksDbConfiguration.getColumnFamilyProfile(name))
+                  : defaultOptions;
+
       final var dbOptions = createDefaultDbOptions(closeables);
       closeables.add(dbOptions);
 
-      final var options = new Options(dbOptions, columnFamilyOptions);
-      closeables.add(options);
+      // all existing column families have to be opened, even if they are migrated afterwards
+      final var columnFamilyDescriptors = new ArrayList<ColumnFamilyDescriptor>();
+      columnFamilyDescriptors.add(
+          new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, defaultOptions));
+      for (final var name : ZeebeTransactionDb.listColumnFamilies(path)) {
+        columnFamilyDescriptors.add(
+            new ColumnFamilyDescriptor(
+                name.getBytes(StandardCharsets.UTF_8), optionsProvider.apply(name)));
+      }
 
-      db = ZeebeTransactionDb.openTransactionalDb(options, pathName.getAbsolutePath(), closeables);
+      db =
+          ZeebeTransactionDb.openTransactionalDb(
+              dbOptions,
+              path,
+              columnFamilyDescriptors,
+              closeables,
+              separateColumnFamilies,
+              optionsProvider,
+              rocksDbConfiguration.getColumnFamilyCacheSizes());
 
     } catch (final RocksDBException e) {
       CloseHelper.quietCloseAll(closeables);
@@ -79,6 +115,14 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
     return db;
   }
 
+  private Set<ColumnFamilyProfile> getProfilesInUse() {
+    final var profiles = EnumSet.of(RocksDbConfiguration.DEFAULT_COLUMN_FAMILY_PROFILE);
+    if (rocksDbConfiguration.isSeparateColumnFamilies()) {
+      profiles.addAll(rocksDbConfiguration.getColumnFamilyProfiles().values());
+    }
+    return profiles;
+  }
+
   private DBOptions createDefaultDbOptions(final List<AutoCloseable> closeables) {
     final var dbOptions =
         new DBOptions()
@@ -88,7 +132,7 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
             .setMaxOpenFiles(rocksDbConfiguration.getMaxOpenFiles())
             // 1 flush, 1 compaction
             .setMaxBackgroundJobs(2)
-            // we only use the default CF
+            // column families are only opened if they exist, missing ones are created on demand
             .setCreateMissingColumnFamilies(false)
             // may not be necessary when WAL is disabled, but nevertheless recommended to avoid
             // many small SST files
@@ -103,6 +147,17 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
             .setLogFileTimeToRoll(Duration.ofMinutes(30).toSeconds())
             .setKeepLogFileNum(2);
 
+    if (rocksDbConfiguration.isSeparateColumnFamilies()) {
+      // every column family has its own memtables, so we bound the memory of all memtables
+      // together to the budget which a single column family would use otherwise
+      final var memtableMemory = rocksDbConfiguration.getMemoryLimit() - getBlockCacheMemory();
+      final var writeBufferCache = new LRUCache(memtableMemory);
+      closeables.add(writeBufferCache);
+      final var writeBufferManager = new WriteBufferManager(memtableMemory, writeBufferCache);
+      closeables.add(writeBufferManager);
+      dbOptions.setWriteBufferManager(writeBufferManager);
+    }
+
     if (rocksDbConfiguration.isStatisticsEnabled()) {
       final var statistics = new Statistics();
       closeables.add(statistics);
@@ -120,6 +175,26 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
 
   /** @return Options which are used on all column families */
   ColumnFamilyOptions createColumnFamilyOptions(final List<AutoCloseable> closeables) {
+    return createColumnFamilyOptions(
+        RocksDbConfiguration.DEFAULT_COLUMN_FAMILY_PROFILE,
+        EnumSet.of(RocksDbConfiguration.DEFAULT_COLUMN_FAMILY_PROFILE),
+        closeables);
+  }
+
+  /**
+   * Creates the options for a column family with the given profile. The block cache is split
+   * between all profiles which are in use, weighted by their {@link
+   * ColumnFamilyProfile#getBlockCacheShare()}.
+   *
+   * @param profile the profile of the column family
+   * @param profilesInUse all profiles which are used by the column families of the database
+   * @param closeables collects the native resources which have to be closed with the database
+   * @return options which are used on the column families with the given profile
+   */
+  ColumnFamilyOptions createColumnFamilyOptions(
+      final ColumnFamilyProfile profile,
+      final Set<ColumnFamilyProfile> profilesInUse,
+      final List<AutoCloseable> closeables) {
     final var userProvidedColumnFamilyOptions = rocksDbConfiguration.getColumnFamilyOptions();
     final var hasUserOptions = !userProvidedColumnFamilyOptions.isEmpty();
 
@@ -127,7 +202,7 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
       return createFromUserOptions(userProvidedColumnFamilyOptions);
     }
 
-    return createDefaultColumnFamilyOptions(closeables);
+    return createDefaultColumnFamilyOptions(profile, profilesInUse, closeables);
   }
 
   private ColumnFamilyOptions createFromUserOptions(
@@ -147,13 +222,13 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
   }
 
   private ColumnFamilyOptions createDefaultColumnFamilyOptions(
+      final ColumnFamilyProfile profile,
+      final Set<ColumnFamilyProfile> profilesInUse,
       final List<AutoCloseable> closeables) {
     final var columnFamilyOptions = new ColumnFamilyOptions();
 
     final var totalMemoryBudget = rocksDbConfiguration.getMemoryLimit();
-    // recommended by RocksDB, but we could tweak it; keep in mind we're also caching the indexes
-    // and filters into the block cache, so we don't need to account for more memory there
-    final var blockCacheMemory = totalMemoryBudget / 3;
+    final var blockCacheMemory = getBlockCacheMemory();
     // flushing the memtables is done asynchronously, so there may be multiple memtables in memory,
     // although only a single one is writable. once we have too many memtables, writes will stop.
     // since prefix iteration is our bread n butter, we will build an additional filter for each
@@ -171,7 +246,11 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
             ((totalMemoryBudget - blockCacheMemory) / (double) maxConcurrentMemtableCount)
                 * (1 - memtablePrefixFilterMemory));
 
-    final var tableConfig = createTableFormatConfig(closeables, blockCacheMemory);
+    final var totalBlockCacheShare =
+        profilesInUse.stream().mapToDouble(ColumnFamilyProfile::getBlockCacheShare).sum();
+    final var profileBlockCacheMemory =
+        Math.round(blockCacheMemory * (profile.getBlockCacheShare() / totalBlockCacheShare));
+    final var tableConfig = createTableFormatConfig(profile, closeables, profileBlockCacheMemory);
 
     return columnFamilyOptions
         // to extract our column family type (used as prefix) and seek faster
@@ -187,8 +266,8 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
         .setWriteBufferSize(memtableMemory)
         // compaction
         .setLevelCompactionDynamicLevelBytes(true)
-        .setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst)
-        .setCompactionStyle(CompactionStyle.LEVEL)
+        .setCompactionPriority(profile.getCompactionPriority())
+        .setCompactionStyle(profile.getCompactionStyle())
         // L-0 means immediately flushed memtables
         .setLevel0FileNumCompactionTrigger(maxConcurrentMemtableCount)
         .setLevel0SlowdownWritesTrigger(
@@ -222,33 +301,44 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
         .setTableFormatConfig(tableConfig);
   }
 
+  private long getBlockCacheMemory() {
+    // recommended by RocksDB, but we could tweak it; keep in mind we're also caching the indexes
+    // and filters into the block cache, so we don't need to account for more memory there
+    return rocksDbConfiguration.getMemoryLimit() / 3;
+  }
+
   private TableFormatConfig createTableFormatConfig(
-      final List<AutoCloseable> closeables, final long blockCacheMemory) {
+      final ColumnFamilyProfile profile,
+      final List<AutoCloseable> closeables,
+      final long blockCacheMemory) {
     // you can use the perf context to check if we're often blocked on the block cache mutex, in
     // which case we want to increase the number of shards (shard count == 2^shardBits)
     final var cache = new LRUCache(blockCacheMemory, 8, false, 0.15);
     closeables.add(cache);
 
-    final var filter = new BloomFilter(10, false);
-    closeables.add(filter);
+    final var tableConfig = new BlockBasedTableConfig();
+    if (profile.hasBloomFilter()) {
+      final var filter = new BloomFilter(profile.getBloomFilterBitsPerKey(), false);
+      closeables.add(filter);
+      tableConfig.setFilterPolicy(filter);
+    }
 
-    return new BlockBasedTableConfig()
+    return tableConfig
         .setBlockCache(cache)
         // increasing block size means reducing memory usage, but increasing read iops
         .setBlockSize(32 * 1024L)
         // full and partitioned filters use a more efficient bloom filter implementation when
         // using format 5
         .setFormatVersion(5)
-        .setFilterPolicy(filter)
         // caching and pinning indexes and filters is important to keep reads/seeks fast when we
         // have many memtables, and pinning them ensures they are never evicted from the block
         // cache
         .setCacheIndexAndFilterBlocks(true)
         .setPinL0FilterAndIndexBlocksInCache(true)
         .setCacheIndexAndFilterBlocksWithHighPriority(true)
-        // default is binary search, but all of our scans are prefix based which is a good use
-        // case for efficient hashing
-        .setIndexType(IndexType.kHashSearch)
+        // default is binary search, but most of our scans are prefix based which is a good use
+        // case for efficient hashing; only range scanned profiles keep the binary search
+        .setIndexType(profile.getIndexType())
         .setDataBlockIndexType(DataBlockIndexType.kDataBlockBinaryAndHash)
         // RocksDB dev benchmarks show improvements when this is between 0.5 and 1, so let's
         // start with the middle and optimize later from there
@@ -257,6 +347,6 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
         // setMemtablePrefixBloomSizeRatio which will create a separate index for prefixes, so
         // keeping the whole keys in the prefixes is still useful for efficient gets. think of
         // it as a two-tiered index
-        .setWholeKeyFiltering(true);
+        .setWholeKeyFiltering(profile.isWholeKeyFiltering());
   }
 }
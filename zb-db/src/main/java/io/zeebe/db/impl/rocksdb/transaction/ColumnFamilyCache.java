@@ -0,0 +1,256 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import java.util.Arrays;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongHashSet;
+
+/**
+ * A bounded write-through cache in front of a column family with long keys. It caches the committed
+ * values in a least recently used order, until the configured size in bytes is reached.
+ *
+ * <p>Writes of the current transaction are kept apart from the committed values, such that reads of
+ * the transaction see its own writes. They are applied to the committed values when the transaction
+ * is committed, and discarded when it is rolled back.
+ *
+ * <p>The cache is not thread safe; it must only be enabled for column families which are accessed
+ * by a single thread, through a single transaction at a time.
+ */
+public final class ColumnFamilyCache {
+
+  /** Returned by {@link #get(long)} if the key was deleted in the current transaction. */
+  static final byte[] DELETED = new byte[0];
+
+  // rough estimate of the memory used by an entry besides its value: the entry object, its slot in
+  // the map and the array header
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private final Long2ObjectHashMap<Entry> entries = new Long2ObjectHashMap<>();
+  private final Long2ObjectHashMap<byte[]> pendingPuts = new Long2ObjectHashMap<>();
+  private final LongHashSet pendingDeletes = new LongHashSet();
+  private final long maxSize;
+
+  // least recently used entry is the head, most recently used the tail
+  private Entry head;
+  private Entry tail;
+  private long size;
+  private boolean hasPendingWrites;
+
+  // the statistics are only written by the owning thread, other threads may read stale values
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  public ColumnFamilyCache(final long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Looks up the value of the given key.
+   *
+   * @param key the key to look up
+   * @return the cached value, {@link #DELETED} if the key was deleted in the current transaction,
+   *     or null if the value is not cached
+   */
+  byte[] get(final long key) {
+    if (hasPendingWrites) {
+      if (pendingDeletes.contains(key)) {
+        hits++;
+        return DELETED;
+      }
+
+      final var pendingValue = pendingPuts.get(key);
+      if (pendingValue != null) {
+        hits++;
+        return pendingValue;
+      }
+    }
+
+    final var entry = entries.get(key);
+    if (entry == null) {
+      misses++;
+      return null;
+    }
+
+    hits++;
+    moveToTail(entry);
+    return entry.value;
+  }
+
+  /**
+   * Adds a committed value which was read from the database after a cache miss.
+   *
+   * @param key the key of the value
+   * @param value the value, which must not be modified afterwards
+   */
+  void fill(final long key, final byte[] value) {
+    if (hasPendingWrites && (pendingDeletes.contains(key) || pendingPuts.containsKey(key))) {
+      return;
+    }
+    putCommitted(key, value);
+  }
+
+  /**
+   * Stages a value which was written by the current transaction.
+   *
+   * @return true if this was the first pending write since the last commit or rollback, in which
+   *     case the cache has to be notified about the outcome of the transaction
+   */
+  boolean stagePut(final long key, final byte[] value, final int length) {
+    pendingDeletes.remove(key);
+    pendingPuts.put(key, Arrays.copyOf(value, length));
+    return markPendingWrites();
+  }
+
+  /**
+   * Stages a deletion which was done by the current transaction.
+   *
+   * @return true if this was the first pending write since the last commit or rollback, in which
+   *     case the cache has to be notified about the outcome of the transaction
+   */
+  boolean stageDelete(final long key) {
+    pendingPuts.remove(key);
+    pendingDeletes.add(key);
+    return markPendingWrites();
+  }
+
+  /** Applies the pending writes to the committed values, after the transaction was committed. */
+  void onCommit() {
+    if (!hasPendingWrites) {
+      return;
+    }
+
+    final var deletes = pendingDeletes.iterator();
+    while (deletes.hasNext()) {
+      remove(deletes.nextValue());
+    }
+    final var puts = pendingPuts.entrySet().iterator();
+    while (puts.hasNext()) {
+      puts.next();
+      putCommitted(puts.getLongKey(), puts.getValue());
+    }
+    clearPendingWrites();
+  }
+
+  /** Discards the pending writes, after the transaction was rolled back. */
+  void onRollback() {
+    if (hasPendingWrites) {
+      clearPendingWrites();
+    }
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public long getEvictions() {
+    return evictions;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public int getEntryCount() {
+    return entries.size();
+  }
+
+  private boolean markPendingWrites() {
+    final var isFirstPendingWrite = !hasPendingWrites;
+    hasPendingWrites = true;
+    return isFirstPendingWrite;
+  }
+
+  private void clearPendingWrites() {
+    pendingPuts.clear();
+    pendingDeletes.clear();
+    hasPendingWrites = false;
+  }
+
+  private void putCommitted(final long key, final byte[] value) {
+    final var entrySize = ENTRY_OVERHEAD + value.length;
+    if (entrySize > maxSize) {
+      remove(key);
+      return;
+    }
+
+    var entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry(key);
+      entries.put(key, entry);
+      append(entry);
+    } else {
+      size -= ENTRY_OVERHEAD + entry.value.length;
+      moveToTail(entry);
+    }
+    entry.value = value;
+    size += entrySize;
+
+    while (size > maxSize) {
+      evictions++;
+      remove(head.key);
+    }
+  }
+
+  private void remove(final long key) {
+    final var entry = entries.remove(key);
+    if (entry != null) {
+      unlink(entry);
+      size -= ENTRY_OVERHEAD + entry.value.length;
+    }
+  }
+
+  private void moveToTail(final Entry entry) {
+    if (entry != tail) {
+      unlink(entry);
+      append(entry);
+    }
+  }
+
+  private void append(final Entry entry) {
+    entry.previous = tail;
+    entry.next = null;
+    if (tail != null) {
+      tail.next = entry;
+    } else {
+      head = entry;
+    }
+    tail = entry;
+  }
+
+  private void unlink(final Entry entry) {
+    if (entry.previous != null) {
+      entry.previous.next = entry.next;
+    } else {
+      head = entry.next;
+    }
+    if (entry.next != null) {
+      entry.next.previous = entry.previous;
+    } else {
+      tail = entry.previous;
+    }
+    entry.previous = null;
+    entry.next = null;
+  }
+
+  private static final class Entry {
+    private final long key;
+    private byte[] value;
+    private Entry previous;
+    private Entry next;
+
+    private Entry(final long key) {
+      this.key = key;
+    }
+  }
+}
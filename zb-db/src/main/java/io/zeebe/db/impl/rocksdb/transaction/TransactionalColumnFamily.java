@@ -14,10 +14,12 @@ import io.zeebe.db.DbKey;
 import io.zeebe.db.DbValue;
 import io.zeebe.db.KeyValuePairVisitor;
 import io.zeebe.db.TransactionContext;
+import io.zeebe.db.impl.DbLong;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksIterator;
 
@@ -33,6 +35,10 @@ class TransactionalColumnFamily<
   private final ValueType valueInstance;
   private final KeyType keyInstance;
   private final ColumnFamilyContext columnFamilyContext;
+  private final ColumnFamilyHandle handle;
+  private final long nativeHandle;
+  // only column families with long keys can be cached
+  private final ColumnFamilyCache cache;
 
   TransactionalColumnFamily(
       final ZeebeTransactionDb<ColumnFamilyNames> transactionDb,
@@ -45,6 +51,9 @@ class TransactionalColumnFamily<
     this.keyInstance = keyInstance;
     this.valueInstance = valueInstance;
     columnFamilyContext = new ColumnFamilyContext(columnFamily.ordinal());
+    handle = transactionDb.getColumnFamilyHandle(columnFamily);
+    nativeHandle = ZeebeTransactionDb.getNativeHandle(handle);
+    cache = keyInstance instanceof DbLong ? transactionDb.getColumnFamilyCache(columnFamily) : null;
   }
 
   private void ensureInOpenTransaction(
@@ -62,18 +71,29 @@ class TransactionalColumnFamily<
           columnFamilyContext.writeValue(value);
 
           transaction.put(
-              transactionDb.getDefaultNativeHandle(),
+              nativeHandle,
               columnFamilyContext.getKeyBufferArray(),
               columnFamilyContext.getKeyLength(),
               columnFamilyContext.getValueBufferArray(),
               value.getLength());
+
+          if (cache != null
+              && cache.stagePut(
+                  ((DbLong) key).getValue(),
+                  columnFamilyContext.getValueBufferArray(),
+                  value.getLength())) {
+            transaction.registerPendingWrites(cache);
+          }
         });
   }
 
   @Override
   public ValueType get(final KeyType key) {
     columnFamilyContext.writeKey(key);
-    final DirectBuffer valueBuffer = getValue(context, columnFamilyContext);
+    final DirectBuffer valueBuffer =
+        cache != null
+            ? getCachedValue(((DbLong) key).getValue())
+            : getValue(context, columnFamilyContext);
     if (valueBuffer != null) {
       valueInstance.wrap(valueBuffer, 0, valueBuffer.capacity());
       return valueInstance;
@@ -88,7 +108,7 @@ class TransactionalColumnFamily<
         transaction -> {
           final byte[] value =
               transaction.get(
-                  transactionDb.getDefaultNativeHandle(),
+                  nativeHandle,
                   transactionDb.getReadOptionsNativeHandle(),
                   columnFamilyContext.getKeyBufferArray(),
                   columnFamilyContext.getKeyLength());
@@ -97,6 +117,23 @@ class TransactionalColumnFamily<
     return columnFamilyContext.getValueView();
   }
 
+  private DirectBuffer getCachedValue(final long key) {
+    final byte[] cachedValue = cache.get(key);
+    if (cachedValue == ColumnFamilyCache.DELETED) {
+      return null;
+    } else if (cachedValue != null) {
+      columnFamilyContext.wrapValueView(cachedValue);
+      return columnFamilyContext.getValueView();
+    }
+
+    final DirectBuffer valueBuffer = getValue(context, columnFamilyContext);
+    if (valueBuffer != null) {
+      // the value array is not reused by RocksDB, so it can be cached as it is
+      cache.fill(key, valueBuffer.byteArray());
+    }
+    return valueBuffer;
+  }
+
   @Override
   public void forEach(final Consumer<ValueType> consumer) {
     forEach(context, consumer);
@@ -112,6 +149,12 @@ class TransactionalColumnFamily<
     whileTrue(context, visitor);
   }
 
+  @Override
+  public void whileTrue(
+      final KeyType startAtKey, final KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    whileEqualPrefix(context, DbNullKey.INSTANCE, startAtKey, keyInstance, valueInstance, visitor);
+  }
+
   @Override
   public void whileEqualPrefix(
       final DbKey keyPrefix, final BiConsumer<KeyType, ValueType> visitor) {
@@ -124,20 +167,38 @@ class TransactionalColumnFamily<
     whileEqualPrefix(context, keyPrefix, visitor);
   }
 
+  @Override
+  public void whileEqualPrefix(
+      final DbKey keyPrefix,
+      final KeyType startAtKey,
+      final KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    whileEqualPrefix(context, keyPrefix, startAtKey, keyInstance, valueInstance, visitor);
+  }
+
   @Override
   public void delete(final KeyType key) {
     columnFamilyContext.writeKey(key);
     ensureInOpenTransaction(
         context,
-        transaction ->
-            transaction.delete(
-                transactionDb.getDefaultNativeHandle(),
-                columnFamilyContext.getKeyBufferArray(),
-                columnFamilyContext.getKeyLength()));
+        transaction -> {
+          transaction.delete(
+              nativeHandle,
+              columnFamilyContext.getKeyBufferArray(),
+              columnFamilyContext.getKeyLength());
+
+          if (cache != null && cache.stageDelete(((DbLong) key).getValue())) {
+            transaction.registerPendingWrites(cache);
+          }
+        });
   }
 
   @Override
   public boolean exists(final KeyType key) {
+    if (cache != null) {
+      columnFamilyContext.writeKey(key);
+      return getCachedValue(((DbLong) key).getValue()) != null;
+    }
+
     columnFamilyContext.wrapValueView(new byte[0]);
     ensureInOpenTransaction(
         context,
@@ -196,7 +257,7 @@ class TransactionalColumnFamily<
 
   RocksIterator newIterator(final TransactionContext context, final ReadOptions options) {
     final var currentTransaction = (ZeebeTransaction) context.getCurrentTransaction();
-    return currentTransaction.newIterator(options, transactionDb.getDefaultHandle());
+    return currentTransaction.newIterator(options, handle);
   }
 
   protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
@@ -263,6 +324,20 @@ class TransactionalColumnFamily<
       final KeyType keyInstance,
       final ValueType valueInstance,
       final KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    whileEqualPrefix(context, prefix, null, keyInstance, valueInstance, visitor);
+  }
+
+  /**
+   * Iterates over the entries with the given prefix, but seeks to the given start key instead of
+   * the prefix if it is not null. The start key has to begin with the prefix.
+   */
+  protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
+      final TransactionContext context,
+      final DbKey prefix,
+      final DbKey startAtKey,
+      final KeyType keyInstance,
+      final ValueType valueInstance,
+      final KeyValuePairVisitor<KeyType, ValueType> visitor) {
     columnFamilyContext.withPrefixKey(
         prefix,
         (prefixKey, prefixLength) ->
@@ -274,11 +349,23 @@ class TransactionalColumnFamily<
 
                     boolean shouldVisitNext = true;
 
+                    final byte[] seekTarget;
+                    final int seekTargetLength;
+                    if (startAtKey != null) {
+                      // the key buffer is only used to seek, before the visitor can reuse it
+                      columnFamilyContext.writeKey(startAtKey);
+                      seekTarget = columnFamilyContext.getKeyBufferArray();
+                      seekTargetLength = columnFamilyContext.getKeyLength();
+                    } else {
+                      seekTarget = prefixKey;
+                      seekTargetLength = prefixLength;
+                    }
+
                     for (RocksDbInternal.seek(
                             iterator,
                             ZeebeTransactionDb.getNativeHandle(iterator),
-                            prefixKey,
-                            prefixLength);
+                            seekTarget,
+                            seekTargetLength);
                         iterator.isValid() && shouldVisitNext;
                         iterator.next()) {
                       final byte[] keyBytes = iterator.key();
@@ -12,6 +12,8 @@ import static io.zeebe.db.impl.rocksdb.transaction.RocksDbInternal.isRocksDbExce
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.ZeebeDbTransaction;
+import java.util.ArrayList;
+import java.util.List;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
@@ -22,6 +24,8 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   private final long nativeHandle;
   private final TransactionRenovator transactionRenovator;
+  // caches which staged writes of this transaction and wait for its outcome
+  private final List<ColumnFamilyCache> cachesWithPendingWrites = new ArrayList<>();
 
   private boolean inCurrentTransaction;
   private Transaction transaction;
@@ -69,6 +73,10 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     return transaction.getIterator(options, handle);
   }
 
+  void registerPendingWrites(final ColumnFamilyCache cache) {
+    cachesWithPendingWrites.add(cache);
+  }
+
   void resetTransaction() {
     transaction = transactionRenovator.renewTransaction(transaction);
     inCurrentTransaction = true;
@@ -120,11 +128,23 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   void commitInternal() throws RocksDBException {
     inCurrentTransaction = false;
     transaction.commit();
+
+    for (int i = 0; i < cachesWithPendingWrites.size(); i++) {
+      cachesWithPendingWrites.get(i).onCommit();
+    }
+    cachesWithPendingWrites.clear();
   }
 
   void rollbackInternal() throws RocksDBException {
     inCurrentTransaction = false;
-    transaction.rollback();
+    try {
+      transaction.rollback();
+    } finally {
+      for (int i = 0; i < cachesWithPendingWrites.size(); i++) {
+        cachesWithPendingWrites.get(i).onRollback();
+      }
+      cachesWithPendingWrites.clear();
+    }
   }
 
   public void close() {
@@ -14,19 +14,35 @@ import io.zeebe.db.TransactionContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.impl.DbNil;
+import io.zeebe.db.impl.ZeebeDbConstants;
 import io.zeebe.db.impl.rocksdb.Loggers;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.rocksdb.Checkpoint;
+import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
 import org.rocksdb.Transaction;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 
@@ -36,22 +52,42 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   private static final Logger LOG = Loggers.DB_LOGGER;
   private static final String ERROR_MESSAGE_CLOSE_RESOURCE =
       "Expected to close RocksDB resource successfully, but exception was thrown. Will continue to close remaining resources.";
+  private static final String ERROR_MESSAGE_RESOLVE_COLUMN_FAMILY =
+      "Expected to resolve the RocksDB column family %s, but an exception was thrown.";
+  private static final int MIGRATION_BATCH_SIZE = 10_000;
   private final OptimisticTransactionDB optimisticTransactionDB;
   private final List<AutoCloseable> closables;
   private final ReadOptions prefixReadOptions;
   private final ReadOptions defaultReadOptions;
   private final WriteOptions defaultWriteOptions;
   private final ColumnFamilyHandle defaultHandle;
-  private final long defaultNativeHandle;
+  private final boolean separateColumnFamilies;
+  private final Function<String, ColumnFamilyOptions> columnFamilyOptionsProvider;
+  // the RocksDB column families which exist in the database, except the default one
+  private final Map<String, ColumnFamilyHandle> columnFamilyHandles;
+  // the handles which were resolved (and migrated) for a column family in this session
+  private final Map<String, ColumnFamilyHandle> resolvedHandles = new HashMap<>();
+  // the cache size in bytes per column family name, for which a cache is enabled
+  private final Map<String, Long> columnFamilyCacheSizes;
+  // the caches are shared between all instances of the same column family; they are visited by the
+  // metric exporter from another thread
+  private final Map<String, ColumnFamilyCache> columnFamilyCaches = new ConcurrentHashMap<>();
 
   protected ZeebeTransactionDb(
       final ColumnFamilyHandle defaultHandle,
+      final Map<String, ColumnFamilyHandle> columnFamilyHandles,
       final OptimisticTransactionDB optimisticTransactionDB,
-      final List<AutoCloseable> closables) {
+      final List<AutoCloseable> closables,
+      final boolean separateColumnFamilies,
+      final Function<String, ColumnFamilyOptions> columnFamilyOptionsProvider,
+      final Map<String, Long> columnFamilyCacheSizes) {
     this.defaultHandle = defaultHandle;
-    defaultNativeHandle = getNativeHandle(defaultHandle);
+    this.columnFamilyHandles = new HashMap<>(columnFamilyHandles);
     this.optimisticTransactionDB = optimisticTransactionDB;
     this.closables = closables;
+    this.separateColumnFamilies = separateColumnFamilies;
+    this.columnFamilyOptionsProvider = columnFamilyOptionsProvider;
+    this.columnFamilyCacheSizes = columnFamilyCacheSizes;
 
     prefixReadOptions =
         new ReadOptions()
@@ -68,16 +104,76 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     closables.add(defaultWriteOptions);
   }
 
+  /**
+   * Opens the database with all of its existing column families.
+   *
+   * @param options the options of the database
+   * @param path the path of the database
+   * @param columnFamilyDescriptors the descriptors of all existing column families, where the first
+   *     one is the default column family
+   * @param closables the resources which have to be closed with the database
+   * @param separateColumnFamilies if true, each column family is stored in its own RocksDB column
+   *     family, otherwise all of them share the default column family
+   * @param columnFamilyOptionsProvider provides the options of RocksDB column families which are
+   *     created later on
+   * @param columnFamilyCacheSizes the cache size in bytes per column family name; column families
+   *     which are not contained are not cached
+   * @return the opened database
+   * @throws RocksDBException if the database can't be opened
+   */
   public static <ColumnFamilyNames extends Enum<ColumnFamilyNames>>
       ZeebeTransactionDb<ColumnFamilyNames> openTransactionalDb(
-          final Options options, final String path, final List<AutoCloseable> closables)
+          final DBOptions options,
+          final String path,
+          final List<ColumnFamilyDescriptor> columnFamilyDescriptors,
+          final List<AutoCloseable> closables,
+          final boolean separateColumnFamilies,
+          final Function<String, ColumnFamilyOptions> columnFamilyOptionsProvider,
+          final Map<String, Long> columnFamilyCacheSizes)
           throws RocksDBException {
+    final var handles = new ArrayList<ColumnFamilyHandle>();
     final OptimisticTransactionDB optimisticTransactionDB =
-        OptimisticTransactionDB.open(options, path);
+        OptimisticTransactionDB.open(options, path, columnFamilyDescriptors, handles);
     closables.add(optimisticTransactionDB);
-    final var defaultColumnFamilyHandle = optimisticTransactionDB.getDefaultColumnFamily();
+    // handles have to be closed before the database
+    closables.addAll(handles);
 
-    return new ZeebeTransactionDb<>(defaultColumnFamilyHandle, optimisticTransactionDB, closables);
+    final var columnFamilyHandles = new HashMap<String, ColumnFamilyHandle>();
+    for (int i = 1; i < handles.size(); i++) {
+      final var name = new String(columnFamilyDescriptors.get(i).getName(), StandardCharsets.UTF_8);
+      columnFamilyHandles.put(name, handles.get(i));
+    }
+
+    return new ZeebeTransactionDb<>(
+        handles.get(0),
+        columnFamilyHandles,
+        optimisticTransactionDB,
+        closables,
+        separateColumnFamilies,
+        columnFamilyOptionsProvider,
+        columnFamilyCacheSizes);
+  }
+
+  /**
+   * Lists the names of the RocksDB column families of an existing database, excluding the default
+   * column family.
+   *
+   * @param path the path of the database
+   * @return the names of the column families, or an empty list if there is no database yet
+   */
+  public static List<String> listColumnFamilies(final String path) {
+    try (final var options = new Options()) {
+      final var names = new ArrayList<String>();
+      for (final byte[] name : RocksDB.listColumnFamilies(options, path)) {
+        if (!Arrays.equals(name, RocksDB.DEFAULT_COLUMN_FAMILY)) {
+          names.add(new String(name, StandardCharsets.UTF_8));
+        }
+      }
+      return names;
+    } catch (final RocksDBException e) {
+      // there is no database yet
+      return List.of();
+    }
   }
 
   static long getNativeHandle(final RocksObject object) {
@@ -93,16 +189,145 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     return prefixReadOptions;
   }
 
-  protected ColumnFamilyHandle getDefaultHandle() {
-    return defaultHandle;
-  }
-
   protected long getReadOptionsNativeHandle() {
     return getNativeHandle(defaultReadOptions);
   }
 
-  protected long getDefaultNativeHandle() {
-    return defaultNativeHandle;
+  /**
+   * Resolves the RocksDB column family in which the entries of the given column family are stored.
+   * Entries which are still stored in the other layout, e.g. after the separation of the column
+   * families was switched on or off, are moved on the first resolution.
+   *
+   * @param columnFamily the column family
+   * @return the handle of the RocksDB column family
+   */
+  protected ColumnFamilyHandle getColumnFamilyHandle(final ColumnFamilyNames columnFamily) {
+    final var name = columnFamily.name();
+    final var resolvedHandle = resolvedHandles.get(name);
+    if (resolvedHandle != null) {
+      return resolvedHandle;
+    }
+
+    try {
+      final ColumnFamilyHandle handle;
+      if (separateColumnFamilies) {
+        handle = getOrCreateSeparateHandle(name);
+        moveEntries(defaultHandle, handle, columnFamily);
+      } else {
+        handle = defaultHandle;
+        final var separateHandle = columnFamilyHandles.remove(name);
+        if (separateHandle != null) {
+          moveEntries(separateHandle, defaultHandle, columnFamily);
+          optimisticTransactionDB.dropColumnFamily(separateHandle);
+          closables.remove(separateHandle);
+          separateHandle.close();
+        }
+      }
+
+      resolvedHandles.put(name, handle);
+      return handle;
+    } catch (final RocksDBException e) {
+      throw new ZeebeDbException(String.format(ERROR_MESSAGE_RESOLVE_COLUMN_FAMILY, name), e);
+    }
+  }
+
+  /**
+   * Returns the cache of the given column family, which is shared by all of its instances.
+   *
+   * @param columnFamily the column family
+   * @return the cache, or null if no cache is configured for the column family
+   */
+  ColumnFamilyCache getColumnFamilyCache(final ColumnFamilyNames columnFamily) {
+    final var name = columnFamily.name();
+    final var cache = columnFamilyCaches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+
+    final var cacheSize = columnFamilyCacheSizes.getOrDefault(name, 0L);
+    if (cacheSize <= 0) {
+      return null;
+    }
+
+    final var newCache = new ColumnFamilyCache(cacheSize);
+    columnFamilyCaches.put(name, newCache);
+    return newCache;
+  }
+
+  /**
+   * Visits the caches of all column families which were accessed so far.
+   *
+   * @param visitor receives the name of the column family and its cache
+   */
+  public void forEachColumnFamilyCache(final BiConsumer<String, ColumnFamilyCache> visitor) {
+    columnFamilyCaches.forEach(visitor);
+  }
+
+  private ColumnFamilyHandle getOrCreateSeparateHandle(final String name) throws RocksDBException {
+    var handle = columnFamilyHandles.get(name);
+    if (handle == null) {
+      handle =
+          optimisticTransactionDB.createColumnFamily(
+              new ColumnFamilyDescriptor(
+                  name.getBytes(StandardCharsets.UTF_8), columnFamilyOptionsProvider.apply(name)));
+      columnFamilyHandles.put(name, handle);
+      closables.add(handle);
+    }
+    return handle;
+  }
+
+  /**
+   * Moves all entries of a column family from one RocksDB column family to another. The keys are
+   * prefixed with the column family ordinal in both layouts, so they are copied unchanged. The
+   * entries are moved in chunks, each of which is written atomically together with the deletion of
+   * the moved range, such that an interrupted migration continues on the next start.
+   */
+  private void moveEntries(
+      final ColumnFamilyHandle source,
+      final ColumnFamilyHandle target,
+      final ColumnFamilyNames columnFamily)
+      throws RocksDBException {
+    final var prefix = new byte[Long.BYTES];
+    new UnsafeBuffer(prefix).putLong(0, columnFamily.ordinal(), ZeebeDbConstants.ZB_DB_BYTE_ORDER);
+
+    long movedEntries = 0;
+    try (final RocksIterator iterator =
+        optimisticTransactionDB.newIterator(source, defaultReadOptions)) {
+      iterator.seek(prefix);
+
+      while (iterator.isValid() && startsWith(prefix, iterator.key())) {
+        try (final var batch = new WriteBatch()) {
+          final byte[] firstKey = iterator.key();
+          byte[] lastKey = firstKey;
+          while (iterator.isValid()
+              && batch.count() < MIGRATION_BATCH_SIZE
+              && startsWith(prefix, iterator.key())) {
+            lastKey = iterator.key();
+            batch.put(target, lastKey, iterator.value());
+            iterator.next();
+          }
+
+          // the end of a range is exclusive, the smallest key after the last one is the last key
+          // followed by a zero byte
+          batch.deleteRange(source, firstKey, Arrays.copyOf(lastKey, lastKey.length + 1));
+          movedEntries += batch.count() - 1;
+          optimisticTransactionDB.write(defaultWriteOptions, batch);
+        }
+      }
+    }
+
+    if (movedEntries > 0) {
+      LOG.info(
+          "Moved {} entries of column family {} {} a separate RocksDB column family",
+          movedEntries,
+          columnFamily,
+          separateColumnFamilies ? "into" : "out of");
+    }
+  }
+
+  private static boolean startsWith(final byte[] prefix, final byte[] key) {
+    return key.length >= prefix.length
+        && Arrays.equals(prefix, 0, prefix.length, key, 0, prefix.length);
   }
 
   @Override
@@ -144,7 +369,13 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   public Optional<String> getProperty(final String propertyName) {
     String propertyValue = null;
     try {
-      propertyValue = optimisticTransactionDB.getProperty(defaultHandle, propertyName);
+      if (separateColumnFamilies) {
+        // sums up the values of all column families
+        propertyValue =
+            String.valueOf(optimisticTransactionDB.getAggregatedLongProperty(propertyName));
+      } else {
+        propertyValue = optimisticTransactionDB.getProperty(defaultHandle, propertyName);
+      }
     } catch (final RocksDBException rde) {
       LOG.debug(rde.getMessage(), rde);
     }
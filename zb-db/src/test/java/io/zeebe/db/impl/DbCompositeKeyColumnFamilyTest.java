@@ -373,6 +373,37 @@ public final class DbCompositeKeyColumnFamilyTest {
     assertThat(secondKeyParts).containsExactly(34L, 37426L, 923113L, 255L);
   }
 
+  @Test
+  public void shouldUseWhileEqualPrefixStartingAtKey() {
+    // given
+    putKeyValuePair("foo", 12, "baring");
+    putKeyValuePair("foo", 13, "different value");
+    putKeyValuePair("foo", 53, "expected value");
+    putKeyValuePair("foo", 213, "oh wow");
+    putKeyValuePair("foobar", 14, "other prefix");
+    putKeyValuePair("hello", 34, "world");
+
+    // when
+    final var startFirstKey = new DbString();
+    final var startSecondKey = new DbLong();
+    final var startAtKey = new DbCompositeKey<>(startFirstKey, startSecondKey);
+    startFirstKey.wrapString("foo");
+    startSecondKey.wrapLong(14);
+    firstKey.wrapString("foo");
+
+    final List<Long> secondKeyParts = new ArrayList<>();
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        startAtKey,
+        (key, value) -> {
+          secondKeyParts.add(key.getSecond().getValue());
+          return true;
+        });
+
+    // then
+    assertThat(secondKeyParts).containsExactly(53L, 213L);
+  }
+
   private void putKeyValuePair(final String firstKey, final long secondKey, final String value) {
     this.firstKey.wrapString(firstKey);
     this.secondKey.wrapLong(secondKey);
@@ -16,12 +16,17 @@ import io.zeebe.db.impl.DefaultColumnFamily;
 import io.zeebe.util.ByteValue;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.Properties;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompactionPriority;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.IndexType;
 
 public final class ZeebeRocksDbFactoryTest {
 
@@ -117,4 +122,59 @@ public final class ZeebeRocksDbFactoryTest {
         .hasMessageContaining(
             "Expected to create column family options for RocksDB, but one or many values are undefined in the context of RocksDB");
   }
+
+  @Test
+  public void shouldCreateColumnFamilyOptionsPerProfile() {
+    // given
+    final var factory = (ZeebeRocksDbFactory<DefaultColumnFamily>) ZeebeRocksDbFactory.newFactory();
+    final var profilesInUse =
+        EnumSet.of(ColumnFamilyProfile.POINT_LOOKUP, ColumnFamilyProfile.TIME_ORDERED_QUEUE);
+
+    // when
+    final var pointLookup =
+        factory.createColumnFamilyOptions(
+            ColumnFamilyProfile.POINT_LOOKUP, profilesInUse, new ArrayList<>());
+    final var queue =
+        factory.createColumnFamilyOptions(
+            ColumnFamilyProfile.TIME_ORDERED_QUEUE, profilesInUse, new ArrayList<>());
+
+    // then
+    final var pointLookupTable = (BlockBasedTableConfig) pointLookup.tableFormatConfig();
+    assertThat(pointLookup.compactionPriority()).isEqualTo(CompactionPriority.MinOverlappingRatio);
+    assertThat(pointLookupTable.wholeKeyFiltering()).isTrue();
+    assertThat(pointLookupTable.indexType()).isEqualTo(IndexType.kHashSearch);
+
+    final var queueTable = (BlockBasedTableConfig) queue.tableFormatConfig();
+    assertThat(queue.compactionStyle()).isEqualTo(CompactionStyle.LEVEL);
+    assertThat(queue.compactionPriority()).isEqualTo(CompactionPriority.ByCompensatedSize);
+    assertThat(queueTable.filterPolicy()).isNull();
+    assertThat(queueTable.indexType()).isEqualTo(IndexType.kBinarySearch);
+  }
+
+  @Test
+  public void shouldUseDefaultProfileForUnknownColumnFamilies() {
+    // given
+    final var configuration =
+        RocksDbConfiguration.empty()
+            .withDefaultColumnFamilyProfiles(
+                Map.of(
+                    "VARIABLES", ColumnFamilyProfile.WRITE_ONCE,
+                    "JOBS", ColumnFamilyProfile.POINT_LOOKUP));
+    final var userConfiguration =
+        RocksDbConfiguration.of(
+                new Properties(),
+                false,
+                RocksDbConfiguration.DEFAULT_MEMORY_LIMIT,
+                RocksDbConfiguration.DEFAULT_UNLIMITED_MAX_OPEN_FILES,
+                Map.of("VARIABLES", ColumnFamilyProfile.POINT_LOOKUP))
+            .withDefaultColumnFamilyProfiles(configuration.getColumnFamilyProfiles());
+
+    // then
+    assertThat(configuration.getColumnFamilyProfile("OTHER"))
+        .isEqualTo(RocksDbConfiguration.DEFAULT_COLUMN_FAMILY_PROFILE);
+    assertThat(userConfiguration.getColumnFamilyProfile("VARIABLES"))
+        .isEqualTo(ColumnFamilyProfile.POINT_LOOKUP);
+    assertThat(userConfiguration.getColumnFamilyProfile("JOBS"))
+        .isEqualTo(ColumnFamilyProfile.POINT_LOOKUP);
+  }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.TransactionContext;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DbString;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class ZeebeRocksDbColumnFamilyCacheTest {
+
+  // fits three entries with a long value
+  private static final long CACHE_SIZE = 3 * (64 + Long.BYTES);
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final DbLong key = new DbLong();
+  private final DbLong value = new DbLong();
+  private File path;
+  private ZeebeTransactionDb<TestColumnFamilies> db;
+  private TransactionContext transactionContext;
+  private ColumnFamily<DbLong, DbLong> cachedColumnFamily;
+
+  @Before
+  public void setup() throws Exception {
+    path = temporaryFolder.newFolder();
+    openDb();
+  }
+
+  @After
+  public void tearDown() {
+    db.close();
+  }
+
+  @Test
+  public void shouldReadCommittedValueFromCache() {
+    // given
+    cachedColumnFamily.put(key(1), value(10));
+
+    // when
+    final var firstRead = cachedColumnFamily.get(key(1)).getValue();
+    final var secondRead = cachedColumnFamily.get(key(1)).getValue();
+
+    // then
+    assertThat(firstRead).isEqualTo(10L);
+    assertThat(secondRead).isEqualTo(10L);
+    assertThat(cache().getHits()).isEqualTo(2);
+    assertThat(cache().getMisses()).isZero();
+  }
+
+  @Test
+  public void shouldFillCacheOnMiss() {
+    // given - a reopened database starts with an empty cache
+    cachedColumnFamily.put(key(1), value(10));
+    db.close();
+    openDb();
+
+    // when
+    final var firstRead = cachedColumnFamily.get(key(1)).getValue();
+    final var secondRead = cachedColumnFamily.get(key(1)).getValue();
+
+    // then
+    assertThat(firstRead).isEqualTo(10L);
+    assertThat(secondRead).isEqualTo(10L);
+    assertThat(cache().getMisses()).isEqualTo(1);
+    assertThat(cache().getHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReadOwnWritesBeforeCommit() throws Exception {
+    // given
+    cachedColumnFamily.put(key(1), value(10));
+    final var transaction = transactionContext.getCurrentTransaction();
+
+    // when
+    transaction.run(() -> cachedColumnFamily.put(key(1), value(20)));
+
+    // then
+    assertThat(cachedColumnFamily.get(key(1)).getValue()).isEqualTo(20L);
+    transaction.commit();
+    assertThat(cachedColumnFamily.get(key(1)).getValue()).isEqualTo(20L);
+  }
+
+  @Test
+  public void shouldDiscardWritesOnRollback() throws Exception {
+    // given
+    cachedColumnFamily.put(key(1), value(10));
+    final var transaction = transactionContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          cachedColumnFamily.put(key(1), value(20));
+          cachedColumnFamily.put(key(2), value(30));
+        });
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(cachedColumnFamily.get(key(1)).getValue()).isEqualTo(10L);
+    assertThat(cachedColumnFamily.get(key(2))).isNull();
+    assertThat(cachedColumnFamily.exists(key(2))).isFalse();
+  }
+
+  @Test
+  public void shouldNotReturnDeletedValue() throws Exception {
+    // given
+    cachedColumnFamily.put(key(1), value(10));
+    final var transaction = transactionContext.getCurrentTransaction();
+
+    // when
+    transaction.run(() -> cachedColumnFamily.delete(key(1)));
+
+    // then
+    assertThat(cachedColumnFamily.get(key(1))).isNull();
+    assertThat(cachedColumnFamily.exists(key(1))).isFalse();
+    transaction.commit();
+    assertThat(cachedColumnFamily.get(key(1))).isNull();
+    assertThat(cachedColumnFamily.exists(key(1))).isFalse();
+  }
+
+  @Test
+  public void shouldRestoreDeletedValueOnRollback() throws Exception {
+    // given
+    cachedColumnFamily.put(key(1), value(10));
+    final var transaction = transactionContext.getCurrentTransaction();
+    transaction.run(() -> cachedColumnFamily.delete(key(1)));
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(cachedColumnFamily.exists(key(1))).isTrue();
+    assertThat(cachedColumnFamily.get(key(1)).getValue()).isEqualTo(10L);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntries() {
+    // given
+    for (int i = 1; i <= 3; i++) {
+      cachedColumnFamily.put(key(i), value(i * 10));
+    }
+    // key 1 becomes the most recently used entry
+    cachedColumnFamily.get(key(1));
+
+    // when
+    cachedColumnFamily.put(key(4), value(40));
+
+    // then
+    assertThat(cache().getEvictions()).isEqualTo(1);
+    assertThat(cache().getEntryCount()).isEqualTo(3);
+    assertThat(cache().getSize()).isLessThanOrEqualTo(CACHE_SIZE);
+    assertThat(cache().get(2)).isNull();
+    assertThat(cache().get(1)).isNotNull();
+
+    // evicted values are still read from the database
+    assertThat(cachedColumnFamily.get(key(2)).getValue()).isEqualTo(20L);
+  }
+
+  @Test
+  public void shouldNotCacheColumnFamilyWithoutLongKeys() {
+    // given
+    final var stringKey = new DbString();
+    final var columnFamily =
+        db.createColumnFamily(TestColumnFamilies.STRING_KEYS, transactionContext, stringKey, value);
+    stringKey.wrapString("foo");
+
+    // when
+    columnFamily.put(stringKey, value(10));
+
+    // then
+    assertThat(columnFamily.get(stringKey).getValue()).isEqualTo(10L);
+    assertThat(db.getColumnFamilyCache(TestColumnFamilies.STRING_KEYS).getEntryCount()).isZero();
+    assertThat(db.getColumnFamilyCache(TestColumnFamilies.STRING_KEYS).getMisses()).isZero();
+  }
+
+  private void openDb() {
+    final var configuration =
+        RocksDbConfiguration.of(
+            new Properties(),
+            false,
+            RocksDbConfiguration.DEFAULT_MEMORY_LIMIT,
+            RocksDbConfiguration.DEFAULT_UNLIMITED_MAX_OPEN_FILES,
+            Map.of(),
+            false,
+            Map.of(
+                TestColumnFamilies.CACHED.name(),
+                CACHE_SIZE,
+                TestColumnFamilies.STRING_KEYS.name(),
+                CACHE_SIZE));
+    db =
+        (ZeebeTransactionDb<TestColumnFamilies>)
+            ZeebeRocksDbFactory.<TestColumnFamilies>newFactory(configuration).createDb(path);
+    transactionContext = db.createContext();
+    cachedColumnFamily =
+        db.createColumnFamily(TestColumnFamilies.CACHED, transactionContext, key, value);
+  }
+
+  private ColumnFamilyCache cache() {
+    return db.getColumnFamilyCache(TestColumnFamilies.CACHED);
+  }
+
+  private DbLong key(final long key) {
+    this.key.wrapLong(key);
+    return this.key;
+  }
+
+  private DbLong value(final long value) {
+    this.value.wrapLong(value);
+    return this.value;
+  }
+
+  private enum TestColumnFamilies {
+    CACHED,
+    STRING_KEYS
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class ZeebeRocksDbColumnFamilyLayoutTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ZeebeDbFactory<TestColumnFamilies> sharedFactory = ZeebeRocksDbFactory.newFactory();
+  private final ZeebeDbFactory<TestColumnFamilies> separateFactory =
+      ZeebeRocksDbFactory.newFactory(
+          RocksDbConfiguration.of(
+              new Properties(),
+              false,
+              RocksDbConfiguration.DEFAULT_MEMORY_LIMIT,
+              RocksDbConfiguration.DEFAULT_UNLIMITED_MAX_OPEN_FILES,
+              Map.of(),
+              true));
+
+  private final DbLong key = new DbLong();
+  private final DbLong value = new DbLong();
+  private File path;
+
+  @Before
+  public void setup() throws Exception {
+    path = temporaryFolder.newFolder();
+  }
+
+  @Test
+  public void shouldStoreColumnFamiliesInSeparateRocksDbColumnFamilies() throws Exception {
+    // given
+    try (final var db = separateFactory.createDb(path)) {
+      columnFamily(db, TestColumnFamilies.FIRST).put(key(1), value(10));
+      columnFamily(db, TestColumnFamilies.SECOND).put(key(1), value(20));
+    }
+
+    // when
+    final var columnFamilies = ZeebeTransactionDb.listColumnFamilies(path.getAbsolutePath());
+
+    // then
+    assertThat(columnFamilies).containsExactlyInAnyOrder("FIRST", "SECOND");
+    try (final var db = separateFactory.createDb(path)) {
+      assertThat(readAll(db, TestColumnFamilies.FIRST)).containsExactly(10L);
+      assertThat(readAll(db, TestColumnFamilies.SECOND)).containsExactly(20L);
+    }
+  }
+
+  @Test
+  public void shouldMoveEntriesIntoSeparateColumnFamilies() throws Exception {
+    // given - more entries than fit into one migration batch
+    final var entryCount = 25_000;
+    try (final var db = sharedFactory.createDb(path)) {
+      final var first = columnFamily(db, TestColumnFamilies.FIRST);
+      for (int i = 0; i < entryCount; i++) {
+        first.put(key(i), value(i));
+      }
+      columnFamily(db, TestColumnFamilies.SECOND).put(key(1), value(20));
+    }
+
+    // when
+    try (final var db = separateFactory.createDb(path)) {
+      // then
+      assertThat(readAll(db, TestColumnFamilies.FIRST)).hasSize(entryCount);
+      assertThat(columnFamily(db, TestColumnFamilies.FIRST).get(key(42)).getValue()).isEqualTo(42L);
+      assertThat(readAll(db, TestColumnFamilies.SECOND)).containsExactly(20L);
+    }
+
+    assertThat(ZeebeTransactionDb.listColumnFamilies(path.getAbsolutePath()))
+        .containsExactlyInAnyOrder("FIRST", "SECOND");
+  }
+
+  @Test
+  public void shouldMoveEntriesBackIntoSharedColumnFamily() throws Exception {
+    // given
+    try (final var db = separateFactory.createDb(path)) {
+      columnFamily(db, TestColumnFamilies.FIRST).put(key(1), value(10));
+      columnFamily(db, TestColumnFamilies.SECOND).put(key(1), value(20));
+    }
+
+    // when
+    try (final var db = sharedFactory.createDb(path)) {
+      // then
+      assertThat(readAll(db, TestColumnFamilies.FIRST)).containsExactly(10L);
+      assertThat(readAll(db, TestColumnFamilies.SECOND)).containsExactly(20L);
+    }
+
+    assertThat(ZeebeTransactionDb.listColumnFamilies(path.getAbsolutePath())).isEmpty();
+  }
+
+  private ColumnFamily<DbLong, DbLong> columnFamily(
+      final ZeebeDb<TestColumnFamilies> db, final TestColumnFamilies columnFamily) {
+    return db.createColumnFamily(columnFamily, db.createContext(), key, value);
+  }
+
+  private List<Long> readAll(
+      final ZeebeDb<TestColumnFamilies> db, final TestColumnFamilies columnFamily) {
+    final var values = new ArrayList<Long>();
+    columnFamily(db, columnFamily).forEach(v -> values.add(v.getValue()));
+    return values;
+  }
+
+  private DbLong key(final long key) {
+    this.key.wrapLong(key);
+    return this.key;
+  }
+
+  private DbLong value(final long value) {
+    this.value.wrapLong(value);
+    return this.value;
+  }
+
+  private enum TestColumnFamilies {
+    FIRST,
+    SECOND
+  }
+}